@@ -28,6 +28,7 @@ import com.google.cloud.datastore.DatastoreOptions;
 import com.google.cloud.datastore.DatastoreReaderWriter;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import reactor.core.publisher.Flux;
 
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
@@ -41,6 +42,8 @@ import org.springframework.cloud.gcp.core.GcpProjectIdProvider;
 import org.springframework.cloud.gcp.core.UserAgentHeaderProvider;
 import org.springframework.cloud.gcp.data.datastore.core.DatastoreOperations;
 import org.springframework.cloud.gcp.data.datastore.core.DatastoreTemplate;
+import org.springframework.cloud.gcp.data.datastore.core.ReactiveDatastoreOperations;
+import org.springframework.cloud.gcp.data.datastore.core.ReactiveDatastoreTemplate;
 import org.springframework.cloud.gcp.data.datastore.core.convert.DatastoreCustomConversions;
 import org.springframework.cloud.gcp.data.datastore.core.convert.DatastoreEntityConverter;
 import org.springframework.cloud.gcp.data.datastore.core.convert.DatastoreServiceObjectToKeyFactory;
@@ -78,6 +81,12 @@ public class GcpDatastoreAutoConfiguration {
 
 	private final String host;
 
+	private final int writeParallelism;
+
+	private final int readParallelism;
+
+	private final boolean dirtyTracking;
+
 	GcpDatastoreAutoConfiguration(GcpDatastoreProperties gcpDatastoreProperties,
 			GcpProjectIdProvider projectIdProvider,
 			CredentialsProvider credentialsProvider) throws IOException {
@@ -86,6 +95,9 @@ public class GcpDatastoreAutoConfiguration {
 				? gcpDatastoreProperties.getProjectId()
 				: projectIdProvider.getProjectId();
 		this.namespace = gcpDatastoreProperties.getNamespace();
+		this.writeParallelism = gcpDatastoreProperties.getWriteParallelism();
+		this.readParallelism = gcpDatastoreProperties.getReadParallelism();
+		this.dirtyTracking = gcpDatastoreProperties.isDirtyTracking();
 
 		String hostToConnect = gcpDatastoreProperties.getHost();
 		if (gcpDatastoreProperties.getEmulator().isEnabled()) {
@@ -165,7 +177,12 @@ public class GcpDatastoreAutoConfiguration {
 	public DatastoreTemplate datastoreTemplate(Supplier<? extends DatastoreReaderWriter> datastore,
 			DatastoreMappingContext datastoreMappingContext,
 			DatastoreEntityConverter datastoreEntityConverter, ObjectToKeyFactory objectToKeyFactory) {
-		return new DatastoreTemplate(datastore, datastoreEntityConverter, datastoreMappingContext, objectToKeyFactory);
+		DatastoreTemplate datastoreTemplate = new DatastoreTemplate(datastore, datastoreEntityConverter,
+				datastoreMappingContext, objectToKeyFactory);
+		datastoreTemplate.setWriteParallelism(this.writeParallelism);
+		datastoreTemplate.setReadParallelism(this.readParallelism);
+		datastoreTemplate.setDirtyTracking(this.dirtyTracking);
+		return datastoreTemplate;
 	}
 
 	private DatastoreProvider getDatastoreProvider(DatastoreNamespaceProvider keySupplier) {
@@ -199,4 +216,16 @@ public class GcpDatastoreAutoConfiguration {
 			return new DatastoreKeyIdConverter(datastoreMappingContext);
 		}
 	}
+
+	/**
+	 * Reactive settings.
+	 */
+	@ConditionalOnClass(Flux.class)
+	static class ReactiveDatastoreAutoConfiguration {
+		@Bean
+		@ConditionalOnMissingBean(ReactiveDatastoreOperations.class)
+		public ReactiveDatastoreTemplate reactiveDatastoreTemplate(DatastoreTemplate datastoreTemplate) {
+			return new ReactiveDatastoreTemplate(datastoreTemplate);
+		}
+	}
 }
@@ -58,6 +58,24 @@ public class GcpDatastoreProperties implements CredentialsSupplier {
 
 	private String namespace;
 
+	/**
+	 * Maximum number of slices of a bulk save or delete outside of transactions that are
+	 * written concurrently.
+	 */
+	private int writeParallelism = 1;
+
+	/**
+	 * Maximum number of descendant queries of a read outside of transactions that run
+	 * concurrently.
+	 */
+	private int readParallelism = 1;
+
+	/**
+	 * Whether saves within a transaction skip the entities that are unchanged since they
+	 * were read or written in that transaction.
+	 */
+	private boolean dirtyTracking;
+
 	@Override
 	public Credentials getCredentials() {
 		return this.credentials;
@@ -83,6 +101,30 @@ public class GcpDatastoreProperties implements CredentialsSupplier {
 		this.namespace = namespace;
 	}
 
+	public int getWriteParallelism() {
+		return this.writeParallelism;
+	}
+
+	public void setWriteParallelism(int writeParallelism) {
+		this.writeParallelism = writeParallelism;
+	}
+
+	public int getReadParallelism() {
+		return this.readParallelism;
+	}
+
+	public void setReadParallelism(int readParallelism) {
+		this.readParallelism = readParallelism;
+	}
+
+	public boolean isDirtyTracking() {
+		return this.dirtyTracking;
+	}
+
+	public void setDirtyTracking(boolean dirtyTracking) {
+		this.dirtyTracking = dirtyTracking;
+	}
+
 	public String getHost() {
 		return this.host;
 	}
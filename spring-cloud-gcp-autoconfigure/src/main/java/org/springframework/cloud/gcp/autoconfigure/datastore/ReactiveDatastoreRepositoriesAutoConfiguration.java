@@ -0,0 +1,47 @@
+/*
+ * Copyright 2017-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.autoconfigure.datastore;
+
+import reactor.core.publisher.Flux;
+
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gcp.data.datastore.repository.ReactiveDatastoreRepository;
+import org.springframework.cloud.gcp.data.datastore.repository.config.ReactiveDatastoreRepositoryConfigurationExtension;
+import org.springframework.cloud.gcp.data.datastore.repository.support.ReactiveDatastoreRepositoryFactoryBean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Enables autoconfiguration for
+ * {@link org.springframework.cloud.gcp.data.datastore.repository.config.EnableReactiveDatastoreRepositories}.
+ *
+ * @author agent (agent@local)
+ *
+ * @since 1.2.9
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnClass({ ReactiveDatastoreRepository.class, Flux.class })
+@ConditionalOnMissingBean({ ReactiveDatastoreRepositoryFactoryBean.class,
+		ReactiveDatastoreRepositoryConfigurationExtension.class })
+@ConditionalOnProperty(value = "spring.cloud.gcp.datastore.enabled", matchIfMissing = true)
+@Import({ ReactiveDatastoreRepositoriesAutoConfigureRegistrar.class })
+@AutoConfigureBefore(GcpDatastoreAutoConfiguration.class)
+public class ReactiveDatastoreRepositoriesAutoConfiguration {
+}
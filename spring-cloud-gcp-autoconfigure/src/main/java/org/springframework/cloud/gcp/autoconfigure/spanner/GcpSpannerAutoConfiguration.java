@@ -17,10 +17,13 @@
 package org.springframework.cloud.gcp.autoconfigure.spanner;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import com.google.api.gax.core.CredentialsProvider;
 import com.google.auth.Credentials;
+import com.google.cloud.spanner.BatchClient;
 import com.google.cloud.spanner.DatabaseAdminClient;
 import com.google.cloud.spanner.DatabaseClient;
 import com.google.cloud.spanner.DatabaseId;
@@ -28,7 +31,10 @@ import com.google.cloud.spanner.SessionPoolOptions;
 import com.google.cloud.spanner.Spanner;
 import com.google.cloud.spanner.SpannerOptions;
 import com.google.cloud.spanner.SpannerOptions.Builder;
+import com.google.cloud.spanner.TimestampBound;
+import io.micrometer.core.instrument.binder.MeterBinder;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -38,12 +44,18 @@ import org.springframework.cloud.gcp.autoconfigure.core.GcpContextAutoConfigurat
 import org.springframework.cloud.gcp.core.DefaultCredentialsProvider;
 import org.springframework.cloud.gcp.core.GcpProjectIdProvider;
 import org.springframework.cloud.gcp.core.UserAgentHeaderProvider;
+import org.springframework.cloud.gcp.data.spanner.core.SpannerEntityCache;
 import org.springframework.cloud.gcp.data.spanner.core.SpannerMutationFactory;
 import org.springframework.cloud.gcp.data.spanner.core.SpannerMutationFactoryImpl;
+import org.springframework.cloud.gcp.data.spanner.core.SpannerMutationSplitter;
 import org.springframework.cloud.gcp.data.spanner.core.SpannerOperations;
 import org.springframework.cloud.gcp.data.spanner.core.SpannerTemplate;
+import org.springframework.cloud.gcp.data.spanner.core.SpannerTemplateMetrics;
+import org.springframework.cloud.gcp.data.spanner.core.SpannerWriteBehindBuffer;
 import org.springframework.cloud.gcp.data.spanner.core.admin.CachingComposingSupplier;
+import org.springframework.cloud.gcp.data.spanner.core.admin.DatabaseClientCache;
 import org.springframework.cloud.gcp.data.spanner.core.admin.DatabaseIdProvider;
+import org.springframework.cloud.gcp.data.spanner.core.admin.SessionPoolOptionsProvider;
 import org.springframework.cloud.gcp.data.spanner.core.admin.SpannerDatabaseAdminTemplate;
 import org.springframework.cloud.gcp.data.spanner.core.admin.SpannerSchemaUtils;
 import org.springframework.cloud.gcp.data.spanner.core.convert.ConverterAwareMappingSpannerEntityProcessor;
@@ -97,6 +109,26 @@ public class GcpSpannerAutoConfiguration {
 
 		private final boolean failIfPoolExhausted;
 
+		private final int maxMutationsPerCommit;
+
+		private final int mutationCommitParallelism;
+
+		private final boolean atomicMutationCommits;
+
+		private final Duration singleUseReadMaxStaleness;
+
+		private final int writeBehindMaxMutationsPerCommit;
+
+		private final Duration writeBehindFlushInterval;
+
+		private final int writeBehindMaxPendingEntities;
+
+		private final Duration warmupTimeout;
+
+		private final int databaseClientCacheSize;
+
+		private final Duration databaseClientCacheIdleTimeout;
+
 		CoreSpannerAutoConfiguration(GcpSpannerProperties gcpSpannerProperties,
 				GcpProjectIdProvider projectIdProvider,
 				CredentialsProvider credentialsProvider) throws IOException {
@@ -119,6 +151,16 @@ public class GcpSpannerAutoConfiguration {
 			this.createInterleavedTableDdlOnDeleteCascade = gcpSpannerProperties
 					.isCreateInterleavedTableDdlOnDeleteCascade();
 			this.failIfPoolExhausted = gcpSpannerProperties.isFailIfPoolExhausted();
+			this.maxMutationsPerCommit = gcpSpannerProperties.getMaxMutationsPerCommit();
+			this.mutationCommitParallelism = gcpSpannerProperties.getMutationCommitParallelism();
+			this.atomicMutationCommits = gcpSpannerProperties.isAtomicMutationCommits();
+			this.singleUseReadMaxStaleness = gcpSpannerProperties.getSingleUseReadMaxStaleness();
+			this.writeBehindMaxMutationsPerCommit = gcpSpannerProperties.getWriteBehindMaxMutationsPerCommit();
+			this.writeBehindFlushInterval = gcpSpannerProperties.getWriteBehindFlushInterval();
+			this.writeBehindMaxPendingEntities = gcpSpannerProperties.getWriteBehindMaxPendingEntities();
+			this.warmupTimeout = gcpSpannerProperties.getWarmupTimeout();
+			this.databaseClientCacheSize = gcpSpannerProperties.getDatabaseClientCacheSize();
+			this.databaseClientCacheIdleTimeout = gcpSpannerProperties.getDatabaseClientCacheIdleTimeout();
 		}
 
 		@Bean
@@ -184,8 +226,36 @@ public class GcpSpannerAutoConfiguration {
 		@Bean
 		@ConditionalOnMissingBean(value = DatabaseClient.class, parameterizedContainer = Supplier.class)
 		public Supplier<DatabaseClient> databaseClientProvider(
-				Spanner spanner, Supplier<DatabaseId> databaseIdProvider) {
-			return new CachingComposingSupplier<>(databaseIdProvider, spanner::getDatabaseClient);
+				Spanner spanner, SpannerOptions spannerOptions, Supplier<DatabaseId> databaseIdProvider,
+				ObjectProvider<SessionPoolOptionsProvider> sessionPoolOptionsProvider) {
+			if (this.databaseClientCacheSize <= 0) {
+				return new CachingComposingSupplier<>(databaseIdProvider, spanner::getDatabaseClient);
+			}
+			return new DatabaseClientCache(databaseIdProvider,
+					DatabaseClientCache.spannerFactory(spannerOptions,
+							sessionPoolOptionsProvider.getIfAvailable(() -> (databaseId) -> null)),
+					this.databaseClientCacheSize, this.databaseClientCacheIdleTimeout);
+		}
+
+		@Bean
+		@ConditionalOnMissingBean
+		@ConditionalOnProperty(prefix = "spring.cloud.gcp.spanner.warmup", name = "enabled", havingValue = "true")
+		public SpannerSessionPoolWarmer spannerSessionPoolWarmer(Supplier<DatabaseClient> databaseClientProvider,
+				SpannerOptions spannerOptions) {
+			return new SpannerSessionPoolWarmer(databaseClientProvider, spannerOptions.getNumChannels(),
+					spannerOptions.getSessionPoolOptions().getMinSessions(), this.warmupTimeout);
+		}
+
+		@Bean
+		@ConditionalOnMissingBean(value = BatchClient.class, parameterizedContainer = Supplier.class)
+		public Supplier<BatchClient> batchClientProvider(
+				Spanner spanner, Supplier<DatabaseId> databaseIdProvider,
+				Supplier<DatabaseClient> databaseClientProvider) {
+			// the batch clients of cached databases belong to the services of their database clients
+			if (databaseClientProvider instanceof DatabaseClientCache) {
+				return ((DatabaseClientCache) databaseClientProvider).batchClientProvider();
+			}
+			return new CachingComposingSupplier<>(databaseIdProvider, spanner::getBatchClient);
 		}
 
 		@Bean
@@ -206,9 +276,37 @@ public class GcpSpannerAutoConfiguration {
 		public SpannerTemplate spannerTemplate(Supplier<DatabaseClient> databaseClientProvider,
 				SpannerMappingContext mappingContext, SpannerEntityProcessor spannerEntityProcessor,
 				SpannerMutationFactory spannerMutationFactory,
-				SpannerSchemaUtils spannerSchemaUtils) {
-			return new SpannerTemplate(databaseClientProvider, mappingContext, spannerEntityProcessor,
-					spannerMutationFactory, spannerSchemaUtils);
+				SpannerSchemaUtils spannerSchemaUtils, Supplier<BatchClient> batchClientProvider,
+				ObjectProvider<SpannerEntityCache> entityCache,
+				ObjectProvider<SpannerTemplateMetrics> metrics) {
+			SpannerTemplate spannerTemplate = new SpannerTemplate(databaseClientProvider, mappingContext,
+					spannerEntityProcessor, spannerMutationFactory, spannerSchemaUtils);
+			spannerTemplate.setBatchClientProvider(batchClientProvider);
+			spannerTemplate.setEntityCache(entityCache.getIfAvailable());
+			spannerTemplate.setMetrics(metrics.getIfAvailable());
+			if (this.singleUseReadMaxStaleness != null) {
+				spannerTemplate.setSingleUseTimestampBound(TimestampBound.ofMaxStaleness(
+						this.singleUseReadMaxStaleness.toNanos(), TimeUnit.NANOSECONDS));
+			}
+			if (this.maxMutationsPerCommit > 0 || this.atomicMutationCommits) {
+				SpannerMutationSplitter mutationSplitter = new SpannerMutationSplitter(
+						(this.maxMutationsPerCommit > 0) ? this.maxMutationsPerCommit
+								: SpannerMutationSplitter.DEFAULT_MAX_MUTATIONS_PER_COMMIT,
+						this.atomicMutationCommits);
+				mutationSplitter.setMaxParallelism(this.mutationCommitParallelism);
+				spannerTemplate.setMutationSplitter(mutationSplitter);
+			}
+			return spannerTemplate;
+		}
+
+		@Bean
+		@ConditionalOnMissingBean
+		@ConditionalOnProperty(prefix = "spring.cloud.gcp.spanner.write-behind", name = "enabled", havingValue = "true")
+		public SpannerWriteBehindBuffer spannerWriteBehindBuffer(SpannerTemplate spannerTemplate,
+				SpannerMutationFactory spannerMutationFactory) {
+			return new SpannerWriteBehindBuffer(spannerTemplate, spannerMutationFactory,
+					this.writeBehindMaxMutationsPerCommit, this.writeBehindFlushInterval,
+					this.writeBehindMaxPendingEntities);
 		}
 
 		@Bean
@@ -245,6 +343,30 @@ public class GcpSpannerAutoConfiguration {
 		}
 	}
 
+	/**
+	 * Metrics settings.
+	 */
+	@ConditionalOnClass(MeterBinder.class)
+	static class SpannerMetricsAutoConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		public SpannerTemplateMetrics spannerTemplateMetrics() {
+			return new SpannerTemplateMetrics();
+		}
+
+		@Bean
+		public MeterBinder spannerTemplateMetricsBinder(SpannerTemplateMetrics spannerTemplateMetrics) {
+			return spannerTemplateMetrics::bindTo;
+		}
+
+		@Bean
+		@ConditionalOnMissingBean
+		public SpannerSessionPoolMetrics spannerSessionPoolMetrics(SessionPoolOptions sessionPoolOptions) {
+			return new SpannerSessionPoolMetrics(sessionPoolOptions);
+		}
+	}
+
 	/**
 	 * REST settings.
 	 */
@@ -16,11 +16,14 @@
 
 package org.springframework.cloud.gcp.autoconfigure.spanner;
 
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.NestedConfigurationProperty;
 import org.springframework.cloud.gcp.core.Credentials;
 import org.springframework.cloud.gcp.core.CredentialsSupplier;
 import org.springframework.cloud.gcp.core.GcpScope;
+import org.springframework.cloud.gcp.data.spanner.core.SpannerWriteBehindBuffer;
 
 /**
  * Settings for Spring Data Cloud Spanner.
@@ -75,6 +78,62 @@ public class GcpSpannerProperties implements CredentialsSupplier {
 	// Host:port used to connect to the emulator, when the emulator is enabled.
 	private String emulatorHost = "localhost:9010";
 
+	/**
+	 * Maximum number of mutations sent in a single commit, above which writes are split into
+	 * several commits. Default value is negative to indicate that writes are not split.
+	 */
+	private int maxMutationsPerCommit = -1;
+
+	/** Maximum number of commits of a single split write that run concurrently. */
+	private int mutationCommitParallelism = 1;
+
+	/**
+	 * Whether writes that exceed the maximum mutations per commit are rejected instead of
+	 * being split.
+	 */
+	private boolean atomicMutationCommits = false;
+
+	/**
+	 * Exact staleness of read-only transactions. Read-only transactions perform strong reads
+	 * if not set.
+	 */
+	private Duration readOnlyTransactionStaleness;
+
+	/**
+	 * Maximum staleness of reads and queries made outside of transactions. They perform
+	 * strong reads if not set.
+	 */
+	private Duration singleUseReadMaxStaleness;
+
+	/**
+	 * Number of buffered mutations that triggers a commit of the write-behind buffer, when
+	 * it is enabled.
+	 */
+	private int writeBehindMaxMutationsPerCommit = SpannerWriteBehindBuffer.DEFAULT_MAX_MUTATIONS_PER_COMMIT;
+
+	/** Longest time a write waits in the write-behind buffer before it is committed. */
+	private Duration writeBehindFlushInterval = SpannerWriteBehindBuffer.DEFAULT_FLUSH_INTERVAL;
+
+	/** Maximum number of entities buffered or being committed by the write-behind buffer. */
+	private int writeBehindMaxPendingEntities = SpannerWriteBehindBuffer.DEFAULT_MAX_PENDING_ENTITIES;
+
+	/** Longest time the application waits for the session pool warm-up, when it is enabled. */
+	private Duration warmupTimeout = Duration.ofSeconds(30);
+
+	/**
+	 * Maximum number of database clients kept for applications switching between databases.
+	 * Each kept client has a Cloud Spanner service of its own, with its own channels and
+	 * threads. Default value is negative to indicate that all clients share one service and
+	 * are never closed.
+	 */
+	private int databaseClientCacheSize = -1;
+
+	/**
+	 * Time after which unused database clients are closed, when the database client cache is
+	 * used. Clients are only closed when the cache is full if not set.
+	 */
+	private Duration databaseClientCacheIdleTimeout;
+
 	public Credentials getCredentials() {
 		return this.credentials;
 	}
@@ -184,4 +243,92 @@ public class GcpSpannerProperties implements CredentialsSupplier {
 	public void setEmulatorHost(String emulatorHost) {
 		this.emulatorHost = emulatorHost;
 	}
+
+	public int getMaxMutationsPerCommit() {
+		return this.maxMutationsPerCommit;
+	}
+
+	public void setMaxMutationsPerCommit(int maxMutationsPerCommit) {
+		this.maxMutationsPerCommit = maxMutationsPerCommit;
+	}
+
+	public int getMutationCommitParallelism() {
+		return this.mutationCommitParallelism;
+	}
+
+	public void setMutationCommitParallelism(int mutationCommitParallelism) {
+		this.mutationCommitParallelism = mutationCommitParallelism;
+	}
+
+	public boolean isAtomicMutationCommits() {
+		return this.atomicMutationCommits;
+	}
+
+	public void setAtomicMutationCommits(boolean atomicMutationCommits) {
+		this.atomicMutationCommits = atomicMutationCommits;
+	}
+
+	public Duration getReadOnlyTransactionStaleness() {
+		return this.readOnlyTransactionStaleness;
+	}
+
+	public void setReadOnlyTransactionStaleness(Duration readOnlyTransactionStaleness) {
+		this.readOnlyTransactionStaleness = readOnlyTransactionStaleness;
+	}
+
+	public Duration getSingleUseReadMaxStaleness() {
+		return this.singleUseReadMaxStaleness;
+	}
+
+	public void setSingleUseReadMaxStaleness(Duration singleUseReadMaxStaleness) {
+		this.singleUseReadMaxStaleness = singleUseReadMaxStaleness;
+	}
+
+	public int getWriteBehindMaxMutationsPerCommit() {
+		return this.writeBehindMaxMutationsPerCommit;
+	}
+
+	public void setWriteBehindMaxMutationsPerCommit(int writeBehindMaxMutationsPerCommit) {
+		this.writeBehindMaxMutationsPerCommit = writeBehindMaxMutationsPerCommit;
+	}
+
+	public Duration getWriteBehindFlushInterval() {
+		return this.writeBehindFlushInterval;
+	}
+
+	public void setWriteBehindFlushInterval(Duration writeBehindFlushInterval) {
+		this.writeBehindFlushInterval = writeBehindFlushInterval;
+	}
+
+	public int getWriteBehindMaxPendingEntities() {
+		return this.writeBehindMaxPendingEntities;
+	}
+
+	public void setWriteBehindMaxPendingEntities(int writeBehindMaxPendingEntities) {
+		this.writeBehindMaxPendingEntities = writeBehindMaxPendingEntities;
+	}
+
+	public Duration getWarmupTimeout() {
+		return this.warmupTimeout;
+	}
+
+	public void setWarmupTimeout(Duration warmupTimeout) {
+		this.warmupTimeout = warmupTimeout;
+	}
+
+	public int getDatabaseClientCacheSize() {
+		return this.databaseClientCacheSize;
+	}
+
+	public void setDatabaseClientCacheSize(int databaseClientCacheSize) {
+		this.databaseClientCacheSize = databaseClientCacheSize;
+	}
+
+	public Duration getDatabaseClientCacheIdleTimeout() {
+		return this.databaseClientCacheIdleTimeout;
+	}
+
+	public void setDatabaseClientCacheIdleTimeout(Duration databaseClientCacheIdleTimeout) {
+		this.databaseClientCacheIdleTimeout = databaseClientCacheIdleTimeout;
+	}
 }
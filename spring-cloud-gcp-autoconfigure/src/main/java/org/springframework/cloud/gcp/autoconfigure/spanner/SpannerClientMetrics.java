@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.cloud.gcp.autoconfigure.spanner;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+import io.opencensus.metrics.LabelKey;
+import io.opencensus.metrics.LabelValue;
+import io.opencensus.metrics.Metrics;
+import io.opencensus.metrics.export.Metric;
+import io.opencensus.metrics.export.MetricProducer;
+import io.opencensus.metrics.export.Point;
+import io.opencensus.metrics.export.TimeSeries;
+
+/**
+ * Reads the metrics that the Cloud Spanner client library records through OpenCensus.
+ * They are only recorded if an OpenCensus implementation is on the classpath.
+ *
+ * @author agent (agent@local)
+ *
+ * @since 1.2.9
+ */
+class SpannerClientMetrics {
+
+	private static final String CLIENT_METRIC_PREFIX = "cloud.google.com/java/spanner/";
+
+	private static final String SESSION_TYPE_LABEL = "Type";
+
+	private final Supplier<Collection<MetricProducer>> metricProducers;
+
+	SpannerClientMetrics() {
+		this(() -> Metrics.getExportComponent().getMetricProducerManager().getAllMetricProducer());
+	}
+
+	SpannerClientMetrics(Supplier<Collection<MetricProducer>> metricProducers) {
+		this.metricProducers = metricProducers;
+	}
+
+	/**
+	 * Get the latest value of a client library metric, summed over all database clients.
+	 * @param name the name of the metric without the client library prefix.
+	 * @param sessionType the session type to filter on, or {@code null} for all.
+	 * @return the value of the metric, or {@code NaN} if it is not recorded.
+	 */
+	double getValue(String name, String sessionType) {
+		double sum = Double.NaN;
+		for (MetricProducer producer : this.metricProducers.get()) {
+			for (Metric metric : producer.getMetrics()) {
+				if (!metric.getMetricDescriptor().getName().equals(CLIENT_METRIC_PREFIX + name)) {
+					continue;
+				}
+				int typeIndex = indexOfLabel(metric.getMetricDescriptor().getLabelKeys());
+				for (TimeSeries timeSeries : metric.getTimeSeriesList()) {
+					if (sessionType != null && !hasSessionType(timeSeries, typeIndex, sessionType)) {
+						continue;
+					}
+					List<Point> points = timeSeries.getPoints();
+					if (!points.isEmpty()) {
+						double value = toDouble(points.get(points.size() - 1));
+						sum = Double.isNaN(sum) ? value : sum + value;
+					}
+				}
+			}
+		}
+		return sum;
+	}
+
+	private static int indexOfLabel(List<LabelKey> labelKeys) {
+		for (int i = 0; i < labelKeys.size(); i++) {
+			if (labelKeys.get(i).getKey().equals(SESSION_TYPE_LABEL)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static boolean hasSessionType(TimeSeries timeSeries, int typeIndex, String sessionType) {
+		if (typeIndex < 0 || typeIndex >= timeSeries.getLabelValues().size()) {
+			return false;
+		}
+		LabelValue labelValue = timeSeries.getLabelValues().get(typeIndex);
+		return sessionType.equals(labelValue.getValue());
+	}
+
+	private static double toDouble(Point point) {
+		return point.getValue().match(
+				(doubleValue) -> doubleValue,
+				(longValue) -> (double) longValue,
+				(distribution) -> Double.NaN,
+				(summary) -> Double.NaN,
+				(other) -> Double.NaN);
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.autoconfigure.spanner;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+import com.google.cloud.spanner.SessionPoolOptions;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.opencensus.metrics.export.MetricProducer;
+
+/**
+ * Binds the state of the Cloud Spanner session pools to Micrometer.
+ *
+ * <p>The configured pool size is always available. The Cloud Spanner client library
+ * records the usage of its session pools through OpenCensus; these gauges and counters are
+ * only populated if an OpenCensus implementation is on the classpath. They are summed over
+ * all database clients.
+ *
+ * @author agent (agent@local)
+ *
+ * @since 1.2.9
+ */
+public class SpannerSessionPoolMetrics implements MeterBinder {
+
+	private static final String PREFIX = "spring.cloud.gcp.spanner.session.pool.";
+
+	private final SessionPoolOptions sessionPoolOptions;
+
+	private final SpannerClientMetrics clientMetrics;
+
+	public SpannerSessionPoolMetrics(SessionPoolOptions sessionPoolOptions) {
+		this.sessionPoolOptions = sessionPoolOptions;
+		this.clientMetrics = new SpannerClientMetrics();
+	}
+
+	SpannerSessionPoolMetrics(SessionPoolOptions sessionPoolOptions,
+			Supplier<Collection<MetricProducer>> metricProducers) {
+		this.sessionPoolOptions = sessionPoolOptions;
+		this.clientMetrics = new SpannerClientMetrics(metricProducers);
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		Gauge.builder(PREFIX + "min", this.sessionPoolOptions, SessionPoolOptions::getMinSessions)
+				.description("The configured minimum number of sessions in the pool")
+				.register(registry);
+		Gauge.builder(PREFIX + "max", this.sessionPoolOptions, SessionPoolOptions::getMaxSessions)
+				.description("The configured maximum number of sessions in the pool")
+				.register(registry);
+
+		bindSessionGauge(registry, "in.use", "num_in_use_sessions",
+				"The number of sessions checked out from the pool");
+		bindSessionGauge(registry, "read", "num_read_sessions",
+				"The number of idle sessions prepared for reads");
+		bindSessionGauge(registry, "write", "num_write_prepared_sessions",
+				"The number of idle sessions prepared for read-write transactions");
+		bindSessionGauge(registry, "preparing", "num_sessions_being_prepared",
+				"The number of sessions being prepared for read-write transactions");
+		Gauge.builder(PREFIX + "max.in.use", this, (metrics) -> metrics.getValue("max_in_use_sessions", null))
+				.description("The maximum number of sessions in use during the last 10 minutes")
+				.register(registry);
+
+		FunctionCounter.builder(PREFIX + "acquired", this,
+				(metrics) -> metrics.getValue("num_acquired_sessions", null))
+				.description("The number of sessions acquired from the pool")
+				.register(registry);
+		FunctionCounter.builder(PREFIX + "released", this,
+				(metrics) -> metrics.getValue("num_released_sessions", null))
+				.description("The number of sessions released to the pool")
+				.register(registry);
+		FunctionCounter.builder(PREFIX + "timeouts", this,
+				(metrics) -> metrics.getValue("get_session_timeouts", null))
+				.description("The number of times getting a session timed out because the pool was exhausted")
+				.register(registry);
+	}
+
+	private void bindSessionGauge(MeterRegistry registry, String name, String sessionType,
+			String description) {
+		Gauge.builder(PREFIX + name, this, (metrics) -> metrics.getValue("num_sessions_in_pool", sessionType))
+				.description(description)
+				.register(registry);
+	}
+
+	double getValue(String name, String sessionType) {
+		return this.clientMetrics.getValue(name, sessionType);
+	}
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.cloud.gcp.autoconfigure.spanner;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+import com.google.cloud.spanner.DatabaseClient;
+import com.google.cloud.spanner.ResultSet;
+import com.google.cloud.spanner.Statement;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+/**
+ * Warms up the Cloud Spanner session pool while the application starts, so that the first
+ * requests it serves do not wait for sessions and gRPC channels to be created.
+ *
+ * <p>Once all singletons are created, the warmer creates the {@link DatabaseClient}, which
+ * starts filling its session pool, and runs one trivial query on each gRPC channel at the
+ * same time to open the channels. If the client library records its session pool metrics
+ * through OpenCensus, then it also waits until the pool holds the minimum number of
+ * sessions.
+ *
+ * <p>The application stays {@link ReadinessState#REFUSING_TRAFFIC refusing traffic} until the
+ * warm-up is done: the warmer holds back the {@link ApplicationReadyEvent}, after which Spring
+ * Boot switches the readiness state to accepting traffic. A warm-up that fails or does not
+ * finish within its timeout is logged and does not prevent the application from starting.
+ *
+ * @author agent (agent@local)
+ *
+ * @since 1.2.9
+ */
+public class SpannerSessionPoolWarmer implements SmartInitializingSingleton,
+		ApplicationListener<ApplicationReadyEvent>, ApplicationEventPublisherAware {
+
+	private static final Log LOGGER = LogFactory.getLog(SpannerSessionPoolWarmer.class);
+
+	private static final Statement WARMUP_QUERY = Statement.of("SELECT 1");
+
+	private static final long POLL_INTERVAL_MILLIS = 50;
+
+	private final Supplier<DatabaseClient> databaseClientProvider;
+
+	private final int channelCount;
+
+	private final int minSessions;
+
+	private final Duration timeout;
+
+	private final DoubleSupplier pooledSessions;
+
+	private final Executor executor = new SimpleAsyncTaskExecutor("spanner-warmup-");
+
+	private ApplicationEventPublisher eventPublisher;
+
+	private volatile CompletableFuture<Void> warmup;
+
+	/**
+	 * Constructor.
+	 * @param databaseClientProvider the provider of the database client to warm up.
+	 * @param channelCount the number of gRPC channels of the client.
+	 * @param minSessions the minimum number of sessions of the session pool.
+	 * @param timeout the longest time to wait for the warm-up.
+	 */
+	public SpannerSessionPoolWarmer(Supplier<DatabaseClient> databaseClientProvider, int channelCount,
+			int minSessions, Duration timeout) {
+		this(databaseClientProvider, channelCount, minSessions, timeout,
+				() -> new SpannerClientMetrics().getValue("num_sessions_in_pool", null));
+	}
+
+	SpannerSessionPoolWarmer(Supplier<DatabaseClient> databaseClientProvider, int channelCount,
+			int minSessions, Duration timeout, DoubleSupplier pooledSessions) {
+		this.databaseClientProvider = databaseClientProvider;
+		this.channelCount = Math.max(1, channelCount);
+		this.minSessions = minSessions;
+		this.timeout = timeout;
+		this.pooledSessions = pooledSessions;
+	}
+
+	@Override
+	public void setApplicationEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+		this.eventPublisher = applicationEventPublisher;
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		if (this.eventPublisher != null) {
+			AvailabilityChangeEvent.publish(this.eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+		}
+		this.warmup = CompletableFuture.runAsync(this::warmUp, this.executor);
+	}
+
+	@Override
+	public void onApplicationEvent(ApplicationReadyEvent event) {
+		awaitWarmup();
+	}
+
+	/**
+	 * Wait for the warm-up to finish, up to its timeout.
+	 * @return {@code true} if the warm-up finished successfully.
+	 */
+	public boolean awaitWarmup() {
+		CompletableFuture<Void> currentWarmup = this.warmup;
+		if (currentWarmup == null) {
+			return false;
+		}
+		try {
+			currentWarmup.get(this.timeout.toNanos(), TimeUnit.NANOSECONDS);
+			return true;
+		}
+		catch (TimeoutException ex) {
+			LOGGER.warn("The Cloud Spanner session pool warm-up did not finish within " + this.timeout + ".");
+		}
+		catch (ExecutionException ex) {
+			LOGGER.warn("The Cloud Spanner session pool warm-up failed.", ex.getCause());
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		return false;
+	}
+
+	/**
+	 * Whether the warm-up has finished successfully.
+	 * @return {@code true} if the session pool is warm.
+	 */
+	public boolean isWarm() {
+		CompletableFuture<Void> currentWarmup = this.warmup;
+		return currentWarmup != null && currentWarmup.isDone() && !currentWarmup.isCompletedExceptionally();
+	}
+
+	private void warmUp() {
+		long deadline = System.nanoTime() + this.timeout.toNanos();
+		DatabaseClient databaseClient = this.databaseClientProvider.get();
+
+		List<CompletableFuture<Void>> queries = new ArrayList<>();
+		for (int i = 0; i < this.channelCount; i++) {
+			queries.add(CompletableFuture.runAsync(() -> runWarmupQuery(databaseClient), this.executor));
+		}
+		CompletableFuture.allOf(queries.toArray(new CompletableFuture[0])).join();
+
+		awaitMinSessions(deadline);
+	}
+
+	private static void runWarmupQuery(DatabaseClient databaseClient) {
+		try (ResultSet resultSet = databaseClient.singleUse().executeQuery(WARMUP_QUERY)) {
+			while (resultSet.next()) {
+				// the result is not used.
+			}
+		}
+	}
+
+	private void awaitMinSessions(long deadline) {
+		while (true) {
+			double sessions = this.pooledSessions.getAsDouble();
+			if (Double.isNaN(sessions) || sessions >= this.minSessions) {
+				return;
+			}
+			if (System.nanoTime() >= deadline) {
+				LOGGER.warn("The Cloud Spanner session pool holds " + (long) sessions + " of its minimum of "
+						+ this.minSessions + " sessions after the warm-up timeout of " + this.timeout + ".");
+				return;
+			}
+			try {
+				Thread.sleep(POLL_INTERVAL_MILLIS);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+}
@@ -16,9 +16,12 @@
 
 package org.springframework.cloud.gcp.autoconfigure.spanner;
 
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import com.google.cloud.spanner.DatabaseClient;
+import com.google.cloud.spanner.TimestampBound;
 
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
@@ -27,6 +30,8 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
 import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.cloud.gcp.data.spanner.core.ReadOnlyStalenessBeanPostProcessor;
+import org.springframework.cloud.gcp.data.spanner.core.SpannerTemplateMetrics;
 import org.springframework.cloud.gcp.data.spanner.core.SpannerTransactionManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -55,11 +60,19 @@ public class SpannerTransactionManagerAutoConfiguration {
 
 		private final TransactionManagerCustomizers transactionManagerCustomizers;
 
+		private final Duration readOnlyTransactionStaleness;
+
+		private final SpannerTemplateMetrics metrics;
+
 		DatabaseClientTransactionManagerConfiguration(Supplier<DatabaseClient> databaseClientProvider,
-				ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers) {
+				ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers,
+				GcpSpannerProperties gcpSpannerProperties,
+				ObjectProvider<SpannerTemplateMetrics> metrics) {
 			this.databaseClientProvider = databaseClientProvider;
 			this.transactionManagerCustomizers = transactionManagerCustomizers
 					.getIfAvailable();
+			this.readOnlyTransactionStaleness = gcpSpannerProperties.getReadOnlyTransactionStaleness();
+			this.metrics = metrics.getIfAvailable();
 		}
 
 		@Bean
@@ -67,10 +80,21 @@ public class SpannerTransactionManagerAutoConfiguration {
 		public SpannerTransactionManager spannerTransactionManager() {
 			SpannerTransactionManager transactionManager = new SpannerTransactionManager(
 					this.databaseClientProvider);
+			if (this.readOnlyTransactionStaleness != null) {
+				transactionManager.setReadOnlyTimestampBound(TimestampBound.ofExactStaleness(
+						this.readOnlyTransactionStaleness.toNanos(), TimeUnit.NANOSECONDS));
+			}
+			transactionManager.setMetrics(this.metrics);
 			if (this.transactionManagerCustomizers != null) {
 				this.transactionManagerCustomizers.customize(transactionManager);
 			}
 			return transactionManager;
 		}
+
+		@Bean
+		@ConditionalOnMissingBean
+		public static ReadOnlyStalenessBeanPostProcessor readOnlyStalenessBeanPostProcessor() {
+			return new ReadOnlyStalenessBeanPostProcessor();
+		}
 	}
 }
@@ -36,7 +36,9 @@ import org.springframework.cloud.gcp.autoconfigure.datastore.health.DatastoreHea
 import org.springframework.cloud.gcp.autoconfigure.datastore.health.DatastoreHealthIndicatorAutoConfiguration;
 import org.springframework.cloud.gcp.core.GcpProjectIdProvider;
 import org.springframework.cloud.gcp.data.datastore.core.DatastoreOperations;
+import org.springframework.cloud.gcp.data.datastore.core.DatastoreTemplate;
 import org.springframework.cloud.gcp.data.datastore.core.DatastoreTransactionManager;
+import org.springframework.cloud.gcp.data.datastore.core.ReactiveDatastoreOperations;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -69,6 +71,7 @@ public class GcpDatastoreAutoConfigurationTests {
 					GcpContextAutoConfiguration.class,
 					DatastoreTransactionManagerAutoConfiguration.class,
 					DatastoreRepositoriesAutoConfiguration.class,
+					ReactiveDatastoreRepositoriesAutoConfiguration.class,
 					DatastoreHealthIndicatorAutoConfiguration.class))
 			.withUserConfiguration(TestConfiguration.class)
 			.withPropertyValues("spring.cloud.gcp.datastore.project-id=test-project",
@@ -138,11 +141,46 @@ public class GcpDatastoreAutoConfigurationTests {
 		this.contextRunner.run((context) -> assertThat(context.getBean(DatastoreOperations.class)).isNotNull());
 	}
 
+	@Test
+	public void testWriteParallelismConfigured() {
+		this.contextRunner.withPropertyValues("spring.cloud.gcp.datastore.write-parallelism=4")
+				.run((context) -> assertThat(context.getBean(DatastoreTemplate.class).getWriteParallelism())
+						.isEqualTo(4));
+	}
+
+	@Test
+	public void testReadParallelismConfigured() {
+		this.contextRunner.withPropertyValues("spring.cloud.gcp.datastore.read-parallelism=3")
+				.run((context) -> assertThat(context.getBean(DatastoreTemplate.class).getReadParallelism())
+						.isEqualTo(3));
+	}
+
+	@Test
+	public void testDirtyTrackingConfigured() {
+		this.contextRunner.withPropertyValues("spring.cloud.gcp.datastore.dirty-tracking=true")
+				.run((context) -> assertThat(context.getBean(DatastoreTemplate.class).isDirtyTracking())
+						.isTrue());
+	}
+
 	@Test
 	public void testTestRepositoryCreated() {
 		this.contextRunner.run((context) -> assertThat(context.getBean(TestRepository.class)).isNotNull());
 	}
 
+	@Test
+	public void testReactiveDatastoreTemplateCreated() {
+		this.contextRunner.run((context) -> assertThat(context.getBean(ReactiveDatastoreOperations.class))
+				.isNotNull());
+	}
+
+	@Test
+	public void testTestReactiveRepositoryCreated() {
+		this.contextRunner.run((context) -> {
+			assertThat(context.getBean(TestReactiveRepository.class)).isNotNull();
+			assertThat(context.getBean(TestRepository.class)).isNotNull();
+		});
+	}
+
 	@Test
 	public void testIdConverterCreated() {
 		this.contextRunner.run((context) -> {
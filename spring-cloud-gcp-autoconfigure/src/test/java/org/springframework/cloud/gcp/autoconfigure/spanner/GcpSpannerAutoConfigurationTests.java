@@ -16,24 +16,48 @@
 
 package org.springframework.cloud.gcp.autoconfigure.spanner;
 
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
 import com.google.api.gax.core.CredentialsProvider;
 import com.google.auth.Credentials;
+import com.google.cloud.spanner.DatabaseClient;
+import com.google.cloud.spanner.ReadContext;
+import com.google.cloud.spanner.ResultSet;
+import com.google.cloud.spanner.TimestampBound;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.Test;
 
 import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.test.context.FilteredClassLoader;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.cloud.gcp.autoconfigure.core.GcpContextAutoConfiguration;
+import org.springframework.cloud.gcp.data.spanner.core.ReadOnlyStalenessTransactionAttributeSource;
+import org.springframework.cloud.gcp.data.spanner.core.SpannerEntityCache;
+import org.springframework.cloud.gcp.data.spanner.core.SpannerMutationSplitter;
 import org.springframework.cloud.gcp.data.spanner.core.SpannerOperations;
+import org.springframework.cloud.gcp.data.spanner.core.SpannerTemplate;
+import org.springframework.cloud.gcp.data.spanner.core.SpannerTemplateMetrics;
 import org.springframework.cloud.gcp.data.spanner.core.SpannerTransactionManager;
+import org.springframework.cloud.gcp.data.spanner.core.SpannerWriteBehindBuffer;
+import org.springframework.cloud.gcp.data.spanner.core.admin.CachingComposingSupplier;
+import org.springframework.cloud.gcp.data.spanner.core.admin.DatabaseClientCache;
 import org.springframework.cloud.gcp.data.spanner.core.admin.SpannerDatabaseAdminTemplate;
 import org.springframework.cloud.gcp.data.spanner.core.admin.SpannerSchemaUtils;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.rest.webmvc.spi.BackendIdConverter;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.interceptor.TransactionAttributeSource;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * Tests for Spanner auto-config.
@@ -59,6 +83,173 @@ public class GcpSpannerAutoConfigurationTests {
 		});
 	}
 
+	@Test
+	public void testMutationSplitterNotSetByDefault() {
+		this.contextRunner.run((context) -> {
+			assertThat(context.getBean(SpannerTemplate.class).getMutationSplitter()).isNull();
+		});
+	}
+
+	@Test
+	public void testMutationSplitterConfigured() {
+		this.contextRunner
+				.withPropertyValues("spring.cloud.gcp.spanner.max-mutations-per-commit=1000",
+						"spring.cloud.gcp.spanner.mutation-commit-parallelism=4")
+				.run((context) -> {
+					SpannerMutationSplitter mutationSplitter = context.getBean(SpannerTemplate.class)
+							.getMutationSplitter();
+					assertThat(mutationSplitter.getMaxMutationsPerCommit()).isEqualTo(1000);
+					assertThat(mutationSplitter.getMaxParallelism()).isEqualTo(4);
+					assertThat(mutationSplitter.isAtomic()).isFalse();
+				});
+	}
+
+	@Test
+	public void testEntityCacheNotSetByDefault() {
+		this.contextRunner.run((context) -> {
+			assertThat(context.getBean(SpannerTemplate.class).getEntityCache()).isNull();
+		});
+	}
+
+	@Test
+	public void testEntityCacheConfigured() {
+		SpannerEntityCache entityCache = new SpannerEntityCache(new ConcurrentMapCache("spanner"));
+		this.contextRunner.withBean(SpannerEntityCache.class, () -> entityCache)
+				.run((context) -> {
+					assertThat(context.getBean(SpannerTemplate.class).getEntityCache()).isSameAs(entityCache);
+				});
+	}
+
+	@Test
+	public void testWriteBehindBufferNotCreatedByDefault() {
+		this.contextRunner.run((context) -> assertThat(context).doesNotHaveBean(SpannerWriteBehindBuffer.class));
+	}
+
+	@Test
+	public void testWriteBehindBufferEnabled() {
+		this.contextRunner
+				.withPropertyValues("spring.cloud.gcp.spanner.write-behind.enabled=true",
+						"spring.cloud.gcp.spanner.write-behind-max-pending-entities=50")
+				.run((context) -> assertThat(context).hasSingleBean(SpannerWriteBehindBuffer.class));
+	}
+
+	@Test
+	public void testSessionPoolWarmerNotCreatedByDefault() {
+		this.contextRunner.run((context) -> assertThat(context).doesNotHaveBean(SpannerSessionPoolWarmer.class));
+	}
+
+	@Test
+	public void testSessionPoolWarmerEnabled() {
+		this.contextRunner
+				.withUserConfiguration(DatabaseClientConfiguration.class)
+				.withPropertyValues("spring.cloud.gcp.spanner.warmup.enabled=true",
+						"spring.cloud.gcp.spanner.warmup-timeout=5s")
+				.run((context) -> {
+					SpannerSessionPoolWarmer warmer = context.getBean(SpannerSessionPoolWarmer.class);
+					assertThat(warmer.awaitWarmup()).isTrue();
+					assertThat(warmer.isWarm()).isTrue();
+				});
+	}
+
+	@Test
+	public void testDatabaseClientCacheNotUsedByDefault() {
+		this.contextRunner.run((context) -> assertThat(context.getBean("databaseClientProvider"))
+				.isInstanceOf(CachingComposingSupplier.class));
+	}
+
+	@Test
+	public void testDatabaseClientCacheConfigured() {
+		this.contextRunner
+				.withPropertyValues("spring.cloud.gcp.spanner.database-client-cache-size=10",
+						"spring.cloud.gcp.spanner.database-client-cache-idle-timeout=10m")
+				.run((context) -> {
+					assertThat(context.getBean("databaseClientProvider")).isInstanceOf(DatabaseClientCache.class);
+					assertThat(context.getBean("batchClientProvider"))
+							.isNotInstanceOf(CachingComposingSupplier.class);
+				});
+	}
+
+	@Test
+	public void testStalenessNotSetByDefault() {
+		this.contextRunner.run((context) -> {
+			assertThat(context.getBean(SpannerTemplate.class).getSingleUseTimestampBound()).isNull();
+			assertThat(context.getBean(SpannerTransactionManager.class).getReadOnlyTimestampBound()).isNull();
+		});
+	}
+
+	@Test
+	public void testReadOnlyStalenessAppliedToTransactionAttributes() {
+		this.contextRunner.withUserConfiguration(TransactionManagementConfiguration.class)
+				.run((context) -> assertThat(context.getBean(TransactionAttributeSource.class))
+						.isInstanceOf(ReadOnlyStalenessTransactionAttributeSource.class));
+	}
+
+	@Test
+	public void testStalenessConfigured() {
+		this.contextRunner
+				.withPropertyValues("spring.cloud.gcp.spanner.single-use-read-max-staleness=15s",
+						"spring.cloud.gcp.spanner.read-only-transaction-staleness=10s")
+				.run((context) -> {
+					assertThat(context.getBean(SpannerTemplate.class).getSingleUseTimestampBound())
+							.isEqualTo(TimestampBound.ofMaxStaleness(15, TimeUnit.SECONDS));
+					assertThat(context.getBean(SpannerTransactionManager.class).getReadOnlyTimestampBound())
+							.isEqualTo(TimestampBound.ofExactStaleness(10, TimeUnit.SECONDS));
+				});
+	}
+
+	@Test
+	public void testBatchClientProviderCreated() {
+		this.contextRunner.run((context) -> {
+			assertThat(context.getBean("batchClientProvider")).isNotNull();
+		});
+	}
+
+	@Test
+	public void testMetricsConfigured() {
+		this.contextRunner.withUserConfiguration(DatabaseClientConfiguration.class).run((context) -> {
+			assertThat(context.getBean(SpannerTemplate.class).getMetrics())
+					.isSameAs(context.getBean(SpannerTemplateMetrics.class));
+			assertThat(context.getBean(SpannerTransactionManager.class).getMetrics())
+					.isSameAs(context.getBean(SpannerTemplateMetrics.class));
+			assertThat(context.getBean(SpannerSessionPoolMetrics.class)).isNotNull();
+
+			SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+			context.getBean("spannerTemplateMetricsBinder", MeterBinder.class).bindTo(meterRegistry);
+			context.getBean(SpannerTemplate.class).performReadOnlyTransaction((template) -> null, null);
+			assertThat(meterRegistry.get(SpannerTemplateMetrics.OPERATIONS_METRIC).timer().count())
+					.isEqualTo(1);
+		});
+	}
+
+	@Test
+	public void testUserDefinedMetricsUsed() {
+		SpannerTemplateMetrics metrics = new SpannerTemplateMetrics();
+		this.contextRunner.withBean(SpannerTemplateMetrics.class, () -> metrics)
+				.run((context) -> {
+					assertThat(context.getBean(SpannerTemplate.class).getMetrics()).isSameAs(metrics);
+					assertThat(context.getBean(SpannerTransactionManager.class).getMetrics()).isSameAs(metrics);
+				});
+	}
+
+	@Test
+	public void testUserDefinedTemplateNotInstrumented() {
+		SpannerTemplate spannerTemplate = mock(SpannerTemplate.class);
+		this.contextRunner.withBean(SpannerTemplate.class, () -> spannerTemplate)
+				.run((context) -> {
+					assertThat(context.getBean(SpannerTemplate.class)).isSameAs(spannerTemplate);
+					verify(spannerTemplate, never()).setMetrics(any());
+				});
+	}
+
+	@Test
+	public void testMetricsNotConfiguredWithoutMicrometer() {
+		this.contextRunner.withClassLoader(new FilteredClassLoader("io.micrometer"))
+				.run((context) -> {
+					assertThat(context.getBean(SpannerTemplate.class).getMetrics()).isNull();
+					assertThat(context).doesNotHaveBean(SpannerSessionPoolMetrics.class);
+				});
+	}
+
 	@Test
 	public void testTestRepositoryCreated() {
 		this.contextRunner.run((context) -> {
@@ -121,4 +312,26 @@ public class GcpSpannerAutoConfigurationTests {
 			return () -> mock(Credentials.class);
 		}
 	}
+
+	/**
+	 * Enables declarative transactions.
+	 */
+	@EnableTransactionManagement
+	static class TransactionManagementConfiguration {
+	}
+
+	/**
+	 * Mock database client that answers the warm-up queries.
+	 */
+	static class DatabaseClientConfiguration {
+
+		@Bean
+		public Supplier<DatabaseClient> databaseClientProvider() {
+			DatabaseClient databaseClient = mock(DatabaseClient.class);
+			ReadContext readContext = mock(ReadContext.class);
+			when(databaseClient.singleUse()).thenReturn(readContext);
+			when(readContext.executeQuery(any())).thenAnswer((invocation) -> mock(ResultSet.class));
+			return () -> databaseClient;
+		}
+	}
 }
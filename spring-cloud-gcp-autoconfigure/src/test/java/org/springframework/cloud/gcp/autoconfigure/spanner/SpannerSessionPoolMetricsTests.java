@@ -0,0 +1,108 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.autoconfigure.spanner;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import com.google.cloud.spanner.SessionPoolOptions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opencensus.common.Timestamp;
+import io.opencensus.metrics.LabelKey;
+import io.opencensus.metrics.LabelValue;
+import io.opencensus.metrics.export.Metric;
+import io.opencensus.metrics.export.MetricDescriptor;
+import io.opencensus.metrics.export.MetricProducer;
+import io.opencensus.metrics.export.Point;
+import io.opencensus.metrics.export.TimeSeries;
+import io.opencensus.metrics.export.Value;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the session pool metrics.
+ *
+ * @author agent (agent@local)
+ */
+public class SpannerSessionPoolMetricsTests {
+
+	private static final Timestamp TIMESTAMP = Timestamp.create(0, 0);
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private MetricProducer metricProducer;
+
+	private SpannerSessionPoolMetrics sessionPoolMetrics;
+
+	@Before
+	public void setUp() {
+		this.meterRegistry = new SimpleMeterRegistry();
+		this.metricProducer = mock(MetricProducer.class);
+		Collection<MetricProducer> producers = Collections.singletonList(this.metricProducer);
+		// meters only hold weak references to the binder
+		this.sessionPoolMetrics = new SpannerSessionPoolMetrics(
+				SessionPoolOptions.newBuilder().setMinSessions(10).setMaxSessions(40).build(), () -> producers);
+		this.sessionPoolMetrics.bindTo(this.meterRegistry);
+	}
+
+	@Test
+	public void configuredPoolSizeTest() {
+		when(this.metricProducer.getMetrics()).thenReturn(Collections.emptyList());
+
+		assertThat(gauge("min")).isEqualTo(10);
+		assertThat(gauge("max")).isEqualTo(40);
+		assertThat(gauge("in.use")).isNaN();
+	}
+
+	@Test
+	public void sessionsInPoolSummedPerTypeTest() {
+		when(this.metricProducer.getMetrics()).thenReturn(Arrays.asList(
+				metric("num_sessions_in_pool", Arrays.asList(LabelKey.create("database", ""), LabelKey.create("Type", "")),
+						timeSeries(3, "db1", "num_in_use_sessions"),
+						timeSeries(4, "db2", "num_in_use_sessions"),
+						timeSeries(5, "db1", "num_read_sessions")),
+				metric("num_acquired_sessions", Collections.singletonList(LabelKey.create("database", "")),
+						timeSeries(20, "db1"))));
+
+		assertThat(gauge("in.use")).isEqualTo(7);
+		assertThat(gauge("read")).isEqualTo(5);
+		assertThat(gauge("write")).isNaN();
+		assertThat(this.meterRegistry.get("spring.cloud.gcp.spanner.session.pool.acquired")
+				.functionCounter().count()).isEqualTo(20);
+	}
+
+	private double gauge(String name) {
+		return this.meterRegistry.get("spring.cloud.gcp.spanner.session.pool." + name).gauge().value();
+	}
+
+	private static Metric metric(String name, List<LabelKey> labelKeys, TimeSeries... timeSeries) {
+		return Metric.create(MetricDescriptor.create("cloud.google.com/java/spanner/" + name, "", "1",
+				MetricDescriptor.Type.GAUGE_INT64, labelKeys), Arrays.asList(timeSeries));
+	}
+
+	private static TimeSeries timeSeries(long value, String... labelValues) {
+		LabelValue[] values = Arrays.stream(labelValues).map(LabelValue::create).toArray(LabelValue[]::new);
+		return TimeSeries.create(Arrays.asList(values),
+				Collections.singletonList(Point.create(Value.longValue(value), TIMESTAMP)), null);
+	}
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.cloud.gcp.autoconfigure.spanner;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.cloud.spanner.DatabaseClient;
+import com.google.cloud.spanner.ErrorCode;
+import com.google.cloud.spanner.ReadContext;
+import com.google.cloud.spanner.ResultSet;
+import com.google.cloud.spanner.SpannerExceptionFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the session pool warmer.
+ *
+ * @author agent (agent@local)
+ */
+public class SpannerSessionPoolWarmerTests {
+
+	private DatabaseClient databaseClient;
+
+	private ReadContext readContext;
+
+	@Before
+	public void setUp() {
+		this.databaseClient = mock(DatabaseClient.class);
+		this.readContext = mock(ReadContext.class);
+		when(this.databaseClient.singleUse()).thenReturn(this.readContext);
+		when(this.readContext.executeQuery(any())).thenAnswer((invocation) -> mock(ResultSet.class));
+	}
+
+	@Test
+	public void queriesEachChannelTest() {
+		SpannerSessionPoolWarmer warmer = new SpannerSessionPoolWarmer(() -> this.databaseClient, 3, 10,
+				Duration.ofSeconds(5), () -> Double.NaN);
+
+		warmer.afterSingletonsInstantiated();
+
+		assertThat(warmer.awaitWarmup()).isTrue();
+		assertThat(warmer.isWarm()).isTrue();
+		verify(this.readContext, times(3)).executeQuery(any());
+	}
+
+	@Test
+	public void refusesTrafficUntilWarmTest() {
+		ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+		SpannerSessionPoolWarmer warmer = new SpannerSessionPoolWarmer(() -> this.databaseClient, 1, 10,
+				Duration.ofSeconds(5), () -> Double.NaN);
+		warmer.setApplicationEventPublisher(eventPublisher);
+
+		warmer.afterSingletonsInstantiated();
+
+		ArgumentCaptor<AvailabilityChangeEvent> event = ArgumentCaptor.forClass(AvailabilityChangeEvent.class);
+		verify(eventPublisher).publishEvent(event.capture());
+		assertThat(event.getValue().getState()).isEqualTo(ReadinessState.REFUSING_TRAFFIC);
+	}
+
+	@Test
+	public void waitsForMinSessionsTest() {
+		AtomicInteger sessions = new AtomicInteger();
+		SpannerSessionPoolWarmer warmer = new SpannerSessionPoolWarmer(() -> this.databaseClient, 1, 3,
+				Duration.ofSeconds(5), sessions::getAndIncrement);
+
+		warmer.afterSingletonsInstantiated();
+
+		assertThat(warmer.awaitWarmup()).isTrue();
+		assertThat(sessions).hasValue(4);
+	}
+
+	@Test
+	public void failedWarmupTest() {
+		when(this.readContext.executeQuery(any())).thenThrow(
+				SpannerExceptionFactory.newSpannerException(ErrorCode.UNAVAILABLE, "unavailable"));
+		SpannerSessionPoolWarmer warmer = new SpannerSessionPoolWarmer(() -> this.databaseClient, 2, 10,
+				Duration.ofSeconds(5), () -> Double.NaN);
+
+		warmer.afterSingletonsInstantiated();
+
+		assertThat(warmer.awaitWarmup()).isFalse();
+		assertThat(warmer.isWarm()).isFalse();
+	}
+
+	@Test
+	public void warmupTimeoutTest() throws InterruptedException {
+		CountDownLatch release = new CountDownLatch(1);
+		when(this.readContext.executeQuery(any())).thenAnswer((invocation) -> {
+			release.await(5, TimeUnit.SECONDS);
+			return mock(ResultSet.class);
+		});
+		SpannerSessionPoolWarmer warmer = new SpannerSessionPoolWarmer(() -> this.databaseClient, 1, 10,
+				Duration.ofMillis(50), () -> Double.NaN);
+
+		warmer.afterSingletonsInstantiated();
+
+		assertThat(warmer.awaitWarmup()).isFalse();
+		assertThat(warmer.isWarm()).isFalse();
+		release.countDown();
+	}
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.cloud.gcp.data.spanner.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import com.google.cloud.Timestamp;
+import com.google.cloud.spanner.Struct;
+import com.google.cloud.spanner.Type;
+import com.google.cloud.spanner.Type.StructField;
+import com.google.cloud.spanner.Value;
+
+import org.springframework.cloud.gcp.data.spanner.core.mapping.Column;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.Embedded;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.Interleaved;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.PrimaryKey;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.Table;
+import org.springframework.core.convert.converter.Converter;
+
+/**
+ * The entities and rows the mapping benchmarks work on. Each entity exercises a different
+ * part of the mapping: simple columns, embedded properties, arrays, eagerly-fetched
+ * interleaved children and custom converters.
+ *
+ * @author agent (agent@local)
+ */
+final class SpannerBenchmarkEntities {
+
+	static final int ALBUMS_PER_SINGER = 10;
+
+	private static final Type ALBUM_TYPE = Type.struct(
+			StructField.of("singerId", Type.string()),
+			StructField.of("albumId", Type.string()),
+			StructField.of("title", Type.string()),
+			StructField.of("releaseYear", Type.int64()));
+
+	private SpannerBenchmarkEntities() {
+	}
+
+	static Collection<Converter> writeConverters() {
+		return Collections.singletonList(new UuidWriteConverter());
+	}
+
+	static Collection<Converter> readConverters() {
+		return Collections.singletonList(new UuidReadConverter());
+	}
+
+	static Singer singer() {
+		Singer singer = new Singer();
+		singer.singerId = "singer1";
+		singer.firstName = "Jane";
+		singer.lastName = "Doe";
+		singer.birthYear = 1980;
+		singer.active = true;
+		singer.rating = 4.5;
+		singer.lastUpdated = Timestamp.ofTimeMicroseconds(1_500_000_000_000_000L);
+		return singer;
+	}
+
+	static Struct singerRow() {
+		return Struct.newBuilder()
+				.set("singerId").to("singer1")
+				.set("first_name").to("Jane")
+				.set("last_name").to("Doe")
+				.set("birthYear").to(1980L)
+				.set("active").to(true)
+				.set("rating").to(4.5)
+				.set("lastUpdated").to(Timestamp.ofTimeMicroseconds(1_500_000_000_000_000L))
+				.build();
+	}
+
+	static SingerWithAddress singerWithAddress() {
+		SingerWithAddress singer = new SingerWithAddress();
+		singer.singerId = "singer1";
+		singer.address = new Address();
+		singer.address.street = "1600 Amphitheatre Parkway";
+		singer.address.city = "Mountain View";
+		singer.address.zip = "94043";
+		return singer;
+	}
+
+	static Struct singerWithAddressRow() {
+		return Struct.newBuilder()
+				.set("singerId").to("singer1")
+				.set("street").to("1600 Amphitheatre Parkway")
+				.set("city").to("Mountain View")
+				.set("zip").to("94043")
+				.build();
+	}
+
+	static SingerWithArrays singerWithArrays() {
+		SingerWithArrays singer = new SingerWithArrays();
+		singer.singerId = "singer1";
+		singer.genres = Arrays.asList("rock", "pop", "jazz", "blues");
+		singer.chartPositions = Arrays.asList(1L, 3L, 7L, 12L, 40L);
+		singer.ratings = new double[] { 4.5, 3.0, 5.0, 4.0 };
+		return singer;
+	}
+
+	static Struct singerWithArraysRow() {
+		return Struct.newBuilder()
+				.set("singerId").to("singer1")
+				.set("genres").toStringArray(Arrays.asList("rock", "pop", "jazz", "blues"))
+				.set("chartPositions").toInt64Array(Arrays.asList(1L, 3L, 7L, 12L, 40L))
+				.set("ratings").toFloat64Array(new double[] { 4.5, 3.0, 5.0, 4.0 })
+				.build();
+	}
+
+	static SingerWithAlbums singerWithAlbums() {
+		SingerWithAlbums singer = new SingerWithAlbums();
+		singer.singerId = "singer1";
+		singer.albums = new ArrayList<>();
+		for (int i = 0; i < ALBUMS_PER_SINGER; i++) {
+			Album album = new Album();
+			album.singerId = "singer1";
+			album.albumId = "album" + i;
+			album.title = "Album " + i;
+			album.releaseYear = 2000 + i;
+			singer.albums.add(album);
+		}
+		return singer;
+	}
+
+	static Struct singerWithAlbumsRow() {
+		Struct[] albums = new Struct[ALBUMS_PER_SINGER];
+		for (int i = 0; i < ALBUMS_PER_SINGER; i++) {
+			albums[i] = Struct.newBuilder()
+					.set("singerId").to("singer1")
+					.set("albumId").to("album" + i)
+					.set("title").to("Album " + i)
+					.set("releaseYear").to(2000L + i)
+					.build();
+		}
+		return Struct.newBuilder()
+				.set("singerId").to("singer1")
+				.set("albums").toStructArray(ALBUM_TYPE, Arrays.asList(albums))
+				.build();
+	}
+
+	static SingerWithExternalId singerWithExternalId() {
+		SingerWithExternalId singer = new SingerWithExternalId();
+		singer.singerId = "singer1";
+		singer.externalId = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+		return singer;
+	}
+
+	static Struct singerWithExternalIdRow() {
+		return Struct.newBuilder()
+				.set("singerId").to("singer1")
+				.set("externalId").to(Value.string("123e4567-e89b-12d3-a456-426614174000"))
+				.build();
+	}
+
+	@Table(name = "singers")
+	static class Singer {
+		@PrimaryKey
+		String singerId;
+
+		@Column(name = "first_name")
+		String firstName;
+
+		@Column(name = "last_name")
+		String lastName;
+
+		long birthYear;
+
+		boolean active;
+
+		double rating;
+
+		Timestamp lastUpdated;
+	}
+
+	@Table(name = "singers")
+	static class SingerWithAddress {
+		@PrimaryKey
+		String singerId;
+
+		@Embedded
+		Address address;
+	}
+
+	static class Address {
+		String street;
+
+		String city;
+
+		String zip;
+	}
+
+	@Table(name = "singers")
+	static class SingerWithArrays {
+		@PrimaryKey
+		String singerId;
+
+		List<String> genres;
+
+		List<Long> chartPositions;
+
+		double[] ratings;
+	}
+
+	@Table(name = "singers")
+	static class SingerWithAlbums {
+		@PrimaryKey
+		String singerId;
+
+		@Interleaved
+		List<Album> albums;
+	}
+
+	@Table(name = "albums")
+	static class Album {
+		@PrimaryKey(keyOrder = 1)
+		String singerId;
+
+		@PrimaryKey(keyOrder = 2)
+		String albumId;
+
+		String title;
+
+		long releaseYear;
+	}
+
+	@Table(name = "singers")
+	static class SingerWithExternalId {
+		@PrimaryKey
+		String singerId;
+
+		UUID externalId;
+	}
+
+	static class UuidWriteConverter implements Converter<UUID, String> {
+		@Override
+		public String convert(UUID source) {
+			return source.toString();
+		}
+	}
+
+	static class UuidReadConverter implements Converter<String, UUID> {
+		@Override
+		public UUID convert(String source) {
+			return UUID.fromString(source);
+		}
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.cloud.gcp.data.spanner.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import com.google.cloud.spanner.Struct;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.cloud.gcp.data.spanner.benchmark.SpannerBenchmarkEntities.Singer;
+import org.springframework.cloud.gcp.data.spanner.benchmark.SpannerBenchmarkEntities.SingerWithAddress;
+import org.springframework.cloud.gcp.data.spanner.benchmark.SpannerBenchmarkEntities.SingerWithAlbums;
+import org.springframework.cloud.gcp.data.spanner.benchmark.SpannerBenchmarkEntities.SingerWithArrays;
+import org.springframework.cloud.gcp.data.spanner.benchmark.SpannerBenchmarkEntities.SingerWithExternalId;
+import org.springframework.cloud.gcp.data.spanner.core.convert.ConverterAwareMappingSpannerEntityProcessor;
+import org.springframework.cloud.gcp.data.spanner.core.convert.SpannerEntityProcessor;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerMappingContext;
+
+/**
+ * Benchmarks the conversion of rows read from Cloud Spanner into entities.
+ *
+ * @author agent (agent@local)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class SpannerEntityReadBenchmark {
+
+	private SpannerEntityProcessor entityProcessor;
+
+	private Struct singerRow;
+
+	private Struct singerWithAddressRow;
+
+	private Struct singerWithArraysRow;
+
+	private Struct singerWithAlbumsRow;
+
+	private Struct singerWithExternalIdRow;
+
+	@Setup
+	public void setUp() {
+		this.entityProcessor = new ConverterAwareMappingSpannerEntityProcessor(new SpannerMappingContext(),
+				SpannerBenchmarkEntities.writeConverters(), SpannerBenchmarkEntities.readConverters());
+		this.singerRow = SpannerBenchmarkEntities.singerRow();
+		this.singerWithAddressRow = SpannerBenchmarkEntities.singerWithAddressRow();
+		this.singerWithArraysRow = SpannerBenchmarkEntities.singerWithArraysRow();
+		this.singerWithAlbumsRow = SpannerBenchmarkEntities.singerWithAlbumsRow();
+		this.singerWithExternalIdRow = SpannerBenchmarkEntities.singerWithExternalIdRow();
+	}
+
+	@Benchmark
+	public Singer readFlat() {
+		return this.entityProcessor.read(Singer.class, this.singerRow);
+	}
+
+	@Benchmark
+	public SingerWithAddress readEmbedded() {
+		return this.entityProcessor.read(SingerWithAddress.class, this.singerWithAddressRow);
+	}
+
+	@Benchmark
+	public SingerWithArrays readArrays() {
+		return this.entityProcessor.read(SingerWithArrays.class, this.singerWithArraysRow);
+	}
+
+	@Benchmark
+	public SingerWithAlbums readInterleaved() {
+		return this.entityProcessor.read(SingerWithAlbums.class, this.singerWithAlbumsRow);
+	}
+
+	@Benchmark
+	public SingerWithExternalId readCustomConverter() {
+		return this.entityProcessor.read(SingerWithExternalId.class, this.singerWithExternalIdRow);
+	}
+}
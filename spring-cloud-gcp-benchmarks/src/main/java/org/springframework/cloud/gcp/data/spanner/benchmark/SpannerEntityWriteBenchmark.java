@@ -0,0 +1,134 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.cloud.gcp.data.spanner.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.google.cloud.spanner.Mutation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.cloud.gcp.data.spanner.benchmark.SpannerBenchmarkEntities.Singer;
+import org.springframework.cloud.gcp.data.spanner.benchmark.SpannerBenchmarkEntities.SingerWithAddress;
+import org.springframework.cloud.gcp.data.spanner.benchmark.SpannerBenchmarkEntities.SingerWithAlbums;
+import org.springframework.cloud.gcp.data.spanner.benchmark.SpannerBenchmarkEntities.SingerWithArrays;
+import org.springframework.cloud.gcp.data.spanner.benchmark.SpannerBenchmarkEntities.SingerWithExternalId;
+import org.springframework.cloud.gcp.data.spanner.core.SpannerMutationFactory;
+import org.springframework.cloud.gcp.data.spanner.core.SpannerMutationFactoryImpl;
+import org.springframework.cloud.gcp.data.spanner.core.admin.SpannerSchemaUtils;
+import org.springframework.cloud.gcp.data.spanner.core.convert.ConverterAwareMappingSpannerEntityProcessor;
+import org.springframework.cloud.gcp.data.spanner.core.convert.SpannerEntityProcessor;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerMappingContext;
+
+/**
+ * Benchmarks the conversion of entities into the mutations written to Cloud Spanner,
+ * both by the entity writer alone and by the mutation factory.
+ *
+ * @author agent (agent@local)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class SpannerEntityWriteBenchmark {
+
+	private SpannerEntityProcessor entityProcessor;
+
+	private SpannerMutationFactory mutationFactory;
+
+	private Singer singer;
+
+	private SingerWithAddress singerWithAddress;
+
+	private SingerWithArrays singerWithArrays;
+
+	private SingerWithAlbums singerWithAlbums;
+
+	private SingerWithExternalId singerWithExternalId;
+
+	@Setup
+	public void setUp() {
+		SpannerMappingContext mappingContext = new SpannerMappingContext();
+		this.entityProcessor = new ConverterAwareMappingSpannerEntityProcessor(mappingContext,
+				SpannerBenchmarkEntities.writeConverters(), SpannerBenchmarkEntities.readConverters());
+		this.mutationFactory = new SpannerMutationFactoryImpl(this.entityProcessor, mappingContext,
+				new SpannerSchemaUtils(mappingContext, this.entityProcessor, true));
+		this.singer = SpannerBenchmarkEntities.singer();
+		this.singerWithAddress = SpannerBenchmarkEntities.singerWithAddress();
+		this.singerWithArrays = SpannerBenchmarkEntities.singerWithArrays();
+		this.singerWithAlbums = SpannerBenchmarkEntities.singerWithAlbums();
+		this.singerWithExternalId = SpannerBenchmarkEntities.singerWithExternalId();
+	}
+
+	@Benchmark
+	public Mutation writeFlat() {
+		return write(this.singer);
+	}
+
+	@Benchmark
+	public Mutation writeEmbedded() {
+		return write(this.singerWithAddress);
+	}
+
+	@Benchmark
+	public Mutation writeArrays() {
+		return write(this.singerWithArrays);
+	}
+
+	@Benchmark
+	public Mutation writeCustomConverter() {
+		return write(this.singerWithExternalId);
+	}
+
+	@Benchmark
+	public List<Mutation> insertFlat() {
+		return this.mutationFactory.insert(this.singer);
+	}
+
+	@Benchmark
+	public List<Mutation> insertInterleaved() {
+		return this.mutationFactory.insert(this.singerWithAlbums);
+	}
+
+	@Benchmark
+	public List<Mutation> upsertInterleaved() {
+		return this.mutationFactory.upsert(this.singerWithAlbums, null);
+	}
+
+	@Benchmark
+	public Mutation delete() {
+		return this.mutationFactory.delete(this.singer);
+	}
+
+	private Mutation write(Object entity) {
+		Mutation.WriteBuilder builder = Mutation.newInsertOrUpdateBuilder("singers");
+		this.entityProcessor.write(entity, builder::set);
+		return builder.build();
+	}
+}
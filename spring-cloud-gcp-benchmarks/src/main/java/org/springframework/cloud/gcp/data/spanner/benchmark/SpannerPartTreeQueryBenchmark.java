@@ -0,0 +1,218 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.data.spanner.benchmark;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import com.google.cloud.spanner.Statement;
+import com.google.cloud.spanner.Struct;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.cloud.gcp.data.spanner.core.SpannerMutationFactory;
+import org.springframework.cloud.gcp.data.spanner.core.SpannerMutationFactoryImpl;
+import org.springframework.cloud.gcp.data.spanner.core.SpannerQueryOptions;
+import org.springframework.cloud.gcp.data.spanner.core.SpannerTemplate;
+import org.springframework.cloud.gcp.data.spanner.core.admin.SpannerSchemaUtils;
+import org.springframework.cloud.gcp.data.spanner.core.convert.ConverterAwareMappingSpannerEntityProcessor;
+import org.springframework.cloud.gcp.data.spanner.core.convert.SpannerEntityProcessor;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.Column;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.PrimaryKey;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerMappingContext;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.Table;
+import org.springframework.cloud.gcp.data.spanner.repository.query.SpannerStatementQueryExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.query.DefaultParameters;
+import org.springframework.data.repository.query.ParameterAccessor;
+import org.springframework.data.repository.query.ParametersParameterAccessor;
+import org.springframework.data.repository.query.parser.PartTree;
+
+/**
+ * Benchmarks the statements built by query methods derived from their names: the
+ * generation of their SQL and the binding of their arguments. The statements are built
+ * through {@link SpannerStatementQueryExecutor} and captured by a template that does not
+ * execute them. Parsing the method names is done once, as it is by the query methods
+ * themselves.
+ *
+ * @author agent (agent@local)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 1)
+@Fork(3)
+public class SpannerPartTreeQueryBenchmark {
+
+	private SpannerMappingContext mappingContext;
+
+	private StatementCapturingSpannerTemplate spannerTemplate;
+
+	private QueryMethod simple;
+
+	private QueryMethod complex;
+
+	private QueryMethod paged;
+
+	private QueryMethod exists;
+
+	@Setup
+	public void setUp() throws NoSuchMethodException {
+		this.mappingContext = new SpannerMappingContext();
+		this.mappingContext.getPersistentEntity(Trade.class);
+		SpannerEntityProcessor entityProcessor = new ConverterAwareMappingSpannerEntityProcessor(
+				this.mappingContext);
+		SpannerSchemaUtils schemaUtils = new SpannerSchemaUtils(this.mappingContext, entityProcessor, true);
+		this.spannerTemplate = new StatementCapturingSpannerTemplate(this.mappingContext, entityProcessor,
+				new SpannerMutationFactoryImpl(entityProcessor, this.mappingContext, schemaUtils), schemaUtils);
+		this.simple = new QueryMethod("findByAction", "buy");
+		this.complex = new QueryMethod(
+				"findTop10DistinctByActionAndSymbolAndPriceGreaterThanAndTraderIdInOrderByIdDesc",
+				"buy", "ABCD", 8.88, Arrays.asList("trader1", "trader2"));
+		this.paged = new QueryMethod("findByActionIgnoreCaseAndSymbolLike", "buy", "AB%",
+				PageRequest.of(2, 20, Sort.by("symbol")));
+		this.exists = new QueryMethod("existsByTraderIdAndPriceLessThanEqual", "trader1", 100.0);
+	}
+
+	@Benchmark
+	public Statement simpleQuery() {
+		return this.simple.buildStatement();
+	}
+
+	@Benchmark
+	public Statement complexQuery() {
+		return this.complex.buildStatement();
+	}
+
+	@Benchmark
+	public Statement pagedQuery() {
+		return this.paged.buildStatement();
+	}
+
+	@Benchmark
+	public Statement existsQuery() {
+		return this.exists.buildRowStatement();
+	}
+
+	/**
+	 * A parsed query method of {@link TradeRepository} and its arguments.
+	 */
+	private final class QueryMethod {
+
+		private final PartTree tree;
+
+		private final ParameterAccessor parameterAccessor;
+
+		private final java.lang.reflect.Parameter[] parameters;
+
+		QueryMethod(String name, Object... args) throws NoSuchMethodException {
+			Method method = Arrays.stream(TradeRepository.class.getMethods())
+					.filter((m) -> m.getName().equals(name)).findFirst()
+					.orElseThrow(() -> new NoSuchMethodException(name));
+			this.tree = new PartTree(name, Trade.class);
+			this.parameterAccessor = new ParametersParameterAccessor(new DefaultParameters(method), args);
+			this.parameters = method.getParameters();
+		}
+
+		Statement buildStatement() {
+			SpannerStatementQueryExecutor.executeQuery(Trade.class, this.tree, this.parameterAccessor,
+					this.parameters, SpannerPartTreeQueryBenchmark.this.spannerTemplate,
+					SpannerPartTreeQueryBenchmark.this.mappingContext);
+			return SpannerPartTreeQueryBenchmark.this.spannerTemplate.statement;
+		}
+
+		Statement buildRowStatement() {
+			SpannerStatementQueryExecutor.executeQuery((struct) -> struct.getBoolean(0), Trade.class,
+					this.tree, this.parameterAccessor, this.parameters,
+					SpannerPartTreeQueryBenchmark.this.spannerTemplate,
+					SpannerPartTreeQueryBenchmark.this.mappingContext);
+			return SpannerPartTreeQueryBenchmark.this.spannerTemplate.statement;
+		}
+	}
+
+	/**
+	 * A template that keeps the last statement it is asked to query instead of running it.
+	 */
+	private static final class StatementCapturingSpannerTemplate extends SpannerTemplate {
+
+		private Statement statement;
+
+		StatementCapturingSpannerTemplate(SpannerMappingContext mappingContext,
+				SpannerEntityProcessor entityProcessor, SpannerMutationFactory mutationFactory,
+				SpannerSchemaUtils schemaUtils) {
+			super(() -> null, mappingContext, entityProcessor, mutationFactory, schemaUtils);
+		}
+
+		@Override
+		public <A> List<A> query(Function<Struct, A> rowFunc, Statement statement,
+				SpannerQueryOptions options) {
+			this.statement = statement;
+			return Collections.emptyList();
+		}
+
+		@Override
+		public <T> List<T> query(Class<T> entityClass, Statement statement, SpannerQueryOptions options) {
+			this.statement = statement;
+			return Collections.emptyList();
+		}
+	}
+
+	interface TradeRepository {
+
+		List<Trade> findByAction(String action);
+
+		List<Trade> findTop10DistinctByActionAndSymbolAndPriceGreaterThanAndTraderIdInOrderByIdDesc(
+				String action, String symbol, double price, List<String> traderIds);
+
+		List<Trade> findByActionIgnoreCaseAndSymbolLike(String action, String symbol, Pageable pageable);
+
+		boolean existsByTraderIdAndPriceLessThanEqual(String traderId, double price);
+	}
+
+	@Table(name = "trades")
+	static class Trade {
+		@PrimaryKey(keyOrder = 1)
+		String id;
+
+		@PrimaryKey(keyOrder = 2)
+		@Column(name = "trader_id")
+		String traderId;
+
+		String action;
+
+		String symbol;
+
+		double price;
+
+		double shares;
+	}
+}
@@ -16,9 +16,13 @@
 
 package org.springframework.cloud.gcp.data.datastore.core;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.google.cloud.datastore.BaseEntity;
 import com.google.cloud.datastore.Key;
@@ -122,6 +126,24 @@ public interface DatastoreOperations {
 	 */
 	long deleteAll(Class<?> entityClass);
 
+	/**
+	 * Delete all entities found by a query. The results are read and deleted in batches, so
+	 * only a bounded number of them is held in memory. The entities are only read and
+	 * converted for the delete events if these have listeners; otherwise only their keys
+	 * are queried. By default the keys of all results are read before they are deleted by
+	 * {@link #deleteAllById(Iterable, Class)}.
+	 * @param query the query whose results are deleted.
+	 * @param entityClass the domain type of the entities to delete.
+	 * @return the number of entities that were deleted.
+	 */
+	default long deleteByQuery(StructuredQuery<?> query, Class<?> entityClass) {
+		List<Key> keys = new ArrayList<>();
+		query((Query<Object>) query, (result) -> (result instanceof Key) ? (Key) result
+				: ((BaseEntity<Key>) result).getKey()).forEach(keys::add);
+		deleteAllById(keys, entityClass);
+		return keys.size();
+	}
+
 	/**
 	 * Count all occurrences of entities of the given domain type.
 	 * @param entityClass the domain type to count.
@@ -150,6 +172,21 @@ public interface DatastoreOperations {
 	 */
 	<T> Iterable<T> query(Query<? extends BaseEntity> query, Class<T> entityClass);
 
+	/**
+	 * Finds objects by using a Cloud Datastore query, reading and converting them in
+	 * batches as the stream is consumed. Only the current batch is held in memory, and
+	 * entities referenced from several batches are converted into separate objects. By
+	 * default the results of {@link #query(Query, Class)} are streamed.
+	 * @param query the query to execute.
+	 * @param entityClass the type of object to retrieve.
+	 * @param <T> the type of object to retrieve.
+	 * @return a stream of the found entities.
+	 * @since 1.2.9
+	 */
+	default <T> Stream<T> queryStream(Query<? extends BaseEntity> query, Class<T> entityClass) {
+		return StreamSupport.stream(query(query, entityClass).spliterator(), false);
+	}
+
 	/**
 	 * Runs given query and applies given function to each entity in the result.
 	 * @param query the query to run.
@@ -185,6 +222,21 @@ public interface DatastoreOperations {
 	 */
 	<T> Collection<T> findAll(Class<T> entityClass, DatastoreQueryOptions queryOptions);
 
+	/**
+	 * Get all the entities of the given domain type applying limit, offset and sort,
+	 * reading and converting them in batches as the stream is consumed. By default the
+	 * results of {@link #findAll(Class, DatastoreQueryOptions)} are streamed.
+	 * @param entityClass the domain type to get.
+	 * @param queryOptions query options
+	 * @param <T> the type param of the domain type.
+	 * @return a stream of the entities that were found.
+	 * @since 1.2.9
+	 * @see #queryStream(Query, Class)
+	 */
+	default <T> Stream<T> streamAll(Class<T> entityClass, DatastoreQueryOptions queryOptions) {
+		return findAll(entityClass, queryOptions).stream();
+	}
+
 	/**
 	 * Check if the given ID belongs to an entity in Cloud Datastore. If this is actually
 	 * a {@link com.google.cloud.datastore.Key} then it will be used. Otherwise it will be
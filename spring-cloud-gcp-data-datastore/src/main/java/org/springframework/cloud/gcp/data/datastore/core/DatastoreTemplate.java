@@ -16,21 +16,37 @@
 
 package org.springframework.cloud.gcp.data.datastore.core;
 
+import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import com.google.cloud.datastore.BaseEntity;
@@ -55,6 +71,7 @@ import com.google.cloud.datastore.QueryResults;
 import com.google.cloud.datastore.StructuredQuery;
 import com.google.cloud.datastore.StructuredQuery.Filter;
 import com.google.cloud.datastore.StructuredQuery.PropertyFilter;
+import com.google.cloud.datastore.Transaction;
 import com.google.cloud.datastore.Value;
 
 import org.springframework.cloud.gcp.data.datastore.core.convert.DatastoreEntityConverter;
@@ -76,6 +93,12 @@ import org.springframework.cloud.gcp.data.datastore.repository.query.DatastorePa
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.GenericApplicationListener;
+import org.springframework.context.event.GenericApplicationListenerAdapter;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.ExampleMatcher;
 import org.springframework.data.domain.ExampleMatcher.NullHandler;
@@ -104,6 +127,28 @@ public class DatastoreTemplate implements DatastoreOperations, ApplicationEventP
 
 	private int maxWriteSize = 500;
 
+	private final int maxLookupSize = 1000;
+
+	private int streamBatchSize = 500;
+
+	private int writeParallelism = 1;
+
+	private @Nullable Executor writeExecutor;
+
+	private int readParallelism = 1;
+
+	private @Nullable Executor readExecutor;
+
+	/**
+	 * The executor of the concurrent reads and writes if none is set. It starts a new thread
+	 * for each worker.
+	 */
+	private final Executor defaultExecutor = new SimpleAsyncTaskExecutor("datastore-worker-");
+
+	private boolean dirtyTracking;
+
+	private @Nullable EntitySnapshots transactionSnapshots;
+
 	private final Supplier<? extends DatastoreReaderWriter> datastore;
 
 	private final DatastoreEntityConverter datastoreEntityConverter;
@@ -169,7 +214,7 @@ public class DatastoreTemplate implements DatastoreOperations, ApplicationEventP
 	}
 
 	private <T> List<Entity> getEntitiesForSave(Iterable<T> entities, Set<Key> persisted, Key... ancestors) {
-		List<Entity> entitiesForSave = new LinkedList<>();
+		List<Entity> entitiesForSave = new ArrayList<>();
 		for (T entity : entities) {
 			Key key = getKey(entity, true, ancestors);
 			if (!persisted.contains(key)) {
@@ -183,13 +228,106 @@ public class DatastoreTemplate implements DatastoreOperations, ApplicationEventP
 	private <T> void saveEntities(List<T> instances, Key[] ancestors) {
 		if (!instances.isEmpty()) {
 			maybeEmitEvent(new BeforeSaveEvent(instances));
+			allocateKeysForSave(instances, ancestors);
 			List<Entity> entities = getEntitiesForSave(instances, new HashSet<>(), ancestors);
-			SliceUtil.sliceAndExecute(
-					entities.toArray(new Entity[0]), this.maxWriteSize, getDatastoreReadWriter()::put);
+			EntitySnapshots snapshots = getSnapshots();
+			if (snapshots != null) {
+				entities.removeIf(snapshots::isUnchanged);
+			}
+			DatastoreReaderWriter datastoreReaderWriter = getDatastoreReadWriter();
+			writeInSlices(entities, datastoreReaderWriter, (slice) -> {
+				datastoreReaderWriter.put(slice.toArray(new Entity[0]));
+				if (snapshots != null) {
+					snapshots.written(slice);
+				}
+			});
 			maybeEmitEvent(new AfterSaveEvent(entities, instances));
 		}
 	}
 
+	/**
+	 * Allocate the keys of all entities to be saved that have no ID yet, together with
+	 * those of their descendants and references. The keys of each level of the graph are
+	 * allocated at once, since descendant keys need the keys of their ancestors.
+	 */
+	private void allocateKeysForSave(List<?> instances, Key[] ancestors) {
+		Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+		List<Object> level = new ArrayList<>(instances);
+		List<Key[]> levelAncestors = new ArrayList<>(Collections.nCopies(instances.size(), ancestors));
+		while (!level.isEmpty()) {
+			List<Object> entities = new ArrayList<>();
+			List<Key[]> entityAncestors = new ArrayList<>();
+			List<Object> toAllocate = new ArrayList<>();
+			List<DatastorePersistentEntity> toAllocateMetadata = new ArrayList<>();
+			List<Key[]> toAllocateAncestors = new ArrayList<>();
+			for (int i = 0; i < level.size(); i++) {
+				Object entity = level.get(i);
+				if (entity == null || !visited.add(entity)) {
+					continue;
+				}
+				entities.add(entity);
+				entityAncestors.add(levelAncestors.get(i));
+				DatastorePersistentEntity persistentEntity = this.datastoreMappingContext
+						.getPersistentEntity(entity.getClass());
+				if (canAllocateKey(entity, persistentEntity, levelAncestors.get(i))) {
+					toAllocate.add(entity);
+					toAllocateMetadata.add(persistentEntity);
+					toAllocateAncestors.add(levelAncestors.get(i));
+				}
+			}
+			if (!toAllocate.isEmpty()) {
+				this.objectToKeyFactory.allocateKeysForObjects(toAllocate, toAllocateMetadata, toAllocateAncestors);
+			}
+
+			level = new ArrayList<>();
+			levelAncestors = new ArrayList<>();
+			for (Object entity : entities) {
+				addRelatedEntities(entity, level, levelAncestors);
+			}
+		}
+	}
+
+	private boolean canAllocateKey(Object entity, DatastorePersistentEntity persistentEntity, Key[] ancestors) {
+		PersistentProperty idProp = persistentEntity.getIdProperty();
+		if (idProp == null || persistentEntity.getPropertyAccessor(entity).getProperty(idProp) != null) {
+			return false;
+		}
+		// other ID types are left for the key factory to reject when each entity is saved
+		return idProp.getType().equals(Key.class)
+				|| (idProp.getType().equals(Long.class) && (ancestors == null || ancestors.length == 0));
+	}
+
+	private void addRelatedEntities(Object entity, List<Object> related, List<Key[]> relatedAncestors) {
+		DatastorePersistentEntity persistentEntity = this.datastoreMappingContext
+				.getPersistentEntity(entity.getClass());
+		PersistentPropertyAccessor accessor = persistentEntity.getPropertyAccessor(entity);
+		Key key = getKey(entity, false);
+		if (key != null) {
+			persistentEntity.doWithDescendantProperties((PersistentProperty persistentProperty) -> {
+				Object val = accessor.getProperty(persistentProperty);
+				if (val != null) {
+					for (Object descendant : (Iterable<?>) ValueUtil.toListIfArray(val)) {
+						related.add(descendant);
+						relatedAncestors.add(new Key[] { key });
+					}
+				}
+			});
+		}
+		persistentEntity.doWithAssociations((AssociationHandler) (association) -> {
+			Object val = accessor.getProperty(association.getInverse());
+			if (val == null || LazyUtil.isLazyAndNotLoaded(val)) {
+				return;
+			}
+			Iterable<?> references = association.getInverse().isCollectionLike()
+					? (Iterable<?>) ValueUtil.toListIfArray(val)
+					: Collections.singletonList(val);
+			for (Object reference : references) {
+				related.add(reference);
+				relatedAncestors.add(new Key[0]);
+			}
+		});
+	}
+
 	@Override
 	public <T> void deleteById(Object id, Class<T> entityClass) {
 		performDelete(new Key[] { getKeyFromId(id, entityClass) }, Collections.singletonList(id), null, entityClass);
@@ -213,20 +351,197 @@ public class DatastoreTemplate implements DatastoreOperations, ApplicationEventP
 
 	@Override
 	public long deleteAll(Class<?> entityClass) {
-		Key[] keysToDelete = findAllKeys(entityClass);
-		performDelete(keysToDelete, null, null, entityClass);
-		return keysToDelete.length;
+		return deleteByQuery(getAllKeysQuery(entityClass), entityClass);
+	}
+
+	@Override
+	public long deleteByQuery(StructuredQuery<?> query, Class<?> entityClass) {
+		// the entities are only read and converted if there is someone to hand them to
+		boolean withEntities = !(query instanceof KeyQuery) && hasDeleteEventListeners();
+		DatastoreReaderWriter datastoreReaderWriter = getDatastoreReadWriter();
+		QueryResults<?> results = datastoreReaderWriter.run(withEntities ? (Query) query : toKeyQuery(query));
+		if (results == null) {
+			return 0;
+		}
+
+		int workerCount = (datastoreReaderWriter instanceof Transaction) ? 1 : this.writeParallelism;
+		AtomicLong deleted = new AtomicLong();
+		AtomicInteger batchCount = new AtomicInteger();
+		AtomicBoolean failed = new AtomicBoolean();
+		// each worker reads the next batch once it has deleted the previous one, so at most
+		// the write parallelism number of batches are held in memory
+		Supplier<Runnable> batches = () -> {
+			if (failed.get()) {
+				return null;
+			}
+			List<Object> batch = new ArrayList<>(this.maxWriteSize);
+			synchronized (results) {
+				while (batch.size() < this.maxWriteSize && results.hasNext()) {
+					batch.add(results.next());
+				}
+			}
+			if (batch.isEmpty()) {
+				return null;
+			}
+			deleted.addAndGet(batch.size());
+			batchCount.incrementAndGet();
+			return () -> {
+				try {
+					deleteBatch(batch, withEntities, entityClass);
+				}
+				catch (RuntimeException ex) {
+					failed.set(true);
+					throw ex;
+				}
+			};
+		};
+		if (workerCount <= 1) {
+			for (Runnable deleteBatch = batches.get(); deleteBatch != null; deleteBatch = batches.get()) {
+				deleteBatch.run();
+			}
+			return deleted.get();
+		}
+		List<Throwable> failures = ConcurrentWorkers.run(batches, workerCount, getWriteExecutor());
+		if (!failures.isEmpty()) {
+			throw aggregateFailures("Failed to delete " + failures.size() + " of " + batchCount.get() + " batches.",
+					failures);
+		}
+		return deleted.get();
+	}
+
+	private void deleteBatch(List<Object> batch, boolean withEntities, Class<?> entityClass) {
+		if (!withEntities) {
+			performDelete(batch.toArray(new Key[0]), null, null, entityClass);
+			return;
+		}
+		Key[] keys = batch.stream().map((entity) -> ((BaseEntity<Key>) entity).getKey()).toArray(Key[]::new);
+		List<?> entities = convertEntitiesForRead((Iterator<BaseEntity>) (Iterator<?>) batch.iterator(), entityClass,
+				new ReadContext());
+		performDelete(keys, null, entities, entityClass);
+	}
+
+	private static KeyQuery toKeyQuery(StructuredQuery<?> query) {
+		if (query instanceof KeyQuery) {
+			return (KeyQuery) query;
+		}
+		KeyQuery.Builder builder = Query.newKeyQueryBuilder()
+				.setNamespace(query.getNamespace())
+				.setKind(query.getKind())
+				.setFilter(query.getFilter())
+				.setStartCursor(query.getStartCursor())
+				.setEndCursor(query.getEndCursor())
+				.setOffset(query.getOffset())
+				.setLimit(query.getLimit());
+		query.getOrderBy().forEach(builder::addOrderBy);
+		return builder.build();
+	}
+
+	/**
+	 * Whether the delete events have listeners. Only the listeners registered with an
+	 * application context are known; any other event publisher is assumed to have them.
+	 */
+	private boolean hasDeleteEventListeners() {
+		if (this.eventPublisher == null) {
+			return false;
+		}
+		if (!(this.eventPublisher instanceof AbstractApplicationContext)) {
+			return true;
+		}
+		for (ApplicationListener<?> listener
+				: ((AbstractApplicationContext) this.eventPublisher).getApplicationListeners()) {
+			GenericApplicationListener genericListener = (listener instanceof GenericApplicationListener)
+					? (GenericApplicationListener) listener
+					: new GenericApplicationListenerAdapter(listener);
+			if (genericListener.supportsEventType(ResolvableType.forClass(BeforeDeleteEvent.class))
+					|| genericListener.supportsEventType(ResolvableType.forClass(AfterDeleteEvent.class))) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	private void performDelete(Key[] keys, Iterable ids, Iterable entities, Class entityClass) {
 		maybeEmitEvent(new BeforeDeleteEvent(keys, entityClass, ids, entities));
-		SliceUtil.sliceAndExecute(keys, this.maxWriteSize, getDatastoreReadWriter()::delete);
+		DatastoreReaderWriter datastoreReaderWriter = getDatastoreReadWriter();
+		writeInSlices(Arrays.asList(keys), datastoreReaderWriter, (slice) -> {
+			datastoreReaderWriter.delete(slice.toArray(new Key[0]));
+			removeSnapshots(slice);
+		});
 		maybeEmitEvent(new AfterDeleteEvent(keys, entityClass, ids, entities));
 	}
 
+	private void removeSnapshots(List<Key> keys) {
+		EntitySnapshots snapshots = getSnapshots();
+		if (snapshots != null) {
+			snapshots.invalidate(keys);
+		}
+	}
+
+	/**
+	 * Get the snapshots of the current transaction. Entities are only known to be unchanged
+	 * within a transaction, which fails if they are changed by someone else, so there are no
+	 * snapshots outside of transactions.
+	 */
+	@Nullable
+	private EntitySnapshots getSnapshots() {
+		if (!this.dirtyTracking) {
+			return null;
+		}
+		if (this.transactionSnapshots != null) {
+			return this.transactionSnapshots;
+		}
+		if (TransactionSynchronizationManager.isActualTransactionActive()) {
+			DatastoreTransactionManager.Tx tx = (DatastoreTransactionManager.Tx) TransactionSynchronizationManager
+					.getResource(this.datastore.get());
+			if (tx != null && tx.getTransaction() != null) {
+				return tx.getSnapshots();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Write the elements in slices of at most the max write size. Outside of transactions the
+	 * slices are written concurrently by up to the write parallelism number of workers, and
+	 * the failures of all slices are reported together once the other slices are written.
+	 */
+	private <T> void writeInSlices(List<T> elements, DatastoreReaderWriter datastoreReaderWriter,
+			Consumer<List<T>> sliceWriter) {
+		int sliceCount = (elements.size() + this.maxWriteSize - 1) / this.maxWriteSize;
+		int workerCount = Math.min(this.writeParallelism, sliceCount);
+		if (workerCount <= 1 || datastoreReaderWriter instanceof Transaction) {
+			SliceUtil.sliceAndExecute(elements, this.maxWriteSize, sliceWriter);
+			return;
+		}
+
+		Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+		SliceUtil.sliceAndExecute(elements, this.maxWriteSize,
+				(slice) -> pending.add(() -> sliceWriter.accept(slice)));
+		List<Throwable> failures = ConcurrentWorkers.run(pending::poll, workerCount, getWriteExecutor());
+		if (!failures.isEmpty()) {
+			throw aggregateFailures("Failed to write " + failures.size() + " of " + sliceCount + " slices.",
+					failures);
+		}
+	}
+
+	private Executor getWriteExecutor() {
+		return (this.writeExecutor != null) ? this.writeExecutor : this.defaultExecutor;
+	}
+
+	private Executor getReadExecutor() {
+		return (this.readExecutor != null) ? this.readExecutor : this.defaultExecutor;
+	}
+
+	private static DatastoreDataException aggregateFailures(String message, List<Throwable> failures) {
+		DatastoreDataException exception = new DatastoreDataException(message, failures.get(0));
+		failures.stream().skip(1).forEach(exception::addSuppressed);
+		return exception;
+	}
+
 	@Override
 	public long count(Class<?> entityClass) {
-		return findAllKeys(entityClass).length;
+		// the keys are counted as they are streamed instead of being collected first
+		return StreamSupport.stream(queryKeys(getAllKeysQuery(entityClass)).spliterator(), false).count();
 	}
 
 	@Override
@@ -245,7 +560,7 @@ public class DatastoreTemplate implements DatastoreOperations, ApplicationEventP
 		List<Key> missingKeys = keys.stream().filter(context::notCached).collect(Collectors.toList());
 
 		if (!missingKeys.isEmpty()) {
-			List<Entity> entities = getDatastoreReadWriter().fetch(missingKeys.toArray(new Key[] {}));
+			List<Entity> entities = fetch(missingKeys);
 			Assert.isTrue(missingKeys.size() == entities.size(), "Fetched incorrect number of entities");
 
 			for (int i = 0; i < missingKeys.size(); i++) {
@@ -267,6 +582,38 @@ public class DatastoreTemplate implements DatastoreOperations, ApplicationEventP
 				: null;
 	}
 
+	@Override
+	public <T> Stream<T> queryStream(Query<? extends BaseEntity> query, Class<T> entityClass) {
+		QueryResults<? extends BaseEntity> results = getDatastoreReadWriter().run(query);
+		if (results == null) {
+			return Stream.empty();
+		}
+		int batchSize = this.streamBatchSize;
+		Iterator<List<T>> batches = new Iterator<List<T>>() {
+			@Override
+			public boolean hasNext() {
+				return results.hasNext();
+			}
+
+			@Override
+			public List<T> next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				List<BaseEntity> batch = new ArrayList<>(batchSize);
+				while (batch.size() < batchSize && results.hasNext()) {
+					batch.add(results.next());
+				}
+				// a read context per batch lets the entities of earlier batches be collected
+				List<T> convertedBatch = convertEntitiesForRead(batch.iterator(), entityClass, new ReadContext());
+				maybeEmitEvent(new AfterQueryEvent(convertedBatch, query));
+				return convertedBatch;
+			}
+		};
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(batches, Spliterator.ORDERED), false)
+				.flatMap(List::stream);
+	}
+
 	@Override
 	public <T> Slice<Key> queryKeysSlice(KeyQuery query, Class<T> entityClass, Pageable pageable) {
 		return buildSlice(query, pageable, Key.class);
@@ -280,12 +627,28 @@ public class DatastoreTemplate implements DatastoreOperations, ApplicationEventP
 		throw new DatastoreDataException("query must be an EntityQuery or a ProjectionEntityQuery");
 	}
 
+	/**
+	 * Run the query for one more result than the page holds. The page is followed by
+	 * another one if that result exists, so no second query is needed to find out.
+	 */
 	private <T> SliceImpl<T> buildSlice(StructuredQuery query, Pageable pageable, Class<T> entityClass) {
-		DatastoreResultsIterable<T> results = (DatastoreResultsIterable<T>)
-				queryKeysOrEntities(applyPageable(query, pageable), entityClass);
-		return new SliceImpl<>(results.toList(),
-				DatastorePageable.from(pageable, results.getCursor(), null),
-				nextPageExists(query, results.getCursor()));
+		StructuredQuery pageQuery = applyPageable(query, pageable);
+		Integer limit = pageQuery.getLimit();
+		QueryResults results = getDatastoreReadWriter().run(
+				(limit != null) ? pageQuery.toBuilder().setLimit(limit + 1).build() : pageQuery);
+
+		List<Object> page = new ArrayList<>();
+		while ((limit == null || page.size() < limit) && results.hasNext()) {
+			page.add(results.next());
+		}
+		// the cursor has to be read before checking for the extra result, which moves it
+		Cursor cursorAfter = results.getCursorAfter();
+		boolean hasNext = results.hasNext();
+
+		List<T> content = (results.getResultClass() == Key.class) ? (List<T>) page
+				: convertEntitiesForRead((Iterator<BaseEntity>) (Iterator<?>) page.iterator(), entityClass);
+		maybeEmitEvent(new AfterQueryEvent(content, pageQuery));
+		return new SliceImpl<>(content, DatastorePageable.from(pageable, cursorAfter, null), hasNext);
 	}
 
 	private StructuredQuery applyPageable(StructuredQuery query, Pageable pageable) {
@@ -321,14 +684,6 @@ public class DatastoreTemplate implements DatastoreOperations, ApplicationEventP
 		return resultsIterable;
 	}
 
-	private boolean nextPageExists(StructuredQuery query, Cursor cursorAfter) {
-		QueryResults results = getDatastoreReadWriter().run(
-				query.toBuilder().setStartCursor(cursorAfter).setLimit(1).setOffset(0)
-						.build());
-
-		return results.hasNext();
-	}
-
 	@Override
 	public <A, T> List<T> query(Query<A> query, Function<A, T> entityFunc) {
 		return (List<T>) queryIterable(query, entityFunc).getIterable();
@@ -375,11 +730,7 @@ public class DatastoreTemplate implements DatastoreOperations, ApplicationEventP
 
 	@Override
 	public <T> DatastoreResultsCollection<T> findAll(Class<T> entityClass, DatastoreQueryOptions queryOptions) {
-		DatastorePersistentEntity<?> persistentEntity = this.datastoreMappingContext.getPersistentEntity(entityClass);
-		EntityQuery.Builder builder = Query.newEntityQueryBuilder()
-				.setKind(persistentEntity.kindName());
-		applyQueryOptions(builder, queryOptions, persistentEntity);
-		Query query = builder.build();
+		Query query = getFindAllQuery(entityClass, queryOptions);
 		QueryResults queryResults = getDatastoreReadWriter().run(query);
 		Collection<T> convertedResults = convertEntitiesForRead(queryResults, entityClass);
 		maybeEmitEvent(new AfterQueryEvent(convertedResults, query));
@@ -387,6 +738,19 @@ public class DatastoreTemplate implements DatastoreOperations, ApplicationEventP
 				queryResults != null ? queryResults.getCursorAfter() : null);
 	}
 
+	@Override
+	public <T> Stream<T> streamAll(Class<T> entityClass, DatastoreQueryOptions queryOptions) {
+		return queryStream(getFindAllQuery(entityClass, queryOptions), entityClass);
+	}
+
+	private <T> EntityQuery getFindAllQuery(Class<T> entityClass, DatastoreQueryOptions queryOptions) {
+		DatastorePersistentEntity<?> persistentEntity = this.datastoreMappingContext.getPersistentEntity(entityClass);
+		EntityQuery.Builder builder = Query.newEntityQueryBuilder()
+				.setKind(persistentEntity.kindName());
+		applyQueryOptions(builder, queryOptions, persistentEntity);
+		return builder.build();
+	}
+
 	public static void applyQueryOptions(StructuredQuery.Builder builder, DatastoreQueryOptions queryOptions,
 			DatastorePersistentEntity<?> persistentEntity) {
 		if (persistentEntity.getDiscriminationFieldName() != null
@@ -439,6 +803,10 @@ public class DatastoreTemplate implements DatastoreOperations, ApplicationEventP
 							DatastoreTemplate.this.datastoreMappingContext,
 							DatastoreTemplate.this.objectToKeyFactory);
 					template.setApplicationEventPublisher(DatastoreTemplate.this.eventPublisher);
+					if (DatastoreTemplate.this.dirtyTracking) {
+						template.dirtyTracking = true;
+						template.transactionSnapshots = new EntitySnapshots();
+					}
 					return operations.apply(template);
 				});
 	}
@@ -463,6 +831,7 @@ public class DatastoreTemplate implements DatastoreOperations, ApplicationEventP
 						builder.set(key, this.datastoreEntityConverter.getConversions().convertOnWriteSingle(value)));
 		Entity entity = builder.build();
 		getDatastoreReadWriter().put(entity);
+		removeSnapshots(Collections.singletonList(datastoreKey));
 	}
 
 	@Override
@@ -617,6 +986,8 @@ public class DatastoreTemplate implements DatastoreOperations, ApplicationEventP
 		DatastorePersistentEntity datastorePersistentEntity = this.datastoreMappingContext
 				.getPersistentEntity(entityClass);
 
+		prefetchReferencesAndDescendants(keys, datastorePersistentEntity, context);
+
 		return keys.stream()
 				.map((key) -> convertEntityResolveDescendantsAndReferences(entityClass,
 				datastorePersistentEntity,
@@ -635,6 +1006,11 @@ public class DatastoreTemplate implements DatastoreOperations, ApplicationEventP
 		else {
 			BaseEntity readEntity = context.getReadEntity(key);
 			convertedObject = this.datastoreEntityConverter.read(entityClass, readEntity);
+			// projections only hold some of the properties, so they are not the stored state
+			EntitySnapshots snapshots = getSnapshots();
+			if (snapshots != null && convertedObject != null && readEntity instanceof Entity) {
+				snapshots.read((Entity) readEntity);
+			}
 
 			// the parent entity should be put into context BEFORE referenced and descendant entities
 			// are being resolved to avoid infinite loops
@@ -737,17 +1113,13 @@ public class DatastoreTemplate implements DatastoreOperations, ApplicationEventP
 					Class descendantType = descendantPersistentProperty
 							.getComponentType();
 
-					Key entityKey = (Key) entity.getKey();
-					Key ancestorKey = KeyUtil.getKeyWithoutAncestors(entityKey);
-
-					EntityQuery descendantQuery = Query.newEntityQueryBuilder()
-							.setKind(this.datastoreMappingContext
-									.getPersistentEntity(descendantType).kindName())
-							.setFilter(PropertyFilter.hasAncestor(ancestorKey))
-							.build();
+					EntityQuery descendantQuery = getDescendantQuery((Key) entity.getKey(), descendantType);
+					List<BaseEntity> prefetched = context.takeDescendants(descendantQuery);
 
 					List entities = convertEntitiesForRead(
-							getDatastoreReadWriter().run(descendantQuery), descendantType, context);
+							(prefetched != null) ? prefetched.iterator()
+									: getDatastoreReadWriter().run(descendantQuery),
+							descendantType, context);
 
 					datastorePersistentEntity.getPropertyAccessor(convertedObject)
 							.setProperty(descendantPersistentProperty,
@@ -760,6 +1132,148 @@ public class DatastoreTemplate implements DatastoreOperations, ApplicationEventP
 				});
 	}
 
+	private EntityQuery getDescendantQuery(Key entityKey, Class descendantType) {
+		Key ancestorKey = KeyUtil.getKeyWithoutAncestors(entityKey);
+		return Query.newEntityQueryBuilder()
+				.setKind(this.datastoreMappingContext.getPersistentEntity(descendantType).kindName())
+				.setFilter(PropertyFilter.hasAncestor(ancestorKey))
+				.build();
+	}
+
+	/**
+	 * Read the eagerly loaded references and the descendants of the given entities and of
+	 * the entities they lead to, one level of the graph at a time, into the read context.
+	 * The referenced entities of a level are fetched in a single lookup, and the descendant
+	 * queries of a level are run concurrently outside of transactions. The entities are then
+	 * converted from the context without further reads.
+	 */
+	private void prefetchReferencesAndDescendants(Collection<? extends BaseKey> keys,
+			DatastorePersistentEntity persistentEntity, ReadContext context) {
+		List<Map.Entry<BaseEntity, DatastorePersistentEntity>> level = new ArrayList<>();
+		for (BaseKey key : keys) {
+			BaseEntity entity = context.getReadEntity(key);
+			if (entity != null && context.markPrefetched(key)) {
+				level.add(new AbstractMap.SimpleEntry<>(entity, persistentEntity));
+			}
+		}
+
+		while (!level.isEmpty()) {
+			Map<Key, DatastorePersistentEntity> referencedKeys = new LinkedHashMap<>();
+			Map<EntityQuery, DatastorePersistentEntity> descendantQueries = new LinkedHashMap<>();
+			for (Map.Entry<BaseEntity, DatastorePersistentEntity> entry : level) {
+				collectReferencedKeys(entry.getKey(), entry.getValue(), context, referencedKeys);
+				collectDescendantQueries(entry.getKey(), entry.getValue(), context, descendantQueries);
+			}
+
+			List<Map.Entry<BaseEntity, DatastorePersistentEntity>> nextLevel = new ArrayList<>();
+			if (!referencedKeys.isEmpty()) {
+				List<Key> missingKeys = new ArrayList<>(referencedKeys.keySet());
+				List<Entity> entities = fetch(missingKeys);
+				Assert.isTrue(missingKeys.size() == entities.size(), "Fetched incorrect number of entities");
+				for (int i = 0; i < missingKeys.size(); i++) {
+					Key key = missingKeys.get(i);
+					context.putReadEntity(key, entities.get(i));
+					if (entities.get(i) != null && context.markPrefetched(key)) {
+						nextLevel.add(new AbstractMap.SimpleEntry<>(entities.get(i), referencedKeys.get(key)));
+					}
+				}
+			}
+			runDescendantQueries(descendantQueries.keySet(), context);
+			descendantQueries.forEach((query, descendantEntity) -> {
+				for (BaseEntity descendant : context.getDescendants(query)) {
+					if (context.notCached(descendant.getKey())) {
+						context.putReadEntity(descendant.getKey(), descendant);
+					}
+					if (context.markPrefetched(descendant.getKey())) {
+						nextLevel.add(new AbstractMap.SimpleEntry<>(descendant, descendantEntity));
+					}
+				}
+			});
+			level = nextLevel;
+		}
+	}
+
+	/**
+	 * Look up the entities of the keys in batches of at most the max lookup size, the
+	 * maximum Cloud Datastore accepts in a single request.
+	 */
+	private List<Entity> fetch(List<Key> keys) {
+		DatastoreReaderWriter datastoreReaderWriter = getDatastoreReadWriter();
+		if (keys.size() <= this.maxLookupSize) {
+			return datastoreReaderWriter.fetch(keys.toArray(new Key[0]));
+		}
+		List<Entity> entities = new ArrayList<>(keys.size());
+		SliceUtil.sliceAndExecute(keys, this.maxLookupSize,
+				(slice) -> entities.addAll(datastoreReaderWriter.fetch(slice.toArray(new Key[0]))));
+		return entities;
+	}
+
+	private void collectReferencedKeys(BaseEntity entity, DatastorePersistentEntity persistentEntity,
+			ReadContext context, Map<Key, DatastorePersistentEntity> referencedKeys) {
+		persistentEntity.doWithAssociations((AssociationHandler) (association) -> {
+			DatastorePersistentProperty referenceProperty = (DatastorePersistentProperty) association.getInverse();
+			String fieldName = referenceProperty.getFieldName();
+			if (referenceProperty.isLazyLoaded() || !entity.contains(fieldName) || entity.isNull(fieldName)) {
+				return;
+			}
+			DatastorePersistentEntity referencedEntity = this.datastoreMappingContext.getPersistentEntity(
+					referenceProperty.isCollectionLike() ? referenceProperty.getComponentType()
+							: referenceProperty.getType());
+			Value<?> value = entity.getValue(fieldName);
+			List<? extends Value<?>> values = (value instanceof ListValue) ? ((ListValue) value).get()
+					: Collections.singletonList(value);
+			for (Value<?> element : values) {
+				// values that are not keys are reported when the reference is resolved
+				if (element instanceof KeyValue && context.notCached(((KeyValue) element).get())) {
+					referencedKeys.putIfAbsent(((KeyValue) element).get(), referencedEntity);
+				}
+			}
+		});
+	}
+
+	private void collectDescendantQueries(BaseEntity entity, DatastorePersistentEntity persistentEntity,
+			ReadContext context, Map<EntityQuery, DatastorePersistentEntity> descendantQueries) {
+		if (!(entity.getKey() instanceof Key)) {
+			return;
+		}
+		persistentEntity.doWithDescendantProperties((descendantPersistentProperty) -> {
+			Class descendantType = descendantPersistentProperty.getComponentType();
+			EntityQuery descendantQuery = getDescendantQuery((Key) entity.getKey(), descendantType);
+			if (context.getDescendants(descendantQuery) == null) {
+				descendantQueries.putIfAbsent(descendantQuery,
+						this.datastoreMappingContext.getPersistentEntity(descendantType));
+			}
+		});
+	}
+
+	private void runDescendantQueries(Collection<EntityQuery> queries, ReadContext context) {
+		DatastoreReaderWriter datastoreReaderWriter = getDatastoreReadWriter();
+		Map<EntityQuery, List<BaseEntity>> results = new ConcurrentHashMap<>();
+		Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+		queries.forEach((query) -> pending.add(() -> {
+			List<BaseEntity> descendants = new ArrayList<>();
+			QueryResults<Entity> queryResults = datastoreReaderWriter.run(query);
+			if (queryResults != null) {
+				queryResults.forEachRemaining(descendants::add);
+			}
+			results.put(query, descendants);
+		}));
+
+		int workerCount = Math.min(this.readParallelism, queries.size());
+		if (workerCount <= 1 || datastoreReaderWriter instanceof Transaction) {
+			pending.forEach(Runnable::run);
+		}
+		else {
+			List<Throwable> failures = ConcurrentWorkers.run(pending::poll, workerCount, getReadExecutor());
+			if (!failures.isEmpty()) {
+				throw aggregateFailures("Failed to run " + failures.size() + " of " + queries.size()
+						+ " descendant queries.", failures);
+			}
+		}
+		// keep the order of the queries for the order of the next level
+		queries.forEach((query) -> context.putDescendants(query, results.get(query)));
+	}
+
 	private Key getKeyFromId(Object id, Class entityClass) {
 		return this.objectToKeyFactory.getKeyFromId(id,
 				this.datastoreMappingContext.getPersistentEntity(entityClass).kindName());
@@ -780,13 +1294,11 @@ public class DatastoreTemplate implements DatastoreOperations, ApplicationEventP
 		return this.objectToKeyFactory.getKeyFromObject(entity, datastorePersistentEntity);
 	}
 
-	private Key[] findAllKeys(Class entityClass) {
-		Iterable<Key> keysFound = queryKeys(Query.newKeyQueryBuilder().setKind(
+	private KeyQuery getAllKeysQuery(Class entityClass) {
+		return Query.newKeyQueryBuilder().setKind(
 				this.datastoreMappingContext
 						.getPersistentEntity(entityClass).kindName())
-				.build());
-		return StreamSupport.stream(keysFound.spliterator(),
-				false).toArray(Key[]::new);
+				.build();
 	}
 
 	private <T> Set<Key> getKeysFromIds(Iterable<?> ids, Class<T> entityClass) {
@@ -923,6 +1435,78 @@ public class DatastoreTemplate implements DatastoreOperations, ApplicationEventP
 		this.maxWriteSize = maxWriteSize;
 	}
 
+	void setStreamBatchSize(int streamBatchSize) {
+		this.streamBatchSize = streamBatchSize;
+	}
+
+	/**
+	 * Set the number of slices of a bulk save or delete that are written concurrently
+	 * outside of transactions. Writes within transactions are always sequential.
+	 * @param writeParallelism the number of concurrent slice writes. The default of 1 writes
+	 * the slices one after another.
+	 * @since 1.2.9
+	 */
+	public void setWriteParallelism(int writeParallelism) {
+		Assert.isTrue(writeParallelism > 0, "The write parallelism must be positive.");
+		this.writeParallelism = writeParallelism;
+	}
+
+	public int getWriteParallelism() {
+		return this.writeParallelism;
+	}
+
+	/**
+	 * Set the executor running the concurrent slice writes.
+	 * @param writeExecutor the executor. By default a new thread is started for each worker.
+	 * @since 1.2.9
+	 */
+	public void setWriteExecutor(@Nullable Executor writeExecutor) {
+		this.writeExecutor = writeExecutor;
+	}
+
+	/**
+	 * Set the number of descendant queries of a read that run concurrently outside of
+	 * transactions. Queries within transactions are always run one after another.
+	 * @param readParallelism the number of concurrent descendant queries. The default of 1
+	 * runs the queries one after another.
+	 * @since 1.2.9
+	 */
+	public void setReadParallelism(int readParallelism) {
+		Assert.isTrue(readParallelism > 0, "The read parallelism must be positive.");
+		this.readParallelism = readParallelism;
+	}
+
+	public int getReadParallelism() {
+		return this.readParallelism;
+	}
+
+	/**
+	 * Set the executor running the concurrent descendant queries.
+	 * @param readExecutor the executor. By default a new thread is started for each worker.
+	 * @since 1.2.9
+	 */
+	public void setReadExecutor(@Nullable Executor readExecutor) {
+		this.readExecutor = readExecutor;
+	}
+
+	/**
+	 * Enable or disable dirty tracking. With dirty tracking, the template keeps a snapshot of
+	 * every entity it reads or writes within a transaction, and saves in that transaction
+	 * only write the entities, including referenced and descendant entities, that differ
+	 * from their snapshot. The snapshots are discarded when the transaction ends.
+	 * <p>Outside of transactions all entities are written, since they may have been changed
+	 * by other clients since they were read.
+	 * @param dirtyTracking whether saves skip unchanged entities. Disabled by default.
+	 * @since 1.2.9
+	 */
+	public void setDirtyTracking(boolean dirtyTracking) {
+		this.dirtyTracking = dirtyTracking;
+	}
+
+	public boolean isDirtyTracking() {
+		return this.dirtyTracking;
+	}
+
 	/**
 	 * Class to hold caches for read and conversion.
 	 *
@@ -931,6 +1515,8 @@ public class DatastoreTemplate implements DatastoreOperations, ApplicationEventP
 	class ReadContext {
 		private final Map<BaseKey, Object> convertedEntities = new HashMap<>();
 		private final Map<BaseKey, BaseEntity> readEntities = new HashMap<>();
+		private final Set<BaseKey> prefetchedEntities = new HashSet<>();
+		private final Map<EntityQuery, List<BaseEntity>> descendants = new HashMap<>();
 
 		void putConvertedEntity(BaseKey key, Object entity) {
 			this.convertedEntities.put(key, entity);
@@ -960,5 +1546,21 @@ public class DatastoreTemplate implements DatastoreOperations, ApplicationEventP
 		void removeReadEntity(BaseKey key) {
 			this.readEntities.remove(key);
 		}
+
+		boolean markPrefetched(BaseKey key) {
+			return this.prefetchedEntities.add(key);
+		}
+
+		List<BaseEntity> getDescendants(EntityQuery descendantQuery) {
+			return this.descendants.get(descendantQuery);
+		}
+
+		void putDescendants(EntityQuery descendantQuery, List<BaseEntity> entities) {
+			this.descendants.put(descendantQuery, entities);
+		}
+
+		List<BaseEntity> takeDescendants(EntityQuery descendantQuery) {
+			return this.descendants.remove(descendantQuery);
+		}
 	}
 }
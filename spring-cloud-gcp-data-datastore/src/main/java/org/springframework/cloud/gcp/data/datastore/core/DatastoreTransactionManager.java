@@ -142,6 +142,8 @@ public class DatastoreTransactionManager extends AbstractPlatformTransactionMana
 		private Transaction transaction;
 		private Datastore datastore;
 
+		private EntitySnapshots snapshots;
+
 		public Tx(Datastore datastore) {
 			this.datastore = datastore;
 		}
@@ -158,6 +160,13 @@ public class DatastoreTransactionManager extends AbstractPlatformTransactionMana
 			return datastore;
 		}
 
+		EntitySnapshots getSnapshots() {
+			if (this.snapshots == null) {
+				this.snapshots = new EntitySnapshots();
+			}
+			return this.snapshots;
+		}
+
 	}
 
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.data.datastore.core;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.cloud.datastore.Entity;
+import com.google.cloud.datastore.Key;
+
+/**
+ * The stored state of the entities read or written within a single transaction, used by
+ * dirty tracking to skip writing unchanged entities.
+ *
+ * <p>Reads within a transaction see the state from before the transaction began, so a
+ * read does not replace the snapshot of an entity written or deleted in the same
+ * transaction.
+ *
+ * @author agent (agent@local)
+ *
+ * @since 1.2.9
+ */
+class EntitySnapshots {
+
+	private final Map<Key, Entity> snapshots = new ConcurrentHashMap<>();
+
+	private final Set<Key> written = ConcurrentHashMap.newKeySet();
+
+	void read(Entity entity) {
+		if (!this.written.contains(entity.getKey())) {
+			this.snapshots.put(entity.getKey(), entity);
+		}
+	}
+
+	void written(Collection<Entity> entities) {
+		for (Entity entity : entities) {
+			this.written.add(entity.getKey());
+			this.snapshots.put(entity.getKey(), entity);
+		}
+	}
+
+	void invalidate(Collection<Key> keys) {
+		for (Key key : keys) {
+			this.written.add(key);
+			this.snapshots.remove(key);
+		}
+	}
+
+	boolean isUnchanged(Entity entity) {
+		return entity.equals(this.snapshots.get(entity.getKey()));
+	}
+}
@@ -43,6 +43,22 @@ final class LazyUtil {
 
 	static private final ObjenesisStd objenesis = new ObjenesisStd();
 
+	/**
+	 * The proxy classes of the lazily loaded types. Computing the key of a CGLIB class is
+	 * not free even when the class was already generated, so the class of each type is
+	 * computed once. A {@link ClassValue} does not keep the types from being unloaded.
+	 */
+	static private final ClassValue<Class<?>> enhancedTypes = new ClassValue<Class<?>>() {
+		@Override
+		protected Class<?> computeValue(Class<?> type) {
+			Enhancer enhancer = new Enhancer();
+			enhancer.setSuperclass(type);
+			enhancer.setCallbackType(org.springframework.cglib.proxy.MethodInterceptor.class);
+
+			return enhancer.createClass();
+		}
+	};
+
 	private LazyUtil() {
 	}
 
@@ -62,20 +78,12 @@ final class LazyUtil {
 			return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class[] {type},
 				new SimpleLazyDynamicInvocationHandler<T>(supplierFunc, keys));
 		}
-		Factory factory = (Factory) objenesis.newInstance(getEnhancedTypeFor(type));
+		Factory factory = (Factory) objenesis.newInstance(enhancedTypes.get(type));
 		factory.setCallbacks(new Callback[] { new SimpleLazyDynamicInvocationHandler<T>(supplierFunc, keys) });
 
 		return (T) factory;
 	}
 
-	private static Class<?> getEnhancedTypeFor(Class<?> type) {
-		Enhancer enhancer = new Enhancer();
-		enhancer.setSuperclass(type);
-		enhancer.setCallbackType(org.springframework.cglib.proxy.MethodInterceptor.class);
-
-		return enhancer.createClass();
-	}
-
 	/**
 	 * Check if the object is a lazy loaded proxy that hasn't been evaluated.
 	 * @param object an object
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.data.datastore.core;
+
+import java.util.function.Function;
+
+import com.google.cloud.datastore.BaseEntity;
+import com.google.cloud.datastore.Key;
+import com.google.cloud.datastore.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * An interface of reactive operations that can be done with Cloud Datastore. Nothing is
+ * read or written until the returned publishers are subscribed to. The Cloud Datastore
+ * client only offers blocking calls, so implementations run the operations of a
+ * {@link DatastoreOperations} on threads meant for blocking work rather than doing
+ * non-blocking I/O.
+ *
+ * @author agent (agent@local)
+ *
+ * @since 1.2.9
+ */
+public interface ReactiveDatastoreOperations {
+
+	/**
+	 * Get an entity based on a id.
+	 * @param id the id of the entity. If this is actually a
+	 * {@link com.google.cloud.datastore.Key} then it will be used. Otherwise it will be
+	 * attempted to be converted to an integer or string value and it will be assumed to
+	 * be a root key value with the Kind determined by the entityClass.
+	 * @param entityClass the type of the entity to get.
+	 * @param <T> the class type of the entity.
+	 * @return {@link Mono} emitting the entity that was found, or completing empty.
+	 */
+	<T> Mono<T> findById(Object id, Class<T> entityClass);
+
+	/**
+	 * Finds objects by using their IDs.
+	 * @param ids the IDs to search.
+	 * @param entityClass the type of entity to retrieve.
+	 * @param <T> the type of entity to retrieve.
+	 * @return {@link Flux} emitting the entities that were found.
+	 */
+	<T> Flux<T> findAllById(Iterable<?> ids, Class<T> entityClass);
+
+	/**
+	 * Saves an instance of an object to Cloud Datastore. Behaves as update or insert.
+	 * @param instance the instance to save.
+	 * @param ancestors ancestors that should be added to the entity
+	 * @param <T> the type of the object to save.
+	 * @return {@link Mono} emitting the saved instance.
+	 */
+	<T> Mono<T> save(T instance, Key... ancestors);
+
+	/**
+	 * Saves multiple instances of objects to Cloud Datastore. Behaves as update or insert.
+	 * @param entities the objects to save.
+	 * @param ancestors ancestors that should be added to each entity
+	 * @param <T> the type of entities to save.
+	 * @return {@link Flux} emitting the saved instances.
+	 */
+	<T> Flux<T> saveAll(Iterable<T> entities, Key... ancestors);
+
+	/**
+	 * Delete an entity from Cloud Datastore.
+	 * @param id the ID of the entity to delete.
+	 * @param entityClass the type of the entity to delete.
+	 * @param <T> the entity type
+	 * @return {@link Mono} completing when the entity is deleted.
+	 */
+	<T> Mono<Void> deleteById(Object id, Class<T> entityClass);
+
+	/**
+	 * Delete multiple IDs from Cloud Datastore.
+	 * @param ids the IDs to delete.
+	 * @param entityClass the type of the entities to delete.
+	 * @param <T> the entity type
+	 * @return {@link Mono} completing when the entities are deleted.
+	 */
+	<T> Mono<Void> deleteAllById(Iterable<?> ids, Class<T> entityClass);
+
+	/**
+	 * Delete an entity from Cloud Datastore.
+	 * @param entity the entity to delete.
+	 * @param <T> the entity type
+	 * @return {@link Mono} completing when the entity is deleted.
+	 */
+	<T> Mono<Void> delete(T entity);
+
+	/**
+	 * Deletes multiple entities from Cloud Datastore.
+	 * @param entities the entities to delete.
+	 * @param <T> the entity type.
+	 * @return {@link Mono} completing when the entities are deleted.
+	 */
+	<T> Mono<Void> deleteAll(Iterable<T> entities);
+
+	/**
+	 * Delete all entities of a given domain type.
+	 * @param entityClass the domain type to delete from Cloud Datastore.
+	 * @return {@link Mono} emitting the number of entities that were deleted.
+	 */
+	Mono<Long> deleteAll(Class<?> entityClass);
+
+	/**
+	 * Count all occurrences of entities of the given domain type.
+	 * @param entityClass the domain type to count.
+	 * @return {@link Mono} emitting the number of entities of the given type.
+	 */
+	Mono<Long> count(Class<?> entityClass);
+
+	/**
+	 * Check if the given ID belongs to an entity in Cloud Datastore.
+	 * @param id the ID to search for.
+	 * @param entityClass the domain type of the entities to search for.
+	 * @param <T> the type param of the domain type.
+	 * @return {@link Mono} emitting true if the given ID refers to an existing entity.
+	 */
+	<T> Mono<Boolean> existsById(Object id, Class<T> entityClass);
+
+	/**
+	 * Finds objects by using a Cloud Datastore query. The results are read and converted
+	 * in batches as they are requested, so a slow subscriber holds back the query instead
+	 * of buffering its results.
+	 * @param query the query to execute.
+	 * @param entityClass the type of object to retrieve.
+	 * @param <T> the type of object to retrieve.
+	 * @return {@link Flux} emitting the found entities.
+	 */
+	<T> Flux<T> query(Query<? extends BaseEntity> query, Class<T> entityClass);
+
+	/**
+	 * Get all the entities of the given domain type applying limit, offset and sort. The
+	 * entities are read in batches as they are requested.
+	 * @param entityClass the domain type to get.
+	 * @param queryOptions query options. May be {@code null}.
+	 * @param <T> the type param of the domain type.
+	 * @return {@link Flux} emitting the entities that were found.
+	 */
+	<T> Flux<T> findAll(Class<T> entityClass, DatastoreQueryOptions queryOptions);
+
+	/**
+	 * Performs multiple read and write operations in a single transaction.
+	 * @param operations the function that uses {@link DatastoreOperations} to perform
+	 * operations in a transaction. It may block.
+	 * @param <A> the final return type of the operations.
+	 * @return {@link Mono} emitting the final result of the transaction.
+	 */
+	<A> Mono<A> performTransaction(Function<DatastoreOperations, A> operations);
+
+	/**
+	 * Performs blocking operations outside of a transaction, on the same threads as the
+	 * other operations.
+	 * @param operations the function that uses {@link DatastoreOperations} to perform
+	 * operations. It may block.
+	 * @param <A> the final return type of the operations.
+	 * @return {@link Mono} emitting the result of the operations, or completing empty if it
+	 * is {@code null}.
+	 */
+	<A> Mono<A> execute(Function<DatastoreOperations, A> operations);
+
+	/**
+	 * Get the blocking operations that this object runs.
+	 * @return the blocking Datastore operations.
+	 */
+	DatastoreOperations getDatastoreOperations();
+}
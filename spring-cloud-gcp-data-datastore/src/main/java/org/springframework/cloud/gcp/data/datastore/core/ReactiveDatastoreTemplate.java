@@ -0,0 +1,168 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.data.datastore.core;
+
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+import com.google.cloud.datastore.BaseEntity;
+import com.google.cloud.datastore.Key;
+import com.google.cloud.datastore.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.util.Assert;
+
+/**
+ * A blocking adapter implementing {@link ReactiveDatastoreOperations} on top of
+ * {@link DatastoreOperations}.
+ *
+ * <p>The Cloud Datastore client only offers blocking calls, so this is not a non-blocking
+ * client: every operation blocks a thread of a {@link Scheduler} meant for blocking work,
+ * instead of the subscribing thread, for as long as the call to Cloud Datastore takes. The
+ * number of concurrent operations is therefore bounded by the threads of the scheduler.
+ * Queries are read from Cloud Datastore as their results are requested; the client follows
+ * the query cursor from one batch of results to the next.
+ *
+ * @author agent (agent@local)
+ *
+ * @since 1.2.9
+ */
+public class ReactiveDatastoreTemplate implements ReactiveDatastoreOperations {
+
+	private final DatastoreOperations datastoreOperations;
+
+	private final Scheduler scheduler;
+
+	/**
+	 * Constructor running the operations on the {@link Schedulers#boundedElastic()}
+	 * scheduler.
+	 * @param datastoreOperations the operations that read and write entities.
+	 */
+	public ReactiveDatastoreTemplate(DatastoreOperations datastoreOperations) {
+		this(datastoreOperations, Schedulers.boundedElastic());
+	}
+
+	/**
+	 * Constructor.
+	 * @param datastoreOperations the operations that read and write entities.
+	 * @param scheduler the scheduler the blocking operations are run on.
+	 */
+	public ReactiveDatastoreTemplate(DatastoreOperations datastoreOperations, Scheduler scheduler) {
+		Assert.notNull(datastoreOperations, "A non-null DatastoreOperations is required.");
+		Assert.notNull(scheduler, "A non-null Scheduler is required.");
+		this.datastoreOperations = datastoreOperations;
+		this.scheduler = scheduler;
+	}
+
+	@Override
+	public <T> Mono<T> findById(Object id, Class<T> entityClass) {
+		return mono(() -> this.datastoreOperations.findById(id, entityClass));
+	}
+
+	@Override
+	public <T> Flux<T> findAllById(Iterable<?> ids, Class<T> entityClass) {
+		return flux(() -> this.datastoreOperations.findAllById(ids, entityClass));
+	}
+
+	@Override
+	public <T> Mono<T> save(T instance, Key... ancestors) {
+		return mono(() -> this.datastoreOperations.save(instance, ancestors));
+	}
+
+	@Override
+	public <T> Flux<T> saveAll(Iterable<T> entities, Key... ancestors) {
+		return flux(() -> this.datastoreOperations.saveAll(entities, ancestors));
+	}
+
+	@Override
+	public <T> Mono<Void> deleteById(Object id, Class<T> entityClass) {
+		return run(() -> this.datastoreOperations.deleteById(id, entityClass));
+	}
+
+	@Override
+	public <T> Mono<Void> deleteAllById(Iterable<?> ids, Class<T> entityClass) {
+		return run(() -> this.datastoreOperations.deleteAllById(ids, entityClass));
+	}
+
+	@Override
+	public <T> Mono<Void> delete(T entity) {
+		return run(() -> this.datastoreOperations.delete(entity));
+	}
+
+	@Override
+	public <T> Mono<Void> deleteAll(Iterable<T> entities) {
+		return run(() -> this.datastoreOperations.deleteAll(entities));
+	}
+
+	@Override
+	public Mono<Long> deleteAll(Class<?> entityClass) {
+		return mono(() -> this.datastoreOperations.deleteAll(entityClass));
+	}
+
+	@Override
+	public Mono<Long> count(Class<?> entityClass) {
+		return mono(() -> this.datastoreOperations.count(entityClass));
+	}
+
+	@Override
+	public <T> Mono<Boolean> existsById(Object id, Class<T> entityClass) {
+		return mono(() -> this.datastoreOperations.existsById(id, entityClass));
+	}
+
+	@Override
+	public <T> Flux<T> query(Query<? extends BaseEntity> query, Class<T> entityClass) {
+		// the stream only reads and converts the next batch once its entities are requested
+		return Flux.defer(() -> Flux.fromStream(this.datastoreOperations.queryStream(query, entityClass)))
+				.subscribeOn(this.scheduler);
+	}
+
+	@Override
+	public <T> Flux<T> findAll(Class<T> entityClass, DatastoreQueryOptions queryOptions) {
+		return Flux.defer(() -> Flux.fromStream(this.datastoreOperations.streamAll(entityClass, queryOptions)))
+				.subscribeOn(this.scheduler);
+	}
+
+	@Override
+	public <A> Mono<A> performTransaction(Function<DatastoreOperations, A> operations) {
+		return mono(() -> this.datastoreOperations.performTransaction(operations));
+	}
+
+	@Override
+	public <A> Mono<A> execute(Function<DatastoreOperations, A> operations) {
+		return mono(() -> operations.apply(this.datastoreOperations));
+	}
+
+	@Override
+	public DatastoreOperations getDatastoreOperations() {
+		return this.datastoreOperations;
+	}
+
+	private <T> Mono<T> mono(Callable<T> operation) {
+		return Mono.fromCallable(operation).subscribeOn(this.scheduler);
+	}
+
+	private <T> Flux<T> flux(Callable<Iterable<T>> operation) {
+		return Mono.fromCallable(operation).flatMapIterable(Function.identity()).subscribeOn(this.scheduler);
+	}
+
+	private Mono<Void> run(Runnable operation) {
+		return Mono.<Void>fromRunnable(operation).subscribeOn(this.scheduler);
+	}
+}
@@ -16,6 +16,9 @@
 
 package org.springframework.cloud.gcp.data.datastore.core.convert;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.function.Supplier;
 
 import com.google.cloud.datastore.Datastore;
@@ -39,6 +42,11 @@ import org.springframework.util.Assert;
  */
 public class DatastoreServiceObjectToKeyFactory implements ObjectToKeyFactory {
 
+	/**
+	 * The maximum number of keys allocated by a single request.
+	 */
+	public static final int MAX_KEYS_PER_ALLOCATION = 500;
+
 	private final Supplier<Datastore> datastore;
 
 	public DatastoreServiceObjectToKeyFactory(Supplier<Datastore> datastore) {
@@ -93,6 +101,37 @@ public class DatastoreServiceObjectToKeyFactory implements ObjectToKeyFactory {
 	@Override
 	public Key allocateKeyForObject(Object entity,
 			DatastorePersistentEntity datastorePersistentEntity, Key... ancestors) {
+		Key allocatedKey = this.datastore.get()
+				.allocateId(getIncompleteKeyForObject(entity, datastorePersistentEntity, ancestors));
+		setAllocatedKey(entity, datastorePersistentEntity, allocatedKey);
+		return allocatedKey;
+	}
+
+	@Override
+	public List<Key> allocateKeysForObjects(List<?> entities,
+			List<DatastorePersistentEntity> datastorePersistentEntities, List<Key[]> ancestors) {
+		IncompleteKey[] incompleteKeys = new IncompleteKey[entities.size()];
+		for (int i = 0; i < incompleteKeys.length; i++) {
+			incompleteKeys[i] = getIncompleteKeyForObject(entities.get(i), datastorePersistentEntities.get(i),
+					ancestors.get(i));
+		}
+
+		// the keys are allocated in chunks, each with a single request
+		List<Key> allocatedKeys = new ArrayList<>(incompleteKeys.length);
+		for (int start = 0; start < incompleteKeys.length; start += MAX_KEYS_PER_ALLOCATION) {
+			IncompleteKey[] chunk = Arrays.copyOfRange(incompleteKeys, start,
+					Math.min(start + MAX_KEYS_PER_ALLOCATION, incompleteKeys.length));
+			allocatedKeys.addAll(this.datastore.get().allocateId(chunk));
+		}
+
+		for (int i = 0; i < allocatedKeys.size(); i++) {
+			setAllocatedKey(entities.get(i), datastorePersistentEntities.get(i), allocatedKeys.get(i));
+		}
+		return allocatedKeys;
+	}
+
+	private IncompleteKey getIncompleteKeyForObject(Object entity,
+			DatastorePersistentEntity datastorePersistentEntity, Key... ancestors) {
 		Assert.notNull(entity, "Cannot get key for null entity object.");
 		Assert.notNull(datastorePersistentEntity, "Persistent entity must not be null.");
 		PersistentProperty idProp = datastorePersistentEntity.getIdPropertyOrFail();
@@ -113,7 +152,13 @@ public class DatastoreServiceObjectToKeyFactory implements ObjectToKeyFactory {
 				keyFactory.addAncestor(DatastoreTemplate.keyToPathElement(ancestor));
 			}
 		}
-		Key allocatedKey = this.datastore.get().allocateId(keyFactory.newKey());
+		return keyFactory.newKey();
+	}
+
+	private void setAllocatedKey(Object entity, DatastorePersistentEntity datastorePersistentEntity,
+			Key allocatedKey) {
+		PersistentProperty idProp = datastorePersistentEntity.getIdPropertyOrFail();
+		Class idPropType = idProp.getType();
 
 		Object value;
 		if (idPropType.equals(Key.class)) {
@@ -127,7 +172,6 @@ public class DatastoreServiceObjectToKeyFactory implements ObjectToKeyFactory {
 		}
 
 		datastorePersistentEntity.getPropertyAccessor(entity).setProperty(idProp, value);
-		return allocatedKey;
 	}
 
 	private KeyFactory getKeyFactory() {
@@ -16,6 +16,9 @@
 
 package org.springframework.cloud.gcp.data.datastore.core.convert;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import com.google.cloud.datastore.IncompleteKey;
 import com.google.cloud.datastore.Key;
 
@@ -66,4 +69,24 @@ public interface ObjectToKeyFactory {
 	 * @return the newly allocated Key.
 	 */
 	Key allocateKeyForObject(Object entity, DatastorePersistentEntity datastorePersistentEntity, Key... ancestors);
+
+	/**
+	 * Allocates new ID {@link Key}s for several entity objects and sets the allocated ID
+	 * values in the objects. The default implementation allocates the key of each object
+	 * separately.
+	 * Only Key ids are allowed in entities if ancestors are present.
+	 * @param entities the objects for which to get and set the ID values.
+	 * @param datastorePersistentEntities the persistent entity metadata of each entity object.
+	 * @param ancestors the ancestors that should be added to the key of each entity object.
+	 * @return the newly allocated Keys, in the order of the entity objects.
+	 * @since 1.2.9
+	 */
+	default List<Key> allocateKeysForObjects(List<?> entities,
+			List<DatastorePersistentEntity> datastorePersistentEntities, List<Key[]> ancestors) {
+		List<Key> keys = new ArrayList<>();
+		for (int i = 0; i < entities.size(); i++) {
+			keys.add(allocateKeyForObject(entities.get(i), datastorePersistentEntities.get(i), ancestors.get(i)));
+		}
+		return keys;
+	}
 }
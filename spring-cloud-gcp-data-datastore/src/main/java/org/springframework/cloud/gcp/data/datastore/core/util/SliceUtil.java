@@ -17,6 +17,7 @@
 package org.springframework.cloud.gcp.data.datastore.core.util;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.function.Consumer;
 
 /**
@@ -46,4 +47,18 @@ public final class SliceUtil {
 			consumer.accept(slice);
 		}
 	}
+
+	/**
+	 * Cut a list into slices of a given size and call consumer on each of them. The slices
+	 * are views of the list and are not copied.
+	 * @param <T> the type of the elements.
+	 * @param elements the list to be sliced.
+	 * @param sliceSize the max size of a slice.
+	 * @param consumer the consumer to be called on every slice.
+	 */
+	public static <T> void sliceAndExecute(List<T> elements, int sliceSize, Consumer<List<T>> consumer) {
+		for (int start = 0; start < elements.size(); start += sliceSize) {
+			consumer.accept(elements.subList(start, Math.min(start + sliceSize, elements.size())));
+		}
+	}
 }
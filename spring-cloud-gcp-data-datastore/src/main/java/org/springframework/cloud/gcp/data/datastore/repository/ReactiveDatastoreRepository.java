@@ -0,0 +1,32 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.data.datastore.repository;
+
+import org.springframework.data.repository.reactive.ReactiveSortingRepository;
+
+/**
+ * A {@link ReactiveSortingRepository} for Cloud Datastore entities.
+ *
+ * @param <T> the type of the domain object
+ * @param <ID> the type of the ID property in the domain object
+ *
+ * @author agent (agent@local)
+ *
+ * @since 1.2.9
+ */
+public interface ReactiveDatastoreRepository<T, ID> extends ReactiveSortingRepository<T, ID> {
+}
@@ -117,4 +117,12 @@ public class DatastoreQueryMethod extends QueryMethod {
 	boolean isOptionalReturnType() {
 		return this.method.getReturnType().isAssignableFrom(Optional.class);
 	}
+
+	/**
+	 * Get the declared return type of the query method, before any wrapper is unwrapped.
+	 * @return the return type of the method.
+	 */
+	Class<?> getMethodReturnType() {
+		return this.method.getReturnType();
+	}
 }
@@ -141,6 +141,11 @@ public class GqlDatastoreQuery<T> extends AbstractDatastoreQuery<T> {
 
 		boolean isNonEntityReturnType = isNonEntityReturnedType(returnedItemType);
 
+		if (this.queryMethod.isStreamQuery() && !isNonEntityReturnType) {
+			return this.datastoreOperations.queryStream(query, this.entityType)
+					.map(this::processRawObjectForProjection);
+		}
+
 		DatastoreResultsIterable found = isNonEntityReturnType
 				? this.datastoreOperations.queryIterable(query, GqlDatastoreQuery::getNonEntityObjectFromRow)
 				: this.datastoreOperations.queryKeysOrEntities(query, this.entityType);
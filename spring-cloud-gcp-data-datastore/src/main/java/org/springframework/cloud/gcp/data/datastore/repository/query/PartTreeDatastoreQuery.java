@@ -27,6 +27,7 @@ import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import com.google.cloud.datastore.Cursor;
@@ -51,6 +52,7 @@ import org.springframework.cloud.gcp.data.datastore.core.mapping.DatastoreDataEx
 import org.springframework.cloud.gcp.data.datastore.core.mapping.DatastoreMappingContext;
 import org.springframework.cloud.gcp.data.datastore.core.mapping.DatastorePersistentEntity;
 import org.springframework.cloud.gcp.data.datastore.core.mapping.DatastorePersistentProperty;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
@@ -144,16 +146,16 @@ public class PartTreeDatastoreQuery<T> extends AbstractDatastoreQuery<T> {
 	public Object execute(Object[] parameters) {
 		Class<?> returnedObjectType = getQueryMethod().getReturnedObjectType();
 		if (isPageQuery()) {
+			Pageable pageableParam = getPageable(parameters);
+			if (pageableParam.isPaged() && !this.tree.isLimiting()) {
+				return executePageQuery(parameters, pageableParam);
+			}
+
 			ExecutionResult executionResult = (ExecutionResult) runQuery(parameters, returnedObjectType, List.class,
 					false);
 
 			List<?> resultEntries = (List) executionResult.getPayload();
 
-			ParameterAccessor paramAccessor = new ParametersParameterAccessor(getQueryMethod().getParameters(),
-					parameters);
-
-			Pageable pageableParam = paramAccessor.getPageable();
-
 			Long totalCount;
 			if (pageableParam instanceof DatastorePageable) {
 				Long previousCount = ((DatastorePageable) pageableParam).getTotalCount();
@@ -161,6 +163,10 @@ public class PartTreeDatastoreQuery<T> extends AbstractDatastoreQuery<T> {
 
 				totalCount = ((DatastorePageable) pageableParam).getTotalCount();
 			}
+			else if (pageableParam.isUnpaged() && !this.tree.isLimiting()) {
+				// all results are on the page, so the total count is known without counting them again
+				totalCount = (long) resultEntries.size();
+			}
 			else {
 				totalCount = (Long) runQuery(parameters, Long.class, null, true);
 			}
@@ -174,6 +180,10 @@ public class PartTreeDatastoreQuery<T> extends AbstractDatastoreQuery<T> {
 			return executeSliceQuery(parameters);
 		}
 
+		if (getQueryMethod().isStreamQuery() && !this.tree.isDelete()) {
+			return executeStreamQuery(parameters);
+		}
+
 		Object result = runQuery(parameters, returnedObjectType,
 				((DatastoreQueryMethod) getQueryMethod()).getCollectionReturnType(), false);
 
@@ -185,9 +195,45 @@ public class PartTreeDatastoreQuery<T> extends AbstractDatastoreQuery<T> {
 		return result;
 	}
 
+	/**
+	 * Read the page as a slice, which also tells whether another page follows. The results
+	 * are only counted if they are not all known from the pages up to this one.
+	 */
+	private Page executePageQuery(Object[] parameters, Pageable pageableParam) {
+		Slice<?> slice = executeSliceQuery(parameters);
+
+		Long totalCount;
+		if (pageableParam instanceof DatastorePageable) {
+			totalCount = ((DatastorePageable) pageableParam).getTotalCount();
+			Assert.notNull(totalCount, "Previous total count can not be null.");
+		}
+		else if (!slice.hasNext() && (pageableParam.getOffset() == 0 || slice.hasContent())) {
+			// an empty page past the first one may be past the last page, and then says nothing about the total
+			totalCount = pageableParam.getOffset() + slice.getNumberOfElements();
+		}
+		else {
+			totalCount = (Long) runQuery(parameters, Long.class, null, true);
+		}
+
+		String cursor = (slice.getPageable() instanceof DatastorePageable)
+				? ((DatastorePageable) slice.getPageable()).getUrlSafeCursor()
+				: null;
+		Pageable pageable = DatastorePageable.from(pageableParam, cursor, totalCount);
+
+		return new PageImpl<>(slice.getContent(), pageable, totalCount);
+	}
+
 	private Object runQuery(Object[] parameters, Class returnedElementType, Class<?> collectionType, boolean requiresCount) {
 		ExecutionOptions options = new ExecutionOptions(returnedElementType, collectionType, requiresCount);
 
+		if (this.tree.isDelete() && !requiresCount && (options.isReturnedTypeIsNumber()
+				|| returnedElementType == void.class || returnedElementType == Void.class)) {
+			// only the number of deleted entities is returned, so they don't need to be loaded first
+			long deleted = getDatastoreOperations().deleteByQuery(
+					applyQueryBody(parameters, options.getQueryBuilder(), false, false, null), this.entityType);
+			return options.isReturnedTypeIsNumber() ? deleted : null;
+		}
+
 		DatastoreResultsIterable rawResults = getDatastoreOperations()
 				.queryKeysOrEntities(
 						applyQueryBody(parameters, options.getQueryBuilder(),
@@ -260,7 +306,13 @@ public class PartTreeDatastoreQuery<T> extends AbstractDatastoreQuery<T> {
 		return (Slice) this.processRawObjectForProjection(results);
 	}
 
-	private StructuredQuery buildSliceQuey(Object[] parameters) {
+	private Stream<?> executeStreamQuery(Object[] parameters) {
+		StructuredQuery structuredQuery = buildSliceQuey(parameters);
+		return getDatastoreOperations().queryStream(structuredQuery, this.entityType)
+				.map(this::processRawObjectForProjection);
+	}
+
+	StructuredQuery buildSliceQuey(Object[] parameters) {
 		StructuredQuery.Builder builder = getEntityOrProjectionQueryBuilder()
 				.setKind(this.datastorePersistentEntity.kindName());
 		return applyQueryBody(parameters, builder, false, false, null);
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.data.datastore.repository.query;
+
+import java.lang.reflect.Method;
+
+import org.springframework.cloud.gcp.data.datastore.core.ReactiveDatastoreOperations;
+import org.springframework.cloud.gcp.data.datastore.core.mapping.DatastoreDataException;
+import org.springframework.cloud.gcp.data.datastore.core.mapping.DatastoreMappingContext;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.repository.core.NamedQueries;
+import org.springframework.data.repository.core.RepositoryMetadata;
+import org.springframework.data.repository.query.QueryLookupStrategy;
+import org.springframework.data.repository.query.RepositoryQuery;
+import org.springframework.util.Assert;
+
+/**
+ * Query lookup strategy for the Query Methods of reactive Cloud Datastore repositories.
+ * Only name-based query methods are supported.
+ *
+ * @author agent (agent@local)
+ *
+ * @since 1.2.9
+ */
+public class ReactiveDatastoreQueryLookupStrategy implements QueryLookupStrategy {
+
+	private final DatastoreMappingContext datastoreMappingContext;
+
+	private final ReactiveDatastoreOperations datastoreOperations;
+
+	public ReactiveDatastoreQueryLookupStrategy(DatastoreMappingContext datastoreMappingContext,
+			ReactiveDatastoreOperations datastoreOperations) {
+		Assert.notNull(datastoreMappingContext,
+				"A non-null DatastoreMappingContext is required.");
+		Assert.notNull(datastoreOperations,
+				"A non-null ReactiveDatastoreOperations is required.");
+		this.datastoreMappingContext = datastoreMappingContext;
+		this.datastoreOperations = datastoreOperations;
+	}
+
+	@Override
+	public RepositoryQuery resolveQuery(Method method, RepositoryMetadata metadata,
+			ProjectionFactory projectionFactory, NamedQueries namedQueries) {
+		DatastoreQueryMethod queryMethod = new DatastoreQueryMethod(method, metadata, projectionFactory);
+		if (queryMethod.hasAnnotatedQuery() || namedQueries.hasQuery(queryMethod.getNamedQueryName())) {
+			throw new DatastoreDataException(
+					"GQL query methods are not supported by reactive Datastore repositories: " + method);
+		}
+		return new ReactivePartTreeDatastoreQuery<>(queryMethod, this.datastoreOperations,
+				this.datastoreMappingContext, queryMethod.getResultProcessor().getReturnedType().getDomainType(),
+				projectionFactory);
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.data.datastore.repository.query;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cloud.gcp.data.datastore.core.ReactiveDatastoreOperations;
+import org.springframework.cloud.gcp.data.datastore.core.mapping.DatastoreDataException;
+import org.springframework.cloud.gcp.data.datastore.core.mapping.DatastoreMappingContext;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.repository.query.QueryMethod;
+import org.springframework.data.repository.query.RepositoryQuery;
+import org.springframework.data.repository.query.parser.PartTree;
+
+/**
+ * Name-based query method for reactive Cloud Datastore repositories. The query is built
+ * like that of {@link PartTreeDatastoreQuery}. Entities are streamed from the query as
+ * they are requested, while counts, existence checks and deletes run as a single blocking
+ * call.
+ *
+ * @param <T> the domain type of the query method.
+ *
+ * @author agent (agent@local)
+ *
+ * @since 1.2.9
+ */
+public class ReactivePartTreeDatastoreQuery<T> implements RepositoryQuery {
+
+	private final DatastoreQueryMethod queryMethod;
+
+	private final ReactiveDatastoreOperations datastoreOperations;
+
+	private final Class<T> entityType;
+
+	private final PartTreeDatastoreQuery<T> partTreeQuery;
+
+	private final boolean streaming;
+
+	/**
+	 * Constructor.
+	 * @param queryMethod the metadata for this query method.
+	 * @param datastoreOperations used to execute the given query.
+	 * @param datastoreMappingContext used to provide metadata for mapping results to objects.
+	 * @param entityType the result domain type.
+	 * @param projectionFactory the projection factory that is used to get projection information.
+	 */
+	public ReactivePartTreeDatastoreQuery(DatastoreQueryMethod queryMethod,
+			ReactiveDatastoreOperations datastoreOperations, DatastoreMappingContext datastoreMappingContext,
+			Class<T> entityType, ProjectionFactory projectionFactory) {
+		this.queryMethod = queryMethod;
+		this.datastoreOperations = datastoreOperations;
+		this.entityType = entityType;
+		this.partTreeQuery = new PartTreeDatastoreQuery<>(queryMethod, datastoreOperations.getDatastoreOperations(),
+				datastoreMappingContext, entityType, projectionFactory);
+		PartTree tree = new PartTree(queryMethod.getName(), entityType);
+		this.streaming = !tree.isDelete() && !tree.isCountProjection() && !tree.isExistsProjection();
+		if (!this.streaming && !Mono.class.isAssignableFrom(queryMethod.getMethodReturnType())) {
+			throw new DatastoreDataException("Reactive count, exists and delete query methods must return a Mono: "
+					+ queryMethod.getName());
+		}
+	}
+
+	@Override
+	public Object execute(Object[] parameters) {
+		if (this.streaming) {
+			Flux<Object> results = this.datastoreOperations
+					.query(this.partTreeQuery.buildSliceQuey(parameters), this.entityType)
+					.map(this.partTreeQuery::processRawObjectForProjection);
+			return Mono.class.isAssignableFrom(this.queryMethod.getMethodReturnType()) ? results.next() : results;
+		}
+		return this.datastoreOperations.execute((operations) -> this.partTreeQuery.execute(parameters));
+	}
+
+	@Override
+	public QueryMethod getQueryMethod() {
+		return this.queryMethod;
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.data.datastore.repository.support;
+
+import java.util.Optional;
+
+import org.springframework.cloud.gcp.data.datastore.core.ReactiveDatastoreOperations;
+import org.springframework.cloud.gcp.data.datastore.core.mapping.DatastoreMappingContext;
+import org.springframework.cloud.gcp.data.datastore.core.mapping.DatastorePersistentEntity;
+import org.springframework.cloud.gcp.data.datastore.core.mapping.DatastorePersistentEntityInformation;
+import org.springframework.cloud.gcp.data.datastore.repository.query.ReactiveDatastoreQueryLookupStrategy;
+import org.springframework.data.mapping.MappingException;
+import org.springframework.data.repository.core.EntityInformation;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.core.RepositoryMetadata;
+import org.springframework.data.repository.core.support.ReactiveRepositoryFactorySupport;
+import org.springframework.data.repository.query.QueryLookupStrategy;
+import org.springframework.data.repository.query.QueryLookupStrategy.Key;
+import org.springframework.data.repository.query.QueryMethodEvaluationContextProvider;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Repository factory for reactive Datastore repositories. Name-based query methods are
+ * supported, but GQL query methods are not.
+ *
+ * @author agent (agent@local)
+ *
+ * @since 1.2.9
+ */
+public class ReactiveDatastoreRepositoryFactory extends ReactiveRepositoryFactorySupport {
+
+	private final DatastoreMappingContext datastoreMappingContext;
+
+	private final ReactiveDatastoreOperations datastoreOperations;
+
+	/**
+	 * Constructor.
+	 * @param datastoreMappingContext the mapping context used to get mapping metadata for
+	 * entity types.
+	 * @param datastoreOperations the reactive Datastore operations object used by the
+	 * repositories.
+	 */
+	ReactiveDatastoreRepositoryFactory(DatastoreMappingContext datastoreMappingContext,
+			ReactiveDatastoreOperations datastoreOperations) {
+		Assert.notNull(datastoreMappingContext,
+				"A non-null Datastore mapping context is required.");
+		Assert.notNull(datastoreOperations,
+				"A non-null reactive Datastore template object is required.");
+		this.datastoreMappingContext = datastoreMappingContext;
+		this.datastoreOperations = datastoreOperations;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T, ID> EntityInformation<T, ID> getEntityInformation(Class<T> domainClass) {
+		DatastorePersistentEntity entity = this.datastoreMappingContext
+				.getPersistentEntity(domainClass);
+
+		if (entity == null) {
+			throw new MappingException(
+					"Could not lookup mapping metadata for domain class: "
+							+ domainClass.getName());
+		}
+
+		return new DatastorePersistentEntityInformation<>(entity);
+	}
+
+	@Override
+	protected Object getTargetRepository(RepositoryInformation metadata) {
+		return getTargetRepositoryViaReflection(metadata, this.datastoreOperations,
+				metadata.getDomainType());
+	}
+
+	@Override
+	protected Class<?> getRepositoryBaseClass(RepositoryMetadata metadata) {
+		return SimpleReactiveDatastoreRepository.class;
+	}
+
+	@Override
+	protected Optional<QueryLookupStrategy> getQueryLookupStrategy(@Nullable Key key,
+			QueryMethodEvaluationContextProvider evaluationContextProvider) {
+		return Optional.of(new ReactiveDatastoreQueryLookupStrategy(this.datastoreMappingContext,
+				this.datastoreOperations));
+	}
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.data.datastore.repository.support;
+
+import org.springframework.cloud.gcp.data.datastore.core.ReactiveDatastoreOperations;
+import org.springframework.cloud.gcp.data.datastore.core.mapping.DatastoreMappingContext;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.data.repository.core.support.RepositoryFactorySupport;
+
+/**
+ * Factory bean for creating factories that create reactive Datastore repositories.
+ * @param <T> the repository type
+ * @param <S> the type of the entities
+ * @param <ID> the id type of the entities
+ *
+ * @author agent (agent@local)
+ *
+ * @since 1.2.9
+ */
+public class ReactiveDatastoreRepositoryFactoryBean<T extends Repository<S, ID>, S, ID>
+		extends RepositoryFactoryBeanSupport<T, S, ID> {
+
+	private DatastoreMappingContext datastoreMappingContext;
+
+	private ReactiveDatastoreOperations reactiveDatastoreTemplate;
+
+	/**
+	 * Creates a new {@link ReactiveDatastoreRepositoryFactoryBean} for the given repository
+	 * interface.
+	 *
+	 * @param repositoryInterface must not be {@literal null}.
+	 */
+	ReactiveDatastoreRepositoryFactoryBean(Class<T> repositoryInterface) {
+		super(repositoryInterface);
+	}
+
+	public void setReactiveDatastoreTemplate(ReactiveDatastoreOperations reactiveDatastoreTemplate) {
+		this.reactiveDatastoreTemplate = reactiveDatastoreTemplate;
+	}
+
+	public void setDatastoreMappingContext(DatastoreMappingContext mappingContext) {
+		super.setMappingContext(mappingContext);
+		this.datastoreMappingContext = mappingContext;
+	}
+
+	@Override
+	protected RepositoryFactorySupport createRepositoryFactory() {
+		return new ReactiveDatastoreRepositoryFactory(this.datastoreMappingContext,
+				this.reactiveDatastoreTemplate);
+	}
+}
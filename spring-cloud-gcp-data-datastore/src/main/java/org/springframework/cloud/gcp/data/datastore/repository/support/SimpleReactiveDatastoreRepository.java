@@ -0,0 +1,150 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.data.datastore.repository.support;
+
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.cloud.gcp.data.datastore.core.DatastoreQueryOptions;
+import org.springframework.cloud.gcp.data.datastore.core.ReactiveDatastoreOperations;
+import org.springframework.cloud.gcp.data.datastore.repository.ReactiveDatastoreRepository;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.Assert;
+
+/**
+ * Implementation of {@link ReactiveDatastoreRepository}.
+ *
+ * <p>Entities and IDs emitted by publishers are written and read in batches of at most
+ * {@value #BATCH_SIZE}, the maximum number of entities Cloud Datastore accepts in a
+ * single write.
+ *
+ * @param <T> the type of the entities
+ * @param <ID> the id type of the entities
+ *
+ * @author agent (agent@local)
+ *
+ * @since 1.2.9
+ */
+public class SimpleReactiveDatastoreRepository<T, ID> implements ReactiveDatastoreRepository<T, ID> {
+
+	static final int BATCH_SIZE = 500;
+
+	private final ReactiveDatastoreOperations datastoreTemplate;
+
+	private final Class<T> entityType;
+
+	public SimpleReactiveDatastoreRepository(ReactiveDatastoreOperations datastoreTemplate,
+			Class<T> entityType) {
+		Assert.notNull(datastoreTemplate, "A non-null ReactiveDatastoreOperations is required.");
+		Assert.notNull(entityType, "A non-null entity type is required.");
+		this.datastoreTemplate = datastoreTemplate;
+		this.entityType = entityType;
+	}
+
+	@Override
+	public Flux<T> findAll(Sort sort) {
+		Assert.notNull(sort, "A non-null Sort is required.");
+		return this.datastoreTemplate
+				.findAll(this.entityType, new DatastoreQueryOptions.Builder().setSort(sort).build());
+	}
+
+	@Override
+	public <S extends T> Mono<S> save(S entity) {
+		return this.datastoreTemplate.save(entity);
+	}
+
+	@Override
+	public <S extends T> Flux<S> saveAll(Iterable<S> entities) {
+		return this.datastoreTemplate.saveAll(entities);
+	}
+
+	@Override
+	public <S extends T> Flux<S> saveAll(Publisher<S> entityStream) {
+		return Flux.from(entityStream).buffer(BATCH_SIZE).concatMap(this::saveAll);
+	}
+
+	@Override
+	public Mono<T> findById(ID id) {
+		return this.datastoreTemplate.findById(id, this.entityType);
+	}
+
+	@Override
+	public Mono<T> findById(Publisher<ID> idPublisher) {
+		return Mono.from(idPublisher).flatMap(this::findById);
+	}
+
+	@Override
+	public Mono<Boolean> existsById(ID id) {
+		return this.datastoreTemplate.existsById(id, this.entityType);
+	}
+
+	@Override
+	public Mono<Boolean> existsById(Publisher<ID> idPublisher) {
+		return Mono.from(idPublisher).flatMap(this::existsById);
+	}
+
+	@Override
+	public Flux<T> findAll() {
+		return this.datastoreTemplate.findAll(this.entityType, null);
+	}
+
+	@Override
+	public Flux<T> findAllById(Iterable<ID> ids) {
+		return this.datastoreTemplate.findAllById(ids, this.entityType);
+	}
+
+	@Override
+	public Flux<T> findAllById(Publisher<ID> idStream) {
+		return Flux.from(idStream).buffer(BATCH_SIZE).concatMap(this::findAllById);
+	}
+
+	@Override
+	public Mono<Long> count() {
+		return this.datastoreTemplate.count(this.entityType);
+	}
+
+	@Override
+	public Mono<Void> deleteById(ID id) {
+		return this.datastoreTemplate.deleteById(id, this.entityType);
+	}
+
+	@Override
+	public Mono<Void> deleteById(Publisher<ID> idPublisher) {
+		return Mono.from(idPublisher).flatMap(this::deleteById);
+	}
+
+	@Override
+	public Mono<Void> delete(T entity) {
+		return this.datastoreTemplate.delete(entity);
+	}
+
+	@Override
+	public Mono<Void> deleteAll(Iterable<? extends T> entities) {
+		return this.datastoreTemplate.deleteAll(entities);
+	}
+
+	@Override
+	public Mono<Void> deleteAll(Publisher<? extends T> entityStream) {
+		return Flux.from(entityStream).buffer(BATCH_SIZE).concatMap(this::deleteAll).then();
+	}
+
+	@Override
+	public Mono<Void> deleteAll() {
+		return this.datastoreTemplate.deleteAll(this.entityType).then();
+	}
+}
@@ -21,15 +21,19 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import com.google.cloud.datastore.Cursor;
 import com.google.cloud.datastore.Datastore;
@@ -39,6 +43,7 @@ import com.google.cloud.datastore.Entity;
 import com.google.cloud.datastore.EntityQuery;
 import com.google.cloud.datastore.FullEntity;
 import com.google.cloud.datastore.GqlQuery;
+import com.google.cloud.datastore.IncompleteKey;
 import com.google.cloud.datastore.Key;
 import com.google.cloud.datastore.KeyFactory;
 import com.google.cloud.datastore.KeyQuery;
@@ -52,6 +57,7 @@ import com.google.cloud.datastore.Query.ResultType;
 import com.google.cloud.datastore.QueryResults;
 import com.google.cloud.datastore.StructuredQuery;
 import com.google.cloud.datastore.StructuredQuery.PropertyFilter;
+import com.google.cloud.datastore.Transaction;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -62,6 +68,7 @@ import org.mockito.Mockito;
 
 import org.springframework.cloud.gcp.core.util.MapBuilder;
 import org.springframework.cloud.gcp.data.datastore.core.convert.DatastoreEntityConverter;
+import org.springframework.cloud.gcp.data.datastore.core.convert.DatastoreServiceObjectToKeyFactory;
 import org.springframework.cloud.gcp.data.datastore.core.convert.ObjectToKeyFactory;
 import org.springframework.cloud.gcp.data.datastore.core.convert.ReadWriteConversions;
 import org.springframework.cloud.gcp.data.datastore.core.mapping.DatastoreDataException;
@@ -77,8 +84,11 @@ import org.springframework.cloud.gcp.data.datastore.core.mapping.event.AfterQuer
 import org.springframework.cloud.gcp.data.datastore.core.mapping.event.AfterSaveEvent;
 import org.springframework.cloud.gcp.data.datastore.core.mapping.event.BeforeDeleteEvent;
 import org.springframework.cloud.gcp.data.datastore.core.mapping.event.BeforeSaveEvent;
+import org.springframework.cloud.gcp.data.datastore.repository.query.DatastorePageable;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.support.GenericApplicationContext;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Reference;
 import org.springframework.data.domain.Example;
@@ -87,14 +97,19 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.util.ClassTypeInformation;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.notNull;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -706,6 +721,38 @@ public class DatastoreTemplateTests {
 		verify(this.datastoreEntityConverter, times(1)).write(same(this.ob1), notNull());
 	}
 
+	@Test
+	public void saveAllAllocatesKeysInBatchesTest() {
+		AtomicLong nextId = new AtomicLong(1);
+		doAnswer((invocation) -> Arrays.stream(invocation.getArguments())
+				.map((incompleteKey) -> Key.newBuilder((IncompleteKey) incompleteKey, nextId.getAndIncrement()).build())
+				.collect(Collectors.toList()))
+				.when(this.datastore).allocateId((IncompleteKey[]) any());
+		when(this.datastore.newKeyFactory()).thenAnswer((invocation) -> new KeyFactory("project"));
+		DatastoreTemplate template = new DatastoreTemplate(() -> this.datastore,
+				this.datastoreEntityConverter, new DatastoreMappingContext(),
+				new DatastoreServiceObjectToKeyFactory(() -> this.datastore));
+
+		List<AllocatedParentEntity> parents = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			AllocatedParentEntity parent = new AllocatedParentEntity();
+			parent.children = Arrays.asList(new ChildEntity(), new ChildEntity());
+			parents.add(parent);
+		}
+
+		template.saveAll(parents);
+
+		// one request for the parents and one for all of their children
+		verify(this.datastore, times(2)).allocateId((IncompleteKey[]) any());
+		verify(this.datastore, never()).allocateId((IncompleteKey) any());
+		for (AllocatedParentEntity parent : parents) {
+			assertThat(parent.id).isNotNull();
+			for (ChildEntity child : parent.children) {
+				assertThat(child.id.getParent()).isEqualTo(parent.id);
+			}
+		}
+	}
+
 	@Test
 	public void saveAllTest() {
 		when(this.objectToKeyFactory.allocateKeyForObject(same(this.ob1), any()))
@@ -813,6 +860,132 @@ public class DatastoreTemplateTests {
 				});
 	}
 
+	@Test
+	public void queryReferencesFetchedInOneLookupTest() {
+		Key childKeyA = createFakeKey("child_a");
+		Key childKeyB = createFakeKey("child_b");
+		Entity entityA = Entity.newBuilder(this.key1).set("singularReference", childKeyA).build();
+		Entity entityB = Entity.newBuilder(this.key2).set("singularReference", childKeyB).build();
+		Entity childA = Entity.newBuilder(childKeyA).build();
+		Entity childB = Entity.newBuilder(childKeyB).build();
+
+		Query<Entity> query = Query.newEntityQueryBuilder().setKind("custom_test_kind")
+				.setFilter(PropertyFilter.eq("prop", "a")).build();
+		QueryResults<Entity> queryResults = mock(QueryResults.class);
+		doAnswer((invocation) -> {
+			Arrays.asList(entityA, entityB).iterator().forEachRemaining(invocation.getArgument(0));
+			return null;
+		}).when(queryResults).forEachRemaining(any());
+		when(this.datastore.run(eq(query))).thenReturn(queryResults);
+		when(this.datastore.fetch(eq(childKeyA), eq(childKeyB))).thenReturn(Arrays.asList(childA, childB));
+
+		TestEntity testEntityA = new TestEntity();
+		TestEntity testEntityB = new TestEntity();
+		ChildEntity childEntityA = new ChildEntity();
+		ChildEntity childEntityB = new ChildEntity();
+		when(this.datastoreEntityConverter.read(eq(TestEntity.class), same(entityA))).thenReturn(testEntityA);
+		when(this.datastoreEntityConverter.read(eq(TestEntity.class), same(entityB))).thenReturn(testEntityB);
+		when(this.datastoreEntityConverter.read(eq(ChildEntity.class), same(childA))).thenReturn(childEntityA);
+		when(this.datastoreEntityConverter.read(eq(ChildEntity.class), same(childB))).thenReturn(childEntityB);
+
+		assertThat(this.datastoreTemplate.query(query, TestEntity.class)).containsExactly(testEntityA, testEntityB);
+
+		assertThat(testEntityA.singularReference).isSameAs(childEntityA);
+		assertThat(testEntityB.singularReference).isSameAs(childEntityB);
+		verify(this.datastore, times(1)).fetch(eq(childKeyA), eq(childKeyB));
+		verify(this.datastore, never()).fetch(eq(childKeyA));
+		verify(this.datastore, never()).fetch(eq(childKeyB));
+	}
+
+	@Test
+	public void queryReferencesFetchedInLookupsOfAtMost1000KeysTest() {
+		List<Entity> entities = new ArrayList<>();
+		Map<Key, Entity> children = new HashMap<>();
+		for (int i = 0; i < 1001; i++) {
+			Key childKey = createFakeKey("child_" + i);
+			children.put(childKey, Entity.newBuilder(childKey).build());
+			entities.add(Entity.newBuilder(createFakeKey("parent_" + i)).set("singularReference", childKey).build());
+		}
+
+		Query<Entity> query = Query.newEntityQueryBuilder().setKind("custom_test_kind").build();
+		QueryResults<Entity> queryResults = mock(QueryResults.class);
+		doAnswer((invocation) -> {
+			entities.iterator().forEachRemaining(invocation.getArgument(0));
+			return null;
+		}).when(queryResults).forEachRemaining(any());
+		when(this.datastore.run(eq(query))).thenReturn(queryResults);
+		List<Integer> lookupSizes = new ArrayList<>();
+		when(this.datastore.fetch(ArgumentMatchers.<Key[]>any())).thenAnswer((invocation) -> {
+			Key[] keys = invocation.getArguments().length == 1 && invocation.getArgument(0) instanceof Key[]
+					? invocation.getArgument(0)
+					: Arrays.copyOf(invocation.getArguments(), invocation.getArguments().length, Key[].class);
+			lookupSizes.add(keys.length);
+			return Arrays.stream(keys).map(children::get).collect(Collectors.toList());
+		});
+		when(this.datastoreEntityConverter.read(eq(TestEntity.class), any()))
+				.thenAnswer((invocation) -> new TestEntity());
+		when(this.datastoreEntityConverter.read(eq(ChildEntity.class), any()))
+				.thenAnswer((invocation) -> new ChildEntity());
+
+		DatastoreResultsIterable<TestEntity> results = this.datastoreTemplate.query(query, TestEntity.class);
+
+		assertThat(results).hasSize(1001).allSatisfy((result) -> assertThat(result.singularReference).isNotNull());
+		assertThat(lookupSizes).containsExactly(1000, 1);
+	}
+
+	@Test
+	public void descendantQueriesRunConcurrentlyTest() {
+		AtomicInteger workers = new AtomicInteger();
+		this.datastoreTemplate.setReadParallelism(4);
+		this.datastoreTemplate.setReadExecutor((runnable) -> {
+			workers.incrementAndGet();
+			runnable.run();
+		});
+
+		assertThat(this.datastoreTemplate.findAll(TestEntity.class)).contains(this.ob1, this.ob2);
+
+		assertThat(workers).hasValue(2);
+		assertThat(this.ob1.childEntities).containsExactly(this.childEntity1);
+		verify(this.datastore, times(1)).run(eq(Query.newEntityQueryBuilder().setKind("child_entity")
+				.setFilter(PropertyFilter.hasAncestor(this.key1)).build()));
+	}
+
+	@Test
+	public void queryStreamConvertsLazilyInBatchesTest() {
+		Query<Entity> query = Query.newEntityQueryBuilder().setKind("custom_test_kind")
+				.setFilter(PropertyFilter.eq("prop", "a")).build();
+		QueryResults<Entity> queryResults = mock(QueryResults.class);
+		Iterator<Entity> entities = Arrays.asList(this.e1, this.e2).iterator();
+		when(queryResults.hasNext()).thenAnswer((invocation) -> entities.hasNext());
+		when(queryResults.next()).thenAnswer((invocation) -> entities.next());
+		when(this.datastore.run(eq(query))).thenReturn(queryResults);
+		this.datastoreTemplate.setStreamBatchSize(1);
+
+		Iterator<TestEntity> results = this.datastoreTemplate.queryStream(query, TestEntity.class).iterator();
+		verify(this.datastoreEntityConverter, never()).read(eq(TestEntity.class), any());
+
+		assertThat(results.next()).isSameAs(this.ob1);
+		verify(this.datastoreEntityConverter, never()).read(eq(TestEntity.class), same(this.e2));
+
+		assertThat(results.next()).isSameAs(this.ob2);
+		assertThat(results.hasNext()).isFalse();
+		verify(this.datastoreEntityConverter, times(1)).read(eq(TestEntity.class), same(this.e1));
+		verify(this.datastoreEntityConverter, times(1)).read(eq(TestEntity.class), same(this.e2));
+	}
+
+	@Test
+	public void streamAllTest() {
+		QueryResults<Entity> queryResults = mock(QueryResults.class);
+		Iterator<Entity> entities = Arrays.asList(this.e1, this.e2).iterator();
+		when(queryResults.hasNext()).thenAnswer((invocation) -> entities.hasNext());
+		when(queryResults.next()).thenAnswer((invocation) -> entities.next());
+		EntityQuery query = Query.newEntityQueryBuilder().setKind("custom_test_kind").setLimit(2).build();
+		when(this.datastore.run(eq(query))).thenReturn(queryResults);
+
+		assertThat(this.datastoreTemplate.streamAll(TestEntity.class,
+				new DatastoreQueryOptions.Builder().setLimit(2).build())).containsExactly(this.ob1, this.ob2);
+	}
+
 	@Test
 	public void queryTest() {
 		verifyBeforeAndAfterEvents(null,
@@ -839,31 +1012,35 @@ public class DatastoreTemplateTests {
 	private boolean nextPageTest(boolean hasNextPage) {
 		QueryResults<Key> queryResults = mock(QueryResults.class);
 		when(queryResults.getResultClass()).thenReturn((Class) Key.class);
-		doAnswer((invocation) -> {
-			Arrays.asList(this.key1, this.key2).iterator()
-					.forEachRemaining(invocation.getArgument(0));
-			return null;
-		}).when(queryResults).forEachRemaining(any());
+		Iterator<Key> keys = (hasNextPage ? Arrays.asList(this.key1, this.key2)
+				: Collections.singletonList(this.key1)).iterator();
 		Cursor cursor = Cursor.copyFrom("abc".getBytes());
-		when(queryResults.getCursorAfter()).thenReturn(cursor);
+		Cursor probedCursor = Cursor.copyFrom("def".getBytes());
+		AtomicInteger read = new AtomicInteger();
+		AtomicBoolean probed = new AtomicBoolean();
+		// like the Datastore client, the cursor moves past the extra result once it is checked for
+		when(queryResults.hasNext()).thenAnswer((invocation) -> {
+			boolean hasNext = keys.hasNext();
+			probed.compareAndSet(false, hasNext && read.get() == 1);
+			return hasNext;
+		});
+		when(queryResults.next()).thenAnswer((invocation) -> {
+			read.incrementAndGet();
+			return keys.next();
+		});
+		when(queryResults.getCursorAfter()).thenAnswer((invocation) -> probed.get() ? probedCursor : cursor);
 
 		KeyQuery query = Query.newKeyQueryBuilder().setKind("custom_test_kind").setLimit(1).build();
-		when(this.datastore
-				.run(eq(query)))
-				.thenReturn(queryResults);
-
-		QueryResults<Key> nextPageQueryResults = mock(QueryResults.class);
-		when(nextPageQueryResults.hasNext()).thenReturn(hasNextPage);
-
-		KeyQuery nextPageQuery =
-				query.toBuilder().setStartCursor(cursor).setOffset(0).setLimit(1).build();
-
-		when(this.datastore
-				.run(eq(nextPageQuery)))
-				.thenReturn(nextPageQueryResults);
+		KeyQuery pageQuery = query.toBuilder().setOffset(0).setLimit(2).build();
+		when(this.datastore.run(eq(pageQuery))).thenReturn(queryResults);
 
 		Slice<Key> resultsSlice =
 				this.datastoreTemplate.queryKeysSlice(query, TestEntity.class, PageRequest.of(0, 1));
+
+		assertThat(resultsSlice.getContent()).containsExactly(this.key1);
+		assertThat(((DatastorePageable) resultsSlice.getPageable()).toCursor()).isEqualTo(cursor);
+		verify(this.datastore, times(1)).run(any());
+		reset(this.datastore);
 		return resultsSlice.hasNext();
 	}
 
@@ -942,13 +1119,7 @@ public class DatastoreTemplateTests {
 
 	@Test
 	public void deleteAllTest() {
-		QueryResults<Key> queryResults = mock(QueryResults.class);
-		when(queryResults.getResultClass()).thenReturn((Class) Key.class);
-		doAnswer((invocation) -> {
-			Arrays.asList(this.key1, this.key2).iterator()
-					.forEachRemaining(invocation.getArgument(0));
-			return null;
-		}).when(queryResults).forEachRemaining(any());
+		QueryResults<Key> queryResults = mockQueryResults(this.key1, this.key2);
 		when(this.datastore
 				.run(eq(Query.newKeyQueryBuilder().setKind("custom_test_kind").build())))
 						.thenReturn(queryResults);
@@ -960,6 +1131,296 @@ public class DatastoreTemplateTests {
 				x -> x.verify(this.datastore, times(1)).delete(same(this.key1), same(this.key2)));
 	}
 
+	@Test
+	public void deleteByQueryWithoutListenersQueriesKeysOnlyTest() {
+		StructuredQuery<Entity> query = Query.newEntityQueryBuilder().setKind("custom_test_kind")
+				.setFilter(PropertyFilter.eq("prop", "a")).setLimit(10).build();
+		QueryResults<Key> queryResults = mockQueryResults(this.key1, this.key2);
+		when(this.datastore.run(eq(Query.newKeyQueryBuilder().setKind("custom_test_kind")
+				.setFilter(PropertyFilter.eq("prop", "a")).setLimit(10).build()))).thenReturn(queryResults);
+		this.datastoreTemplate.setMaxWriteSize(1);
+
+		assertThat(this.datastoreTemplate.deleteByQuery(query, TestEntity.class)).isEqualTo(2);
+
+		InOrder inOrder = Mockito.inOrder(queryResults, this.datastore);
+		inOrder.verify(queryResults).next();
+		inOrder.verify(this.datastore).delete(same(this.key1));
+		inOrder.verify(queryResults).next();
+		inOrder.verify(this.datastore).delete(same(this.key2));
+		verify(this.datastoreEntityConverter, never()).read(any(), any());
+	}
+
+	@Test
+	public void deleteByQueryWithoutDeleteListenersInContextQueriesKeysOnlyTest() {
+		GenericApplicationContext context = new GenericApplicationContext();
+		context.addApplicationListener(new ApplicationListener<AfterQueryEvent>() {
+			@Override
+			public void onApplicationEvent(AfterQueryEvent event) {
+			}
+		});
+		context.refresh();
+		this.datastoreTemplate.setApplicationEventPublisher(context);
+		StructuredQuery<Entity> query = Query.newEntityQueryBuilder().setKind("custom_test_kind").build();
+		QueryResults<Key> queryResults = mockQueryResults(this.key1);
+		when(this.datastore.run(eq(Query.newKeyQueryBuilder().setKind("custom_test_kind").build())))
+				.thenReturn(queryResults);
+
+		assertThat(this.datastoreTemplate.deleteByQuery(query, TestEntity.class)).isEqualTo(1);
+
+		verify(this.datastore, times(1)).delete(same(this.key1));
+		verify(this.datastoreEntityConverter, never()).read(any(), any());
+	}
+
+	@Test
+	public void deleteByQueryWithListenersConvertsEntitiesTest() {
+		StructuredQuery<Entity> query = Query.newEntityQueryBuilder().setKind("custom_test_kind").build();
+		QueryResults<Entity> queryResults = mockQueryResults(this.e1, this.e2);
+		when(this.datastore.run(eq(query))).thenReturn(queryResults);
+
+		verifyBeforeAndAfterEvents(
+				new BeforeDeleteEvent(new Key[] { this.key1, this.key2 }, TestEntity.class, null,
+						Arrays.asList(this.ob1, this.ob2)),
+				new AfterDeleteEvent(new Key[] { this.key1, this.key2 }, TestEntity.class, null,
+						Arrays.asList(this.ob1, this.ob2)),
+				() -> assertThat(this.datastoreTemplate.deleteByQuery(query, TestEntity.class)).isEqualTo(2),
+				x -> x.verify(this.datastore, times(1)).delete(same(this.key1), same(this.key2)));
+	}
+
+	@Test
+	public void deleteByQueryBatchesInParallelTest() {
+		AtomicInteger workers = new AtomicInteger();
+		this.datastoreTemplate.setMaxWriteSize(1);
+		this.datastoreTemplate.setWriteParallelism(2);
+		this.datastoreTemplate.setWriteExecutor((runnable) -> {
+			workers.incrementAndGet();
+			runnable.run();
+		});
+		when(this.datastore.run(eq(Query.newKeyQueryBuilder().setKind("custom_test_kind").build())))
+				.thenAnswer((invocation) -> mockQueryResults(this.key1, this.key2, this.keyChild1));
+
+		assertThat(this.datastoreTemplate.deleteAll(TestEntity.class)).isEqualTo(3);
+
+		assertThat(workers).hasValue(2);
+		verify(this.datastore, times(1)).delete(same(this.key1));
+		verify(this.datastore, times(1)).delete(same(this.key2));
+		verify(this.datastore, times(1)).delete(same(this.keyChild1));
+	}
+
+	@Test
+	public void deleteByQueryStopsReadingAfterFailureTest() {
+		this.datastoreTemplate.setMaxWriteSize(1);
+		this.datastoreTemplate.setWriteParallelism(2);
+		this.datastoreTemplate.setWriteExecutor(Runnable::run);
+		QueryResults<Key> queryResults = mockQueryResults(this.key1, this.key2);
+		when(this.datastore.run(eq(Query.newKeyQueryBuilder().setKind("custom_test_kind").build())))
+				.thenReturn(queryResults);
+		doThrow(new RuntimeException("failed key1")).when(this.datastore).delete(same(this.key1));
+
+		assertThatThrownBy(() -> this.datastoreTemplate.deleteAll(TestEntity.class))
+				.isInstanceOf(DatastoreDataException.class)
+				.hasMessageStartingWith("Failed to delete 1 of 1 batches.");
+		verify(queryResults, times(1)).next();
+		verify(this.datastore, never()).delete(same(this.key2));
+	}
+
+	@Test
+	public void deleteSlicesInParallelTest() {
+		AtomicInteger workers = new AtomicInteger();
+		this.datastoreTemplate.setMaxWriteSize(1);
+		this.datastoreTemplate.setWriteParallelism(4);
+		this.datastoreTemplate.setWriteExecutor((runnable) -> {
+			workers.incrementAndGet();
+			runnable.run();
+		});
+
+		this.datastoreTemplate.deleteAll(Arrays.asList(this.ob1, this.ob2));
+
+		assertThat(workers).hasValue(2);
+		verify(this.datastore, times(1)).delete(same(this.key1));
+		verify(this.datastore, times(1)).delete(same(this.key2));
+	}
+
+	@Test
+	public void deleteSlicesInParallelFailuresAggregatedTest() {
+		this.datastoreTemplate.setMaxWriteSize(1);
+		this.datastoreTemplate.setWriteParallelism(2);
+		this.datastoreTemplate.setWriteExecutor(Runnable::run);
+		doThrow(new RuntimeException("failed key1")).when(this.datastore).delete(same(this.key1));
+		doThrow(new RuntimeException("failed key2")).when(this.datastore).delete(same(this.key2));
+
+		assertThatThrownBy(() -> this.datastoreTemplate.deleteAll(Arrays.asList(this.ob1, this.ob2)))
+				.isInstanceOf(DatastoreDataException.class)
+				.hasMessageStartingWith("Failed to write 2 of 2 slices.")
+				.satisfies((ex) -> assertThat(ex.getSuppressed()).hasSize(1));
+		verify(this.datastore, times(1)).delete(same(this.key1));
+		verify(this.datastore, times(1)).delete(same(this.key2));
+	}
+
+	@Test
+	public void writeSlicesSequentiallyByDefaultTest() {
+		this.datastoreTemplate.setMaxWriteSize(1);
+		this.datastoreTemplate.setWriteExecutor((runnable) -> {
+			throw new IllegalStateException("Sequential writes should not use the executor.");
+		});
+
+		this.datastoreTemplate.deleteAll(Arrays.asList(this.ob1, this.ob2));
+
+		verify(this.datastore, times(2)).delete(ArgumentMatchers.<Key[]>any());
+	}
+
+	@Test
+	public void dirtyTrackingSkipsUnchangedEntitiesTest() {
+		this.datastoreTemplate.setDirtyTracking(true);
+		DatastoreReaderWriter transactionContext = mockTransactionContext();
+		List<Object[]> putCalls = new ArrayList<>();
+		doAnswer((invocation) -> {
+			putCalls.add(invocation.getArguments());
+			return null;
+		}).when(transactionContext).put(ArgumentMatchers.<FullEntity[]>any());
+
+		this.datastoreTemplate.performTransaction((operations) -> {
+			operations.save(this.ob1);
+			assertThat(putCalls).hasSize(1);
+			assertThat(putCalls.get(0)).hasSize(7);
+
+			operations.save(this.ob1);
+			assertThat(putCalls).hasSize(1);
+
+			doAnswer((invocation) -> {
+				Entity.Builder builder = invocation.getArgument(1);
+				builder.set("name", "changed");
+				return null;
+			}).when(this.datastoreEntityConverter).write(same(this.childEntity5), any());
+
+			operations.save(this.ob1);
+			assertThat(putCalls).hasSize(2);
+			assertThat(putCalls.get(1)).containsExactly(
+					Entity.newBuilder(this.childKey5).set("name", "changed").build());
+			return null;
+		});
+	}
+
+	@Test
+	public void dirtyTrackingSkipsUnchangedReadEntitiesTest() {
+		this.datastoreTemplate.setDirtyTracking(true);
+		DatastoreReaderWriter transactionContext = mockTransactionContext();
+		Entity readEntity = prepareSimpleTestEntityRead();
+
+		this.datastoreTemplate.performTransaction((operations) -> {
+			((DatastoreTemplate) operations).convertEntitiesForRead(
+					Collections.singletonList(readEntity).iterator(), SimpleTestEntity.class);
+			operations.save(this.simpleTestEntity);
+
+			verify(transactionContext, never()).put(ArgumentMatchers.<FullEntity[]>any());
+
+			operations.delete(this.simpleTestEntity);
+			// reads within the transaction don't see its own delete
+			((DatastoreTemplate) operations).convertEntitiesForRead(
+					Collections.singletonList(readEntity).iterator(), SimpleTestEntity.class);
+			operations.save(this.simpleTestEntity);
+
+			verify(transactionContext, times(1)).put(ArgumentMatchers.<FullEntity[]>any());
+			return null;
+		});
+	}
+
+	@Test
+	public void dirtyTrackingWritesEntitiesChangedOutsideTransactionTest() {
+		this.datastoreTemplate.setDirtyTracking(true);
+		Entity readEntity = prepareSimpleTestEntityRead();
+
+		// another client may change the entity after it is read, so the save must be sent
+		this.datastoreTemplate.convertEntitiesForRead(Collections.singletonList(readEntity).iterator(),
+				SimpleTestEntity.class);
+		this.datastoreTemplate.save(this.simpleTestEntity);
+		this.datastoreTemplate.save(this.simpleTestEntity);
+
+		verify(this.datastore, times(2)).put(ArgumentMatchers.<FullEntity[]>any());
+	}
+
+	@Test
+	public void dirtyTrackingSnapshotsDiscardedAfterTransactionTest() {
+		this.datastoreTemplate.setDirtyTracking(true);
+		DatastoreReaderWriter transactionContext = mockTransactionContext();
+		Entity readEntity = prepareSimpleTestEntityRead();
+
+		this.datastoreTemplate.performTransaction((operations) -> ((DatastoreTemplate) operations)
+				.convertEntitiesForRead(Collections.singletonList(readEntity).iterator(), SimpleTestEntity.class));
+		this.datastoreTemplate.performTransaction((operations) -> operations.save(this.simpleTestEntity));
+
+		verify(transactionContext, times(1)).put(ArgumentMatchers.<FullEntity[]>any());
+	}
+
+	@Test
+	public void dirtyTrackingWithTransactionManagerTest() {
+		this.datastoreTemplate.setDirtyTracking(true);
+		Transaction transaction = mock(Transaction.class);
+		DatastoreTransactionManager.Tx tx = new DatastoreTransactionManager.Tx(this.datastore);
+		tx.setTransaction(transaction);
+		Entity readEntity = prepareSimpleTestEntityRead();
+
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		TransactionSynchronizationManager.bindResource(this.datastore, tx);
+		try {
+			this.datastoreTemplate.convertEntitiesForRead(Collections.singletonList(readEntity).iterator(),
+					SimpleTestEntity.class);
+			this.datastoreTemplate.save(this.simpleTestEntity);
+		}
+		finally {
+			TransactionSynchronizationManager.unbindResource(this.datastore);
+			TransactionSynchronizationManager.setActualTransactionActive(false);
+		}
+
+		verify(transaction, never()).put(ArgumentMatchers.<FullEntity[]>any());
+		verify(this.datastore, never()).put(ArgumentMatchers.<FullEntity[]>any());
+	}
+
+	private DatastoreReaderWriter mockTransactionContext() {
+		DatastoreReaderWriter transactionContext = mock(DatastoreReaderWriter.class);
+		when(this.datastore.runInTransaction(any())).thenAnswer((invocation) -> {
+			TransactionCallable<?> callable = invocation.getArgument(0);
+			return callable.run(transactionContext);
+		});
+		return transactionContext;
+	}
+
+	private Entity prepareSimpleTestEntityRead() {
+		Key key = createFakeKey("simple");
+		this.simpleTestEntity.id = "simple";
+		Entity readEntity = Entity.newBuilder(key)
+				.set("color", "simple_test_color")
+				.set("int_field", 1)
+				.build();
+		when(this.datastoreEntityConverter.read(eq(SimpleTestEntity.class), same(readEntity)))
+				.thenReturn(this.simpleTestEntity);
+		when(this.objectToKeyFactory.getKeyFromObject(same(this.simpleTestEntity), any())).thenReturn(key);
+		doAnswer((invocation) -> {
+			Entity.Builder builder = invocation.getArgument(1);
+			builder.set("color", "simple_test_color");
+			builder.set("int_field", 1);
+			return null;
+		}).when(this.datastoreEntityConverter).write(same(this.simpleTestEntity), any());
+		return readEntity;
+	}
+
+	@Test
+	public void dirtyTrackingDisabledByDefaultTest() {
+		assertThat(this.datastoreTemplate.isDirtyTracking()).isFalse();
+
+		this.datastoreTemplate.save(this.ob1);
+		this.datastoreTemplate.save(this.ob1);
+
+		verify(this.datastore, times(2)).put(ArgumentMatchers.<FullEntity[]>any());
+	}
+
+	private static <T> QueryResults<T> mockQueryResults(T... results) {
+		QueryResults<T> queryResults = mock(QueryResults.class);
+		Iterator<T> iterator = Arrays.asList(results).iterator();
+		when(queryResults.hasNext()).thenAnswer((invocation) -> iterator.hasNext());
+		when(queryResults.next()).thenAnswer((invocation) -> iterator.next());
+		return queryResults;
+	}
+
 	private void verifyBeforeAndAfterEvents(ApplicationEvent expectedBefore,
 			ApplicationEvent expectedAfter, Runnable operation, Consumer<InOrder> verifyOperation) {
 		ApplicationEventPublisher mockPublisher = mock(ApplicationEventPublisher.class);
@@ -1285,6 +1746,15 @@ public class DatastoreTemplateTests {
 		}
 	}
 
+	@org.springframework.cloud.gcp.data.datastore.core.mapping.Entity(name = "allocated_parent")
+	private static class AllocatedParentEntity {
+		@Id
+		Key id;
+
+		@Descendants
+		List<ChildEntity> children;
+	}
+
 	@org.springframework.cloud.gcp.data.datastore.core.mapping.Entity(name = "test_kind")
 	private static class SimpleTestEntity {
 		@Id
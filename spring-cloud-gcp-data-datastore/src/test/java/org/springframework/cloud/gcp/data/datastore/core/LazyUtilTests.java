@@ -0,0 +1,105 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.data.datastore.core;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.cloud.datastore.Key;
+import com.google.cloud.datastore.KeyValue;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the lazy loading proxies.
+ *
+ * @author agent (agent@local)
+ */
+public class LazyUtilTests {
+
+	private final KeyValue key = KeyValue.of(Key.newBuilder("project", "kind", "a").build());
+
+	@Test
+	public void subclassProxyLoadsOnFirstAccessTest() {
+		AtomicInteger loads = new AtomicInteger();
+		ReferencedEntity proxy = LazyUtil.wrapSimpleLazyProxy(() -> {
+			loads.incrementAndGet();
+			return new ReferencedEntity("a");
+		}, ReferencedEntity.class, this.key);
+
+		assertThat(proxy).isInstanceOf(ReferencedEntity.class);
+		assertThat(LazyUtil.isLazyAndNotLoaded(proxy)).isTrue();
+		assertThat(LazyUtil.getKeys(proxy)).isEqualTo(this.key);
+		assertThat(loads).hasValue(0);
+
+		assertThat(proxy.getName()).isEqualTo("a");
+		assertThat(proxy.getName()).isEqualTo("a");
+		assertThat(loads).hasValue(1);
+		assertThat(LazyUtil.isLazyAndNotLoaded(proxy)).isFalse();
+		assertThat(LazyUtil.getKeys(proxy)).isNull();
+	}
+
+	@Test
+	public void proxyClassReusedTest() {
+		ReferencedEntity first = LazyUtil.wrapSimpleLazyProxy(() -> new ReferencedEntity("a"),
+				ReferencedEntity.class, this.key);
+		ReferencedEntity second = LazyUtil.wrapSimpleLazyProxy(() -> new ReferencedEntity("b"),
+				ReferencedEntity.class, this.key);
+		List<String> firstList = LazyUtil.wrapSimpleLazyProxy(() -> Arrays.asList("a"), List.class, this.key);
+		List<String> secondList = LazyUtil.wrapSimpleLazyProxy(() -> Arrays.asList("b"), List.class, this.key);
+
+		assertThat(second).isNotSameAs(first);
+		assertThat(second.getClass()).isSameAs(first.getClass());
+		assertThat(second.getName()).isEqualTo("b");
+		assertThat(first.getName()).isEqualTo("a");
+		assertThat(secondList.getClass()).isSameAs(firstList.getClass());
+	}
+
+	@Test
+	public void interfaceProxyLoadsOnFirstAccessTest() {
+		AtomicInteger loads = new AtomicInteger();
+		List<String> proxy = LazyUtil.wrapSimpleLazyProxy(() -> {
+			loads.incrementAndGet();
+			return Arrays.asList("b", "c");
+		}, List.class, this.key);
+
+		assertThat(LazyUtil.isLazyAndNotLoaded(proxy)).isTrue();
+		assertThat(LazyUtil.getKeys(proxy)).isEqualTo(this.key);
+		assertThat(loads).hasValue(0);
+
+		assertThat(proxy).containsExactly("b", "c");
+		assertThat(proxy.size()).isEqualTo(2);
+		assertThat(loads).hasValue(1);
+		assertThat(LazyUtil.isLazyAndNotLoaded(proxy)).isFalse();
+		assertThat(LazyUtil.getKeys(proxy)).isNull();
+	}
+
+	static class ReferencedEntity {
+
+		private final String name;
+
+		ReferencedEntity(String name) {
+			this.name = name;
+		}
+
+		String getName() {
+			return this.name;
+		}
+	}
+}
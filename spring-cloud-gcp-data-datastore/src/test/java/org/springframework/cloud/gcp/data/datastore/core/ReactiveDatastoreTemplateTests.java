@@ -0,0 +1,152 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.data.datastore.core;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import com.google.cloud.datastore.EntityQuery;
+import com.google.cloud.datastore.Query;
+import org.junit.After;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the reactive Datastore template.
+ *
+ * @author agent (agent@local)
+ */
+public class ReactiveDatastoreTemplateTests {
+
+	private final DatastoreOperations datastoreOperations = mock(DatastoreOperations.class);
+
+	private final Scheduler scheduler = Schedulers.newSingle("datastore-test");
+
+	private final ReactiveDatastoreTemplate reactiveDatastoreTemplate = new ReactiveDatastoreTemplate(
+			this.datastoreOperations, this.scheduler);
+
+	@After
+	public void tearDown() {
+		this.scheduler.dispose();
+	}
+
+	@Test
+	public void operationsRunOnSchedulerTest() {
+		AtomicReference<String> threadName = new AtomicReference<>();
+		when(this.datastoreOperations.findById(eq("a"), eq(String.class))).thenAnswer((invocation) -> {
+			threadName.set(Thread.currentThread().getName());
+			return "found";
+		});
+
+		StepVerifier.create(this.reactiveDatastoreTemplate.findById("a", String.class))
+				.expectNext("found")
+				.verifyComplete();
+
+		assertThat(threadName.get()).startsWith("datastore-test");
+	}
+
+	@Test
+	public void nothingRunsUntilSubscribedTest() {
+		this.reactiveDatastoreTemplate.save("entity");
+		this.reactiveDatastoreTemplate.deleteAll(String.class);
+
+		verifyNoInteractions(this.datastoreOperations);
+	}
+
+	@Test
+	public void notFoundCompletesEmptyTest() {
+		StepVerifier.create(this.reactiveDatastoreTemplate.findById("a", String.class))
+				.verifyComplete();
+	}
+
+	@Test
+	public void deleteCompletesTest() {
+		StepVerifier.create(this.reactiveDatastoreTemplate.delete("entity"))
+				.verifyComplete();
+
+		verify(this.datastoreOperations).delete(eq("entity"));
+	}
+
+	@Test
+	public void saveAllEmitsSavedEntitiesTest() {
+		when(this.datastoreOperations.saveAll(eq(Arrays.asList("a", "b")))).thenAnswer(
+				(invocation) -> invocation.getArgument(0));
+
+		StepVerifier.create(this.reactiveDatastoreTemplate.saveAll(Arrays.asList("a", "b")))
+				.expectNext("a", "b")
+				.verifyComplete();
+	}
+
+	@Test
+	public void queryHonorsBackpressureTest() {
+		EntityQuery query = Query.newEntityQueryBuilder().setKind("test_kind").build();
+		AtomicInteger read = new AtomicInteger();
+		AtomicBoolean closed = new AtomicBoolean();
+		when(this.datastoreOperations.queryStream(same(query), eq(Integer.class))).thenReturn(
+				Stream.iterate(0, (i) -> i + 1).peek((i) -> read.incrementAndGet()).onClose(() -> closed.set(true)));
+
+		StepVerifier.create(this.reactiveDatastoreTemplate.query(query, Integer.class), 0)
+				.expectSubscription()
+				.thenRequest(2)
+				.expectNext(0, 1)
+				.thenCancel()
+				.verify();
+
+		assertThat(read.get()).isEqualTo(2);
+		assertThat(closed.get()).isTrue();
+	}
+
+	@Test
+	public void findAllStreamsTest() {
+		when(this.datastoreOperations.streamAll(eq(String.class), isNull())).thenAnswer(
+				(invocation) -> Stream.of("a", "b"));
+
+		StepVerifier.create(this.reactiveDatastoreTemplate.findAll(String.class, null))
+				.expectNext("a", "b")
+				.verifyComplete();
+
+		verify(this.datastoreOperations).streamAll(eq(String.class), any());
+	}
+
+	@Test
+	public void executeRunsOnSubscriptionTest() {
+		when(this.datastoreOperations.count(eq(String.class))).thenReturn(3L);
+
+		Mono<Long> count = this.reactiveDatastoreTemplate.execute((operations) -> operations.count(String.class));
+		verify(this.datastoreOperations, never()).count(any());
+
+		StepVerifier.create(count).expectNext(3L).verifyComplete();
+		assertThat(this.reactiveDatastoreTemplate.getDatastoreOperations()).isSameAs(this.datastoreOperations);
+	}
+}
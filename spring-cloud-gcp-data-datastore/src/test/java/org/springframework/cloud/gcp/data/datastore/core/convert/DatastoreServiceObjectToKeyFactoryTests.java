@@ -16,6 +16,12 @@
 
 package org.springframework.cloud.gcp.data.datastore.core.convert;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
 import com.google.cloud.datastore.Datastore;
 import com.google.cloud.datastore.IncompleteKey;
 import com.google.cloud.datastore.Key;
@@ -27,12 +33,15 @@ import org.junit.rules.ExpectedException;
 
 import org.springframework.cloud.gcp.data.datastore.core.mapping.DatastoreDataException;
 import org.springframework.cloud.gcp.data.datastore.core.mapping.DatastoreMappingContext;
+import org.springframework.cloud.gcp.data.datastore.core.mapping.DatastorePersistentEntity;
 import org.springframework.data.annotation.Id;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -146,6 +155,42 @@ public class DatastoreServiceObjectToKeyFactoryTests {
 		assertThat(testEntityWithKeyId.id).isEqualTo(keyWithAncestor);
 	}
 
+	@Test
+	public void allocateIdsForObjectsTest() {
+		AtomicLong nextId = new AtomicLong(1);
+		doAnswer((invocation) -> Arrays.stream(invocation.getArguments())
+				.map((incompleteKey) -> Key.newBuilder((IncompleteKey) incompleteKey, nextId.getAndIncrement()).build())
+				.collect(Collectors.toList()))
+				.when(this.datastore).allocateId((IncompleteKey[]) any());
+		when(this.datastore.newKeyFactory()).thenAnswer((invocation) -> new KeyFactory("project"));
+
+		Key ancestor = new KeyFactory("project").setKind("parent").newKey(7L);
+		List<Object> entities = new ArrayList<>();
+		List<DatastorePersistentEntity> persistentEntities = new ArrayList<>();
+		List<Key[]> ancestors = new ArrayList<>();
+		for (int i = 0; i < 600; i++) {
+			TestEntityWithId entity = new TestEntityWithId();
+			entities.add(entity);
+			persistentEntities.add(this.datastoreMappingContext.getPersistentEntity(TestEntityWithId.class));
+			ancestors.add(new Key[0]);
+		}
+		TestEntityWithKeyId descendant = new TestEntityWithKeyId();
+		entities.add(descendant);
+		persistentEntities.add(this.datastoreMappingContext.getPersistentEntity(TestEntityWithKeyId.class));
+		ancestors.add(new Key[] { ancestor });
+
+		List<Key> allocatedKeys = this.datastoreServiceObjectToKeyFactory
+				.allocateKeysForObjects(entities, persistentEntities, ancestors);
+
+		// the keys are allocated in chunks
+		verify(this.datastore, times(2)).allocateId((IncompleteKey[]) any());
+		assertThat(allocatedKeys).hasSize(601);
+		assertThat(((TestEntityWithId) entities.get(0)).id).isEqualTo(1L);
+		assertThat(((TestEntityWithId) entities.get(599)).id).isEqualTo(600L);
+		assertThat(descendant.id).isEqualTo(new KeyFactory("project").setKind("custom_test_kind")
+				.addAncestor(PathElement.of("parent", 7L)).newKey(601L));
+	}
+
 	@Test
 	public void allocateIdForObjectNonKeyIdTest() {
 		this.expectedEx.expect(DatastoreDataException.class);
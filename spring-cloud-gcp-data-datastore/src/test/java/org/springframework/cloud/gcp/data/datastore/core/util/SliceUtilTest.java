@@ -17,6 +17,8 @@
 package org.springframework.cloud.gcp.data.datastore.core.util;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.Test;
@@ -58,6 +60,22 @@ public class SliceUtilTest {
 		assertThat(slices).isEmpty();
 	}
 
+	@Test
+	public void sliceAndExecuteListTest() {
+		List<Integer> elements = Arrays.asList(getIntegers(7));
+		List<List<Integer>> slices = new ArrayList<>();
+		sliceAndExecute(elements, 3, slices::add);
+		assertThat(slices).containsExactly(Arrays.asList(0, 1, 2), Arrays.asList(3, 4, 5),
+				Collections.singletonList(6));
+	}
+
+	@Test
+	public void sliceAndExecuteEmptyListTest() {
+		List<List<Integer>> slices = new ArrayList<>();
+		sliceAndExecute(Collections.<Integer>emptyList(), 3, slices::add);
+		assertThat(slices).isEmpty();
+	}
+
 	private Integer[] getIntegers(Integer inputSize) {
 		Integer[] elements = new Integer[inputSize];
 		for (int i = 0; i < inputSize; i++) {
@@ -25,6 +25,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 import com.google.cloud.datastore.Cursor;
 import com.google.cloud.datastore.EntityQuery;
@@ -74,6 +75,7 @@ import static org.mockito.ArgumentMatchers.isNotNull;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -425,18 +427,24 @@ public class PartTreeDatastoreQueryTests {
 
 		Object[] params = new Object[] { "BUY", "abcd", 8.88, 3.33, PageRequest.of(1, 2, Sort.Direction.DESC, "id") };
 
-		preparePageResults(2, 2, null, Arrays.asList(3, 4), Arrays.asList(1, 2, 3, 4));
+		preparePageResults(2, 2, null, Arrays.asList(3, 4), true, Arrays.asList(1, 2, 3, 4, 5));
 
 		when(this.queryMethod.getCollectionReturnType()).thenReturn(List.class);
 
 		Page result = (Page) this.partTreeDatastoreQuery.execute(params);
-		assertThat(result.getTotalElements()).isEqualTo(4);
-		assertThat(result.getTotalPages()).isEqualTo(2);
+		assertThat(result.getTotalElements()).isEqualTo(5);
+		assertThat(result.getTotalPages()).isEqualTo(3);
 		assertThat(result.getNumberOfElements()).isEqualTo(2);
+		assertThat(((DatastorePageable) result.getPageable()).getUrlSafeCursor())
+				.isEqualTo(Cursor.copyFrom("abc".getBytes()).toUrlSafe());
 
 		verify(this.datastoreTemplate, times(1))
+				.queryEntitiesSlice(isA(EntityQuery.class), any(), any());
+
+		verify(this.datastoreTemplate, never())
 				.queryKeysOrEntities(isA(EntityQuery.class), any());
 
+		// another page follows, so the results have to be counted.
 		verify(this.datastoreTemplate, times(1))
 				.queryKeysOrEntities(isA(KeyQuery.class), any());
 	}
@@ -455,7 +463,7 @@ public class PartTreeDatastoreQueryTests {
 		Object[] params = new Object[] { "BUY", "abcd", 8.88, 3.33,
 				DatastorePageable.from(pageRequest, cursor, 99L) };
 
-		preparePageResults(2, 2, cursor, Arrays.asList(3, 4), Arrays.asList(1, 2, 3, 4));
+		preparePageResults(2, 2, cursor, Arrays.asList(3, 4), true, Arrays.asList(1, 2, 3, 4));
 
 		when(this.queryMethod.getCollectionReturnType()).thenReturn(List.class);
 
@@ -465,6 +473,9 @@ public class PartTreeDatastoreQueryTests {
 		assertThat(result.getNumberOfElements()).isEqualTo(2);
 
 		verify(this.datastoreTemplate, times(1))
+				.queryEntitiesSlice(isA(EntityQuery.class), any(), any());
+
+		verify(this.datastoreTemplate, never())
 				.queryKeysOrEntities(any(), any());
 	}
 
@@ -478,7 +489,7 @@ public class PartTreeDatastoreQueryTests {
 
 		Object[] params = new Object[] { "BUY", "abcd", 8.88, 3.33 };
 
-		preparePageResults(0, null, null, Arrays.asList(1, 2, 3, 4), Arrays.asList(1, 2, 3, 4));
+		preparePageResults(0, null, null, Arrays.asList(1, 2, 3, 4), false, Arrays.asList(1, 2, 3, 4));
 
 		when(this.queryMethod.getCollectionReturnType()).thenReturn(List.class);
 
@@ -489,6 +500,78 @@ public class PartTreeDatastoreQueryTests {
 		verify(this.datastoreTemplate, times(1))
 				.queryKeysOrEntities(isA(EntityQuery.class), any());
 
+		// all results are on the page, so they are not counted again.
+		verify(this.datastoreTemplate, never())
+				.queryKeysOrEntities(isA(KeyQuery.class), any());
+	}
+
+	@Test
+	public void pageableQueryLastPageNotCounted() throws NoSuchMethodException {
+		queryWithMockResult("findByActionAndSymbolAndPriceLessThanAndPriceGreater"
+						+ "ThanEqualAndIdIsNull", null,
+				getClass().getMethod("tradeMethod", String.class, String.class, double.class, double.class,
+						Pageable.class));
+
+		this.partTreeDatastoreQuery = createQuery(true, false, null);
+
+		Object[] params = new Object[] { "BUY", "abcd", 8.88, 3.33, PageRequest.of(1, 3, Sort.Direction.DESC, "id") };
+
+		preparePageResults(3, 3, null, Collections.singletonList(4), false, Arrays.asList(1, 2, 3, 4));
+
+		when(this.queryMethod.getCollectionReturnType()).thenReturn(List.class);
+
+		Page result = (Page) this.partTreeDatastoreQuery.execute(params);
+		assertThat(result.getTotalElements()).isEqualTo(4);
+		assertThat(result.getTotalPages()).isEqualTo(2);
+		assertThat(result.getNumberOfElements()).isEqualTo(1);
+
+		verify(this.datastoreTemplate, never())
+				.queryKeysOrEntities(isA(KeyQuery.class), any());
+	}
+
+	@Test
+	public void pageableQueryFullLastPageNotCounted() throws NoSuchMethodException {
+		queryWithMockResult("findByActionAndSymbolAndPriceLessThanAndPriceGreater"
+						+ "ThanEqualAndIdIsNull", null,
+				getClass().getMethod("tradeMethod", String.class, String.class, double.class, double.class,
+						Pageable.class));
+
+		this.partTreeDatastoreQuery = createQuery(true, false, null);
+
+		Object[] params = new Object[] { "BUY", "abcd", 8.88, 3.33, PageRequest.of(1, 2, Sort.Direction.DESC, "id") };
+
+		preparePageResults(2, 2, null, Arrays.asList(3, 4), false, Arrays.asList(1, 2, 3, 4));
+
+		when(this.queryMethod.getCollectionReturnType()).thenReturn(List.class);
+
+		Page result = (Page) this.partTreeDatastoreQuery.execute(params);
+		assertThat(result.getTotalElements()).isEqualTo(4);
+		assertThat(result.getTotalPages()).isEqualTo(2);
+		assertThat(result.hasNext()).isFalse();
+
+		// the slice query already found that no results follow this page.
+		verify(this.datastoreTemplate, never())
+				.queryKeysOrEntities(isA(KeyQuery.class), any());
+	}
+
+	@Test
+	public void pageableQueryEmptyPageCounted() throws NoSuchMethodException {
+		queryWithMockResult("findByActionAndSymbolAndPriceLessThanAndPriceGreater"
+						+ "ThanEqualAndIdIsNull", null,
+				getClass().getMethod("tradeMethod", String.class, String.class, double.class, double.class,
+						Pageable.class));
+
+		this.partTreeDatastoreQuery = createQuery(true, false, null);
+
+		Object[] params = new Object[] { "BUY", "abcd", 8.88, 3.33, PageRequest.of(2, 2, Sort.Direction.DESC, "id") };
+
+		preparePageResults(4, 2, null, Collections.emptyList(), false, Arrays.asList(1, 2, 3));
+
+		when(this.queryMethod.getCollectionReturnType()).thenReturn(List.class);
+
+		Page result = (Page) this.partTreeDatastoreQuery.execute(params);
+		assertThat(result.getTotalElements()).isEqualTo(3);
+
 		verify(this.datastoreTemplate, times(1))
 				.queryKeysOrEntities(isA(KeyQuery.class), any());
 	}
@@ -559,29 +642,63 @@ public class PartTreeDatastoreQueryTests {
 				.queryEntitiesSlice(isA(EntityQuery.class), any(), any());
 	}
 
+	@Test
+	public void streamQuery() throws NoSuchMethodException {
+		queryWithMockResult("findByActionAndSymbolAndPriceLessThanAndPriceGreater"
+						+ "ThanEqualAndIdIsNull", null,
+				getClass().getMethod("tradeMethod", String.class, String.class, double.class, double.class));
+		when(this.queryMethod.isStreamQuery()).thenReturn(true);
+
+		this.partTreeDatastoreQuery = createQuery(false, false, null);
+
+		Object[] params = new Object[] { "BUY", "abcd", 8.88, 3.33 };
+
+		when(this.datastoreTemplate.queryStream(isA(EntityQuery.class), any())).thenAnswer((invocation) -> {
+			EntityQuery statement = invocation.getArgument(0);
+			assertThat(statement.getKind()).isEqualTo("trades");
+			assertThat(statement.getFilter()).isEqualTo(FILTER);
+			return Stream.of(3, 4, 5);
+		});
+
+		Stream result = (Stream) this.partTreeDatastoreQuery.execute(params);
+		assertThat(result).containsExactly(3, 4, 5);
+
+		verify(this.datastoreTemplate, never()).queryKeysOrEntities(any(), any());
+	}
+
 	private void preparePageResults(int offset, Integer limit, Cursor cursor,
-			List<Integer> pageResults, List<Integer> fullResults) {
+			List<Integer> pageResults, boolean hasNext, List<Integer> fullResults) {
+		EntityQuery expected = StructuredQuery.newEntityQueryBuilder()
+				.setFilter(FILTER)
+				.setKind("trades")
+				.setStartCursor(cursor)
+				.setOffset(cursor != null ? 0 : offset)
+				.setOrderBy(OrderBy.desc("__key__")).setLimit(limit).build();
+
 		when(this.datastoreTemplate.queryKeysOrEntities(isA(EntityQuery.class), any())).thenAnswer((invocation) -> {
 			EntityQuery statement = invocation.getArgument(0);
-			EntityQuery expected = StructuredQuery.newEntityQueryBuilder()
-					.setFilter(FILTER)
-					.setKind("trades")
-					.setStartCursor(cursor)
-					.setOffset(cursor != null ? 0 : offset)
-					.setOrderBy(OrderBy.desc("__key__")).setLimit(limit).build();
 
 			assertThat(statement).isEqualTo(expected);
 			return new DatastoreResultsIterable(pageResults.iterator(), Cursor.copyFrom("abc".getBytes()));
 		});
 
+		when(this.datastoreTemplate.queryEntitiesSlice(isA(EntityQuery.class), any(), any())).thenAnswer((invocation) -> {
+			EntityQuery statement = invocation.getArgument(0);
+			Pageable pageable = invocation.getArgument(2);
+
+			assertThat(statement).isEqualTo(expected);
+			return new SliceImpl(pageResults,
+					DatastorePageable.from(pageable, Cursor.copyFrom("abc".getBytes()), null), hasNext);
+		});
+
 		when(this.datastoreTemplate.queryKeysOrEntities(isA(KeyQuery.class), any())).thenAnswer((invocation) -> {
 			KeyQuery statement = invocation.getArgument(0);
-			KeyQuery expected = StructuredQuery.newKeyQueryBuilder()
+			KeyQuery expectedCount = StructuredQuery.newKeyQueryBuilder()
 					.setFilter(FILTER)
 					.setKind("trades")
 					.setOrderBy(OrderBy.desc("__key__")).build();
 
-			assertThat(statement).isEqualTo(expected);
+			assertThat(statement).isEqualTo(expectedCount);
 			return new DatastoreResultsIterable(fullResults.iterator(), Cursor.copyFrom("def".getBytes()));
 		});
 	}
@@ -615,20 +732,43 @@ public class PartTreeDatastoreQueryTests {
 
 		Object[] params = new Object[] { "BUY" };
 
-		prepareDeleteResults(false);
+		when(this.datastoreTemplate.deleteByQuery(any(), any())).thenReturn(3L);
 
 		when(this.queryMethod.getReturnedObjectType()).thenReturn((Class) int.class);
 
-		this.partTreeDatastoreQuery.execute(params);
+		assertThat(this.partTreeDatastoreQuery.execute(params)).isEqualTo(3L);
 
 		verify(this.datastoreTemplate, times(0))
-				.query(any(), (Function) any());
+				.queryKeysOrEntities(any(), any());
 
 		verify(this.datastoreTemplate, times(1))
+				.deleteByQuery(eq(StructuredQuery.newKeyQueryBuilder()
+						.setFilter(PropertyFilter.eq("action", "BUY"))
+						.setKind("trades")
+						.build()), eq(Trade.class));
+	}
+
+	@Test
+	public void deleteReturnVoidTest() throws NoSuchMethodException {
+		queryWithMockResult("deleteByAction", null,
+				getClass().getMethod("countByAction", String.class));
+
+		this.partTreeDatastoreQuery = createQuery(false, false, null);
+
+		Object[] params = new Object[] { "BUY" };
+
+		when(this.queryMethod.getReturnedObjectType()).thenReturn((Class) void.class);
+
+		assertThat(this.partTreeDatastoreQuery.execute(params)).isNull();
+
+		verify(this.datastoreTemplate, times(0))
 				.queryKeysOrEntities(any(), any());
 
 		verify(this.datastoreTemplate, times(1))
-				.deleteAllById(eq(Arrays.asList(3, 4, 5)), any());
+				.deleteByQuery(eq(StructuredQuery.newEntityQueryBuilder()
+						.setFilter(PropertyFilter.eq("action", "BUY"))
+						.setKind("trades")
+						.build()), eq(Trade.class));
 	}
 
 	@Test
@@ -640,7 +780,7 @@ public class PartTreeDatastoreQueryTests {
 
 		Object[] params = new Object[] { "BUY" };
 
-		prepareDeleteResults(true);
+		prepareDeleteResults();
 
 		when(this.queryMethod.getCollectionReturnType()).thenReturn(List.class);
 
@@ -656,14 +796,12 @@ public class PartTreeDatastoreQueryTests {
 		verify(this.datastoreTemplate, times(1))
 				.deleteAll(eq(Arrays.asList(3, 4, 5)));
 	}
-	private void prepareDeleteResults(boolean isCollection) {
+	private void prepareDeleteResults() {
 		Cursor cursor = Cursor.copyFrom("abc".getBytes());
 		List<Integer> datastoreMatchingRecords = Arrays.asList(3, 4, 5);
 		when(this.datastoreTemplate.queryKeysOrEntities(any(), any())).thenAnswer((invocation) -> {
 			StructuredQuery<?> statement = invocation.getArgument(0);
-			StructuredQuery.Builder builder = isCollection ? StructuredQuery.newEntityQueryBuilder()
-					: StructuredQuery.newKeyQueryBuilder();
-			StructuredQuery<?> expected = builder
+			StructuredQuery<?> expected = StructuredQuery.newEntityQueryBuilder()
 					.setFilter(PropertyFilter.eq("action", "BUY"))
 					.setKind("trades")
 					.build();
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.data.datastore.repository.support;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import com.google.cloud.datastore.EntityQuery;
+import com.google.cloud.datastore.Key;
+import com.google.cloud.datastore.KeyQuery;
+import com.google.cloud.datastore.Query;
+import com.google.cloud.datastore.StructuredQuery.PropertyFilter;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.cloud.gcp.data.datastore.core.DatastoreOperations;
+import org.springframework.cloud.gcp.data.datastore.core.DatastoreResultsIterable;
+import org.springframework.cloud.gcp.data.datastore.core.ReactiveDatastoreTemplate;
+import org.springframework.cloud.gcp.data.datastore.core.convert.DatastoreCustomConversions;
+import org.springframework.cloud.gcp.data.datastore.core.convert.DatastoreEntityConverter;
+import org.springframework.cloud.gcp.data.datastore.core.convert.TwoStepsConversions;
+import org.springframework.cloud.gcp.data.datastore.core.mapping.DatastoreDataException;
+import org.springframework.cloud.gcp.data.datastore.core.mapping.DatastoreMappingContext;
+import org.springframework.cloud.gcp.data.datastore.core.mapping.Entity;
+import org.springframework.cloud.gcp.data.datastore.repository.ReactiveDatastoreRepository;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.repository.core.EntityInformation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the reactive Datastore Repository factory.
+ *
+ * @author agent (agent@local)
+ */
+public class ReactiveDatastoreRepositoryFactoryTests {
+
+	private ReactiveDatastoreRepositoryFactory repositoryFactory;
+
+	private DatastoreOperations datastoreOperations;
+
+	@Before
+	public void setUp() {
+		DatastoreMappingContext mappingContext = new DatastoreMappingContext();
+		this.datastoreOperations = mock(DatastoreOperations.class);
+		DatastoreEntityConverter entityConverter = mock(DatastoreEntityConverter.class);
+		when(this.datastoreOperations.getDatastoreEntityConverter()).thenReturn(entityConverter);
+		when(entityConverter.getConversions())
+				.thenReturn(new TwoStepsConversions(new DatastoreCustomConversions(), null, mappingContext));
+		this.repositoryFactory = new ReactiveDatastoreRepositoryFactory(mappingContext,
+				new ReactiveDatastoreTemplate(this.datastoreOperations, Schedulers.immediate()));
+	}
+
+	@Test
+	public void getEntityInformationTest() {
+		EntityInformation<TestEntity, String> entityInformation = this.repositoryFactory
+				.getEntityInformation(TestEntity.class);
+		assertThat(entityInformation.getJavaType()).isEqualTo(TestEntity.class);
+		assertThat(entityInformation.getIdType()).isEqualTo(String.class);
+	}
+
+	@Test
+	public void getRepositoryTest() {
+		TestEntityRepository repository = this.repositoryFactory.getRepository(TestEntityRepository.class);
+		assertThat(repository).isNotNull();
+		assertThat(this.repositoryFactory.getRepositoryBaseClass(null))
+				.isEqualTo(SimpleReactiveDatastoreRepository.class);
+	}
+
+	@Test
+	public void derivedQueryStreamsEntitiesTest() {
+		TestEntity first = new TestEntity();
+		TestEntity second = new TestEntity();
+		EntityQuery query = Query.newEntityQueryBuilder().setKind("custom_test_kind")
+				.setFilter(PropertyFilter.eq("something", "a")).build();
+		when(this.datastoreOperations.queryStream(eq(query), eq(TestEntity.class)))
+				.thenAnswer((invocation) -> Stream.of(first, second));
+		when(this.datastoreOperations.queryStream(eq(query.toBuilder().setLimit(1).build()), eq(TestEntity.class)))
+				.thenAnswer((invocation) -> Stream.of(first));
+
+		TestEntityQueryRepository repository = this.repositoryFactory.getRepository(TestEntityQueryRepository.class);
+
+		Flux<TestEntity> results = repository.findBySomething("a");
+		verify(this.datastoreOperations, never()).queryStream(any(), any());
+		assertThat(results.collectList().block()).containsExactly(first, second);
+		assertThat(repository.findFirstBySomething("a").block()).isSameAs(first);
+	}
+
+	@Test
+	public void derivedCountAndDeleteQueriesTest() {
+		KeyQuery countQuery = Query.newKeyQueryBuilder().setKind("custom_test_kind")
+				.setFilter(PropertyFilter.eq("something", "a")).build();
+		Key key = Key.newBuilder("project", "custom_test_kind", "id").build();
+		when(this.datastoreOperations.queryKeysOrEntities(eq(countQuery), eq(TestEntity.class)))
+				.thenAnswer((invocation) -> new DatastoreResultsIterable<>(Arrays.asList(key, key), null));
+		when(this.datastoreOperations.deleteByQuery(eq(countQuery), eq(TestEntity.class))).thenReturn(2L);
+
+		TestEntityQueryRepository repository = this.repositoryFactory.getRepository(TestEntityQueryRepository.class);
+
+		Mono<Long> count = repository.countBySomething("a");
+		Mono<Long> deleted = repository.deleteBySomething("a");
+		verify(this.datastoreOperations, never()).queryKeysOrEntities(any(), any());
+		verify(this.datastoreOperations, never()).deleteByQuery(any(), any());
+		assertThat(count.block()).isEqualTo(2L);
+		assertThat(deleted.block()).isEqualTo(2L);
+	}
+
+	@Test
+	public void gqlQueryMethodsNotSupportedTest() {
+		assertThatThrownBy(() -> this.repositoryFactory.getRepository(TestEntityGqlRepository.class))
+				.isInstanceOf(DatastoreDataException.class)
+				.hasMessageContaining("GQL query methods are not supported by reactive Datastore repositories");
+	}
+
+	@Test
+	public void countQueryMethodsMustReturnMonoTest() {
+		assertThatThrownBy(() -> this.repositoryFactory.getRepository(TestEntityFluxCountRepository.class))
+				.isInstanceOf(DatastoreDataException.class)
+				.hasMessage("Reactive count, exists and delete query methods must return a Mono: countBySomething");
+	}
+
+	private interface TestEntityRepository extends ReactiveDatastoreRepository<TestEntity, String> {
+	}
+
+	private interface TestEntityQueryRepository extends ReactiveDatastoreRepository<TestEntity, String> {
+		Flux<TestEntity> findBySomething(String something);
+
+		Mono<TestEntity> findFirstBySomething(String something);
+
+		Mono<Long> countBySomething(String something);
+
+		Mono<Long> deleteBySomething(String something);
+	}
+
+	private interface TestEntityGqlRepository extends ReactiveDatastoreRepository<TestEntity, String> {
+		@org.springframework.cloud.gcp.data.datastore.repository.query.Query("SELECT * FROM custom_test_kind")
+		Flux<TestEntity> findEverything();
+	}
+
+	private interface TestEntityFluxCountRepository extends ReactiveDatastoreRepository<TestEntity, String> {
+		Flux<Long> countBySomething(String something);
+	}
+
+	@Entity(name = "custom_test_kind")
+	private static class TestEntity {
+		@Id
+		String id;
+
+		String something;
+	}
+}
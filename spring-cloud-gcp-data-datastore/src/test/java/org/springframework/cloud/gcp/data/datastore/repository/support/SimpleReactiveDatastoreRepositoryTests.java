@@ -0,0 +1,115 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.data.datastore.repository.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import org.springframework.cloud.gcp.data.datastore.core.DatastoreQueryOptions;
+import org.springframework.cloud.gcp.data.datastore.core.ReactiveDatastoreOperations;
+import org.springframework.data.domain.Sort;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the default reactive Datastore Repository implementation.
+ *
+ * @author agent (agent@local)
+ */
+public class SimpleReactiveDatastoreRepositoryTests {
+
+	private final ReactiveDatastoreOperations datastoreTemplate = mock(ReactiveDatastoreOperations.class);
+
+	private final SimpleReactiveDatastoreRepository<Object, String> repository =
+			new SimpleReactiveDatastoreRepository<>(this.datastoreTemplate, Object.class);
+
+	@Test
+	public void saveAllPublisherInBatchesTest() {
+		List<Integer> batchSizes = new ArrayList<>();
+		when(this.datastoreTemplate.saveAll(any())).thenAnswer((invocation) -> {
+			List<Object> batch = invocation.getArgument(0);
+			batchSizes.add(batch.size());
+			return Flux.fromIterable(batch);
+		});
+
+		StepVerifier.create(this.repository.saveAll(Flux.range(0, 1001)))
+				.expectNextCount(1001)
+				.verifyComplete();
+
+		assertThat(batchSizes).containsExactly(500, 500, 1);
+	}
+
+	@Test
+	public void findByIdPublisherTest() {
+		when(this.datastoreTemplate.findById(eq("a"), eq(Object.class))).thenReturn(Mono.just("found"));
+
+		StepVerifier.create(this.repository.findById(Mono.just("a")))
+				.expectNext("found")
+				.verifyComplete();
+	}
+
+	@Test
+	public void findAllTest() {
+		when(this.datastoreTemplate.findAll(eq(Object.class), isNull())).thenReturn(Flux.just("a"));
+
+		StepVerifier.create(this.repository.findAll())
+				.expectNext("a")
+				.verifyComplete();
+	}
+
+	@Test
+	public void findAllSortTest() {
+		Sort sort = Sort.by("property");
+		when(this.datastoreTemplate.findAll(eq(Object.class), any())).thenReturn(Flux.empty());
+
+		StepVerifier.create(this.repository.findAll(sort))
+				.verifyComplete();
+
+		verify(this.datastoreTemplate).findAll(eq(Object.class),
+				eq(new DatastoreQueryOptions.Builder().setSort(sort).build()));
+	}
+
+	@Test
+	public void deleteAllTest() {
+		when(this.datastoreTemplate.deleteAll(eq(Object.class))).thenReturn(Mono.just(3L));
+
+		StepVerifier.create(this.repository.deleteAll())
+				.verifyComplete();
+	}
+
+	@Test
+	public void deleteAllPublisherTest() {
+		when(this.datastoreTemplate.deleteAll(any(Iterable.class))).thenReturn(Mono.empty());
+
+		StepVerifier.create(this.repository.deleteAll(Flux.just("a", "b")))
+				.verifyComplete();
+
+		verify(this.datastoreTemplate).deleteAll(eq(Arrays.asList("a", "b")));
+	}
+}
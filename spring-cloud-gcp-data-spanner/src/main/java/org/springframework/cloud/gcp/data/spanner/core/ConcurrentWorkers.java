@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.data.spanner.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Runs tasks on a fixed number of workers, each running one task at a time until none are
+ * left.
+ *
+ * @author agent (agent@local)
+ *
+ * @since 1.2.9
+ */
+final class ConcurrentWorkers {
+
+	private ConcurrentWorkers() {
+	}
+
+	/**
+	 * Run the tasks on the given number of workers. All tasks are run even if some of them
+	 * fail.
+	 * @param tasks supplies the next task to run, or {@code null} once none are left. It is
+	 * called concurrently by the workers.
+	 * @param workerCount the number of workers.
+	 * @param executor the executor running the workers.
+	 * @return the failures of the tasks and of the workers the executor rejected.
+	 */
+	static List<Throwable> run(Supplier<Runnable> tasks, int workerCount, Executor executor) {
+		Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+		List<CompletableFuture<Void>> workers = new ArrayList<>();
+		for (int i = 0; i < workerCount; i++) {
+			workers.add(startWorker(executor, () -> {
+				for (Runnable task = tasks.get(); task != null; task = tasks.get()) {
+					try {
+						task.run();
+					}
+					catch (RuntimeException ex) {
+						failures.add(ex);
+					}
+				}
+			}));
+		}
+		for (CompletableFuture<Void> worker : workers) {
+			try {
+				worker.join();
+			}
+			catch (CompletionException ex) {
+				failures.add(ex.getCause());
+			}
+		}
+		return new ArrayList<>(failures);
+	}
+
+	private static CompletableFuture<Void> startWorker(Executor executor, Runnable worker) {
+		try {
+			return CompletableFuture.runAsync(worker, executor);
+		}
+		catch (RejectedExecutionException ex) {
+			CompletableFuture<Void> future = new CompletableFuture<>();
+			future.completeExceptionally(ex);
+			return future;
+		}
+	}
+}
@@ -0,0 +1,374 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.data.spanner.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
+
+import com.google.cloud.ByteArray;
+import com.google.cloud.Date;
+import com.google.cloud.Timestamp;
+import com.google.cloud.spanner.Statement;
+import com.google.cloud.spanner.Struct;
+import com.google.cloud.spanner.Type;
+import com.google.cloud.spanner.Value;
+
+import org.springframework.cloud.gcp.data.spanner.core.convert.ConversionUtils;
+import org.springframework.cloud.gcp.data.spanner.core.convert.SpannerEntityProcessor;
+import org.springframework.cloud.gcp.data.spanner.core.convert.SpannerTypeMapper;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerDataException;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerPersistentEntity;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerPersistentProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
+
+/**
+ * Builds the statements and continuation tokens of keyset pagination. The sort order is
+ * completed with the primary key columns so that every row has a unique position, and each
+ * page starts after the sort values of the last row of the previous page. The token holds
+ * those values, so reading a page does not depend on how many pages came before it.
+ *
+ * <p>The rows are read from the table of the entity, or from the rows of a statement, which
+ * must then select the sort and primary key columns.
+ *
+ * @author agent (agent@local)
+ *
+ * @since 1.2.9
+ */
+class KeysetQuery {
+
+	private static final byte TOKEN_VERSION = 2;
+
+	private static final String TAG_PREFIX = "keyset";
+
+	private final SpannerPersistentEntity<?> persistentEntity;
+
+	@Nullable
+	private final Statement source;
+
+	private final List<KeysetColumn> columns = new ArrayList<>();
+
+	private final int signature;
+
+	KeysetQuery(SpannerPersistentEntity<?> persistentEntity, SpannerEntityProcessor entityProcessor, Sort sort) {
+		this(persistentEntity, entityProcessor, sort, null);
+	}
+
+	/**
+	 * Constructor.
+	 * @param persistentEntity the entity whose properties the sort refers to.
+	 * @param entityProcessor the entity processor used to get the column types.
+	 * @param sort the sort order, before it is completed with the primary key.
+	 * @param source the statement whose rows are read, or {@code null} to read the table
+	 * of the entity.
+	 */
+	KeysetQuery(SpannerPersistentEntity<?> persistentEntity, SpannerEntityProcessor entityProcessor, Sort sort,
+			@Nullable Statement source) {
+		this.persistentEntity = persistentEntity;
+		this.source = source;
+		for (Sort.Order order : sort) {
+			SpannerPersistentProperty property = persistentEntity.getPersistentProperty(order.getProperty());
+			if (property == null || property.isEmbedded() || property.isInterleaved()) {
+				throw new SpannerDataException(
+						"Keyset pagination can only sort by properties stored in a single column: "
+								+ order.getProperty());
+			}
+			addColumn(property.getColumnName(), order.isAscending(),
+					order.isIgnoreCase() && isStringColumn(property, entityProcessor));
+		}
+		for (SpannerPersistentProperty keyProperty : persistentEntity.getFlattenedPrimaryKeyProperties()) {
+			addColumn(keyProperty.getColumnName(), true, false);
+		}
+		this.signature = (((source != null) ? source.getSql() : persistentEntity.tableName()) + ":"
+				+ this.columns.stream().map(KeysetColumn::toString).collect(Collectors.joining(","))).hashCode();
+	}
+
+	/**
+	 * Only {@code STRING} columns can be compared ignoring case, so the case of the other
+	 * columns is not ignored, as it is not by Cloud Spanner.
+	 */
+	private static boolean isStringColumn(SpannerPersistentProperty property,
+			SpannerEntityProcessor entityProcessor) {
+		if (ConversionUtils.isIterableNonByteArrayType(property.getType())) {
+			return false;
+		}
+		Type.Code code = property.getAnnotatedColumnItemType();
+		if (code == null) {
+			Class<?> spannerJavaType = entityProcessor.getCorrespondingSpannerJavaType(property.getType(), false);
+			code = (spannerJavaType != null) ? SpannerTypeMapper.getSimpleTypeCodeForJavaType(spannerJavaType)
+					: null;
+		}
+		return code == Type.Code.STRING;
+	}
+
+	private void addColumn(String columnName, boolean ascending, boolean ignoreCase) {
+		if (this.columns.stream().noneMatch((column) -> column.name.equals(columnName))) {
+			this.columns.add(new KeysetColumn(columnName, ascending, ignoreCase));
+		}
+	}
+
+	/**
+	 * Build the statement reading the page after the given position.
+	 * @param selectColumns the SQL select list.
+	 * @param limit the maximum number of rows to read.
+	 * @param offset the number of rows to skip. Only allowed without a position, to start
+	 * reading at a page number.
+	 * @param continuationToken the position after which to read, or {@code null} to read
+	 * from the first row.
+	 * @return the statement.
+	 */
+	Statement buildStatement(String selectColumns, int limit, long offset, @Nullable String continuationToken) {
+		List<Value> position = (continuationToken != null) ? decode(continuationToken)
+				: Collections.emptyList();
+		List<String> conditions = new ArrayList<>();
+		if (this.source == null && this.persistentEntity.hasWhere()) {
+			conditions.add("(" + this.persistentEntity.getWhere() + ")");
+		}
+		if (!position.isEmpty()) {
+			conditions.add("(" + buildPositionCondition(position) + ")");
+		}
+		StringJoiner orderBy = new StringJoiner(" , ", " ORDER BY ", "");
+		for (KeysetColumn column : this.columns) {
+			orderBy.add(column.expression() + (column.ascending ? " ASC" : " DESC"));
+		}
+		String sql = "SELECT " + selectColumns + " FROM "
+				+ ((this.source != null) ? "(" + this.source.getSql() + ")" : this.persistentEntity.tableName())
+				+ (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+				+ orderBy + " LIMIT " + limit + ((offset > 0) ? " OFFSET " + offset : "");
+
+		Statement.Builder builder = Statement.newBuilder(sql);
+		if (this.source != null) {
+			this.source.getParameters().forEach((name, value) -> builder.bind(name).to(value));
+		}
+		for (int i = 0; i < position.size(); i++) {
+			if (!position.get(i).isNull()) {
+				builder.bind(TAG_PREFIX + i).to(position.get(i));
+			}
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Rows after a position are those that are after it in the first column, or equal in the
+	 * first column and after it in the second, and so on. Cloud Spanner orders {@code NULL}
+	 * before all other values.
+	 */
+	private String buildPositionCondition(List<Value> position) {
+		StringJoiner alternatives = new StringJoiner(" OR ");
+		for (int i = 0; i < this.columns.size(); i++) {
+			StringJoiner alternative = new StringJoiner(" AND ", "(", ")");
+			for (int j = 0; j < i; j++) {
+				KeysetColumn column = this.columns.get(j);
+				alternative.add(position.get(j).isNull() ? column.expression() + " IS NULL"
+						: column.expression() + " = " + column.tag(j));
+			}
+			KeysetColumn column = this.columns.get(i);
+			boolean isNull = position.get(i).isNull();
+			if (column.ascending) {
+				alternative.add(isNull ? column.expression() + " IS NOT NULL"
+						: column.expression() + " > " + column.tag(i));
+			}
+			else {
+				alternative.add(isNull ? "FALSE"
+						: "(" + column.expression() + " < " + column.tag(i) + " OR "
+								+ column.expression() + " IS NULL)");
+			}
+			alternatives.add(alternative.toString());
+		}
+		return alternatives.toString();
+	}
+
+	/**
+	 * Get the token to read the rows after the given one.
+	 * @param row the last row read.
+	 * @return the opaque continuation token.
+	 */
+	String getContinuationToken(Struct row) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream output = new DataOutputStream(bytes)) {
+			output.writeByte(TOKEN_VERSION);
+			output.writeInt(this.signature);
+			for (KeysetColumn column : this.columns) {
+				writeValue(output, row, column.name);
+			}
+		}
+		catch (IOException ex) {
+			throw new SpannerDataException("Failed to create the continuation token.", ex);
+		}
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+	}
+
+	private static void writeValue(DataOutputStream output, Struct row, String columnName)
+			throws IOException {
+		if (row.isNull(columnName)) {
+			output.writeBoolean(false);
+			return;
+		}
+		output.writeBoolean(true);
+		Type.Code code = row.getColumnType(columnName).getCode();
+		writeString(output, code.name());
+		switch (code) {
+		case BOOL:
+			output.writeBoolean(row.getBoolean(columnName));
+			break;
+		case INT64:
+			output.writeLong(row.getLong(columnName));
+			break;
+		case FLOAT64:
+			output.writeDouble(row.getDouble(columnName));
+			break;
+		case NUMERIC:
+			writeString(output, row.getBigDecimal(columnName).toString());
+			break;
+		case STRING:
+			writeString(output, row.getString(columnName));
+			break;
+		case BYTES:
+			writeBytes(output, row.getBytes(columnName).toByteArray());
+			break;
+		case TIMESTAMP:
+			writeString(output, row.getTimestamp(columnName).toString());
+			break;
+		case DATE:
+			writeString(output, row.getDate(columnName).toString());
+			break;
+		default:
+			throw new SpannerDataException(
+					"Keyset pagination does not support sorting by columns of type " + code + ": " + columnName);
+		}
+	}
+
+	/**
+	 * Values are written with their length instead of with {@link DataOutputStream#writeUTF},
+	 * which is limited to 64KB.
+	 */
+	private static void writeBytes(DataOutputStream output, byte[] value) throws IOException {
+		output.writeInt(value.length);
+		output.write(value);
+	}
+
+	private static void writeString(DataOutputStream output, String value) throws IOException {
+		writeBytes(output, value.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private List<Value> decode(String continuationToken) {
+		try (DataInputStream input = new DataInputStream(
+				new ByteArrayInputStream(Base64.getUrlDecoder().decode(continuationToken)))) {
+			if (input.readByte() != TOKEN_VERSION || input.readInt() != this.signature) {
+				throw new SpannerDataException(
+						"The continuation token was not created by a query with the same table and sort order.");
+			}
+			List<Value> position = new ArrayList<>();
+			for (int i = 0; i < this.columns.size(); i++) {
+				position.add(readValue(input));
+			}
+			if (input.read() != -1) {
+				throw new SpannerDataException("Invalid continuation token.");
+			}
+			return position;
+		}
+		catch (IOException | IllegalArgumentException ex) {
+			throw new SpannerDataException("Invalid continuation token.", ex);
+		}
+	}
+
+	private static Value readValue(DataInputStream input) throws IOException {
+		if (!input.readBoolean()) {
+			// null values are never bound, so their type does not matter.
+			return Value.string(null);
+		}
+		Type.Code code = Type.Code.valueOf(readString(input));
+		switch (code) {
+		case BOOL:
+			return Value.bool(input.readBoolean());
+		case INT64:
+			return Value.int64(input.readLong());
+		case FLOAT64:
+			return Value.float64(input.readDouble());
+		case NUMERIC:
+			return Value.numeric(new BigDecimal(readString(input)));
+		case STRING:
+			return Value.string(readString(input));
+		case BYTES:
+			return Value.bytes(ByteArray.copyFrom(readBytes(input)));
+		case TIMESTAMP:
+			return Value.timestamp(Timestamp.parseTimestamp(readString(input)));
+		case DATE:
+			return Value.date(Date.parseDate(readString(input)));
+		default:
+			throw new IllegalArgumentException("Unsupported type in continuation token: " + code);
+		}
+	}
+
+	private static byte[] readBytes(DataInputStream input) throws IOException {
+		int length = input.readInt();
+		// The whole token is in memory, so a length longer than the rest of it is invalid.
+		if (length < 0 || length > input.available()) {
+			throw new IllegalArgumentException("Invalid value length in continuation token: " + length);
+		}
+		byte[] value = new byte[length];
+		input.readFully(value);
+		return value;
+	}
+
+	private static String readString(DataInputStream input) throws IOException {
+		return new String(readBytes(input), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * A column of the keyset sort order.
+	 */
+	private static final class KeysetColumn {
+
+		private final String name;
+
+		private final boolean ascending;
+
+		private final boolean ignoreCase;
+
+		KeysetColumn(String name, boolean ascending, boolean ignoreCase) {
+			this.name = name;
+			this.ascending = ascending;
+			this.ignoreCase = ignoreCase;
+		}
+
+		String expression() {
+			return this.ignoreCase ? "LOWER(" + this.name + ")" : this.name;
+		}
+
+		String tag(int index) {
+			String tag = "@" + TAG_PREFIX + index;
+			return this.ignoreCase ? "LOWER(" + tag + ")" : tag;
+		}
+
+		@Override
+		public String toString() {
+			return this.name + (this.ascending ? " ASC" : " DESC") + (this.ignoreCase ? " IGNORE CASE" : "");
+		}
+	}
+}
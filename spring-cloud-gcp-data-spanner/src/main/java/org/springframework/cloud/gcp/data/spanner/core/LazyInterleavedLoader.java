@@ -0,0 +1,115 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.cloud.gcp.data.spanner.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.google.cloud.spanner.Key;
+import com.google.cloud.spanner.KeySet;
+
+/**
+ * Loads the lazy interleaved children of a property for all of the parents read together.
+ * The first access to the children of one parent reads the children of the parents whose
+ * children are not loaded yet, up to the batch size, in a single query.
+ *
+ * @author agent (agent@local)
+ *
+ * @since 1.2.9
+ */
+class LazyInterleavedLoader {
+
+	private final int batchSize;
+
+	private final Function<KeySet, List<?>> childrenQuery;
+
+	private final Function<Object, Key> keyFunction;
+
+	private final Set<Key> pendingParentKeys = new LinkedHashSet<>();
+
+	private final Map<Key, List<Object>> loadedChildren = new HashMap<>();
+
+	/**
+	 * Constructor.
+	 * @param batchSize the maximum number of parents whose children are read at once.
+	 * @param childrenQuery the function reading the children of a set of parent keys.
+	 * @param keyFunction the function giving the key of a child.
+	 */
+	LazyInterleavedLoader(int batchSize, Function<KeySet, List<?>> childrenQuery,
+			Function<Object, Key> keyFunction) {
+		this.batchSize = batchSize;
+		this.childrenQuery = childrenQuery;
+		this.keyFunction = keyFunction;
+	}
+
+	/**
+	 * Register a parent whose children are loaded later.
+	 * @param parentKey the key of the parent.
+	 * @return the supplier of the children of the parent.
+	 */
+	synchronized Supplier<List> register(Key parentKey) {
+		this.pendingParentKeys.add(parentKey);
+		return () -> load(parentKey);
+	}
+
+	private synchronized List load(Key parentKey) {
+		if (!this.loadedChildren.containsKey(parentKey)) {
+			fetch(parentKey);
+		}
+		return new ArrayList<>(this.loadedChildren.get(parentKey));
+	}
+
+	private void fetch(Key parentKey) {
+		List<Key> batch = new ArrayList<>();
+		batch.add(parentKey);
+		this.pendingParentKeys.remove(parentKey);
+		Iterator<Key> pending = this.pendingParentKeys.iterator();
+		while (batch.size() < this.batchSize && pending.hasNext()) {
+			batch.add(pending.next());
+			pending.remove();
+		}
+
+		KeySet.Builder keys = KeySet.newBuilder();
+		batch.forEach((key) -> {
+			keys.addKey(key);
+			this.loadedChildren.put(key, new ArrayList<>());
+		});
+		for (Object child : this.childrenQuery.apply(keys.build())) {
+			List<Object> siblings = this.loadedChildren.get(getParentKey(child, parentKey.size()));
+			if (siblings != null) {
+				siblings.add(child);
+			}
+		}
+	}
+
+	private Key getParentKey(Object child, int parentKeySize) {
+		Key.Builder parentKey = Key.newBuilder();
+		Iterator<Object> parts = this.keyFunction.apply(child).getParts().iterator();
+		for (int i = 0; i < parentKeySize && parts.hasNext(); i++) {
+			parentKey.appendObject(parts.next());
+		}
+		return parentKey.build();
+	}
+}
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.data.spanner.core;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.google.cloud.spanner.BatchReadOnlyTransaction;
+import com.google.cloud.spanner.Partition;
+import com.google.cloud.spanner.ResultSet;
+import com.google.cloud.spanner.Struct;
+
+import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerDataException;
+
+/**
+ * Reads the partitions of a batch read-only transaction on several worker threads. Each
+ * worker reads one partition at a time until no partitions are left. The transaction is
+ * closed once all workers are done.
+ *
+ * @param <T> the type of the entities read.
+ *
+ * @author agent (agent@local)
+ *
+ * @since 1.2.9
+ */
+class PartitionedRead<T> {
+
+	private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+	private final BatchReadOnlyTransaction transaction;
+
+	private final List<Partition> partitions;
+
+	private final Function<Struct, T> rowMapper;
+
+	private final int workerCount;
+
+	private final Executor executor;
+
+	PartitionedRead(BatchReadOnlyTransaction transaction, List<Partition> partitions,
+			Function<Struct, T> rowMapper, SpannerPartitionOptions options, Executor defaultExecutor) {
+		this.transaction = transaction;
+		this.partitions = partitions;
+		this.rowMapper = rowMapper;
+		this.workerCount = Math.max(1, Math.min(options.getParallelism(), partitions.size()));
+		this.executor = (options.getExecutor() != null) ? options.getExecutor() : defaultExecutor;
+	}
+
+	int getPartitionCount() {
+		return this.partitions.size();
+	}
+
+	/**
+	 * Read all partitions and wait for them to be consumed.
+	 * @param partitionConsumer the consumer of the entities of each partition. It is called
+	 * concurrently from the worker threads.
+	 */
+	void forEachPartition(Consumer<Stream<T>> partitionConsumer) {
+		try {
+			Queue<Partition> pending = new ConcurrentLinkedQueue<>(this.partitions);
+			AtomicBoolean failed = new AtomicBoolean();
+			// no partition is read after a failure
+			List<Throwable> failures = ConcurrentWorkers.run(() -> {
+				Partition partition = failed.get() ? null : pending.poll();
+				return (partition != null) ? () -> {
+					try {
+						readPartition(partition, partitionConsumer);
+					}
+					catch (RuntimeException ex) {
+						failed.set(true);
+						throw ex;
+					}
+				} : null;
+			}, this.workerCount, this.executor);
+			if (!failures.isEmpty()) {
+				SpannerDataException exception = new SpannerDataException(
+						"Failed to read the partitions of the partitioned read.", failures.get(0));
+				failures.stream().skip(1).forEach(exception::addSuppressed);
+				throw exception;
+			}
+		}
+		finally {
+			this.transaction.close();
+		}
+	}
+
+	/**
+	 * Start reading all partitions into a single stream. The stream must be closed if it is
+	 * not read to its end.
+	 * @param bufferSize the number of entities buffered between the workers and the stream.
+	 * @return the merged stream of the entities of all partitions.
+	 */
+	Stream<T> stream(int bufferSize) {
+		MergedIterator iterator = new MergedIterator(bufferSize);
+		iterator.start();
+		return StreamSupport
+				.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.NONNULL), false)
+				.onClose(iterator::close);
+	}
+
+	private void readPartitions(Queue<Partition> pending, BooleanSupplier stopped,
+			Consumer<Stream<T>> partitionConsumer) {
+		while (!stopped.getAsBoolean()) {
+			Partition partition = pending.poll();
+			if (partition == null) {
+				return;
+			}
+			readPartition(partition, partitionConsumer);
+		}
+	}
+
+	private void readPartition(Partition partition, Consumer<Stream<T>> partitionConsumer) {
+		try (ResultSet resultSet = this.transaction.execute(partition)) {
+			partitionConsumer.accept(rows(resultSet));
+		}
+	}
+
+	private Stream<T> rows(ResultSet resultSet) {
+		return StreamSupport.stream(new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE,
+				Spliterator.ORDERED | Spliterator.NONNULL) {
+			@Override
+			public boolean tryAdvance(Consumer<? super T> action) {
+				if (!resultSet.next()) {
+					return false;
+				}
+				action.accept(PartitionedRead.this.rowMapper.apply(resultSet.getCurrentRowAsStruct()));
+				return true;
+			}
+		}, false);
+	}
+
+	/**
+	 * Marks the end of a worker in the buffer of a merged stream.
+	 */
+	private static final class WorkerEnd {
+
+		private final Throwable failure;
+
+		WorkerEnd(Throwable failure) {
+			this.failure = failure;
+		}
+	}
+
+	/**
+	 * Iterates over the entities buffered by the workers of a merged stream.
+	 */
+	private final class MergedIterator implements Iterator<T> {
+
+		private final BlockingQueue<Object> buffer;
+
+		private final AtomicInteger runningWorkers = new AtomicInteger();
+
+		private volatile boolean closed;
+
+		private int endedWorkers;
+
+		private T next;
+
+		MergedIterator(int bufferSize) {
+			this.buffer = new ArrayBlockingQueue<>(bufferSize);
+		}
+
+		void start() {
+			Queue<Partition> pending = new ConcurrentLinkedQueue<>(PartitionedRead.this.partitions);
+			this.runningWorkers.set(PartitionedRead.this.workerCount);
+			for (int i = 0; i < PartitionedRead.this.workerCount; i++) {
+				Runnable worker = () -> {
+					Throwable failure = null;
+					try {
+						readPartitions(pending, () -> this.closed, (rows) -> rows.forEach(this::put));
+					}
+					catch (RuntimeException | Error ex) {
+						failure = ex;
+					}
+					finally {
+						workerEnded(failure);
+					}
+				};
+				try {
+					PartitionedRead.this.executor.execute(worker);
+				}
+				catch (RejectedExecutionException ex) {
+					workerEnded(ex);
+				}
+			}
+		}
+
+		private void put(T entity) {
+			if (!offer(entity)) {
+				throw new CancellationException("The merged stream of the partitioned read was closed.");
+			}
+		}
+
+		private void workerEnded(Throwable failure) {
+			try {
+				if (this.runningWorkers.decrementAndGet() == 0) {
+					PartitionedRead.this.transaction.close();
+				}
+			}
+			finally {
+				offer(new WorkerEnd(failure));
+			}
+		}
+
+		private boolean offer(Object element) {
+			try {
+				while (!this.closed) {
+					if (this.buffer.offer(element, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+						return true;
+					}
+				}
+				return false;
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new SpannerDataException("Interrupted while reading a partition.", ex);
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (this.next != null) {
+				return true;
+			}
+			while (this.endedWorkers < PartitionedRead.this.workerCount) {
+				Object element = take();
+				if (element instanceof WorkerEnd) {
+					this.endedWorkers++;
+					Throwable failure = ((WorkerEnd) element).failure;
+					if (failure != null) {
+						close();
+						throw new SpannerDataException(
+								"Failed to read the partitions of the partitioned read.", failure);
+					}
+				}
+				else {
+					this.next = (T) element;
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			T entity = this.next;
+			this.next = null;
+			return entity;
+		}
+
+		private Object take() {
+			if (this.closed) {
+				throw new SpannerDataException("The merged stream of the partitioned read was closed.");
+			}
+			try {
+				return this.buffer.take();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				close();
+				throw new SpannerDataException("Interrupted while waiting for partitioned read results.", ex);
+			}
+		}
+
+		void close() {
+			this.closed = true;
+			this.buffer.clear();
+		}
+	}
+}
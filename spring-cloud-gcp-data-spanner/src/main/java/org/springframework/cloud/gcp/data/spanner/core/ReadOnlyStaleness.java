@@ -0,0 +1,60 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.data.spanner.core;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sets the staleness of the read-only transactions that {@link SpannerTransactionManager}
+ * begins for {@code @Transactional(readOnly = true)} methods. Read-only transactions read
+ * at a timestamp this far in the past instead of performing strong reads, which lets
+ * them be served by the closest replica without a round trip to the leader.
+ *
+ * <p>The annotation can be placed on the transactional method or on its class, and takes
+ * precedence over the default timestamp bound of the transaction manager. It has no
+ * effect on read-write transactions. It is only applied when the transaction attributes
+ * are resolved by a {@link ReadOnlyStalenessTransactionAttributeSource}, which the
+ * {@link ReadOnlyStalenessBeanPostProcessor} installs.
+ *
+ * @author agent (agent@local)
+ *
+ * @since 1.2.9
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD, ElementType.TYPE })
+public @interface ReadOnlyStaleness {
+
+	/**
+	 * The exact staleness of the reads. A staleness of {@code 0} performs strong reads.
+	 * @return the staleness in the {@link #unit() unit}.
+	 */
+	long value();
+
+	/**
+	 * The time unit of the {@link #value() staleness}.
+	 * @return the time unit.
+	 */
+	TimeUnit unit() default TimeUnit.SECONDS;
+}
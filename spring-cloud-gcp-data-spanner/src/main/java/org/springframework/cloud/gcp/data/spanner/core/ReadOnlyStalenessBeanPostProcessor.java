@@ -0,0 +1,56 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.data.spanner.core;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.transaction.interceptor.TransactionAttributeSource;
+
+/**
+ * Wraps the {@link TransactionAttributeSource} beans, such as the one registered by
+ * {@code @EnableTransactionManagement}, in a
+ * {@link ReadOnlyStalenessTransactionAttributeSource} so that the
+ * {@link SpannerTransactionManager} applies the {@link ReadOnlyStaleness} annotations of
+ * read-only transactional methods. It must be registered with a {@code static}
+ * {@code @Bean} method.
+ *
+ * <p>It is {@link PriorityOrdered} so that it is registered before the auto-proxy creator,
+ * which would otherwise create the transaction attribute source while checking whether to
+ * proxy this post-processor, before it can be wrapped.
+ *
+ * @author agent (agent@local)
+ *
+ * @since 1.2.9
+ */
+public class ReadOnlyStalenessBeanPostProcessor implements BeanPostProcessor, PriorityOrdered {
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+		if (bean instanceof TransactionAttributeSource
+				&& !(bean instanceof ReadOnlyStalenessTransactionAttributeSource)) {
+			return new ReadOnlyStalenessTransactionAttributeSource((TransactionAttributeSource) bean);
+		}
+		return bean;
+	}
+
+	@Override
+	public int getOrder() {
+		return Ordered.LOWEST_PRECEDENCE;
+	}
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.data.spanner.core;
+
+import com.google.cloud.spanner.TimestampBound;
+
+import org.springframework.transaction.interceptor.DelegatingTransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+
+/**
+ * The attribute of a read-only transactional method annotated with
+ * {@link ReadOnlyStaleness}, which carries the timestamp bound of its transaction to the
+ * {@link SpannerTransactionManager}.
+ *
+ * @author agent (agent@local)
+ *
+ * @since 1.2.9
+ */
+class ReadOnlyStalenessTransactionAttribute extends DelegatingTransactionAttribute {
+
+	private final String name;
+
+	private final TimestampBound timestampBound;
+
+	/**
+	 * Constructor.
+	 * @param targetAttribute the attribute of the transactional method.
+	 * @param name the name of the transaction. It is always set, as the transaction
+	 * interceptor otherwise wraps the attribute to name it, which hides this attribute from
+	 * the transaction manager.
+	 * @param timestampBound the timestamp bound of the read-only transaction.
+	 */
+	ReadOnlyStalenessTransactionAttribute(TransactionAttribute targetAttribute, String name,
+			TimestampBound timestampBound) {
+		super(targetAttribute);
+		this.name = name;
+		this.timestampBound = timestampBound;
+	}
+
+	@Override
+	public String getName() {
+		return this.name;
+	}
+
+	TimestampBound getTimestampBound() {
+		return this.timestampBound;
+	}
+}
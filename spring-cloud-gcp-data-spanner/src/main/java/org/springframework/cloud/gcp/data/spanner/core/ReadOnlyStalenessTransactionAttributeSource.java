@@ -0,0 +1,113 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.data.spanner.core;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.cloud.spanner.TimestampBound;
+
+import org.springframework.core.BridgeMethodResolver;
+import org.springframework.core.MethodClassKey;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionAttributeSource;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * A {@link TransactionAttributeSource} that adds the timestamp bound of the
+ * {@link ReadOnlyStaleness} annotation to the read-only transaction attributes of another
+ * source. The annotation is looked up like {@code @Transactional}: on the most specific
+ * method, on its class, and then on the invoked method and its class.
+ *
+ * <p>The {@link SpannerTransactionManager} only applies the annotation to the
+ * transactions whose attributes come from this source, which is installed by
+ * {@link ReadOnlyStalenessBeanPostProcessor}.
+ *
+ * @author agent (agent@local)
+ *
+ * @since 1.2.9
+ */
+public class ReadOnlyStalenessTransactionAttributeSource implements TransactionAttributeSource {
+
+	private final TransactionAttributeSource targetSource;
+
+	private final Map<MethodClassKey, TransactionAttribute> attributeCache = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructor.
+	 * @param targetSource the source of the transaction attributes to add the timestamp
+	 * bounds to.
+	 */
+	public ReadOnlyStalenessTransactionAttributeSource(TransactionAttributeSource targetSource) {
+		Assert.notNull(targetSource, "A valid transaction attribute source is required.");
+		this.targetSource = targetSource;
+	}
+
+	@Override
+	public boolean isCandidateClass(Class<?> targetClass) {
+		return this.targetSource.isCandidateClass(targetClass);
+	}
+
+	@Override
+	@Nullable
+	public TransactionAttribute getTransactionAttribute(Method method, @Nullable Class<?> targetClass) {
+		TransactionAttribute attribute = this.targetSource.getTransactionAttribute(method, targetClass);
+		if (attribute == null || !attribute.isReadOnly()) {
+			return attribute;
+		}
+		MethodClassKey key = new MethodClassKey(method, targetClass);
+		TransactionAttribute cached = this.attributeCache.get(key);
+		if (cached == null) {
+			ReadOnlyStaleness staleness = findReadOnlyStaleness(method, targetClass);
+			cached = (staleness != null) ? new ReadOnlyStalenessTransactionAttribute(attribute,
+					(attribute.getName() != null) ? attribute.getName()
+							: ClassUtils.getQualifiedMethodName(method, targetClass),
+					(staleness.value() > 0) ? TimestampBound.ofExactStaleness(staleness.value(), staleness.unit())
+							: TimestampBound.strong())
+					: attribute;
+			this.attributeCache.put(key, cached);
+		}
+		return cached;
+	}
+
+	@Nullable
+	private static ReadOnlyStaleness findReadOnlyStaleness(Method method, @Nullable Class<?> targetClass) {
+		Method specificMethod = BridgeMethodResolver.findBridgedMethod(
+				ClassUtils.getMostSpecificMethod(method, targetClass));
+		ReadOnlyStaleness staleness = findAnnotation(specificMethod);
+		if (staleness == null) {
+			staleness = findAnnotation(specificMethod.getDeclaringClass());
+		}
+		if (staleness == null && specificMethod != method) {
+			staleness = findAnnotation(method);
+			if (staleness == null) {
+				staleness = findAnnotation(method.getDeclaringClass());
+			}
+		}
+		return staleness;
+	}
+
+	@Nullable
+	private static ReadOnlyStaleness findAnnotation(AnnotatedElement element) {
+		return AnnotatedElementUtils.findMergedAnnotation(element, ReadOnlyStaleness.class);
+	}
+}
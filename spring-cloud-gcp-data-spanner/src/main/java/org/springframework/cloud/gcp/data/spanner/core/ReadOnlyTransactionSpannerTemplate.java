@@ -17,6 +17,7 @@
 package org.springframework.cloud.gcp.data.spanner.core;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -67,6 +68,12 @@ class ReadOnlyTransactionSpannerTemplate extends SpannerTemplate {
 				"A read-only transaction template cannot execute DML.");
 	}
 
+	@Override
+	public long[] executeBatchDmlStatements(List<Statement> statements, int batchSize) {
+		throw new SpannerDataException(
+				"A read-only transaction template cannot execute DML.");
+	}
+
 	@Override
 	public long executePartitionedDmlStatement(Statement statement) {
 		throw new SpannerDataException(
@@ -17,8 +17,13 @@
 package org.springframework.cloud.gcp.data.spanner.core;
 
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import com.google.cloud.spanner.DatabaseClient;
 import com.google.cloud.spanner.Mutation;
@@ -44,6 +49,12 @@ class ReadWriteTransactionSpannerTemplate extends SpannerTemplate {
 
 	private TransactionContext transactionContext;
 
+	private final Set<String> writtenTables = new HashSet<>();
+
+	private boolean wroteAnyTable;
+
+	private boolean wroteAllTables;
+
 	ReadWriteTransactionSpannerTemplate(Supplier<DatabaseClient> databaseClient,
 			SpannerMappingContext mappingContext,
 			SpannerEntityProcessor spannerEntityProcessor,
@@ -58,6 +69,30 @@ class ReadWriteTransactionSpannerTemplate extends SpannerTemplate {
 	@Override
 	protected void applyMutations(Collection<Mutation> mutations) {
 		this.transactionContext.buffer(mutations);
+		invalidateCachedEntities(mutations.stream().map(Mutation::getTable).collect(Collectors.toSet()));
+	}
+
+	@Override
+	protected void invalidateCachedEntities(Set<String> tables) {
+		// Cached rows are invalidated once the transaction is done.
+		this.wroteAnyTable = true;
+		if (tables == null) {
+			this.wroteAllTables = true;
+		}
+		else {
+			this.writtenTables.addAll(tables);
+		}
+	}
+
+	/**
+	 * Invalidate the cached rows of the tables written by this transaction.
+	 * @param evictor the function invalidating the cached rows of the given tables, or of
+	 * all tables if given {@code null}.
+	 */
+	void invalidateWrittenEntities(Consumer<Set<String>> evictor) {
+		if (this.wroteAnyTable) {
+			evictor.accept(this.wroteAllTables ? null : this.writtenTables);
+		}
 	}
 
 	@Override
@@ -67,9 +102,16 @@ class ReadWriteTransactionSpannerTemplate extends SpannerTemplate {
 
 	@Override
 	public long executeDmlStatement(Statement statement) {
+		invalidateCachedEntities(null);
 		return this.transactionContext.executeUpdate(statement);
 	}
 
+	@Override
+	public long[] executeBatchDmlStatements(List<Statement> statements, int batchSize) {
+		invalidateCachedEntities(null);
+		return batchUpdate(this.transactionContext, statements, batchSize);
+	}
+
 	@Override
 	public long executePartitionedDmlStatement(Statement statement) {
 		throw new SpannerDataException(
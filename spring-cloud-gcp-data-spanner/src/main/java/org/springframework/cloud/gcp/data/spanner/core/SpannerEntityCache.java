@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.data.spanner.core;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.cloud.spanner.Key;
+import com.google.cloud.spanner.Struct;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.util.Assert;
+
+/**
+ * A cache of the rows read by a {@link SpannerTemplate} by entity type and primary key,
+ * backed by a Spring {@link Cache} such as a Caffeine cache.
+ *
+ * <p>Rows are cached rather than entities, so every read gets its own entity instance.
+ * Writes made through the template invalidate the cached rows of the tables they write,
+ * and of the tables those rows are interleaved in, once they are committed. Rather than
+ * evicting entries, invalidating a table moves it to a new generation that is part of the
+ * cache key, so that a read that started before a write cannot cache the row it read
+ * under the key of the data written. Entries of old generations are never read again and
+ * are left for the backing cache to expire.
+ *
+ * <p>Stale reads are served from the cache, but only strong reads fill it: a stale read
+ * may return a row older than a write that was already made, which would then be served
+ * to later strong reads.
+ *
+ * <p>Writes made outside of the template, for example by other applications, are not
+ * seen by the cache. The backing cache should expire entries after the staleness that
+ * is acceptable for the cached tables.
+ *
+ * @author agent (agent@local)
+ *
+ * @since 1.2.9
+ */
+public class SpannerEntityCache {
+
+	private final Cache cache;
+
+	private final AtomicLong generation = new AtomicLong();
+
+	private final ConcurrentMap<String, AtomicLong> tableGenerations = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructor.
+	 * @param cache the backing cache. It is shared by all entity types.
+	 */
+	public SpannerEntityCache(Cache cache) {
+		Assert.notNull(cache, "A valid cache is required.");
+		this.cache = cache;
+	}
+
+	public Cache getCache() {
+		return this.cache;
+	}
+
+	/**
+	 * Invalidate all cached rows of a table.
+	 * @param table the name of the table.
+	 */
+	public void invalidate(String table) {
+		this.tableGenerations.computeIfAbsent(table, (name) -> new AtomicLong()).incrementAndGet();
+	}
+
+	/**
+	 * Invalidate all cached rows.
+	 */
+	public void invalidateAll() {
+		this.generation.incrementAndGet();
+	}
+
+	/**
+	 * Get the cache key of a row in the current generation of its table. The key must be
+	 * obtained before the row is read.
+	 * @param entityClass the entity type the row is read as.
+	 * @param table the name of the table.
+	 * @param key the primary key of the row.
+	 * @return the cache key.
+	 */
+	Object getKey(Class<?> entityClass, String table, Key key) {
+		AtomicLong tableGeneration = this.tableGenerations.get(table);
+		return new SimpleKey(entityClass, table, key, this.generation.get(),
+				(tableGeneration != null) ? tableGeneration.get() : 0L);
+	}
+
+	Struct get(Object key) {
+		Cache.ValueWrapper value = this.cache.get(key);
+		return (value != null) ? (Struct) value.get() : null;
+	}
+
+	void put(Object key, Struct row) {
+		this.cache.put(key, row);
+	}
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.data.spanner.core;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * A page of entities read by keyset pagination, with the continuation token to read the
+ * next page.
+ *
+ * @param <T> the type of the entities.
+ *
+ * @author agent (agent@local)
+ *
+ * @since 1.2.9
+ */
+public class SpannerKeysetSlice<T> implements Iterable<T> {
+
+	private final List<T> content;
+
+	private final String continuationToken;
+
+	/**
+	 * Constructor.
+	 * @param content the entities of the page.
+	 * @param continuationToken the token to read the next page, or {@code null} if this is
+	 * the last page.
+	 */
+	public SpannerKeysetSlice(List<T> content, @Nullable String continuationToken) {
+		this.content = Collections.unmodifiableList(content);
+		this.continuationToken = continuationToken;
+	}
+
+	public List<T> getContent() {
+		return this.content;
+	}
+
+	/**
+	 * Get the opaque token to pass to the next keyset query to read the page after this one.
+	 * The token is only valid for a query with the same sort order.
+	 * @return the continuation token, or {@code null} if this is the last page.
+	 */
+	@Nullable
+	public String getContinuationToken() {
+		return this.continuationToken;
+	}
+
+	public boolean hasNext() {
+		return this.continuationToken != null;
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return this.content.iterator();
+	}
+}
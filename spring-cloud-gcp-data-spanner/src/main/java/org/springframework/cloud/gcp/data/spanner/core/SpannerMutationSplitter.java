@@ -0,0 +1,246 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.data.spanner.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import com.google.cloud.spanner.KeySet;
+import com.google.cloud.spanner.Mutation;
+import com.google.cloud.spanner.Mutation.Op;
+
+import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerDataException;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.util.Assert;
+
+/**
+ * Splits the mutations of a single write operation into several commits so that each
+ * commit stays under the Cloud Spanner limit of mutations per commit.
+ *
+ * <p>Mutations are packed in groups, where a group holds the mutations of one entity and
+ * its interleaved children. A group is never split across commits. Each commit is
+ * atomic, but the write operation as a whole is not: if a commit fails, the commits that
+ * preceded it remain applied. In atomic mode the splitter refuses to split and fails
+ * before any commit if the write exceeds the limit.
+ *
+ * <p>The number of mutations is estimated the same way Cloud Spanner counts them: each
+ * column value written is one mutation and each key or key range deleted is one mutation.
+ * Secondary index entries also count towards the limit in Cloud Spanner, but they are not
+ * known here; the limit should leave room for them.
+ *
+ * @author agent (agent@local)
+ *
+ * @since 1.2.9
+ */
+public class SpannerMutationSplitter {
+
+	/**
+	 * The Cloud Spanner limit of mutations per commit.
+	 */
+	public static final int DEFAULT_MAX_MUTATIONS_PER_COMMIT = 20000;
+
+	private final int maxMutationsPerCommit;
+
+	private final boolean atomic;
+
+	private int maxParallelism = 1;
+
+	private Executor executor = new SimpleAsyncTaskExecutor("spanner-commit-");
+
+	/**
+	 * Constructor that splits at the Cloud Spanner limit of mutations per commit.
+	 */
+	public SpannerMutationSplitter() {
+		this(DEFAULT_MAX_MUTATIONS_PER_COMMIT, false);
+	}
+
+	/**
+	 * Constructor.
+	 * @param maxMutationsPerCommit the maximum number of mutations sent in a single commit.
+	 * @param atomic if {@code true}, then writes exceeding the maximum are rejected instead of
+	 * being split.
+	 */
+	public SpannerMutationSplitter(int maxMutationsPerCommit, boolean atomic) {
+		Assert.isTrue(maxMutationsPerCommit > 0,
+				"The maximum number of mutations per commit must be positive.");
+		this.maxMutationsPerCommit = maxMutationsPerCommit;
+		this.atomic = atomic;
+	}
+
+	public int getMaxMutationsPerCommit() {
+		return this.maxMutationsPerCommit;
+	}
+
+	public boolean isAtomic() {
+		return this.atomic;
+	}
+
+	public int getMaxParallelism() {
+		return this.maxParallelism;
+	}
+
+	/**
+	 * Set the maximum number of commits of one write operation that run concurrently.
+	 * Commits are run one after another in the calling thread by default. Concurrent commits
+	 * do not preserve the order of the mutation groups, so parents and their interleaved
+	 * children should be written by the same entity when this is greater than 1.
+	 * @param maxParallelism the maximum number of concurrent commits.
+	 */
+	public void setMaxParallelism(int maxParallelism) {
+		Assert.isTrue(maxParallelism > 0, "The maximum parallelism must be positive.");
+		this.maxParallelism = maxParallelism;
+	}
+
+	/**
+	 * Set the executor running concurrent commits. If not set, then a new thread is started
+	 * for each concurrent commit.
+	 * @param executor the executor to use.
+	 */
+	public void setExecutor(Executor executor) {
+		Assert.notNull(executor, "A valid executor is required.");
+		this.executor = executor;
+	}
+
+	/**
+	 * Pack groups of mutations into commits.
+	 * @param mutationGroups the groups of mutations, in the order they are to be applied.
+	 * @return the mutations of each commit.
+	 * @throws SpannerDataException in atomic mode if the mutations exceed the maximum per
+	 * commit.
+	 */
+	public List<List<Mutation>> split(List<List<Mutation>> mutationGroups) {
+		List<List<Mutation>> batches = new ArrayList<>();
+		List<Mutation> currentBatch = new ArrayList<>();
+		long currentCount = 0;
+		long totalCount = 0;
+		for (List<Mutation> group : mutationGroups) {
+			long groupCount = countMutations(group);
+			totalCount += groupCount;
+			if (!this.atomic && !currentBatch.isEmpty()
+					&& currentCount + groupCount > this.maxMutationsPerCommit) {
+				batches.add(currentBatch);
+				currentBatch = new ArrayList<>();
+				currentCount = 0;
+			}
+			currentBatch.addAll(group);
+			currentCount += groupCount;
+		}
+		if (this.atomic && totalCount > this.maxMutationsPerCommit) {
+			throw new SpannerDataException("The write requires an estimated " + totalCount
+					+ " mutations, which exceeds the maximum of " + this.maxMutationsPerCommit
+					+ " mutations in a single atomic commit.");
+		}
+		batches.add(currentBatch);
+		return batches;
+	}
+
+	/**
+	 * Pack groups of mutations into commits and apply them.
+	 * @param mutationGroups the groups of mutations, in the order they are to be applied.
+	 * @param commitFunction the function that commits the mutations of a single batch.
+	 */
+	public void apply(List<List<Mutation>> mutationGroups, Consumer<Collection<Mutation>> commitFunction) {
+		List<List<Mutation>> batches = split(mutationGroups);
+		if (batches.size() == 1) {
+			commitFunction.accept(batches.get(0));
+		}
+		else if (this.maxParallelism == 1) {
+			applySequentially(batches, commitFunction);
+		}
+		else {
+			applyConcurrently(batches, commitFunction);
+		}
+	}
+
+	private void applySequentially(List<List<Mutation>> batches,
+			Consumer<Collection<Mutation>> commitFunction) {
+		for (int i = 0; i < batches.size(); i++) {
+			try {
+				commitFunction.accept(batches.get(i));
+			}
+			catch (RuntimeException ex) {
+				throw new SpannerDataException("Failed to commit mutation batch " + (i + 1)
+						+ " of " + batches.size() + "; the preceding batches were committed.", ex);
+			}
+		}
+	}
+
+	private void applyConcurrently(List<List<Mutation>> batches,
+			Consumer<Collection<Mutation>> commitFunction) {
+		Queue<List<Mutation>> pending = new ConcurrentLinkedQueue<>(batches);
+		List<Throwable> failures = ConcurrentWorkers.run(() -> {
+			List<Mutation> batch = pending.poll();
+			return (batch != null) ? () -> commitFunction.accept(batch) : null;
+		}, Math.min(this.maxParallelism, batches.size()), this.executor);
+		if (!failures.isEmpty()) {
+			SpannerDataException exception = new SpannerDataException(failures.size() + " of "
+					+ batches.size() + " mutation batches could not be committed; "
+					+ "the other batches may have been committed.", failures.get(0));
+			failures.stream().skip(1).forEach(exception::addSuppressed);
+			throw exception;
+		}
+	}
+
+	/**
+	 * Estimate the number of mutations Cloud Spanner counts for a collection of mutations.
+	 * @param mutations the mutations.
+	 * @return the estimated number of mutations.
+	 */
+	public static long countMutations(Collection<Mutation> mutations) {
+		long count = 0;
+		for (Mutation mutation : mutations) {
+			count += countMutations(mutation);
+		}
+		return count;
+	}
+
+	/**
+	 * Estimate the number of mutations Cloud Spanner counts for a single mutation.
+	 * @param mutation the mutation.
+	 * @return the estimated number of mutations.
+	 */
+	public static long countMutations(Mutation mutation) {
+		if (mutation.getOperation() == Op.DELETE) {
+			KeySet keySet = mutation.getKeySet();
+			if (keySet.isAll()) {
+				return 1;
+			}
+			long count = size(keySet.getKeys()) + size(keySet.getRanges());
+			return Math.max(count, 1);
+		}
+		return size(mutation.getColumns());
+	}
+
+	private static long size(Iterable<?> iterable) {
+		if (iterable instanceof Collection) {
+			return ((Collection<?>) iterable).size();
+		}
+		long size = 0;
+		Iterator<?> iterator = iterable.iterator();
+		while (iterator.hasNext()) {
+			iterator.next();
+			size++;
+		}
+		return size;
+	}
+}
@@ -18,7 +18,9 @@ package org.springframework.cloud.gcp.data.spanner.core;
 
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 import com.google.cloud.spanner.Key;
 import com.google.cloud.spanner.KeySet;
@@ -45,6 +47,31 @@ public interface SpannerOperations {
 	 */
 	long executeDmlStatement(Statement statement);
 
+	/**
+	 * Execute several DML statements on Cloud Spanner in a single round trip. This must
+	 * always be done in a transaction and one will be started if needed. The statements are
+	 * executed in order, and execution stops at the first statement that fails. By default
+	 * the statements are executed one by one in a read-write transaction.
+	 * @param statements the DML statements to execute.
+	 * @return the number of rows affected by each statement.
+	 */
+	default long[] executeBatchDmlStatements(List<Statement> statements) {
+		return performReadWriteTransaction((transactionOperations) -> statements.stream()
+				.mapToLong(transactionOperations::executeDmlStatement).toArray());
+	}
+
+	/**
+	 * Execute DML statements on Cloud Spanner in batches of at most the given size, all in a
+	 * single transaction. One will be started if needed. By default the batch size is ignored
+	 * and the statements are executed by {@link #executeBatchDmlStatements(List)}.
+	 * @param statements the DML statements to execute.
+	 * @param batchSize the maximum number of statements sent in one round trip.
+	 * @return the number of rows affected by each statement.
+	 */
+	default long[] executeBatchDmlStatements(List<Statement> statements, int batchSize) {
+		return executeBatchDmlStatements(statements);
+	}
+
 	/**
 	 * Execute a DML statement in partitioned mode. This is not available inside of
 	 * transactions.
@@ -168,6 +195,119 @@ public interface SpannerOperations {
 	 */
 	<T> List<T> queryAll(Class<T> entityClass, SpannerPageableQueryOptions options);
 
+	/**
+	 * Finds a page of objects of the given type by keyset pagination. Instead of skipping
+	 * the rows of the previous pages with an offset, each page starts right after the last
+	 * row of the previous one, so reading deep pages costs as much as reading the first.
+	 * The sort order is completed with the primary key columns.
+	 * @param entityClass the type of the object to retrieve.
+	 * @param options the Cloud Spanner query options. The limit is the page size and is
+	 * required. The sort may only refer to properties stored in a single column, and an
+	 * offset is not allowed.
+	 * @param continuationToken the token of the previous page, or {@code null} to read the
+	 * first page.
+	 * @param <T> the type of the object to retrieve.
+	 * @return the page of objects and the token to read the next page.
+	 */
+	default <T> SpannerKeysetSlice<T> queryAllByKeyset(Class<T> entityClass, SpannerPageableQueryOptions options,
+			String continuationToken) {
+		throw new UnsupportedOperationException("Keyset pagination is not supported by " + getClass().getName());
+	}
+
+	/**
+	 * Finds a page of the objects selected by an SQL statement by keyset pagination. The
+	 * rows of the statement are sorted and paged by wrapping it in a subquery, so the
+	 * statement itself should not be sorted or limited. The sort order is completed with
+	 * the primary key columns, so the statement must select them as well as the sorted
+	 * columns.
+	 * @param entityClass the type of object to retrieve.
+	 * @param statement the SQL statement used to select the objects.
+	 * @param options the Cloud Spanner query options. The limit is the page size and is
+	 * required. The sort may only refer to properties stored in a single column, and an
+	 * offset is not allowed.
+	 * @param continuationToken the token of the previous page, or {@code null} to read the
+	 * first page. It is only accepted by the same statement with the same sort order.
+	 * @param <T> the type of object to retrieve.
+	 * @return the page of objects and the token to read the next page.
+	 */
+	default <T> SpannerKeysetSlice<T> queryByKeyset(Class<T> entityClass, Statement statement,
+			SpannerPageableQueryOptions options, String continuationToken) {
+		throw new UnsupportedOperationException("Keyset pagination is not supported by " + getClass().getName());
+	}
+
+	/**
+	 * Finds objects by using an SQL statement that is split into partitions read concurrently.
+	 * All partitions are read at the same timestamp. The statement must be root-partitionable.
+	 * Eager interleaved properties that are not excluded by the include properties of the
+	 * options must be selected by the statement as {@code ARRAY} subqueries. The returned
+	 * stream must be closed if it is not read to its end. By default the statement is run as a
+	 * single query.
+	 * @param entityClass the type of object to retrieve.
+	 * @param statement the SQL statement used to select the objects.
+	 * @param options the partitioning options with which to conduct the query operation.
+	 * @param <T> the type of object to retrieve.
+	 * @return a stream of the objects found, in no particular order.
+	 */
+	default <T> Stream<T> queryPartitioned(Class<T> entityClass, Statement statement,
+			SpannerPartitionOptions options) {
+		return query(entityClass, statement, new SpannerQueryOptions()
+				.setTimestampBound(options.getTimestampBound())
+				.setIncludeProperties(options.getIncludeProperties())).stream();
+	}
+
+	/**
+	 * Finds objects by using an SQL statement that is split into partitions read concurrently,
+	 * and passes the objects of each partition to a consumer. All partitions are read at the
+	 * same timestamp. The statement must be root-partitionable. Eager interleaved properties
+	 * that are not excluded by the include properties of the options must be selected by the
+	 * statement as {@code ARRAY} subqueries. This method returns once all partitions have been
+	 * consumed.
+	 * @param entityClass the type of object to retrieve.
+	 * @param statement the SQL statement used to select the objects.
+	 * @param options the partitioning options with which to conduct the query operation.
+	 * @param partitionConsumer the consumer of the objects of each partition. It is called
+	 * concurrently from several threads. By default the statement is run as a single query
+	 * whose objects are passed to it at once.
+	 * @param <T> the type of object to retrieve.
+	 */
+	default <T> void queryPartitioned(Class<T> entityClass, Statement statement,
+			SpannerPartitionOptions options, Consumer<Stream<T>> partitionConsumer) {
+		partitionConsumer.accept(queryPartitioned(entityClass, statement, options));
+	}
+
+	/**
+	 * Finds all objects of the given type by reading partitions of the table concurrently. All
+	 * partitions, including their eager interleaved children, are read at the same timestamp.
+	 * The returned stream must be closed if it is not read to its end. By default the table is
+	 * read in a single read.
+	 * @param entityClass the type of the object to retrieve.
+	 * @param options the partitioning options with which to conduct the read operation.
+	 * @param <T> the type of the object to retrieve.
+	 * @return a stream of all objects stored of the given type, in no particular order.
+	 */
+	default <T> Stream<T> readAllPartitioned(Class<T> entityClass, SpannerPartitionOptions options) {
+		return readAll(entityClass, new SpannerReadOptions()
+				.setTimestampBound(options.getTimestampBound())
+				.setIncludeProperties(options.getIncludeProperties())).stream();
+	}
+
+	/**
+	 * Finds all objects of the given type by reading partitions of the table concurrently, and
+	 * passes the objects of each partition to a consumer. All partitions, including their
+	 * eager interleaved children, are read at the same timestamp. This method returns once all
+	 * partitions have been consumed.
+	 * @param entityClass the type of the object to retrieve.
+	 * @param options the partitioning options with which to conduct the read operation.
+	 * @param partitionConsumer the consumer of the objects of each partition. It is called
+	 * concurrently from several threads. By default the table is read in a single read whose
+	 * objects are passed to it at once.
+	 * @param <T> the type of the object to retrieve.
+	 */
+	default <T> void readAllPartitioned(Class<T> entityClass, SpannerPartitionOptions options,
+			Consumer<Stream<T>> partitionConsumer) {
+		partitionConsumer.accept(readAllPartitioned(entityClass, options));
+	}
+
 	/**
 	 * Deletes an object based on a key.
 	 * @param entityClass the type of the object to delete.
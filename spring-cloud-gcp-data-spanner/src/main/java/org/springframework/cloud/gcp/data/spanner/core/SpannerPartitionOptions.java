@@ -0,0 +1,183 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.data.spanner.core;
+
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import com.google.cloud.spanner.PartitionOptions;
+import com.google.cloud.spanner.TimestampBound;
+
+import org.springframework.util.Assert;
+
+/**
+ * Partitioned read and query settings. All partitions of a single operation are read at
+ * the same timestamp.
+ *
+ * @author agent (agent@local)
+ *
+ * @since 1.2.9
+ */
+public class SpannerPartitionOptions {
+
+	/**
+	 * The default number of partitions read concurrently.
+	 */
+	public static final int DEFAULT_PARALLELISM = 4;
+
+	/**
+	 * The default number of entities buffered between the partition readers and the consumer
+	 * of a merged stream.
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 1000;
+
+	private TimestampBound timestampBound = TimestampBound.strong();
+
+	private int parallelism = DEFAULT_PARALLELISM;
+
+	private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+	private Long maxPartitions;
+
+	private Long partitionSizeBytes;
+
+	private Set<String> includeProperties;
+
+	private boolean allowPartialRead;
+
+	private Executor executor;
+
+	public TimestampBound getTimestampBound() {
+		return this.timestampBound;
+	}
+
+	/**
+	 * Set the timestamp at which all partitions are read. Only strong, exact staleness and
+	 * read timestamp bounds can be used.
+	 * @param timestampBound the timestamp bound.
+	 * @return this options object.
+	 */
+	public SpannerPartitionOptions setTimestampBound(TimestampBound timestampBound) {
+		Assert.notNull(timestampBound, "A valid timestamp bound is required.");
+		this.timestampBound = timestampBound;
+		return this;
+	}
+
+	public int getParallelism() {
+		return this.parallelism;
+	}
+
+	/**
+	 * Set the number of partitions read concurrently. Each partition being read occupies a
+	 * worker thread.
+	 * @param parallelism the number of concurrent partition readers.
+	 * @return this options object.
+	 */
+	public SpannerPartitionOptions setParallelism(int parallelism) {
+		Assert.isTrue(parallelism > 0, "The parallelism must be positive.");
+		this.parallelism = parallelism;
+		return this;
+	}
+
+	public int getBufferSize() {
+		return this.bufferSize;
+	}
+
+	/**
+	 * Set the number of entities buffered for the consumer of a merged stream. Partition
+	 * readers wait while the buffer is full.
+	 * @param bufferSize the buffer size.
+	 * @return this options object.
+	 */
+	public SpannerPartitionOptions setBufferSize(int bufferSize) {
+		Assert.isTrue(bufferSize > 0, "The buffer size must be positive.");
+		this.bufferSize = bufferSize;
+		return this;
+	}
+
+	public Long getMaxPartitions() {
+		return this.maxPartitions;
+	}
+
+	/**
+	 * Set the desired maximum number of partitions. This is only a hint to Cloud Spanner.
+	 * @param maxPartitions the desired maximum number of partitions.
+	 * @return this options object.
+	 */
+	public SpannerPartitionOptions setMaxPartitions(Long maxPartitions) {
+		this.maxPartitions = maxPartitions;
+		return this;
+	}
+
+	public Long getPartitionSizeBytes() {
+		return this.partitionSizeBytes;
+	}
+
+	/**
+	 * Set the desired data size of each partition. This is only a hint to Cloud Spanner.
+	 * @param partitionSizeBytes the desired partition size in bytes.
+	 * @return this options object.
+	 */
+	public SpannerPartitionOptions setPartitionSizeBytes(Long partitionSizeBytes) {
+		this.partitionSizeBytes = partitionSizeBytes;
+		return this;
+	}
+
+	public Set<String> getIncludeProperties() {
+		return this.includeProperties;
+	}
+
+	public SpannerPartitionOptions setIncludeProperties(Set<String> includeProperties) {
+		this.includeProperties = includeProperties;
+		return this;
+	}
+
+	public boolean isAllowPartialRead() {
+		return this.allowPartialRead;
+	}
+
+	public SpannerPartitionOptions setAllowPartialRead(boolean allowPartialRead) {
+		this.allowPartialRead = allowPartialRead;
+		return this;
+	}
+
+	public Executor getExecutor() {
+		return this.executor;
+	}
+
+	/**
+	 * Set the executor running the partition readers. If not set, then a new thread is
+	 * started for each partition reader.
+	 * @param executor the executor to use.
+	 * @return this options object.
+	 */
+	public SpannerPartitionOptions setExecutor(Executor executor) {
+		this.executor = executor;
+		return this;
+	}
+
+	PartitionOptions toPartitionOptions() {
+		PartitionOptions.Builder builder = PartitionOptions.newBuilder();
+		if (this.maxPartitions != null) {
+			builder.setMaxPartitions(this.maxPartitions);
+		}
+		if (this.partitionSizeBytes != null) {
+			builder.setPartitionSizeBytes(this.partitionSizeBytes);
+		}
+		return builder.build();
+	}
+}
@@ -16,27 +16,37 @@
 
 package org.springframework.cloud.gcp.data.spanner.core;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.StringJoiner;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import javax.annotation.Nullable;
 
+import com.google.cloud.spanner.BatchClient;
+import com.google.cloud.spanner.BatchReadOnlyTransaction;
 import com.google.cloud.spanner.DatabaseClient;
 import com.google.cloud.spanner.Key;
 import com.google.cloud.spanner.KeySet;
 import com.google.cloud.spanner.Mutation;
 import com.google.cloud.spanner.Options.QueryOption;
 import com.google.cloud.spanner.Options.ReadOption;
+import com.google.cloud.spanner.Partition;
 import com.google.cloud.spanner.ReadContext;
 import com.google.cloud.spanner.ReadOnlyTransaction;
 import com.google.cloud.spanner.ResultSet;
@@ -54,6 +64,7 @@ import org.springframework.cloud.gcp.data.spanner.core.convert.SpannerEntityProc
 import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerDataException;
 import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerMappingContext;
 import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerPersistentEntity;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerPersistentProperty;
 import org.springframework.cloud.gcp.data.spanner.core.mapping.event.AfterDeleteEvent;
 import org.springframework.cloud.gcp.data.spanner.core.mapping.event.AfterExecuteDmlEvent;
 import org.springframework.cloud.gcp.data.spanner.core.mapping.event.AfterQueryEvent;
@@ -66,7 +77,9 @@ import org.springframework.cloud.gcp.data.spanner.repository.query.SpannerStatem
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 
@@ -82,6 +95,12 @@ import org.springframework.util.Assert;
  */
 public class SpannerTemplate implements SpannerOperations, ApplicationEventPublisherAware {
 
+	/**
+	 * The default maximum number of parents whose lazily-loaded interleaved children are
+	 * read by the same query.
+	 */
+	public static final int DEFAULT_LAZY_INTERLEAVED_BATCH_SIZE = 100;
+
 	private static final Log LOGGER = LogFactory.getLog(SpannerTemplate.class);
 
 	private final Supplier<DatabaseClient> databaseClientProvider;
@@ -96,6 +115,24 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
 
 	private @Nullable ApplicationEventPublisher eventPublisher;
 
+	private @Nullable SpannerMutationSplitter mutationSplitter;
+
+	/**
+	 * The executor of the partitioned reads whose options set none. It starts a new thread
+	 * for each worker.
+	 */
+	private final Executor partitionExecutor = new SimpleAsyncTaskExecutor("spanner-partition-");
+
+	private @Nullable Supplier<BatchClient> batchClientProvider;
+
+	private @Nullable SpannerTemplateMetrics metrics;
+
+	private @Nullable SpannerEntityCache entityCache;
+
+	private @Nullable TimestampBound singleUseTimestampBound;
+
+	private int lazyInterleavedBatchSize = DEFAULT_LAZY_INTERLEAVED_BATCH_SIZE;
+
 	public SpannerTemplate(Supplier<DatabaseClient> databaseClientProvider,
 			SpannerMappingContext mappingContext,
 			SpannerEntityProcessor spannerEntityProcessor,
@@ -122,8 +159,93 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
 		this.eventPublisher = applicationEventPublisher;
 	}
 
+	/**
+	 * Set the splitter used to divide the mutations of writes made outside of transactions
+	 * into several commits. If not set, then each write is sent in a single commit.
+	 * @param mutationSplitter the mutation splitter to use.
+	 */
+	public void setMutationSplitter(@Nullable SpannerMutationSplitter mutationSplitter) {
+		this.mutationSplitter = mutationSplitter;
+	}
+
+	@Nullable
+	public SpannerMutationSplitter getMutationSplitter() {
+		return this.mutationSplitter;
+	}
+
+	/**
+	 * Set the provider of the batch client used for partitioned reads and queries. If not
+	 * set, then partitioned reads and queries are not available.
+	 * @param batchClientProvider the batch client provider to use.
+	 */
+	public void setBatchClientProvider(@Nullable Supplier<BatchClient> batchClientProvider) {
+		this.batchClientProvider = batchClientProvider;
+	}
+
+	/**
+	 * Set the metrics recorded for the operations of this template. If not set, then no
+	 * metrics are recorded.
+	 * @param metrics the metrics to record.
+	 */
+	public void setMetrics(@Nullable SpannerTemplateMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	@Nullable
+	public SpannerTemplateMetrics getMetrics() {
+		return this.metrics;
+	}
+
+	/**
+	 * Set the cache of the rows read by primary key. Single-key reads made outside of
+	 * transactions with no read options, or with only a stale timestamp bound, are served
+	 * from it. If not set, then every read goes to Cloud Spanner.
+	 * @param entityCache the entity cache to use.
+	 */
+	public void setEntityCache(@Nullable SpannerEntityCache entityCache) {
+		this.entityCache = entityCache;
+	}
+
+	@Nullable
+	public SpannerEntityCache getEntityCache() {
+		return this.entityCache;
+	}
+
+	/**
+	 * Set the timestamp bound of the reads and queries made outside of transactions whose
+	 * options have no timestamp bound. A stale bound lets these single-use reads be served
+	 * by the closest replica. If not set, then they perform strong reads.
+	 * @param singleUseTimestampBound the timestamp bound to use.
+	 */
+	public void setSingleUseTimestampBound(@Nullable TimestampBound singleUseTimestampBound) {
+		this.singleUseTimestampBound = singleUseTimestampBound;
+	}
+
+	@Nullable
+	public TimestampBound getSingleUseTimestampBound() {
+		return this.singleUseTimestampBound;
+	}
+
+	/**
+	 * Set the maximum number of parents whose lazily-loaded interleaved children are read
+	 * by the same query. When the children of one entity read by a query are first accessed,
+	 * the children of the same property of the other entities read by that query are read
+	 * with them. A batch size of 1 reads the children of each entity separately.
+	 * @param lazyInterleavedBatchSize the maximum number of parents per query.
+	 */
+	public void setLazyInterleavedBatchSize(int lazyInterleavedBatchSize) {
+		Assert.isTrue(lazyInterleavedBatchSize > 0, "The lazy interleaved batch size must be positive.");
+		this.lazyInterleavedBatchSize = lazyInterleavedBatchSize;
+	}
+
+	public int getLazyInterleavedBatchSize() {
+		return this.lazyInterleavedBatchSize;
+	}
+
 	protected ReadContext getReadContext() {
-		return doWithOrWithoutTransactionContext((x) -> x, this.databaseClientProvider.get()::singleUse);
+		return doWithOrWithoutTransactionContext((x) -> x, () -> (this.singleUseTimestampBound != null)
+				? this.databaseClientProvider.get().singleUse(this.singleUseTimestampBound)
+				: this.databaseClientProvider.get().singleUse());
 	}
 
 	protected ReadContext getReadContext(TimestampBound timestampBound) {
@@ -143,20 +265,60 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
 	public long executeDmlStatement(Statement statement) {
 		Assert.notNull(statement, "A non-null statement is required.");
 		maybeEmitEvent(new BeforeExecuteDmlEvent(statement));
-		long rowsAffected = doWithOrWithoutTransactionContext((x) -> x.executeUpdate(statement),
-				() -> this.databaseClientProvider.get().readWriteTransaction()
-						.run(transactionContext -> transactionContext.executeUpdate(statement)));
+		long rowsAffected = recordOperation(SpannerTemplateMetrics.DML, SpannerTemplateMetrics.NO_TABLE,
+				() -> doWithOrWithoutTransactionContext((x) -> x.executeUpdate(statement),
+						() -> this.databaseClientProvider.get().readWriteTransaction()
+								.run(transactionContext -> transactionContext.executeUpdate(statement))));
+		invalidateCachedEntities(null);
 		maybeEmitEvent(new AfterExecuteDmlEvent(statement, rowsAffected));
 		return rowsAffected;
 	}
 
+	@Override
+	public long[] executeBatchDmlStatements(List<Statement> statements) {
+		Assert.notNull(statements, "A non-null list of statements is required.");
+		return executeBatchDmlStatements(statements, Math.max(1, statements.size()));
+	}
+
+	@Override
+	public long[] executeBatchDmlStatements(List<Statement> statements, int batchSize) {
+		Assert.notNull(statements, "A non-null list of statements is required.");
+		Assert.isTrue(batchSize > 0, "The batch size must be positive.");
+		if (statements.isEmpty()) {
+			return new long[0];
+		}
+		statements.forEach((statement) -> maybeEmitEvent(new BeforeExecuteDmlEvent(statement)));
+		long[] rowsAffected = recordOperation(SpannerTemplateMetrics.BATCH_DML, SpannerTemplateMetrics.NO_TABLE,
+				() -> doWithOrWithoutTransactionContext((x) -> batchUpdate(x, statements, batchSize),
+						() -> this.databaseClientProvider.get().readWriteTransaction()
+								.run(transactionContext -> batchUpdate(transactionContext, statements, batchSize))));
+		invalidateCachedEntities(null);
+		for (int i = 0; i < statements.size(); i++) {
+			maybeEmitEvent(new AfterExecuteDmlEvent(statements.get(i), rowsAffected[i]));
+		}
+		return rowsAffected;
+	}
+
+	static long[] batchUpdate(TransactionContext transactionContext, List<Statement> statements,
+			int batchSize) {
+		long[] rowsAffected = new long[statements.size()];
+		for (int start = 0; start < statements.size(); start += batchSize) {
+			List<Statement> batch = statements.subList(start, Math.min(start + batchSize, statements.size()));
+			long[] batchRowsAffected = transactionContext.batchUpdate(batch);
+			System.arraycopy(batchRowsAffected, 0, rowsAffected, start, batchRowsAffected.length);
+		}
+		return rowsAffected;
+	}
+
 	@Override
 	public long executePartitionedDmlStatement(Statement statement) {
 		Assert.notNull(statement, "A non-null statement is required.");
 		maybeEmitEvent(new BeforeExecuteDmlEvent(statement));
 		long rowsAffected = doWithOrWithoutTransactionContext(x -> {
 			throw new SpannerDataException("Cannot execute partitioned DML in a transaction.");
-		}, () -> this.databaseClientProvider.get().executePartitionedUpdate(statement));
+		}, () -> recordOperation(SpannerTemplateMetrics.PARTITIONED_DML, SpannerTemplateMetrics.NO_TABLE,
+				() -> this.databaseClientProvider.get().executePartitionedUpdate(statement)));
+		invalidateCachedEntities(null);
 		maybeEmitEvent(new AfterExecuteDmlEvent(statement, rowsAffected));
 		return rowsAffected;
 	}
@@ -182,10 +344,64 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
 
 	@Override
 	public <T> T read(Class<T> entityClass, Key key, SpannerReadOptions options) {
+		if (this.entityCache != null && isCacheable(options) && getTransactionContext() == null) {
+			return readCached(entityClass, key, options);
+		}
 		List<T> items = read(entityClass, KeySet.singleKey(key), options);
 		return items.isEmpty() ? null : items.get(0);
 	}
 
+	private static boolean isCacheable(SpannerReadOptions options) {
+		if (options == null) {
+			return true;
+		}
+		TimestampBound timestampBound = options.getTimestampBound();
+		return options.getIndex() == null && options.getIncludeProperties() == null
+				&& options.getOptions().length == 0 && timestampBound != null
+				&& (timestampBound.getMode() == TimestampBound.Mode.EXACT_STALENESS
+						|| timestampBound.getMode() == TimestampBound.Mode.MAX_STALENESS);
+	}
+
+	private boolean isStrongRead(SpannerReadOptions options) {
+		TimestampBound timestampBound = (options != null && options.getTimestampBound() != null)
+				? options.getTimestampBound()
+				: this.singleUseTimestampBound;
+		return timestampBound == null || timestampBound.getMode() == TimestampBound.Mode.STRONG;
+	}
+
+	private <T> T readCached(Class<T> entityClass, Key key, SpannerReadOptions options) {
+		SpannerPersistentEntity<T> persistentEntity =
+				(SpannerPersistentEntity<T>) this.mappingContext.getPersistentEntity(entityClass);
+		KeySet keys = KeySet.singleKey(key);
+		Object cacheKey = this.entityCache.getKey(entityClass, persistentEntity.tableName(), key);
+		Struct row = this.entityCache.get(cacheKey);
+		if (row == null) {
+			ResultSet resultSet;
+			if (persistentEntity.hasEagerlyLoadedProperties() || persistentEntity.hasWhere()) {
+				Statement statement = SpannerStatementQueryExecutor.buildQuery(keys, persistentEntity,
+						this.spannerEntityProcessor.getWriteConverter(), this.mappingContext, null);
+				resultSet = recordQuery(entityClass, () -> executeQuery(statement, toQueryOption(keys, options)));
+			}
+			else {
+				resultSet = executeRead(persistentEntity.tableName(), keys, persistentEntity.columns(), options);
+			}
+			try (ResultSet rows = resultSet) {
+				row = rows.next() ? rows.getCurrentRowAsStruct() : null;
+			}
+			// Stale reads may return rows older than writes made after the cache key was
+			// obtained, so only strong reads fill the cache.
+			if (row != null && isStrongRead(options)) {
+				this.entityCache.put(cacheKey, row);
+			}
+		}
+		List<T> entities = (row != null)
+				? resolveChildEntities(Collections.singletonList(this.spannerEntityProcessor.read(entityClass, row)),
+						null)
+				: Collections.emptyList();
+		maybeEmitEvent(new AfterReadEvent(entities, keys, options));
+		return entities.isEmpty() ? null : entities.get(0);
+	}
+
 	@Override
 	public <T> List<T> read(Class<T> entityClass, KeySet keys) {
 		return read(entityClass, keys, null);
@@ -233,7 +449,7 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
 	public <A> List<A> query(Function<Struct, A> rowFunc, Statement statement,
 			SpannerQueryOptions options) {
 		ArrayList<A> result = new ArrayList<>();
-		try (ResultSet resultSet = executeQuery(statement, options)) {
+		try (ResultSet resultSet = recordQuery(null, () -> executeQuery(statement, options))) {
 			while (resultSet.next()) {
 				result.add(rowFunc.apply(resultSet.getCurrentRowAsStruct()));
 			}
@@ -274,9 +490,160 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
 				options);
 	}
 
+	@Override
+	public <T> SpannerKeysetSlice<T> queryAllByKeyset(Class<T> entityClass,
+			SpannerPageableQueryOptions options, @Nullable String continuationToken) {
+		checkKeysetOptions(options);
+		SpannerPersistentEntity<?> entity = this.mappingContext.getPersistentEntity(entityClass);
+		return queryByKeyset(entityClass, new KeysetQuery(entity, this.spannerEntityProcessor, options.getSort()),
+				SpannerStatementQueryExecutor.getColumnsStringForSelect(entity, this.mappingContext, true),
+				options, continuationToken);
+	}
+
+	@Override
+	public <T> SpannerKeysetSlice<T> queryByKeyset(Class<T> entityClass, Statement statement,
+			SpannerPageableQueryOptions options, @Nullable String continuationToken) {
+		checkKeysetOptions(options);
+		SpannerPersistentEntity<?> entity = this.mappingContext.getPersistentEntity(entityClass);
+		return queryByKeyset(entityClass,
+				new KeysetQuery(entity, this.spannerEntityProcessor, options.getSort(), statement), "*",
+				options, continuationToken);
+	}
+
+	private static void checkKeysetOptions(SpannerPageableQueryOptions options) {
+		Assert.notNull(options, "Valid query options are required.");
+		Assert.isTrue(options.getLimit() != null && options.getLimit() > 0,
+				"Keyset pagination requires a positive limit as the page size.");
+		Assert.isNull(options.getOffset(), "Keyset pagination does not support offsets.");
+	}
+
+	private <T> SpannerKeysetSlice<T> queryByKeyset(Class<T> entityClass, KeysetQuery keysetQuery,
+			String selectColumns, SpannerPageableQueryOptions options, @Nullable String continuationToken) {
+		// One more row than the page size is read to know if there is a next page.
+		Statement statement = keysetQuery.buildStatement(selectColumns, options.getLimit() + 1, 0,
+				continuationToken);
+
+		List<T> entities = new ArrayList<>();
+		Struct lastRow = null;
+		boolean hasNext = false;
+		try (ResultSet resultSet = recordQuery(entityClass, () -> executeQuery(statement, options))) {
+			while (resultSet.next()) {
+				if (entities.size() == options.getLimit()) {
+					hasNext = true;
+					break;
+				}
+				lastRow = resultSet.getCurrentRowAsStruct();
+				entities.add(this.spannerEntityProcessor.read(entityClass, lastRow,
+						options.getIncludeProperties(), options.isAllowPartialRead()));
+			}
+		}
+		resolveChildEntities(entities, options.getIncludeProperties());
+		maybeEmitEvent(new AfterQueryEvent(entities, statement, options));
+		return new SpannerKeysetSlice<>(entities, hasNext ? keysetQuery.getContinuationToken(lastRow) : null);
+	}
+
+	@Override
+	public <T> Stream<T> queryPartitioned(Class<T> entityClass, Statement statement,
+			SpannerPartitionOptions options) {
+		return partitionQuery(entityClass, statement, options).stream(options.getBufferSize());
+	}
+
+	@Override
+	public <T> void queryPartitioned(Class<T> entityClass, Statement statement,
+			SpannerPartitionOptions options, Consumer<Stream<T>> partitionConsumer) {
+		partitionQuery(entityClass, statement, options).forEachPartition(partitionConsumer);
+	}
+
+	@Override
+	public <T> Stream<T> readAllPartitioned(Class<T> entityClass, SpannerPartitionOptions options) {
+		return queryPartitioned(entityClass, getReadAllStatement(entityClass, options), options);
+	}
+
+	@Override
+	public <T> void readAllPartitioned(Class<T> entityClass, SpannerPartitionOptions options,
+			Consumer<Stream<T>> partitionConsumer) {
+		queryPartitioned(entityClass, getReadAllStatement(entityClass, options), options, partitionConsumer);
+	}
+
+	// Eager interleaved children are selected by the same query, so that they are read at
+	// the timestamp of the partitions.
+	private Statement getReadAllStatement(Class<?> entityClass, SpannerPartitionOptions options) {
+		Assert.notNull(options, "Valid partition options are required.");
+		SpannerPersistentEntity<?> entity = this.mappingContext.getPersistentEntity(entityClass);
+		return Statement.of("SELECT " + SpannerStatementQueryExecutor.getColumnsStringForSelect(
+				entity, this.mappingContext, true, options.getIncludeProperties())
+				+ " FROM " + entity.tableName() + SpannerStatementQueryExecutor.buildWhere(entity));
+	}
+
+	private <T> PartitionedRead<T> partitionQuery(Class<T> entityClass, Statement statement,
+			SpannerPartitionOptions options) {
+		Assert.notNull(options, "Valid partition options are required.");
+		if (this.batchClientProvider == null) {
+			throw new SpannerDataException(
+					"Partitioned reads require a batch client provider to be set on the template.");
+		}
+		BatchReadOnlyTransaction transaction = this.batchClientProvider.get()
+				.batchReadOnlyTransaction(options.getTimestampBound());
+		List<Partition> partitions;
+		try {
+			partitions = transaction.partitionQuery(options.toPartitionOptions(), statement);
+		}
+		catch (RuntimeException ex) {
+			transaction.close();
+			throw ex;
+		}
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("Partitioned query into " + partitions.size() + " partitions: " + statement);
+		}
+		Set<String> includeProperties = options.getIncludeProperties();
+		return new PartitionedRead<>(transaction, partitions, (struct) -> {
+			T entity = this.spannerEntityProcessor.read(entityClass, struct, includeProperties,
+					options.isAllowPartialRead());
+			resolvePartitionedChildEntity(entity, includeProperties);
+			return entity;
+		}, options, this.partitionExecutor);
+	}
+
+	/**
+	 * Checks that the eager interleaved children of an entity read by a partition were
+	 * selected by its statement, because reading them with separate queries would not read
+	 * them at the timestamp of the partition. Lazy interleaved children are read when
+	 * accessed.
+	 */
+	private void resolvePartitionedChildEntity(Object entity, Set<String> includeProperties) {
+		SpannerPersistentEntity<?> spannerPersistentEntity = this.mappingContext
+				.getPersistentEntity(entity.getClass());
+		PersistentPropertyAccessor<?> accessor = spannerPersistentEntity
+				.getPropertyAccessor(entity);
+		spannerPersistentEntity.doWithInterleavedProperties(
+				(spannerPersistentProperty) -> {
+					if (includeProperties != null && !includeProperties
+							.contains(spannerPersistentProperty.getColumnName())) {
+						return;
+					}
+					List propertyValue = (List) accessor.getProperty(spannerPersistentProperty);
+					if (propertyValue != null) {
+						propertyValue.forEach((child) -> resolvePartitionedChildEntity(child, null));
+					}
+					else if (spannerPersistentProperty.isLazyInterleaved()) {
+						Key parentKey = this.spannerSchemaUtils.getKey(entity);
+						accessor.setProperty(spannerPersistentProperty, ConversionUtils.wrapSimpleLazyProxy(
+								() -> queryChildren(KeySet.singleKey(parentKey), spannerPersistentProperty),
+								List.class));
+					}
+					else {
+						throw new SpannerDataException("The eager interleaved property "
+								+ spannerPersistentProperty.getName() + " of " + entity.getClass().getName()
+								+ " must be selected by the partitioned query as an ARRAY subquery"
+								+ " or excluded with the include properties.");
+					}
+				});
+	}
+
 	@Override
 	public void insert(Object object) {
-		applySaveMutations(() -> this.mutationFactory.insert(object), Collections.singletonList(object), null);
+		applySaveMutations(() -> Collections.singletonList(this.mutationFactory.insert(object)),
+				Collections.singletonList(object), null);
 	}
 
 
@@ -287,7 +654,8 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
 
 	@Override
 	public void update(Object object) {
-		applySaveMutations(() -> this.mutationFactory.update(object, null), Collections.singletonList(object), null);
+		applySaveMutations(() -> Collections.singletonList(this.mutationFactory.update(object, null)),
+				Collections.singletonList(object), null);
 	}
 
 	@Override
@@ -300,19 +668,21 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
 	public void update(Object object, String... includeProperties) {
 		Set<String> incl = (includeProperties.length == 0) ? null
 				: new HashSet<>(Arrays.asList(includeProperties));
-		applySaveMutations(() -> this.mutationFactory.update(object, incl), Collections.singletonList(object), incl);
+		applySaveMutations(() -> Collections.singletonList(this.mutationFactory.update(object, incl)),
+				Collections.singletonList(object), incl);
 	}
 
 	@Override
 	public void update(Object object, Set<String> includeProperties) {
-		applySaveMutations(() -> this.mutationFactory.update(object, includeProperties),
+		applySaveMutations(() -> Collections.singletonList(this.mutationFactory.update(object, includeProperties)),
 				Collections.singletonList(object),
 				includeProperties);
 	}
 
 	@Override
 	public void upsert(Object object) {
-		applySaveMutations(() -> this.mutationFactory.upsert(object, null), Collections.singletonList(object), null);
+		applySaveMutations(() -> Collections.singletonList(this.mutationFactory.upsert(object, null)),
+				Collections.singletonList(object), null);
 	}
 
 	@Override
@@ -324,21 +694,23 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
 	@Override
 	public void upsert(Object object, String... includeProperties) {
 		Set<String> incl = (includeProperties.length == 0) ? null : new HashSet<>(Arrays.asList(includeProperties));
-		applySaveMutations(() -> this.mutationFactory.upsert(object, incl), Collections.singletonList(object), incl);
+		applySaveMutations(() -> Collections.singletonList(this.mutationFactory.upsert(object, incl)),
+				Collections.singletonList(object), incl);
 	}
 
 	@Override
 	public void upsert(Object object, Set<String> includeProperties) {
-		applySaveMutations(() -> this.mutationFactory.upsert(object, includeProperties),
+		applySaveMutations(() -> Collections.singletonList(this.mutationFactory.upsert(object, includeProperties)),
 				Collections.singletonList(object),
 				includeProperties);
 	}
 
-	private void applySaveMutations(Supplier<List<Mutation>> mutationsSupplier, Iterable<?> entities,
-			Set<String> includeProperties) {
+	private void applySaveMutations(Supplier<List<List<Mutation>>> mutationGroupsSupplier,
+			Iterable<?> entities, Set<String> includeProperties) {
 		maybeEmitEvent(new BeforeSaveEvent(entities, includeProperties));
-		List<Mutation> mutations = mutationsSupplier.get();
-		applyMutations(mutations);
+		List<List<Mutation>> mutationGroups = mutationGroupsSupplier.get();
+		List<Mutation> mutations = flatten(mutationGroups);
+		applyMutationGroups(mutationGroups, mutations);
 		maybeEmitEvent(new AfterSaveEvent(mutations, entities, includeProperties));
 	}
 
@@ -356,7 +728,8 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
 
 	private void applyDeleteMutations(Iterable<?> objects, List<Mutation> mutations) {
 		maybeEmitEvent(new BeforeDeleteEvent(mutations, objects, null, null));
-		applyMutations(mutations);
+		applyMutationGroups(mutations.stream().map(Collections::singletonList)
+				.collect(Collectors.toList()), mutations);
 		maybeEmitEvent(new AfterDeleteEvent(mutations, objects, null, null));
 	}
 
@@ -384,7 +757,7 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
 				.getPersistentEntity(entityClass);
 		Statement statement = Statement.of(
 				String.format("SELECT COUNT(*) FROM %s", persistentEntity.tableName()));
-		try (ResultSet resultSet = executeQuery(statement, null)) {
+		try (ResultSet resultSet = recordQuery(entityClass, () -> executeQuery(statement, null))) {
 			resultSet.next();
 			return resultSet.getLong(0);
 		}
@@ -395,20 +768,41 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
 		return doWithOrWithoutTransactionContext((x) -> {
 			throw new IllegalStateException("There is already declarative transaction open. " +
 					"Spanner does not support nested transactions");
-		}, () -> this.databaseClientProvider.get().readWriteTransaction()
-				.run(new TransactionCallable<T>() {
+		}, () -> {
+			List<ReadWriteTransactionSpannerTemplate> transactionTemplates = new ArrayList<>();
+			try {
+				return runReadWriteTransaction(operations, transactionTemplates);
+			}
+			finally {
+				transactionTemplates.forEach((transactionTemplate) -> transactionTemplate
+						.invalidateWrittenEntities(this::evictCachedEntities));
+			}
+		});
+	}
+
+	private <T> T runReadWriteTransaction(Function<SpannerTemplate, T> operations,
+			List<ReadWriteTransactionSpannerTemplate> transactionTemplates) {
+		return recordOperation(SpannerTemplateMetrics.READ_WRITE_TRANSACTION, SpannerTemplateMetrics.NO_TABLE,
+				() -> this.databaseClientProvider.get().readWriteTransaction().run(new TransactionCallable<T>() {
+
+					private int attempts;
+
 					@Nullable
 					@Override
-					public T run(TransactionContext transaction) { // @formatter:off
-									ReadWriteTransactionSpannerTemplate transactionSpannerTemplate =
-											new ReadWriteTransactionSpannerTemplate(
-													// @formatter:on
+					public T run(TransactionContext transaction) {
+						if (this.attempts++ > 0 && SpannerTemplate.this.metrics != null) {
+							SpannerTemplate.this.metrics.recordRetry(SpannerTemplateMetrics.READ_WRITE_TRANSACTION);
+						}
+						ReadWriteTransactionSpannerTemplate transactionSpannerTemplate =
+								new ReadWriteTransactionSpannerTemplate(
 										SpannerTemplate.this.databaseClientProvider,
 										SpannerTemplate.this.mappingContext,
 										SpannerTemplate.this.spannerEntityProcessor,
 										SpannerTemplate.this.mutationFactory,
 										SpannerTemplate.this.spannerSchemaUtils,
 										transaction);
+						transactionSpannerTemplate.setMetrics(SpannerTemplate.this.metrics);
+						transactionTemplates.add(transactionSpannerTemplate);
 						return operations.apply(transactionSpannerTemplate);
 					}
 				}));
@@ -423,16 +817,20 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
 		}, () -> {
 
 			SpannerReadOptions options = (readOptions != null) ? readOptions : new SpannerReadOptions();
-			try (ReadOnlyTransaction readOnlyTransaction = (options.getTimestampBound() != null)
-					? this.databaseClientProvider.get().readOnlyTransaction(options.getTimestampBound())
-					: this.databaseClientProvider.get().readOnlyTransaction()) {
-				return operations.apply(new ReadOnlyTransactionSpannerTemplate(
-						SpannerTemplate.this.databaseClientProvider,
-						SpannerTemplate.this.mappingContext,
-						SpannerTemplate.this.spannerEntityProcessor,
-						SpannerTemplate.this.mutationFactory,
-						SpannerTemplate.this.spannerSchemaUtils, readOnlyTransaction));
-			}
+			return recordOperation(SpannerTemplateMetrics.READ_ONLY_TRANSACTION, SpannerTemplateMetrics.NO_TABLE, () -> {
+				try (ReadOnlyTransaction readOnlyTransaction = (options.getTimestampBound() != null)
+						? this.databaseClientProvider.get().readOnlyTransaction(options.getTimestampBound())
+						: this.databaseClientProvider.get().readOnlyTransaction()) {
+					ReadOnlyTransactionSpannerTemplate transactionSpannerTemplate = new ReadOnlyTransactionSpannerTemplate(
+							SpannerTemplate.this.databaseClientProvider,
+							SpannerTemplate.this.mappingContext,
+							SpannerTemplate.this.spannerEntityProcessor,
+							SpannerTemplate.this.mutationFactory,
+							SpannerTemplate.this.spannerSchemaUtils, readOnlyTransaction);
+					transactionSpannerTemplate.setMetrics(SpannerTemplate.this.metrics);
+					return operations.apply(transactionSpannerTemplate);
+				}
+			});
 		});
 	}
 
@@ -500,9 +898,12 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
 				? getReadContext(options.getTimestampBound())
 				: getReadContext();
 
-		final ResultSet resultSet = options != null && options.getIndex() != null
+		Supplier<ResultSet> read = () -> options != null && options.getIndex() != null
 				? readContext.readUsingIndex(tableName, options.getIndex(), keys, columns, options.getOptions())
 				: readContext.read(tableName, keys, columns, options == null ? new ReadOption[0] : options.getOptions());
+		final ResultSet resultSet = (this.metrics != null)
+				? this.metrics.recordResultSet(SpannerTemplateMetrics.READ, tableName, read)
+				: read.get();
 
 		if (LOGGER.isDebugEnabled()) {
 			StringBuilder logs = logColumns(tableName, keys, columns);
@@ -541,19 +942,119 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
 	}
 
 	protected void applyMutations(Collection<Mutation> mutations) {
-		LOGGER.debug("Applying Mutation: " + mutations);
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("Applying Mutation: " + mutations);
+		}
 		doWithOrWithoutTransactionContext((x) -> {
 			x.buffer(mutations);
 			return null;
 		}, () -> {
-			this.databaseClientProvider.get().write(mutations);
+			if (this.metrics != null) {
+				this.metrics.record(SpannerTemplateMetrics.COMMIT, SpannerTemplateMetrics.getTable(mutations),
+						() -> this.databaseClientProvider.get().write(mutations));
+			}
+			else {
+				this.databaseClientProvider.get().write(mutations);
+			}
 			return null;
 		});
+		invalidateCachedEntities(mutations.stream().map(Mutation::getTable).collect(Collectors.toSet()));
+	}
+
+	/**
+	 * Invalidate the cached rows of the tables written by an operation once the operation
+	 * is committed.
+	 * @param tables the tables written, or {@code null} if any table may have been written.
+	 */
+	protected void invalidateCachedEntities(@Nullable Set<String> tables) {
+		if (this.entityCache == null) {
+			return;
+		}
+		if (getTransactionContext() != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+				@Override
+				public void afterCompletion(int status) {
+					evictCachedEntities(tables);
+				}
+			});
+		}
+		else {
+			evictCachedEntities(tables);
+		}
+	}
+
+	private void evictCachedEntities(@Nullable Set<String> tables) {
+		if (this.entityCache == null) {
+			return;
+		}
+		if (tables == null) {
+			this.entityCache.invalidateAll();
+			return;
+		}
+		Set<String> invalidated = new HashSet<>();
+		Deque<String> pending = new ArrayDeque<>(tables);
+		while (!pending.isEmpty()) {
+			String table = pending.pop();
+			if (invalidated.add(table)) {
+				this.entityCache.invalidate(table);
+				// Rows of parent tables hold their interleaved children.
+				pending.addAll(getParentTables(table));
+			}
+		}
+	}
+
+	private Set<String> getParentTables(String childTable) {
+		Set<String> parentTables = new HashSet<>();
+		for (SpannerPersistentEntity<?> persistentEntity : this.mappingContext.getPersistentEntities()) {
+			persistentEntity.doWithInterleavedProperties((property) -> {
+				SpannerPersistentEntity<?> childEntity = this.mappingContext
+						.getPersistentEntity(property.getColumnInnerType());
+				if (childEntity != null && childEntity.tableName().equals(childTable)) {
+					parentTables.add(persistentEntity.tableName());
+				}
+			});
+		}
+		return parentTables;
+	}
+
+	private <T> T recordOperation(String operation, String table, Supplier<T> action) {
+		return (this.metrics != null) ? this.metrics.record(operation, table, action) : action.get();
+	}
+
+	private ResultSet recordQuery(@Nullable Class<?> entityClass, Supplier<ResultSet> query) {
+		if (this.metrics == null) {
+			return query.get();
+		}
+		String table = (entityClass != null) ? this.mappingContext.getPersistentEntity(entityClass).tableName()
+				: SpannerTemplateMetrics.NO_TABLE;
+		return this.metrics.recordResultSet(SpannerTemplateMetrics.QUERY, table, query);
+	}
+
+	/**
+	 * Applies the mutations of a write, splitting them into several commits if a mutation
+	 * splitter is set and the write is not part of a transaction.
+	 * @param mutationGroups the mutations grouped by the entity they were created for.
+	 * @param mutations all of the mutations in order.
+	 */
+	private void applyMutationGroups(List<List<Mutation>> mutationGroups, List<Mutation> mutations) {
+		if (this.mutationSplitter == null || getTransactionContext() != null) {
+			applyMutations(mutations);
+		}
+		else {
+			this.mutationSplitter.apply(mutationGroups, this::applyMutations);
+		}
+	}
+
+	private static List<Mutation> flatten(List<List<Mutation>> mutationGroups) {
+		if (mutationGroups.size() == 1) {
+			return mutationGroups.get(0);
+		}
+		return mutationGroups.stream().flatMap(List::stream).collect(Collectors.toList());
 	}
 
 	private <T> List<T> queryAndResolveChildren(Class<T> entityClass, Statement statement,
 			SpannerQueryOptions options) {
-		return mapToListAndResolveChildren(executeQuery(statement, options), entityClass,
+		return mapToListAndResolveChildren(recordQuery(entityClass, () -> executeQuery(statement, options)), entityClass,
 				(options != null) ? options.getIncludeProperties() : null,
 				options != null && options.isAllowPartialRead());
 	}
@@ -567,13 +1068,15 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
 
 	private <T> List<T> resolveChildEntities(List<T> entities,
 			Set<String> includeProperties) {
+		Map<SpannerPersistentProperty, LazyInterleavedLoader> lazyLoaders = new HashMap<>();
 		for (Object entity : entities) {
-			resolveChildEntity(entity, includeProperties);
+			resolveChildEntity(entity, includeProperties, lazyLoaders);
 		}
 		return entities;
 	}
 
-	private void resolveChildEntity(Object entity, Set<String> includeProperties) {
+	private void resolveChildEntity(Object entity, Set<String> includeProperties,
+			@Nullable Map<SpannerPersistentProperty, LazyInterleavedLoader> lazyLoaders) {
 		SpannerPersistentEntity<?> spannerPersistentEntity = this.mappingContext
 				.getPersistentEntity(entity.getClass());
 		PersistentPropertyAccessor<?> accessor = spannerPersistentEntity
@@ -581,7 +1084,7 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
 		spannerPersistentEntity.doWithInterleavedProperties(
 				(spannerPersistentProperty) -> {
 					if (includeProperties != null && !includeProperties
-							.contains(spannerPersistentEntity.getName())) {
+							.contains(spannerPersistentProperty.getColumnName())) {
 						return;
 					}
 					//an interleaved property can only be List
@@ -590,14 +1093,19 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
 						resolveChildEntities(propertyValue, null);
 						return;
 					}
-					Class<?> childType = spannerPersistentProperty.getColumnInnerType();
-
-					Supplier<List> getChildrenEntitiesFunc = () -> queryAndResolveChildren(childType,
-							SpannerStatementQueryExecutor.getChildrenRowsQuery(
-									this.spannerSchemaUtils.getKey(entity),
-									spannerPersistentProperty, this.spannerEntityProcessor.getWriteConverter(),
-									this.mappingContext),
-							null);
+					Key parentKey = this.spannerSchemaUtils.getKey(entity);
+
+					Supplier<List> getChildrenEntitiesFunc;
+					if (spannerPersistentProperty.isLazyInterleaved() && lazyLoaders != null) {
+						// the lazy children of all entities read together are loaded in batches
+						getChildrenEntitiesFunc = lazyLoaders
+								.computeIfAbsent(spannerPersistentProperty, this::createLazyInterleavedLoader)
+								.register(parentKey);
+					}
+					else {
+						getChildrenEntitiesFunc = () -> queryChildren(KeySet.singleKey(parentKey),
+								spannerPersistentProperty);
+					}
 
 					accessor.setProperty(spannerPersistentProperty,
 							spannerPersistentProperty.isLazyInterleaved()
@@ -606,10 +1114,24 @@ public class SpannerTemplate implements SpannerOperations, ApplicationEventPubli
 				});
 	}
 
-	private List<Mutation> getMutationsForMultipleObjects(Iterable<?> it,
-			Function<Object, Collection<Mutation>> individualEntityMutationFunc) {
+	private LazyInterleavedLoader createLazyInterleavedLoader(SpannerPersistentProperty spannerPersistentProperty) {
+		return new LazyInterleavedLoader(this.lazyInterleavedBatchSize,
+				(parentKeys) -> queryChildren(parentKeys, spannerPersistentProperty),
+				this.spannerSchemaUtils::getKey);
+	}
+
+	private List<?> queryChildren(KeySet parentKeys, SpannerPersistentProperty spannerPersistentProperty) {
+		return queryAndResolveChildren(spannerPersistentProperty.getColumnInnerType(),
+				SpannerStatementQueryExecutor.getChildrenRowsQuery(parentKeys,
+						spannerPersistentProperty, this.spannerEntityProcessor.getWriteConverter(),
+						this.mappingContext),
+				null);
+	}
+
+	private List<List<Mutation>> getMutationsForMultipleObjects(Iterable<?> it,
+			Function<Object, List<Mutation>> individualEntityMutationFunc) {
 		return StreamSupport.stream(it.spliterator(), false)
-				.flatMap((x) -> individualEntityMutationFunc.apply(x).stream())
+				.map(individualEntityMutationFunc)
 				.collect(Collectors.toList());
 	}
 
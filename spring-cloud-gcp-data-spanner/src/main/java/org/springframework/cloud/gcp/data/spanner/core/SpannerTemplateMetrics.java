@@ -0,0 +1,218 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.data.spanner.core;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.google.cloud.spanner.ForwardingResultSet;
+import com.google.cloud.spanner.Mutation;
+import com.google.cloud.spanner.ResultSet;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+/**
+ * Records Micrometer metrics for the operations of a {@link SpannerTemplate} and the
+ * transactions of a {@link SpannerTransactionManager}.
+ *
+ * <p>Each query, read, commit, DML statement and transaction is timed by the
+ * {@value #OPERATIONS_METRIC} timer, tagged by the operation, the table and the outcome.
+ * Queries and reads are timed until their results are consumed. Retries of read-write
+ * transactions aborted by Cloud Spanner are counted by the
+ * {@value #TRANSACTION_RETRIES_METRIC} counter, and transactions of the transaction
+ * manager aborted on commit by the {@value #TRANSACTION_ABORTS_METRIC} counter.
+ *
+ * <p>Metrics are recorded in every registry passed to {@link #bindTo(MeterRegistry)},
+ * and are discarded until it is called. This class does not implement Micrometer's
+ * {@code MeterBinder} so that the template and the transaction manager can refer to it
+ * when Micrometer is not on the classpath.
+ *
+ * @author agent (agent@local)
+ *
+ * @since 1.2.9
+ */
+public class SpannerTemplateMetrics {
+
+	/**
+	 * The name of the timer of template operations.
+	 */
+	public static final String OPERATIONS_METRIC = "spring.cloud.gcp.spanner.operations";
+
+	/**
+	 * The name of the counter of aborted transaction retries.
+	 */
+	public static final String TRANSACTION_RETRIES_METRIC = "spring.cloud.gcp.spanner.transaction.retries";
+
+	/**
+	 * The name of the counter of transactions aborted on commit.
+	 */
+	public static final String TRANSACTION_ABORTS_METRIC = "spring.cloud.gcp.spanner.transaction.aborts";
+
+	static final String QUERY = "query";
+
+	static final String READ = "read";
+
+	static final String COMMIT = "commit";
+
+	static final String DML = "dml";
+
+	static final String BATCH_DML = "batch_dml";
+
+	static final String PARTITIONED_DML = "partitioned_dml";
+
+	static final String READ_WRITE_TRANSACTION = "read_write_transaction";
+
+	static final String READ_ONLY_TRANSACTION = "read_only_transaction";
+
+	static final String NO_TABLE = "none";
+
+	static final String MULTIPLE_TABLES = "multiple";
+
+	private final CompositeMeterRegistry meterRegistry = new CompositeMeterRegistry();
+
+	/**
+	 * Record the metrics in the given registry.
+	 * @param registry the registry to record the metrics in.
+	 */
+	public void bindTo(MeterRegistry registry) {
+		this.meterRegistry.add(registry);
+	}
+
+	<T> T record(String operation, String table, Supplier<T> action) {
+		Timer.Sample sample = Timer.start(this.meterRegistry);
+		String outcome = "error";
+		try {
+			T result = action.get();
+			outcome = "success";
+			return result;
+		}
+		finally {
+			sample.stop(timer(operation, table, outcome));
+		}
+	}
+
+	ResultSet recordResultSet(String operation, String table, Supplier<ResultSet> action) {
+		Timer.Sample sample = Timer.start(this.meterRegistry);
+		ResultSet resultSet;
+		try {
+			resultSet = action.get();
+		}
+		catch (RuntimeException ex) {
+			sample.stop(timer(operation, table, "error"));
+			throw ex;
+		}
+		return new TimedResultSet(resultSet, sample, operation, table);
+	}
+
+	void recordRetry(String operation) {
+		Counter.builder(TRANSACTION_RETRIES_METRIC)
+				.description("Retries of Cloud Spanner transactions that were aborted")
+				.tag("operation", operation)
+				.register(this.meterRegistry)
+				.increment();
+	}
+
+	long startTransaction() {
+		return this.meterRegistry.config().clock().monotonicTime();
+	}
+
+	void recordTransaction(String operation, long startTime, String outcome) {
+		timer(operation, NO_TABLE, outcome).record(
+				this.meterRegistry.config().clock().monotonicTime() - startTime, TimeUnit.NANOSECONDS);
+	}
+
+	void recordAbort(String operation) {
+		Counter.builder(TRANSACTION_ABORTS_METRIC)
+				.description("Cloud Spanner transactions that were aborted on commit")
+				.tag("operation", operation)
+				.register(this.meterRegistry)
+				.increment();
+	}
+
+	private Timer timer(String operation, String table, String outcome) {
+		return Timer.builder(OPERATIONS_METRIC)
+				.description("Cloud Spanner operations performed by the template")
+				.tag("operation", operation)
+				.tag("table", table)
+				.tag("outcome", outcome)
+				.register(this.meterRegistry);
+	}
+
+	static String getTable(Collection<Mutation> mutations) {
+		String table = null;
+		for (Mutation mutation : mutations) {
+			if (table == null) {
+				table = mutation.getTable();
+			}
+			else if (!table.equals(mutation.getTable())) {
+				return MULTIPLE_TABLES;
+			}
+		}
+		return (table != null) ? table : NO_TABLE;
+	}
+
+	/**
+	 * A result set that stops its timer once its rows are consumed or it is closed.
+	 */
+	private final class TimedResultSet extends ForwardingResultSet {
+
+		private final String operation;
+
+		private final String table;
+
+		private Timer.Sample sample;
+
+		TimedResultSet(ResultSet delegate, Timer.Sample sample, String operation, String table) {
+			super(delegate);
+			this.sample = sample;
+			this.operation = operation;
+			this.table = table;
+		}
+
+		@Override
+		public boolean next() {
+			boolean hasNext;
+			try {
+				hasNext = super.next();
+			}
+			catch (RuntimeException ex) {
+				stop("error");
+				throw ex;
+			}
+			if (!hasNext) {
+				stop("success");
+			}
+			return hasNext;
+		}
+
+		@Override
+		public void close() {
+			stop("success");
+			super.close();
+		}
+
+		private void stop(String outcome) {
+			if (this.sample != null) {
+				this.sample.stop(timer(this.operation, this.table, outcome));
+				this.sample = null;
+			}
+		}
+	}
+}
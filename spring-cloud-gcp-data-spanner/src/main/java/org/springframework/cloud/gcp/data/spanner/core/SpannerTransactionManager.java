@@ -35,6 +35,7 @@ import com.google.cloud.spanner.ResultSet;
 import com.google.cloud.spanner.SpannerException;
 import com.google.cloud.spanner.Statement;
 import com.google.cloud.spanner.Struct;
+import com.google.cloud.spanner.TimestampBound;
 import com.google.cloud.spanner.TransactionContext;
 import com.google.cloud.spanner.TransactionManager;
 
@@ -45,6 +46,7 @@ import org.springframework.transaction.UnexpectedRollbackException;
 import org.springframework.transaction.support.AbstractPlatformTransactionManager;
 import org.springframework.transaction.support.DefaultTransactionStatus;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
 
 /**
  * Spanner transaction manager.
@@ -58,10 +60,49 @@ import org.springframework.transaction.support.TransactionSynchronizationManager
 public class SpannerTransactionManager extends AbstractPlatformTransactionManager {
 	private final Supplier<DatabaseClient> databaseClientProvider;
 
+	private @Nullable TimestampBound readOnlyTimestampBound;
+
+	private @Nullable SpannerTemplateMetrics metrics;
+
 	public SpannerTransactionManager(final Supplier databaseClientProvider) {
 		this.databaseClientProvider = databaseClientProvider;
 	}
 
+	/**
+	 * Set the timestamp bound of read-only transactions whose methods are not annotated with
+	 * {@link ReadOnlyStaleness}. If not set, then read-only transactions perform strong
+	 * reads.
+	 * @param readOnlyTimestampBound the timestamp bound to use. Read-only transactions only
+	 * support strong, exact staleness and read timestamp bounds.
+	 */
+	public void setReadOnlyTimestampBound(@Nullable TimestampBound readOnlyTimestampBound) {
+		Assert.isTrue(readOnlyTimestampBound == null
+				|| readOnlyTimestampBound.getMode() == TimestampBound.Mode.STRONG
+				|| readOnlyTimestampBound.getMode() == TimestampBound.Mode.EXACT_STALENESS
+				|| readOnlyTimestampBound.getMode() == TimestampBound.Mode.READ_TIMESTAMP,
+				"Read-only transactions only support strong, exact staleness and read timestamp bounds.");
+		this.readOnlyTimestampBound = readOnlyTimestampBound;
+	}
+
+	@Nullable
+	public TimestampBound getReadOnlyTimestampBound() {
+		return this.readOnlyTimestampBound;
+	}
+
+	/**
+	 * Set the metrics recorded for the transactions of this transaction manager. If not set,
+	 * then no metrics are recorded.
+	 * @param metrics the metrics to record.
+	 */
+	public void setMetrics(@Nullable SpannerTemplateMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	@Nullable
+	public SpannerTemplateMetrics getMetrics() {
+		return this.metrics;
+	}
+
 	@Override
 	protected Object doGetTransaction() throws TransactionException {
 		Tx tx = (Tx) TransactionSynchronizationManager.getResource(databaseClientProvider.get());
@@ -87,9 +128,14 @@ public class SpannerTransactionManager extends AbstractPlatformTransactionManage
 							"TransactionDefinition.PROPAGATION_REQUIRED");
 		}
 		Tx tx = (Tx) transactionObject;
+		if (this.metrics != null) {
+			tx.metricsStartTime = this.metrics.startTransaction();
+		}
 		if (transactionDefinition.isReadOnly()) {
-			final ReadContext targetTransactionContext = this.databaseClientProvider.get()
-					.readOnlyTransaction();
+			TimestampBound timestampBound = getReadOnlyTimestampBound(transactionDefinition);
+			final ReadContext targetTransactionContext = (timestampBound != null)
+					? this.databaseClientProvider.get().readOnlyTransaction(timestampBound)
+					: this.databaseClientProvider.get().readOnlyTransaction();
 			tx.isReadOnly = true;
 			tx.transactionManager = null;
 			tx.transactionContext = new TransactionContext() {
@@ -217,10 +263,25 @@ public class SpannerTransactionManager extends AbstractPlatformTransactionManage
 		TransactionSynchronizationManager.bindResource(tx.getDatabaseClient(), tx);
 	}
 
+	/**
+	 * Get the timestamp bound of a read-only transaction. The attributes of methods
+	 * annotated with {@link ReadOnlyStaleness} carry their own bound, which is only the
+	 * case when they come from a {@link ReadOnlyStalenessTransactionAttributeSource}.
+	 * @param transactionDefinition the definition of the read-only transaction.
+	 * @return the timestamp bound, or {@code null} to perform strong reads.
+	 */
+	private TimestampBound getReadOnlyTimestampBound(TransactionDefinition transactionDefinition) {
+		if (transactionDefinition instanceof ReadOnlyStalenessTransactionAttribute) {
+			return ((ReadOnlyStalenessTransactionAttribute) transactionDefinition).getTimestampBound();
+		}
+		return this.readOnlyTimestampBound;
+	}
+
 	@Override
 	protected void doCommit(DefaultTransactionStatus defaultTransactionStatus)
 			throws TransactionException {
 		Tx tx = (Tx) defaultTransactionStatus.getTransaction();
+		String outcome = "error";
 		try {
 			if (tx.getTransactionManager() != null &&
 					tx.getTransactionManager().getState() == TransactionManager.TransactionState.STARTED) {
@@ -230,8 +291,13 @@ public class SpannerTransactionManager extends AbstractPlatformTransactionManage
 			if (tx.isReadOnly()) {
 				tx.getTransactionContext().close();
 			}
+			outcome = "success";
 		}
 		catch (AbortedException ex) {
+			outcome = "aborted";
+			if (this.metrics != null) {
+				this.metrics.recordAbort(getOperation(tx));
+			}
 			// The client library will not close transaction resources if state == ABORTED
 			// to allow for retries, but we do not retry aborted transactions.
 			// See: SessionPool.close()
@@ -243,6 +309,9 @@ public class SpannerTransactionManager extends AbstractPlatformTransactionManage
 		catch (SpannerException ex) {
 			throw makeDataIntegrityViolationException(ex);
 		}
+		finally {
+			recordTransaction(tx, outcome);
+		}
 	}
 
 	private RuntimeException makeDataIntegrityViolationException(SpannerException e) {
@@ -257,16 +326,39 @@ public class SpannerTransactionManager extends AbstractPlatformTransactionManage
 	protected void doRollback(DefaultTransactionStatus defaultTransactionStatus)
 			throws TransactionException {
 		Tx tx = (Tx) defaultTransactionStatus.getTransaction();
-		if (tx.getTransactionManager() != null
-				&& (tx.getTransactionManager().getState() == TransactionManager.TransactionState.STARTED
-						|| tx.getTransactionManager().getState() == TransactionManager.TransactionState.ABORTED)) {
-			tx.getTransactionManager().rollback();
+		try {
+			if (tx.getTransactionManager() != null
+					&& (tx.getTransactionManager().getState() == TransactionManager.TransactionState.STARTED
+							|| tx.getTransactionManager().getState() == TransactionManager.TransactionState.ABORTED)) {
+				tx.getTransactionManager().rollback();
+			}
+			if (tx.isReadOnly()) {
+				tx.getTransactionContext().close();
+			}
 		}
-		if (tx.isReadOnly()) {
-			tx.getTransactionContext().close();
+		finally {
+			recordTransaction(tx, "rollback");
 		}
 	}
 
+	/**
+	 * Time a transaction from its beginning, unless it was not timed or was already
+	 * recorded because its commit failed before it was rolled back.
+	 * @param tx the completed transaction.
+	 * @param outcome the outcome of the transaction.
+	 */
+	private void recordTransaction(Tx tx, String outcome) {
+		if (this.metrics != null && tx.metricsStartTime != null) {
+			this.metrics.recordTransaction(getOperation(tx), tx.metricsStartTime, outcome);
+		}
+		tx.metricsStartTime = null;
+	}
+
+	private static String getOperation(Tx tx) {
+		return tx.isReadOnly() ? SpannerTemplateMetrics.READ_ONLY_TRANSACTION
+				: SpannerTemplateMetrics.READ_WRITE_TRANSACTION;
+	}
+
 	@Override
 	protected boolean isExistingTransaction(Object transaction) {
 		return ((Tx) transaction).getTransactionContext() != null;
@@ -279,6 +371,7 @@ public class SpannerTransactionManager extends AbstractPlatformTransactionManage
 		tx.transactionManager = null;
 		tx.transactionContext = null;
 		tx.isReadOnly = false;
+		tx.metricsStartTime = null;
 	}
 
 	/**
@@ -293,6 +386,8 @@ public class SpannerTransactionManager extends AbstractPlatformTransactionManage
 
 		DatabaseClient databaseClient;
 
+		Long metricsStartTime;
+
 		public Tx(DatabaseClient databaseClient) {
 			this.databaseClient = databaseClient;
 		}
@@ -0,0 +1,414 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.cloud.gcp.data.spanner.core;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.google.cloud.spanner.Key;
+import com.google.cloud.spanner.Mutation;
+
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerDataException;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerMappingContext;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerPersistentEntity;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * Buffers the writes of entities and commits them in the background, combining many
+ * writes into a few large commits. It is meant for high rates of small independent writes,
+ * such as telemetry, where the latency of each write matters less than the throughput.
+ *
+ * <p>Writes of the same entity key that are still buffered are coalesced: the last write
+ * replaces the earlier ones and moves to the end of the buffer, so that writes are
+ * committed in the order of their last occurrence. The buffer is
+ * committed once its writes reach the maximum number of mutations per commit, or once the
+ * oldest write has waited for the flush interval. Each write returns a future that is
+ * completed when the commit containing it succeeds or fails; writes that were replaced
+ * complete with the write that replaced them.
+ *
+ * <p>The number of buffered and committing entities is bounded. Writers block while the
+ * buffer is full, and fail if it stays full for longer than the maximum block time.
+ * Closing the buffer commits the remaining writes.
+ *
+ * <p>Each commit is atomic, but the writes of a flush are not: a failed commit does not
+ * undo the preceding commits. Writes are never part of the transaction of the caller.
+ *
+ * @author agent (agent@local)
+ *
+ * @since 1.2.9
+ */
+public class SpannerWriteBehindBuffer implements AutoCloseable {
+
+	/**
+	 * The default maximum number of mutations committed at once.
+	 */
+	public static final int DEFAULT_MAX_MUTATIONS_PER_COMMIT = 5000;
+
+	/**
+	 * The default longest time a write waits in the buffer before it is committed.
+	 */
+	public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofMillis(100);
+
+	/**
+	 * The default maximum number of entities buffered or being committed.
+	 */
+	public static final int DEFAULT_MAX_PENDING_ENTITIES = 10000;
+
+	private final SpannerTemplate spannerTemplate;
+
+	private final SpannerMutationFactory mutationFactory;
+
+	private final SpannerMappingContext mappingContext;
+
+	private final int maxMutationsPerCommit;
+
+	private final long flushIntervalNanos;
+
+	private final int maxPendingEntities;
+
+	private final ScheduledThreadPoolExecutor flusher;
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private final Condition notFull = this.lock.newCondition();
+
+	private LinkedHashMap<SimpleKey, PendingWrite> buffer = new LinkedHashMap<>();
+
+	private long bufferedMutations;
+
+	private int committingEntities;
+
+	private ScheduledFuture<?> scheduledFlush;
+
+	private boolean flushRequested;
+
+	private boolean closed;
+
+	private Duration maxBlockTime = Duration.ofSeconds(30);
+
+	/**
+	 * Constructor with the default thresholds.
+	 * @param spannerTemplate the template committing the writes.
+	 * @param mutationFactory the factory of the mutations of the entities written.
+	 */
+	public SpannerWriteBehindBuffer(SpannerTemplate spannerTemplate, SpannerMutationFactory mutationFactory) {
+		this(spannerTemplate, mutationFactory, DEFAULT_MAX_MUTATIONS_PER_COMMIT, DEFAULT_FLUSH_INTERVAL,
+				DEFAULT_MAX_PENDING_ENTITIES);
+	}
+
+	/**
+	 * Constructor.
+	 * @param spannerTemplate the template committing the writes.
+	 * @param mutationFactory the factory of the mutations of the entities written.
+	 * @param maxMutationsPerCommit the number of buffered mutations that triggers a flush,
+	 * and the maximum number of mutations committed at once.
+	 * @param flushInterval the longest time a write waits in the buffer before it is
+	 * committed.
+	 * @param maxPendingEntities the maximum number of entities buffered or being committed.
+	 */
+	public SpannerWriteBehindBuffer(SpannerTemplate spannerTemplate, SpannerMutationFactory mutationFactory,
+			int maxMutationsPerCommit, Duration flushInterval, int maxPendingEntities) {
+		Assert.notNull(spannerTemplate, "A valid SpannerTemplate is required.");
+		Assert.notNull(mutationFactory, "A valid SpannerMutationFactory is required.");
+		Assert.isTrue(maxMutationsPerCommit > 0, "The maximum number of mutations per commit must be positive.");
+		Assert.isTrue(flushInterval != null && !flushInterval.isNegative() && !flushInterval.isZero(),
+				"The flush interval must be positive.");
+		Assert.isTrue(maxPendingEntities > 0, "The maximum number of pending entities must be positive.");
+		this.spannerTemplate = spannerTemplate;
+		this.mutationFactory = mutationFactory;
+		this.mappingContext = spannerTemplate.getMappingContext();
+		this.maxMutationsPerCommit = maxMutationsPerCommit;
+		this.flushIntervalNanos = flushInterval.toNanos();
+		this.maxPendingEntities = maxPendingEntities;
+		this.flusher = new ScheduledThreadPoolExecutor(1, new CustomizableThreadFactory("spanner-write-behind-"));
+		this.flusher.setRemoveOnCancelPolicy(true);
+	}
+
+	public Duration getMaxBlockTime() {
+		return this.maxBlockTime;
+	}
+
+	/**
+	 * Set how long writers wait for room in a full buffer before failing.
+	 * @param maxBlockTime the maximum time to block. The default is 30 seconds.
+	 */
+	public void setMaxBlockTime(Duration maxBlockTime) {
+		Assert.isTrue(maxBlockTime != null && !maxBlockTime.isNegative(), "The maximum block time cannot be negative.");
+		this.maxBlockTime = maxBlockTime;
+	}
+
+	/**
+	 * Buffer the upsert of an entity and its interleaved children.
+	 * @param entity the entity to upsert.
+	 * @return a future completed once the upsert is committed.
+	 */
+	public CompletableFuture<Void> upsert(Object entity) {
+		return write(entity, this.mutationFactory.upsert(entity, null));
+	}
+
+	/**
+	 * Buffer the deletion of an entity.
+	 * @param entity the entity to delete.
+	 * @return a future completed once the deletion is committed.
+	 */
+	public CompletableFuture<Void> delete(Object entity) {
+		return write(entity, Collections.singletonList(this.mutationFactory.delete(entity)));
+	}
+
+	/**
+	 * Commit all buffered writes without waiting for the flush thresholds.
+	 * @return a future completed once the writes buffered before this call are committed,
+	 * whether or not their commits succeed.
+	 */
+	public CompletableFuture<Void> flush() {
+		this.lock.lock();
+		try {
+			Assert.state(!this.closed, "The write-behind buffer is closed.");
+			requestFlush();
+		}
+		finally {
+			this.lock.unlock();
+		}
+		return CompletableFuture.runAsync(() -> {
+		}, this.flusher);
+	}
+
+	/**
+	 * Get the number of entities buffered or being committed.
+	 * @return the number of pending entities.
+	 */
+	public int getPendingEntityCount() {
+		this.lock.lock();
+		try {
+			return this.buffer.size() + this.committingEntities;
+		}
+		finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Stop accepting writes, commit the buffered writes and wait for them up to the maximum
+	 * block time.
+	 */
+	@Override
+	public void close() {
+		this.lock.lock();
+		try {
+			if (this.closed) {
+				return;
+			}
+			this.closed = true;
+			this.notFull.signalAll();
+			requestFlush();
+		}
+		finally {
+			this.lock.unlock();
+		}
+		this.flusher.shutdown();
+		try {
+			if (!this.flusher.awaitTermination(this.maxBlockTime.toNanos(), TimeUnit.NANOSECONDS)) {
+				throw new SpannerDataException("Timed out committing the writes buffered when closing "
+						+ "the write-behind buffer.");
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new SpannerDataException("Interrupted while closing the write-behind buffer.", ex);
+		}
+	}
+
+	private CompletableFuture<Void> write(Object entity, List<Mutation> mutations) {
+		SimpleKey key = getKey(entity);
+		long mutationCount = SpannerMutationSplitter.countMutations(mutations);
+		CompletableFuture<Void> future = new CompletableFuture<>();
+		this.lock.lock();
+		try {
+			PendingWrite replaced = this.buffer.get(key);
+			if (replaced == null) {
+				awaitRoom();
+				this.buffer.put(key, new PendingWrite(mutations, mutationCount, future));
+			}
+			else {
+				Assert.state(!this.closed, "The write-behind buffer is closed.");
+				this.bufferedMutations -= replaced.mutationCount;
+				// the replacing write moves to the end so that it is still committed after the
+				// writes buffered before it, such as those of interleaved children
+				this.buffer.remove(key);
+				this.buffer.put(key, new PendingWrite(mutations, mutationCount, replaced.futures, future));
+			}
+			this.bufferedMutations += mutationCount;
+			if (this.bufferedMutations >= this.maxMutationsPerCommit) {
+				requestFlush();
+			}
+			else if (this.scheduledFlush == null && !this.flushRequested) {
+				this.scheduledFlush = this.flusher.schedule(this::flushBuffer, this.flushIntervalNanos,
+						TimeUnit.NANOSECONDS);
+			}
+		}
+		finally {
+			this.lock.unlock();
+		}
+		return future;
+	}
+
+	private void awaitRoom() {
+		long remainingNanos = this.maxBlockTime.toNanos();
+		while (!this.closed && this.buffer.size() + this.committingEntities >= this.maxPendingEntities) {
+			if (remainingNanos <= 0) {
+				throw new SpannerDataException("The write-behind buffer stayed full for "
+						+ this.maxBlockTime + "; writes are being made faster than they are committed.");
+			}
+			try {
+				remainingNanos = this.notFull.awaitNanos(remainingNanos);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new SpannerDataException("Interrupted while waiting for room in the write-behind buffer.",
+						ex);
+			}
+		}
+		Assert.state(!this.closed, "The write-behind buffer is closed.");
+	}
+
+	private void requestFlush() {
+		if (this.flushRequested) {
+			return;
+		}
+		if (this.scheduledFlush != null) {
+			this.scheduledFlush.cancel(false);
+			this.scheduledFlush = null;
+		}
+		try {
+			this.flusher.execute(this::flushBuffer);
+			this.flushRequested = true;
+		}
+		catch (RejectedExecutionException ex) {
+			// the flusher was shut down after running the last flush.
+		}
+	}
+
+	private void flushBuffer() {
+		Collection<PendingWrite> writes;
+		this.lock.lock();
+		try {
+			writes = this.buffer.values();
+			this.buffer = new LinkedHashMap<>();
+			this.bufferedMutations = 0;
+			this.committingEntities += writes.size();
+			this.scheduledFlush = null;
+			this.flushRequested = false;
+		}
+		finally {
+			this.lock.unlock();
+		}
+
+		List<PendingWrite> batch = new ArrayList<>();
+		long batchMutations = 0;
+		for (PendingWrite write : writes) {
+			if (!batch.isEmpty() && batchMutations + write.mutationCount > this.maxMutationsPerCommit) {
+				commit(batch);
+				batch = new ArrayList<>();
+				batchMutations = 0;
+			}
+			batch.add(write);
+			batchMutations += write.mutationCount;
+		}
+		if (!batch.isEmpty()) {
+			commit(batch);
+		}
+	}
+
+	private void commit(List<PendingWrite> batch) {
+		List<Mutation> mutations = new ArrayList<>();
+		batch.forEach((write) -> mutations.addAll(write.mutations));
+		Throwable failure = null;
+		try {
+			this.spannerTemplate.applyMutations(mutations);
+		}
+		catch (RuntimeException ex) {
+			failure = new SpannerDataException("Failed to commit the buffered writes.", ex);
+		}
+		finally {
+			this.lock.lock();
+			try {
+				this.committingEntities -= batch.size();
+				this.notFull.signalAll();
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+		for (PendingWrite write : batch) {
+			for (CompletableFuture<Void> future : write.futures) {
+				if (failure != null) {
+					future.completeExceptionally(failure);
+				}
+				else {
+					future.complete(null);
+				}
+			}
+		}
+	}
+
+	private SimpleKey getKey(Object entity) {
+		Assert.notNull(entity, "A non-null entity is required.");
+		SpannerPersistentEntity<?> persistentEntity = this.mappingContext
+				.getPersistentEntity(entity.getClass());
+		Key key = (Key) persistentEntity.getPropertyAccessor(entity)
+				.getProperty(persistentEntity.getIdProperty());
+		return new SimpleKey(persistentEntity.tableName(), key);
+	}
+
+	/**
+	 * The mutations of a buffered write and the futures of the writes it replaced.
+	 */
+	private static final class PendingWrite {
+
+		private final List<Mutation> mutations;
+
+		private final long mutationCount;
+
+		private final List<CompletableFuture<Void>> futures;
+
+		PendingWrite(List<Mutation> mutations, long mutationCount, CompletableFuture<Void> future) {
+			this(mutations, mutationCount, new ArrayList<>(), future);
+		}
+
+		PendingWrite(List<Mutation> mutations, long mutationCount, List<CompletableFuture<Void>> futures,
+				CompletableFuture<Void> future) {
+			this.mutations = mutations;
+			this.mutationCount = mutationCount;
+			this.futures = futures;
+			this.futures.add(future);
+		}
+	}
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.cloud.gcp.data.spanner.core.admin;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import com.google.cloud.spanner.BatchClient;
+import com.google.cloud.spanner.DatabaseClient;
+import com.google.cloud.spanner.DatabaseId;
+import com.google.cloud.spanner.SessionPoolOptions;
+import com.google.cloud.spanner.Spanner;
+import com.google.cloud.spanner.SpannerOptions;
+
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.util.Assert;
+
+/**
+ * A supplier of database clients for applications that switch between many databases,
+ * such as one database per tenant. It keeps a bounded number of clients and closes the
+ * session pools of the clients it evicts. The batch clients of partitioned reads are
+ * supplied by {@link #batchClientProvider()} from the same services.
+ *
+ * <p>The Cloud Spanner client library keeps the session pool of a database client open
+ * until its {@link Spanner} service is closed, so each database gets a service of its own
+ * from the given factory. This also lets each database have its own session pool options.
+ * Each service has its own gRPC channels and background threads, as many as a single
+ * service shared by all databases, so the maximum size should be kept small. When the
+ * cache is full, the least recently used client is evicted. Clients that are not
+ * used for longer than the maximum idle time are evicted as well; idle clients are looked
+ * for while the cache is used, or when {@link #evictIdle()} is called. Evicted services are
+ * closed in the background.
+ *
+ * <p>Operations still running on an evicted client fail, so the cache should be larger
+ * than the number of databases used concurrently.
+ *
+ * @author agent (agent@local)
+ *
+ * @since 1.2.9
+ */
+public class DatabaseClientCache implements Supplier<DatabaseClient>, AutoCloseable {
+
+	private final Map<DatabaseId, CachedClient> clients = new ConcurrentHashMap<>();
+
+	private final Supplier<DatabaseId> databaseIdProvider;
+
+	private final Function<DatabaseId, Spanner> spannerFactory;
+
+	private final int maxSize;
+
+	private final long maxIdleNanos;
+
+	private final LongSupplier ticker;
+
+	private final Executor closeExecutor = new SimpleAsyncTaskExecutor("spanner-client-close-");
+
+	private volatile long nextIdleScanNanos;
+
+	private boolean closed;
+
+	/**
+	 * Constructor.
+	 * @param databaseIdProvider the provider of the database to use for each operation.
+	 * @param spannerFactory the factory of the Cloud Spanner service of each database.
+	 * @param maxSize the maximum number of clients kept.
+	 * @param maxIdleTime the time after which unused clients are evicted, or {@code null} to
+	 * only evict clients when the cache is full.
+	 */
+	public DatabaseClientCache(Supplier<DatabaseId> databaseIdProvider, Function<DatabaseId, Spanner> spannerFactory,
+			int maxSize, Duration maxIdleTime) {
+		this(databaseIdProvider, spannerFactory, maxSize, maxIdleTime, System::nanoTime);
+	}
+
+	DatabaseClientCache(Supplier<DatabaseId> databaseIdProvider, Function<DatabaseId, Spanner> spannerFactory,
+			int maxSize, Duration maxIdleTime, LongSupplier ticker) {
+		Assert.notNull(databaseIdProvider, "A valid database ID provider is required.");
+		Assert.notNull(spannerFactory, "A valid Spanner factory is required.");
+		Assert.isTrue(maxSize > 0, "The maximum number of cached clients must be positive.");
+		Assert.isTrue(maxIdleTime == null || !maxIdleTime.isNegative() && !maxIdleTime.isZero(),
+				"The maximum idle time must be positive.");
+		this.databaseIdProvider = databaseIdProvider;
+		this.spannerFactory = spannerFactory;
+		this.maxSize = maxSize;
+		this.maxIdleNanos = (maxIdleTime != null) ? maxIdleTime.toNanos() : Long.MAX_VALUE;
+		this.ticker = ticker;
+		this.nextIdleScanNanos = ticker.getAsLong();
+	}
+
+	/**
+	 * Create a factory of Cloud Spanner services that share the given options, apart from
+	 * the session pool options, which can be set for each database.
+	 * @param spannerOptions the options of the services.
+	 * @param sessionPoolOptions the function giving the session pool options of each
+	 * database, or {@code null} if a database uses those of the given options.
+	 * @return the factory.
+	 */
+	public static Function<DatabaseId, Spanner> spannerFactory(SpannerOptions spannerOptions,
+			Function<DatabaseId, SessionPoolOptions> sessionPoolOptions) {
+		return (databaseId) -> {
+			SessionPoolOptions databaseSessionPoolOptions = sessionPoolOptions.apply(databaseId);
+			return (databaseSessionPoolOptions != null)
+					? spannerOptions.toBuilder().setSessionPoolOption(databaseSessionPoolOptions).build().getService()
+					: spannerOptions.toBuilder().build().getService();
+		};
+	}
+
+	@Override
+	public DatabaseClient get() {
+		return getCachedClient().client;
+	}
+
+	/**
+	 * Get a supplier of the batch clients of the databases given by the database ID
+	 * provider. The batch client of a database belongs to the same cached service as its
+	 * database client, and is evicted along with it.
+	 * @return the supplier of batch clients.
+	 */
+	public Supplier<BatchClient> batchClientProvider() {
+		return () -> getCachedClient().getBatchClient();
+	}
+
+	private CachedClient getCachedClient() {
+		DatabaseId databaseId = this.databaseIdProvider.get();
+		CachedClient cachedClient = this.clients.get(databaseId);
+		if (cachedClient == null) {
+			cachedClient = createClient(databaseId);
+		}
+		long now = this.ticker.getAsLong();
+		cachedClient.lastAccessNanos = now;
+		if (now - this.nextIdleScanNanos >= 0) {
+			evictIdle();
+		}
+		return cachedClient;
+	}
+
+	/**
+	 * Get the number of cached clients.
+	 * @return the number of clients.
+	 */
+	public int size() {
+		return this.clients.size();
+	}
+
+	/**
+	 * Evict the clients that have not been used for longer than the maximum idle time.
+	 */
+	public synchronized void evictIdle() {
+		long now = this.ticker.getAsLong();
+		List<CachedClient> evicted = new ArrayList<>();
+		Iterator<CachedClient> iterator = this.clients.values().iterator();
+		while (iterator.hasNext()) {
+			CachedClient cachedClient = iterator.next();
+			if (now - cachedClient.lastAccessNanos > this.maxIdleNanos) {
+				iterator.remove();
+				evicted.add(cachedClient);
+			}
+		}
+		this.nextIdleScanNanos = now + Math.max(this.maxIdleNanos / 2, 1);
+		evicted.forEach(this::closeInBackground);
+	}
+
+	/**
+	 * Close the services of all cached clients.
+	 */
+	@Override
+	public synchronized void close() {
+		this.closed = true;
+		this.clients.values().forEach((cachedClient) -> cachedClient.spanner.close());
+		this.clients.clear();
+	}
+
+	private synchronized CachedClient createClient(DatabaseId databaseId) {
+		Assert.state(!this.closed, "The database client cache is closed.");
+		CachedClient cachedClient = this.clients.get(databaseId);
+		if (cachedClient != null) {
+			return cachedClient;
+		}
+		while (this.clients.size() >= this.maxSize) {
+			evictLeastRecentlyUsed();
+		}
+		Spanner spanner = this.spannerFactory.apply(databaseId);
+		cachedClient = new CachedClient(spanner, databaseId, spanner.getDatabaseClient(databaseId),
+				this.ticker.getAsLong());
+		this.clients.put(databaseId, cachedClient);
+		return cachedClient;
+	}
+
+	private void evictLeastRecentlyUsed() {
+		Map.Entry<DatabaseId, CachedClient> leastRecentlyUsed = null;
+		for (Map.Entry<DatabaseId, CachedClient> entry : this.clients.entrySet()) {
+			if (leastRecentlyUsed == null
+					|| entry.getValue().lastAccessNanos - leastRecentlyUsed.getValue().lastAccessNanos < 0) {
+				leastRecentlyUsed = entry;
+			}
+		}
+		this.clients.remove(leastRecentlyUsed.getKey());
+		closeInBackground(leastRecentlyUsed.getValue());
+	}
+
+	private void closeInBackground(CachedClient cachedClient) {
+		this.closeExecutor.execute(cachedClient.spanner::close);
+	}
+
+	/**
+	 * A database client and the service it belongs to.
+	 */
+	private static final class CachedClient {
+
+		private final Spanner spanner;
+
+		private final DatabaseId databaseId;
+
+		private final DatabaseClient client;
+
+		private volatile BatchClient batchClient;
+
+		private volatile long lastAccessNanos;
+
+		CachedClient(Spanner spanner, DatabaseId databaseId, DatabaseClient client, long lastAccessNanos) {
+			this.spanner = spanner;
+			this.databaseId = databaseId;
+			this.client = client;
+			this.lastAccessNanos = lastAccessNanos;
+		}
+
+		BatchClient getBatchClient() {
+			if (this.batchClient == null) {
+				this.batchClient = this.spanner.getBatchClient(this.databaseId);
+			}
+			return this.batchClient;
+		}
+	}
+}
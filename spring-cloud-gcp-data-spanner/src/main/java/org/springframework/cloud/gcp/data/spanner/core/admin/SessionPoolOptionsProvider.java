@@ -0,0 +1,35 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.cloud.gcp.data.spanner.core.admin;
+
+import java.util.function.Function;
+
+import com.google.cloud.spanner.DatabaseId;
+import com.google.cloud.spanner.SessionPoolOptions;
+
+/**
+ * A provider of the {@code SessionPoolOptions} of each Cloud Spanner database, used to size
+ * the session pools of the clients of a {@link DatabaseClientCache} separately. It returns
+ * {@code null} for databases that use the default session pool options.
+ *
+ * @author agent (agent@local)
+ *
+ * @since 1.2.9
+ */
+public interface SessionPoolOptionsProvider extends Function<DatabaseId, SessionPoolOptions> {
+}
@@ -48,6 +48,8 @@ class ConverterAwareMappingSpannerEntityReader implements SpannerEntityReader {
 
 	private SpannerReadConverter converter;
 
+	private final StructColumnIndexCache columnIndexCache = new StructColumnIndexCache();
+
 	ConverterAwareMappingSpannerEntityReader(SpannerMappingContext spannerMappingContext,
 			SpannerReadConverter spannerReadConverter) {
 		this.spannerMappingContext = spannerMappingContext;
@@ -67,15 +69,20 @@ class ConverterAwareMappingSpannerEntityReader implements SpannerEntityReader {
 	 * @param <R> the type of the POJO.
 	 * @return the POJO
 	 */
-	@SuppressWarnings("unchecked")
 	public <R> R read(Class<R> type, Struct source, Set<String> includeColumns,
 			boolean allowMissingColumns) {
+		StructAccessor structAccessor = new StructAccessor(source,
+				this.columnIndexCache.getColumnIndexes(source.getType()));
+		return read(type, source, structAccessor, includeColumns, allowMissingColumns);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <R> R read(Class<R> type, Struct source, StructAccessor structAccessor,
+			Set<String> includeColumns, boolean allowMissingColumns) {
 		boolean readAllColumns = includeColumns == null;
 		SpannerPersistentEntity<R> persistentEntity =
 				(SpannerPersistentEntity<R>) this.spannerMappingContext.getPersistentEntity(type);
 
-		StructAccessor structAccessor = new StructAccessor(source);
-
 		StructPropertyValueProvider propertyValueProvider = new StructPropertyValueProvider(
 				structAccessor,
 				this.converter,
@@ -97,7 +104,7 @@ class ConverterAwareMappingSpannerEntityReader implements SpannerEntityReader {
 				(PropertyHandler<SpannerPersistentProperty>) (spannerPersistentProperty) -> {
 					if (spannerPersistentProperty.isEmbedded()) {
 						accessor.setProperty(spannerPersistentProperty,
-								read(spannerPersistentProperty.getType(), source,
+								read(spannerPersistentProperty.getType(), source, structAccessor,
 										includeColumns, allowMissingColumns));
 					}
 					else {
@@ -17,10 +17,10 @@
 package org.springframework.cloud.gcp.data.spanner.core.convert;
 
 import java.math.BigDecimal;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.function.BiFunction;
 
 import com.google.cloud.ByteArray;
@@ -59,6 +59,19 @@ public class StructAccessor {
 				.put(Struct.class, AbstractStructReader::getStructList)
 				.build();
 
+	static final Map<Class, BiFunction<Struct, Integer, List>> readIterableMappingIntCol =
+			new MapBuilder<Class, BiFunction<Struct, Integer, List>>()
+				.put(Boolean.class, AbstractStructReader::getBooleanList)
+				.put(Long.class, AbstractStructReader::getLongList)
+				.put(String.class, AbstractStructReader::getStringList)
+				.put(Double.class, AbstractStructReader::getDoubleList)
+				.put(Timestamp.class, AbstractStructReader::getTimestampList)
+				.put(Date.class, AbstractStructReader::getDateList)
+				.put(ByteArray.class, AbstractStructReader::getBytesList)
+				.put(BigDecimal.class, AbstractStructReader::getBigDecimalList)
+				.put(Struct.class, AbstractStructReader::getStructList)
+				.build();
+
 	static final Map<Class, BiFunction<Struct, String, ?>> singleItemReadMethodMapping =
 			new MapBuilder<Class, BiFunction<Struct, String, ?>>()
 				.put(Boolean.class, AbstractStructReader::getBoolean)
@@ -104,25 +117,33 @@ public class StructAccessor {
 
 	// @formatter:on
 
-	private Struct struct;
+	/**
+	 * Marks a column name that appears more than once in a struct type. Such columns can only
+	 * be resolved by the struct itself, which reports the ambiguity.
+	 */
+	private static final Integer AMBIGUOUS_COLUMN = -1;
+
+	private final Struct struct;
 
-	private Set<String> columnNamesIndex;
+	private Map<String, Integer> columnIndexes;
 
 	public StructAccessor(Struct struct) {
+		this(struct, null);
+	}
+
+	/**
+	 * Constructor.
+	 * @param struct the struct to read from.
+	 * @param columnIndexes the column name to ordinal index of the struct's type, as built by
+	 * {@link #indexColumns(Type)}. If null, then the index is built on first use.
+	 */
+	StructAccessor(Struct struct, Map<String, Integer> columnIndexes) {
 		this.struct = struct;
-		this.columnNamesIndex = indexColumnNames();
+		this.columnIndexes = columnIndexes;
 	}
 
 	Object getSingleValue(String colName) {
-		Type colType = this.struct.getColumnType(colName);
-		Class sourceType = getSingleItemTypeCode(colType);
-		BiFunction readFunction = singleItemReadMethodMapping.get(sourceType);
-		if (readFunction == null) {
-			// This case should only occur if the POJO field is non-Iterable, but the column type
-			// is ARRAY of STRUCT, TIMESTAMP, DATE, BYTES, or STRING. This use-case is not supported.
-			return null;
-		}
-		return readFunction.apply(this.struct, colName);
+		return getSingleValue(getColumnIndex(colName));
 	}
 
 	public Object getSingleValue(int colIndex) {
@@ -140,29 +161,55 @@ public class StructAccessor {
 	}
 
 	List getListValue(String colName) {
-		if (this.struct.getColumnType(colName).getCode() != Code.ARRAY) {
+		int colIndex = getColumnIndex(colName);
+		Type colType = this.struct.getColumnType(colIndex);
+		if (colType.getCode() != Code.ARRAY) {
 			throw new SpannerDataException("Column is not an ARRAY type: " + colName);
 		}
-		Type.Code innerTypeCode = this.struct.getColumnType(colName).getArrayElementType().getCode();
+		Type.Code innerTypeCode = colType.getArrayElementType().getCode();
 		Class clazz = SpannerTypeMapper.getSimpleJavaClassFor(innerTypeCode);
-		BiFunction<Struct, String, List> readMethod = readIterableMapping.get(clazz);
-		return readMethod.apply(this.struct, colName);
+		BiFunction<Struct, Integer, List> readMethod = readIterableMappingIntCol.get(clazz);
+		return readMethod.apply(this.struct, colIndex);
 	}
 
 	boolean hasColumn(String columnName) {
-		return this.columnNamesIndex.contains(columnName);
+		return getColumnIndexes().containsKey(columnName);
 	}
 
 	boolean isNull(String columnName) {
-		return this.struct.isNull(columnName);
+		return this.struct.isNull(getColumnIndex(columnName));
+	}
+
+	private int getColumnIndex(String columnName) {
+		Integer index = getColumnIndexes().get(columnName);
+		// unknown and duplicated columns are delegated to the struct so that it throws the
+		// same exceptions as a by-name lookup would.
+		return (index == null || index.equals(AMBIGUOUS_COLUMN))
+				? this.struct.getColumnIndex(columnName)
+				: index;
+	}
+
+	private Map<String, Integer> getColumnIndexes() {
+		if (this.columnIndexes == null) {
+			this.columnIndexes = indexColumns(this.struct.getType());
+		}
+		return this.columnIndexes;
 	}
 
-	private Set<String> indexColumnNames() {
-		Set<String> cols = new HashSet<>();
-		for (Type.StructField f : this.struct.getType().getStructFields()) {
-			cols.add(f.getName());
+	/**
+	 * Builds the column name to ordinal index for a struct type. The result only depends on
+	 * the type, so it can be shared by all rows of a result set.
+	 * @param structType the type of the struct.
+	 * @return an unmodifiable map of column names to their ordinal positions.
+	 */
+	static Map<String, Integer> indexColumns(Type structType) {
+		List<Type.StructField> fields = structType.getStructFields();
+		Map<String, Integer> cols = new HashMap<>();
+		for (int i = 0; i < fields.size(); i++) {
+			String name = fields.get(i).getName();
+			cols.put(name, cols.containsKey(name) ? AMBIGUOUS_COLUMN : i);
 		}
-		return cols;
+		return Collections.unmodifiableMap(cols);
 	}
 
 	private Class getSingleItemTypeCode(Type colType) {
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.data.spanner.core.convert;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.cloud.spanner.Type;
+
+/**
+ * A cache of column name to ordinal indexes per Cloud Spanner struct type. All rows of a
+ * result set share one struct type, so the index is computed once per result-set shape
+ * instead of once per row.
+ *
+ * @author agent (agent@local)
+ *
+ * @since 1.2.9
+ */
+class StructColumnIndexCache {
+
+	/**
+	 * The maximum number of distinct struct types retained before the cache is reset.
+	 */
+	static final int MAX_CACHED_TYPES = 1024;
+
+	private final Map<Type, Map<String, Integer>> columnIndexes = new ConcurrentHashMap<>();
+
+	private volatile CachedIndex lastIndex;
+
+	/**
+	 * Gets the column name to ordinal index for the given struct type.
+	 * @param structType the type of the struct to be read.
+	 * @return the column index of the type.
+	 */
+	Map<String, Integer> getColumnIndexes(Type structType) {
+		// Rows of the same result set share the same Type instance, so an identity check
+		// avoids hashing the whole struct type for every row.
+		CachedIndex cached = this.lastIndex;
+		if (cached != null && cached.structType == structType) {
+			return cached.columnIndexes;
+		}
+		if (this.columnIndexes.size() >= MAX_CACHED_TYPES) {
+			this.columnIndexes.clear();
+		}
+		Map<String, Integer> indexes = this.columnIndexes.computeIfAbsent(structType,
+				StructAccessor::indexColumns);
+		this.lastIndex = new CachedIndex(structType, indexes);
+		return indexes;
+	}
+
+	private static final class CachedIndex {
+
+		private final Type structType;
+
+		private final Map<String, Integer> columnIndexes;
+
+		CachedIndex(Type structType, Map<String, Integer> columnIndexes) {
+			this.structType = structType;
+			this.columnIndexes = columnIndexes;
+		}
+	}
+}
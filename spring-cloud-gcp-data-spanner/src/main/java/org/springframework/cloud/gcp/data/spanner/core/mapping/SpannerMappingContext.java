@@ -18,6 +18,8 @@ package org.springframework.cloud.gcp.data.spanner.core.mapping;
 
 
 import org.springframework.beans.BeansException;
+import org.springframework.cloud.gcp.data.spanner.core.convert.ConverterAwareMappingSpannerEntityProcessor;
+import org.springframework.cloud.gcp.data.spanner.core.convert.SpannerEntityProcessor;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.data.mapping.context.AbstractMappingContext;
@@ -47,6 +49,8 @@ public class SpannerMappingContext extends
 
 	private ApplicationContext applicationContext;
 
+	private SpannerEntityProcessor spannerEntityProcessor;
+
 	public SpannerMappingContext() {
 
 	}
@@ -78,9 +82,29 @@ public class SpannerMappingContext extends
 		return persistentEntity;
 	}
 
+	/**
+	 * Constructs a persistent entity that resolves its embedded, interleaved, and key
+	 * property types through this mapping context, so that every type is only inspected
+	 * once and shares the generated property accessors and instantiators of this context.
+	 * @param typeInformation type information about the entity type.
+	 * @param <T> the entity type.
+	 * @return the persistent entity.
+	 */
 	protected <T> SpannerPersistentEntityImpl<T> constructPersistentEntity(
 			TypeInformation<T> typeInformation) {
-		return new SpannerPersistentEntityImpl<>(typeInformation);
+		return new SpannerPersistentEntityImpl<>(typeInformation, this, getSpannerEntityProcessor());
+	}
+
+	/**
+	 * Gets the entity processor shared by the persistent entities of this context to
+	 * convert key parts.
+	 * @return the entity processor.
+	 */
+	private SpannerEntityProcessor getSpannerEntityProcessor() {
+		if (this.spannerEntityProcessor == null) {
+			this.spannerEntityProcessor = new ConverterAwareMappingSpannerEntityProcessor(this);
+		}
+		return this.spannerEntityProcessor;
 	}
 
 	@Override
@@ -16,9 +16,15 @@
 
 package org.springframework.cloud.gcp.data.spanner.repository;
 
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import org.springframework.cloud.gcp.data.spanner.core.SpannerKeysetSlice;
 import org.springframework.cloud.gcp.data.spanner.core.SpannerOperations;
+import org.springframework.cloud.gcp.data.spanner.core.SpannerPartitionOptions;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.repository.PagingAndSortingRepository;
 
 /**
@@ -58,4 +64,41 @@ public interface SpannerRepository<T, ID> extends PagingAndSortingRepository<T,
 	 * @return the final result of the transaction.
 	 */
 	<A> A performReadOnlyTransaction(Function<SpannerRepository<T, ID>, A> operations);
+
+	/**
+	 * Reads a page of entities by keyset pagination. Each page starts right after the last
+	 * entity of the previous page instead of skipping an offset, so deep pages are as cheap
+	 * to read as the first one.
+	 * @param sort the sort order, completed with the primary key. It may only refer to
+	 * properties stored in a single column.
+	 * @param pageSize the maximum number of entities in the page.
+	 * @param continuationToken the token of the previous page, or {@code null} to read the
+	 * first page.
+	 * @return the page of entities and the token to read the next page.
+	 */
+	default SpannerKeysetSlice<T> findAll(Sort sort, int pageSize, String continuationToken) {
+		throw new UnsupportedOperationException("Keyset pagination is not supported by " + getClass().getName());
+	}
+
+	/**
+	 * Reads all entities by reading partitions of the table concurrently at a single
+	 * timestamp. The returned stream must be closed if it is not read to its end. By default
+	 * the entities are read by {@link #findAll()}.
+	 * @param options the partitioning options.
+	 * @return a stream of all entities, in no particular order.
+	 */
+	default Stream<T> findAllPartitioned(SpannerPartitionOptions options) {
+		return StreamSupport.stream(findAll().spliterator(), false);
+	}
+
+	/**
+	 * Reads all entities by reading partitions of the table concurrently at a single
+	 * timestamp, and passes the entities of each partition to a consumer.
+	 * @param options the partitioning options.
+	 * @param partitionConsumer the consumer of the entities of each partition. It is called
+	 * concurrently from several threads. By default all entities are passed to it at once.
+	 */
+	default void findAllPartitioned(SpannerPartitionOptions options, Consumer<Stream<T>> partitionConsumer) {
+		partitionConsumer.accept(findAllPartitioned(options));
+	}
 }
@@ -52,6 +52,19 @@ public class PartTreeSpannerQuery<T> extends AbstractSpannerQuery<T> {
 		this.tree = new PartTree(queryMethod.getName(), type);
 	}
 
+	@Override
+	public Object execute(Object[] parameters) {
+		if (getQueryMethod().isSliceQuery() && !isCountOrExistsQuery() && !this.tree.isDelete()) {
+			ParameterAccessor paramAccessor = new ParametersParameterAccessor(getQueryMethod().getParameters(),
+					parameters);
+			return SpannerStatementQueryExecutor.executeSliceQuery(this.entityType, this.tree,
+					paramAccessor, getQueryMethod().getMethod().getParameters(), this.spannerTemplate,
+					this.spannerMappingContext, getQueryMethod().getProjectedProperties())
+					.map(this::processRawObjectForProjection);
+		}
+		return super.execute(parameters);
+	}
+
 	@Override
 	protected List executeRawResult(Object[] parameters) {
 		ParameterAccessor paramAccessor = new ParametersParameterAccessor(getQueryMethod().getParameters(),
@@ -69,7 +82,7 @@ public class PartTreeSpannerQuery<T> extends AbstractSpannerQuery<T> {
 		}
 		return SpannerStatementQueryExecutor.executeQuery(this.entityType, this.tree,
 				paramAccessor, getQueryMethod().getMethod().getParameters(), this.spannerTemplate,
-				this.spannerMappingContext);
+				this.spannerMappingContext, getQueryMethod().getProjectedProperties());
 	}
 
 	private Function<SpannerTemplate, List> getDeleteFunction(Object[] parameters) {
@@ -58,4 +58,16 @@ public @interface Query {
 	 */
 	boolean dmlStatement() default false;
 
+	/**
+	 * The maximum number of DML statements sent to Cloud Spanner in one round trip. If
+	 * positive, the annotated DML Query Method takes a single collection of parameter sets
+	 * and executes the statement once for each of them in batches of this size, all in a
+	 * single transaction. A parameter set is either a {@link java.util.Map} from tag names
+	 * to values or an object whose properties are named after the tags.
+	 * @return the batch size, or {@code 0} if the DML statement is executed once with the
+	 * parameters of the Query Method.
+	 * @since 1.2.9
+	 */
+	int batchSize() default 0;
+
 }
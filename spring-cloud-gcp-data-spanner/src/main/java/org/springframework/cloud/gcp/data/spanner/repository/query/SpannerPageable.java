@@ -0,0 +1,58 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.data.spanner.repository.query;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * A pageable implementation for Cloud Spanner that uses the keyset continuation token of
+ * the previous page for efficient reads.
+ *
+ * @author agent (agent@local)
+ *
+ * @since 1.2.9
+ */
+public final class SpannerPageable extends PageRequest {
+
+	private final String continuationToken;
+
+	private SpannerPageable(Pageable pageable, String continuationToken) {
+		super(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+		this.continuationToken = continuationToken;
+	}
+
+	public static Pageable from(Pageable pageable, String continuationToken) {
+		if (pageable.isUnpaged()) {
+			return pageable;
+		}
+		return new SpannerPageable(pageable, continuationToken);
+	}
+
+	/**
+	 * Get the opaque token of the position after which the page following this one starts.
+	 * @return the continuation token, or {@code null} if it is not known.
+	 */
+	public String getContinuationToken() {
+		return this.continuationToken;
+	}
+
+	@Override
+	public Pageable next() {
+		return from(super.next(), this.continuationToken);
+	}
+}
@@ -17,7 +17,11 @@
 package org.springframework.cloud.gcp.data.spanner.repository.query;
 
 import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerPersistentEntity;
 import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerPersistentProperty;
@@ -27,6 +31,7 @@ import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.data.repository.core.RepositoryMetadata;
 import org.springframework.data.repository.query.QueryMethod;
+import org.springframework.data.repository.query.ReturnedType;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
@@ -92,6 +97,22 @@ public class SpannerQueryMethod extends QueryMethod {
 		return this.method;
 	}
 
+	/**
+	 * Get the properties of the domain type read by the projection this method returns.
+	 * @return the names of the properties read by a closed interface or DTO projection, or
+	 * an empty set if the method returns entities or an open projection that may read any
+	 * property.
+	 */
+	public Set<String> getProjectedProperties() {
+		ReturnedType returnedType = getResultProcessor().getReturnedType();
+		if (!returnedType.isProjecting()) {
+			return Collections.emptySet();
+		}
+		List<String> inputProperties = returnedType.getInputProperties();
+		return inputProperties.isEmpty() ? Collections.emptySet()
+				: Collections.unmodifiableSet(new LinkedHashSet<>(inputProperties));
+	}
+
 	/**
 	 * Returns the {@link Query} annotation that is applied to the method or {@code null}
 	 * if none available.
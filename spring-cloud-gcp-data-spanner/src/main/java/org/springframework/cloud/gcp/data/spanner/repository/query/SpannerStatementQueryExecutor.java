@@ -17,12 +17,13 @@
 package org.springframework.cloud.gcp.data.spanner.repository.query;
 
 import java.lang.reflect.Parameter;
-import java.lang.reflect.ParameterizedType;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.StringJoiner;
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -33,9 +34,12 @@ import com.google.cloud.spanner.Key;
 import com.google.cloud.spanner.KeySet;
 import com.google.cloud.spanner.Statement;
 import com.google.cloud.spanner.Struct;
+import com.google.cloud.spanner.Value;
 import com.google.cloud.spanner.ValueBinder;
 
+import org.springframework.cloud.gcp.data.spanner.core.SpannerKeysetSlice;
 import org.springframework.cloud.gcp.data.spanner.core.SpannerPageableQueryOptions;
+import org.springframework.cloud.gcp.data.spanner.core.SpannerQueryOptions;
 import org.springframework.cloud.gcp.data.spanner.core.SpannerTemplate;
 import org.springframework.cloud.gcp.data.spanner.core.convert.ConversionUtils;
 import org.springframework.cloud.gcp.data.spanner.core.convert.ConverterAwareMappingSpannerEntityWriter;
@@ -45,8 +49,13 @@ import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerMappingCon
 import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerPersistentEntity;
 import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerPersistentProperty;
 import org.springframework.cloud.gcp.data.spanner.core.mapping.Where;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PreferredConstructor;
 import org.springframework.data.repository.query.ParameterAccessor;
 import org.springframework.data.repository.query.parser.Part.IgnoreCaseType;
 import org.springframework.data.repository.query.parser.PartTree;
@@ -85,13 +94,180 @@ public final class SpannerStatementQueryExecutor {
 			Parameter[] queryMethodParamsMetadata,
 			SpannerTemplate spannerTemplate,
 			SpannerMappingContext spannerMappingContext) {
-		SqlStringAndPlaceholders sqlStringAndPlaceholders = buildPartTreeSqlString(tree, spannerMappingContext, type, parameterAccessor);
+		return executeQuery(type, tree, parameterAccessor, queryMethodParamsMetadata, spannerTemplate,
+				spannerMappingContext, null);
+	}
+
+	/**
+	 * Executes a PartTree-based query that only reads the columns of the given properties.
+	 * @param type the type of the underlying entity
+	 * @param tree the parsed metadata of the query
+	 * @param parameterAccessor the parameters of this specific query
+	 * @param queryMethodParamsMetadata parameter metadata from Query Method
+	 * @param spannerTemplate used to execute the query
+	 * @param spannerMappingContext used to get metadata about the entity type
+	 * @param projectedProperties the names of the properties to read. If {@code null} or
+	 *     empty then all columns are read.
+	 * @param <T> the type of the underlying entity
+	 * @return list of entities with only the projected properties and the properties
+	 *     required to create them set.
+	 * @see #getProjectedColumns
+	 */
+	public static <T> List<T> executeQuery(Class<T> type, PartTree tree, ParameterAccessor parameterAccessor,
+			Parameter[] queryMethodParamsMetadata,
+			SpannerTemplate spannerTemplate,
+			SpannerMappingContext spannerMappingContext, Set<String> projectedProperties) {
+		Set<String> projectedColumns = getProjectedColumns(spannerMappingContext.getPersistentEntity(type),
+				spannerMappingContext, projectedProperties);
+		SqlStringAndPlaceholders sqlStringAndPlaceholders = buildPartTreeSqlString(tree, spannerMappingContext,
+				type, parameterAccessor, projectedColumns);
 		Map<String, Parameter> paramMetadataMap = preparePartTreeSqlTagParameterMap(queryMethodParamsMetadata,
 				sqlStringAndPlaceholders);
 		Object[] params = StreamSupport.stream(parameterAccessor.spliterator(), false).toArray();
 		return spannerTemplate.query(type, buildStatementFromSqlWithArgs(
 				sqlStringAndPlaceholders.getSql(), sqlStringAndPlaceholders.getPlaceholders(), null,
-				spannerTemplate.getSpannerEntityProcessor().getWriteConverter(), params, paramMetadataMap), null);
+				spannerTemplate.getSpannerEntityProcessor().getWriteConverter(), params, paramMetadataMap),
+				(projectedColumns != null) ? new SpannerQueryOptions().setIncludeProperties(projectedColumns) : null);
+	}
+
+	/**
+	 * Executes a PartTree-based query that reads a slice of the entities. The first slice and
+	 * the slices following a slice read by this method are read by keyset pagination, after
+	 * the continuation token carried by the {@link SpannerPageable} of the previous slice.
+	 * Slices requested by a page number past the first page without such a token are read
+	 * with an offset. The sort order is completed with the primary key columns.
+	 * @param type the type of the underlying entity
+	 * @param tree the parsed metadata of the query
+	 * @param parameterAccessor the parameters of this specific query
+	 * @param queryMethodParamsMetadata parameter metadata from Query Method
+	 * @param spannerTemplate used to execute the query
+	 * @param spannerMappingContext used to get metadata about the entity type
+	 * @param projectedProperties the names of the properties to read. If {@code null} or
+	 *     empty then all columns are read.
+	 * @param <T> the type of the underlying entity
+	 * @return the slice of entities, whose pageable carries the token to read the next one.
+	 */
+	public static <T> Slice<T> executeSliceQuery(Class<T> type, PartTree tree, ParameterAccessor parameterAccessor,
+			Parameter[] queryMethodParamsMetadata,
+			SpannerTemplate spannerTemplate,
+			SpannerMappingContext spannerMappingContext, Set<String> projectedProperties) {
+		SpannerPersistentEntity<?> persistentEntity = spannerMappingContext.getPersistentEntity(type);
+		Pageable pageable = parameterAccessor.getPageable();
+		Sort sort = parameterAccessor.getSort().isSorted() ? parameterAccessor.getSort() : tree.getSort();
+		Set<String> projectedColumns = getProjectedColumns(persistentEntity, spannerMappingContext,
+				projectedProperties);
+		if (projectedColumns != null) {
+			// the outer query sorts by these columns, so the inner one must select them
+			sort.forEach((order) -> {
+				SpannerPersistentProperty property = persistentEntity.getPersistentProperty(order.getProperty());
+				if (property != null) {
+					addColumns(property, projectedColumns, spannerMappingContext);
+				}
+			});
+			persistentEntity.getFlattenedPrimaryKeyProperties()
+					.forEach((keyProperty) -> projectedColumns.add(keyProperty.getColumnName()));
+		}
+		SqlStringAndPlaceholders sqlStringAndPlaceholders = buildPartTreeSqlString(tree, spannerMappingContext,
+				type, parameterAccessor, projectedColumns, false);
+		Map<String, Parameter> paramMetadataMap = preparePartTreeSqlTagParameterMap(queryMethodParamsMetadata,
+				sqlStringAndPlaceholders);
+		Object[] params = StreamSupport.stream(parameterAccessor.spliterator(), false).toArray();
+		Statement statement = buildStatementFromSqlWithArgs(
+				sqlStringAndPlaceholders.getSql(), sqlStringAndPlaceholders.getPlaceholders(), null,
+				spannerTemplate.getSpannerEntityProcessor().getWriteConverter(), params, paramMetadataMap);
+
+		String continuationToken = (pageable instanceof SpannerPageable)
+				? ((SpannerPageable) pageable).getContinuationToken()
+				: null;
+		if (pageable.isUnpaged() || (continuationToken == null && pageable.getOffset() > 0)) {
+			return executeSliceQueryWithOffset(type, statement, pageable, sort, spannerTemplate,
+					spannerMappingContext, projectedColumns);
+		}
+		SpannerKeysetSlice<T> keysetSlice = spannerTemplate.queryByKeyset(type, statement,
+				new SpannerPageableQueryOptions().setLimit(pageable.getPageSize()).setSort(sort)
+						.setIncludeProperties(projectedColumns),
+				continuationToken);
+		return new SliceImpl<>(keysetSlice.getContent(),
+				SpannerPageable.from(pageable, keysetSlice.getContinuationToken()), keysetSlice.hasNext());
+	}
+
+	private static <T> Slice<T> executeSliceQueryWithOffset(Class<T> type, Statement statement, Pageable pageable,
+			Sort sort, SpannerTemplate spannerTemplate, SpannerMappingContext spannerMappingContext,
+			Set<String> projectedColumns) {
+		SpannerPersistentEntity<?> persistentEntity = spannerMappingContext.getPersistentEntity(type);
+		// the same order as keyset pagination, so that the following slices continue it
+		List<Sort.Order> keyOrders = persistentEntity.getFlattenedPrimaryKeyProperties().stream()
+				.map((keyProperty) -> Sort.Order.asc(keyProperty.getColumnName())).collect(Collectors.toList());
+		SpannerPageableQueryOptions options = new SpannerPageableQueryOptions()
+				.setSort(sort.and(Sort.by(keyOrders)))
+				.setIncludeProperties(projectedColumns);
+		if (pageable.isPaged()) {
+			// One more row than the page size is read to know if there is a next slice.
+			options.setLimit(pageable.getPageSize() + 1).setOffset(pageable.getOffset());
+		}
+		Statement.Builder builder = Statement.newBuilder(applySortingPagingQueryOptions(type, options,
+				statement.getSql(), spannerMappingContext, false));
+		statement.getParameters().forEach((name, value) -> builder.bind(name).to(value));
+		List<T> entities = spannerTemplate.query(type, builder.build(), options);
+		if (pageable.isUnpaged()) {
+			return new SliceImpl<>(entities);
+		}
+		boolean hasNext = entities.size() > pageable.getPageSize();
+		return new SliceImpl<>(hasNext ? entities.subList(0, pageable.getPageSize()) : entities, pageable, hasNext);
+	}
+
+	/**
+	 * Gets the columns that must be read to project an entity to the given properties. These
+	 * are the columns of the properties themselves, of the properties set by the constructor
+	 * of the entity, and of the primary key if an interleaved property is projected, because
+	 * the key is needed to fetch its children.
+	 * @param persistentEntity the persistent entity being projected.
+	 * @param mappingContext the mapping context used to get the columns of embedded properties.
+	 * @param projectedProperties the names of the properties of the projection.
+	 * @return the names of the columns and of the interleaved properties to read, or
+	 *     {@code null} if all columns must be read because there are no projected
+	 *     properties or one of them is not a persistent property.
+	 */
+	public static Set<String> getProjectedColumns(SpannerPersistentEntity<?> persistentEntity,
+			SpannerMappingContext mappingContext, Set<String> projectedProperties) {
+		if (projectedProperties == null || projectedProperties.isEmpty()) {
+			return null;
+		}
+		Set<String> columns = new HashSet<>();
+		boolean projectsInterleaved = false;
+		for (String propertyName : projectedProperties) {
+			SpannerPersistentProperty property = persistentEntity.getPersistentProperty(propertyName);
+			if (property == null) {
+				return null;
+			}
+			projectsInterleaved |= property.isInterleaved();
+			addColumns(property, columns, mappingContext);
+		}
+		PreferredConstructor<?, SpannerPersistentProperty> constructor = persistentEntity.getPersistenceConstructor();
+		if (constructor != null) {
+			for (PreferredConstructor.Parameter<Object, SpannerPersistentProperty> parameter : constructor
+					.getParameters()) {
+				SpannerPersistentProperty property = persistentEntity.getPersistentProperty(parameter.getName());
+				if (property != null) {
+					addColumns(property, columns, mappingContext);
+				}
+			}
+		}
+		if (projectsInterleaved) {
+			persistentEntity.getFlattenedPrimaryKeyProperties()
+					.forEach((keyProperty) -> columns.add(keyProperty.getColumnName()));
+		}
+		return columns;
+	}
+
+	private static void addColumns(SpannerPersistentProperty property, Set<String> columns,
+			SpannerMappingContext mappingContext) {
+		if (property.isEmbedded()) {
+			columns.addAll(mappingContext.getPersistentEntity(property.getType()).columns());
+		}
+		else {
+			columns.add(property.getColumnName());
+		}
 	}
 
 	private static Map<String, Parameter> preparePartTreeSqlTagParameterMap(Parameter[] paramsMetadata,
@@ -163,7 +339,9 @@ public final class SpannerStatementQueryExecutor {
 				&& options.getOffset() == null && !fetchInterleaved) {
 			return sql;
 		}
-		final String subquery = fetchInterleaved ? getChildrenSubquery(persistentEntity, mappingContext) : "";
+		final String subquery = fetchInterleaved
+				? getChildrenSubquery(persistentEntity, mappingContext, options.getIncludeProperties())
+				: "";
 		final String alias = subquery.isEmpty() ? "" : " " + persistentEntity.tableName();
 		StringBuilder sb = applySort(options.getSort(),
 				new StringBuilder("SELECT *").append(subquery)
@@ -203,10 +381,27 @@ public final class SpannerStatementQueryExecutor {
 	public static Statement getChildrenRowsQuery(Key parentKey,
 			SpannerPersistentProperty spannerPersistentProperty, SpannerCustomConverter writeConverter,
 			SpannerMappingContext mappingContext) {
+		return getChildrenRowsQuery(KeySet.singleKey(parentKey), spannerPersistentProperty, writeConverter,
+				mappingContext);
+	}
+
+	/**
+	 * Gets a {@link Statement} that returns the rows associated with several parent entities
+	 * at once. The children of all parents are returned by the same query.
+	 * @param parentKeys the parent keys whose children to get.
+	 * @param spannerPersistentProperty the property with interleaved list of child entries in the parent entity.
+	 * @param writeConverter a converter to convert key values as needed to bind to the query
+	 *     statement.
+	 * @param mappingContext mapping context
+	 * @return the Spanner statement to perform the retrieval.
+	 */
+	public static Statement getChildrenRowsQuery(KeySet parentKeys,
+			SpannerPersistentProperty spannerPersistentProperty, SpannerCustomConverter writeConverter,
+			SpannerMappingContext mappingContext) {
 		Class<?> childType = spannerPersistentProperty.getColumnInnerType();
 		SpannerPersistentEntity<?> persistentEntity = mappingContext.getPersistentEntity(childType);
 		String whereClause = getWhere(spannerPersistentProperty, persistentEntity);
-		return buildQuery(KeySet.singleKey(parentKey), persistentEntity, writeConverter, mappingContext, whereClause);
+		return buildQuery(parentKeys, persistentEntity, writeConverter, mappingContext, whereClause);
 	}
 
 	/**
@@ -270,8 +465,9 @@ public final class SpannerStatementQueryExecutor {
 		for (Key key : keySet.getKeys()) {
 			StringJoiner andJoiner = new StringJoiner(" AND ");
 			Iterator parentKeyParts = key.getParts().iterator();
+			int keyPartNum = 0;
 			while (parentKeyParts.hasNext()) {
-				SpannerPersistentProperty keyProp = keyProperties.get(tagNum % keyProperties.size());
+				SpannerPersistentProperty keyProp = keyProperties.get(keyPartNum++ % keyProperties.size());
 				String tagName = "tag" + tagNum;
 				andJoiner.add(keyProp.getColumnName() + " = @" + tagName);
 				tags.add(tagName);
@@ -342,6 +538,42 @@ public final class SpannerStatementQueryExecutor {
 	public static Statement buildStatementFromSqlWithArgs(String sql, List<String> tags,
 			Function<Object, Struct> paramStructConvertFunc, SpannerCustomConverter spannerCustomConverter,
 			Object[] params, Map<String, Parameter> queryMethodParams) {
+		ResolvableType[] paramTypes = null;
+		if (queryMethodParams != null && tags != null) {
+			paramTypes = new ResolvableType[tags.size()];
+			for (int i = 0; i < paramTypes.length; i++) {
+				Parameter param = queryMethodParams.get(tags.get(i));
+				paramTypes[i] = (param != null)
+						? ResolvableType.forMethodParameter(MethodParameter.forParameter(param))
+						: null;
+			}
+		}
+		return buildStatementFromSqlWithTypedArgs(sql, tags, paramStructConvertFunc, spannerCustomConverter,
+				params, paramTypes);
+	}
+
+	/**
+	 * Creates a Cloud Spanner statement whose params have declared types, so that
+	 * {@code null} params can be bound.
+	 * @param sql the SQL string with tags.
+	 * @param tags the tags that appear in the SQL string.
+	 * @param paramStructConvertFunc a function to use to convert params to {@link Struct}
+	 *     objects if they cannot be directly mapped to Cloud Spanner supported param types.
+	 *     If null then this last-attempt conversion is skipped.
+	 * @param spannerCustomConverter a converter used to convert params that aren't Cloud
+	 *     Spanner native types. if {@code null} then this conversion is not attempted.
+	 * @param params the parameters to substitute the tags. The ordering must be the same as
+	 *     the tags.
+	 * @param paramTypes the declared types of the params in the same order, or {@code null}
+	 *     if they are not known. Single types can also be {@code null}.
+	 * @return an SQL statement ready to use with Spanner.
+	 * @throws IllegalArgumentException if the number of tags does not match the number of
+	 *     params, or if a param of an unsupported type or a {@code null} param without a
+	 *     declared type is given.
+	 */
+	static Statement buildStatementFromSqlWithTypedArgs(String sql, List<String> tags,
+			Function<Object, Struct> paramStructConvertFunc, SpannerCustomConverter spannerCustomConverter,
+			Object[] params, ResolvableType[] paramTypes) {
 		if (tags == null && params == null) {
 			return Statement.of(sql);
 		}
@@ -352,7 +584,7 @@ public final class SpannerStatementQueryExecutor {
 		Statement.Builder builder = Statement.newBuilder(sql);
 		for (int i = 0; i < tags.size(); i++) {
 			bindParameter(builder.bind(tags.get(i)), paramStructConvertFunc, spannerCustomConverter,
-					params[i], queryMethodParams == null ? null : queryMethodParams.get(tags.get(i)));
+					params[i], paramTypes == null ? null : paramTypes[i]);
 		}
 		return builder.build();
 	}
@@ -360,16 +592,30 @@ public final class SpannerStatementQueryExecutor {
 	@SuppressWarnings("unchecked")
 	private static void bindParameter(ValueBinder<Statement.Builder> bind,
 			Function<Object, Struct> paramStructConvertFunc, SpannerCustomConverter spannerCustomConverter,
-			Object originalParam, Parameter paramMetadata) {
+			Object originalParam, ResolvableType paramType) {
 
-		// Gets the type of the bind parameter; if null then infer the type from the parameter metadata.
-		Class propType = originalParam != null ? originalParam.getClass() : paramMetadata.getType();
+		// Params that are already Cloud Spanner values carry their own type, even when null.
+		if (originalParam instanceof Value) {
+			bind.to((Value) originalParam);
+			return;
+		}
+
+		// Gets the type of the bind parameter; if null then infer the type from the declared type.
+		Class propType = originalParam != null ? originalParam.getClass()
+				: (paramType != null) ? paramType.resolve() : null;
+		if (propType == null) {
+			throw new IllegalArgumentException(
+					"The type of a null param cannot be determined without parameter metadata.");
+		}
 		if (ConversionUtils.isIterableNonByteArrayType(propType)) {
-			if (!ConverterAwareMappingSpannerEntityWriter.attemptSetIterableValueOnBinder((Iterable) originalParam,
-					bind, spannerCustomConverter, (Class) ((ParameterizedType) paramMetadata.getParameterizedType())
-							.getActualTypeArguments()[0])) {
+			Class innerType = (paramType != null)
+					? paramType.as(Iterable.class).resolveGeneric(0)
+					: getElementType((Iterable) originalParam);
+			if (innerType == null || !ConverterAwareMappingSpannerEntityWriter.attemptSetIterableValueOnBinder(
+					(Iterable) originalParam, bind, spannerCustomConverter, innerType)) {
 				throw new IllegalArgumentException(
-						"Could not convert to an ARRAY of compatible type: " + paramMetadata);
+						"Could not convert to an ARRAY of compatible type: "
+						+ ((paramType != null) ? paramType : originalParam));
 			}
 			return;
 		}
@@ -391,10 +637,40 @@ public final class SpannerStatementQueryExecutor {
 		}
 	}
 
+	private static Class<?> getElementType(Iterable<?> iterable) {
+		if (iterable != null) {
+			for (Object element : iterable) {
+				if (element != null) {
+					return element.getClass();
+				}
+			}
+		}
+		return null;
+	}
+
 	public static String getColumnsStringForSelect(SpannerPersistentEntity<?> spannerPersistentEntity,
 			SpannerMappingContext mappingContext, boolean fetchInterleaved) {
-		final String sql = String.join(", ", spannerPersistentEntity.columns());
-		return fetchInterleaved ? sql + getChildrenSubquery(spannerPersistentEntity, mappingContext) : sql;
+		return getColumnsStringForSelect(spannerPersistentEntity, mappingContext, fetchInterleaved, null);
+	}
+
+	/**
+	 * Gets the columns to select for an entity.
+	 * @param spannerPersistentEntity the persistent entity to select.
+	 * @param mappingContext the mapping context used to get the child entities.
+	 * @param fetchInterleaved when {@code true} eager interleaved properties are selected by
+	 *     {@code ARRAY} subqueries.
+	 * @param includeColumns the columns and interleaved properties to select, or {@code null}
+	 *     to select all of them.
+	 * @return the comma-separated columns and subqueries.
+	 */
+	public static String getColumnsStringForSelect(SpannerPersistentEntity<?> spannerPersistentEntity,
+			SpannerMappingContext mappingContext, boolean fetchInterleaved, Set<String> includeColumns) {
+		final String sql = (includeColumns != null)
+				? spannerPersistentEntity.columns().stream().filter(includeColumns::contains)
+						.collect(Collectors.joining(", "))
+				: String.join(", ", spannerPersistentEntity.columns());
+		return fetchInterleaved ? sql + getChildrenSubquery(spannerPersistentEntity, mappingContext, includeColumns)
+				: sql;
 	}
 
 	/**
@@ -409,11 +685,12 @@ public final class SpannerStatementQueryExecutor {
 				?  spannerPersistentProperty.getWhere() : childPersistentEntity.getWhere();
 	}
 
-	private static String getChildrenSubquery(
-			SpannerPersistentEntity<?> spannerPersistentEntity, SpannerMappingContext mappingContext) {
+	private static String getChildrenSubquery(SpannerPersistentEntity<?> spannerPersistentEntity,
+			SpannerMappingContext mappingContext, Set<String> includeColumns) {
 		StringJoiner joiner = new StringJoiner(", ", ", ", "").setEmptyValue("");
 		spannerPersistentEntity.doWithInterleavedProperties(spannerPersistentProperty -> {
-			if (spannerPersistentProperty.isEagerInterleaved()) {
+			if (spannerPersistentProperty.isEagerInterleaved() && (includeColumns == null
+					|| includeColumns.contains(spannerPersistentProperty.getColumnName()))) {
 				Class<?> childType = spannerPersistentProperty.getColumnInnerType();
 				SpannerPersistentEntity<?> childPersistentEntity = mappingContext.getPersistentEntity(childType);
 				joiner.add(getChildrenStructsQuery(
@@ -427,17 +704,32 @@ public final class SpannerStatementQueryExecutor {
 
 	private static SqlStringAndPlaceholders buildPartTreeSqlString(PartTree tree,
 			SpannerMappingContext spannerMappingContext, Class type, ParameterAccessor params) {
+		return buildPartTreeSqlString(tree, spannerMappingContext, type, params, null);
+	}
+
+	private static SqlStringAndPlaceholders buildPartTreeSqlString(PartTree tree,
+			SpannerMappingContext spannerMappingContext, Class type, ParameterAccessor params,
+			Set<String> includeColumns) {
+		return buildPartTreeSqlString(tree, spannerMappingContext, type, params, includeColumns, true);
+	}
+
+	private static SqlStringAndPlaceholders buildPartTreeSqlString(PartTree tree,
+			SpannerMappingContext spannerMappingContext, Class type, ParameterAccessor params,
+			Set<String> includeColumns, boolean sortAndLimit) {
 
 		SpannerPersistentEntity<?> persistentEntity = spannerMappingContext
 				.getPersistentEntity(type);
 		List<String> tags = new ArrayList<>();
 		StringBuilder stringBuilder = new StringBuilder();
 
-		buildSelect(persistentEntity, tree, stringBuilder, spannerMappingContext);
+		buildSelect(persistentEntity, tree, stringBuilder, spannerMappingContext, includeColumns);
 		buildFrom(persistentEntity, stringBuilder);
 		buildWhere(tree, persistentEntity, tags, stringBuilder);
-		applySort(params.getSort().isSorted() ? params.getSort() : tree.getSort(), stringBuilder, persistentEntity);
-		buildLimit(tree, stringBuilder, params.getPageable());
+		if (sortAndLimit) {
+			applySort(params.getSort().isSorted() ? params.getSort() : tree.getSort(), stringBuilder,
+					persistentEntity);
+			buildLimit(tree, stringBuilder, params.getPageable());
+		}
 
 		String selectSql = stringBuilder.toString();
 
@@ -454,10 +746,10 @@ public final class SpannerStatementQueryExecutor {
 
 	private static void buildSelect(
 			SpannerPersistentEntity<?> spannerPersistentEntity, PartTree tree,
-			StringBuilder stringBuilder, SpannerMappingContext mappingContext) {
+			StringBuilder stringBuilder, SpannerMappingContext mappingContext, Set<String> includeColumns) {
 		stringBuilder.append("SELECT ").append(tree.isDistinct() ? "DISTINCT " : "")
 				.append(getColumnsStringForSelect(spannerPersistentEntity, mappingContext,
-						!(tree.isExistsProjection() || tree.isCountProjection()))).append(" ");
+						!(tree.isExistsProjection() || tree.isCountProjection()), includeColumns)).append(" ");
 	}
 
 	private static void buildFrom(SpannerPersistentEntity<?> persistentEntity,
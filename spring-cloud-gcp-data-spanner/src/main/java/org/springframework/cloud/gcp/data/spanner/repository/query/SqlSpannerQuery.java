@@ -16,11 +16,13 @@
 
 package org.springframework.cloud.gcp.data.spanner.repository.query;
 
+import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -28,18 +30,24 @@ import java.util.Set;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 import java.util.stream.StreamSupport;
 
 import com.google.cloud.spanner.Statement;
 import com.google.cloud.spanner.Struct;
 import com.google.cloud.spanner.Struct.Builder;
+import com.google.cloud.spanner.Value;
 
+import org.springframework.beans.BeanWrapper;
 import org.springframework.cloud.gcp.data.spanner.core.SpannerPageableQueryOptions;
 import org.springframework.cloud.gcp.data.spanner.core.SpannerTemplate;
 import org.springframework.cloud.gcp.data.spanner.core.convert.StructAccessor;
 import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerDataException;
 import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerMappingContext;
 import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerPersistentEntity;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.repository.query.Param;
@@ -48,6 +56,7 @@ import org.springframework.data.repository.query.ParameterAccessor;
 import org.springframework.data.repository.query.Parameters;
 import org.springframework.data.repository.query.ParametersParameterAccessor;
 import org.springframework.data.repository.query.QueryMethodEvaluationContextProvider;
+import org.springframework.data.util.DirectFieldAccessFallbackBeanWrapper;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ParserContext;
@@ -55,6 +64,7 @@ import org.springframework.expression.common.CompositeStringExpression;
 import org.springframework.expression.common.LiteralExpression;
 import org.springframework.expression.spel.standard.SpelExpression;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -73,10 +83,19 @@ public class SqlSpannerQuery<T> extends AbstractSpannerQuery<T> {
 	private static Pattern ENTITY_CLASS_NAME_PATTERN = Pattern.compile(
 			"\\" + ENTITY_CLASS_NAME_BOOKEND + "\\S+\\" + ENTITY_CLASS_NAME_BOOKEND);
 
+	// Matches tags outside of string literals, quoted identifiers and comments, which are
+	// matched first so that the tag group is empty for an @ inside them.
+	private static final Pattern TAG_PATTERN = Pattern.compile(
+			"'''(?:\\\\.|[^\\\\])*?'''|\"\"\"(?:\\\\.|[^\\\\])*?\"\"\""
+					+ "|'(?:\\\\.|[^'\\\\])*'|\"(?:\\\\.|[^\"\\\\])*\"|`[^`]*`"
+					+ "|--[^\\n]*|#[^\\n]*|/\\*.*?\\*/|@(\\w+)", Pattern.DOTALL);
+
 	private final String sql;
 
 	private final boolean isDml;
 
+	private final int dmlBatchSize;
+
 	private final Function<Object, Struct> paramStructConvertFunc = (param) -> {
 		Builder builder = Struct.newBuilder();
 		this.spannerTemplate.getSpannerEntityProcessor().write(param, builder::set);
@@ -97,6 +116,8 @@ public class SqlSpannerQuery<T> extends AbstractSpannerQuery<T> {
 		this.expressionParser = expressionParser;
 		this.sql = StringUtils.trimTrailingCharacter(sql.trim(), ';');
 		this.isDml = isDml;
+		Query query = queryMethod.getQueryAnnotation();
+		this.dmlBatchSize = (isDml && query != null) ? query.batchSize() : 0;
 	}
 
 	private boolean isPageableOrSort(Class<?> type) {
@@ -197,6 +218,10 @@ public class SqlSpannerQuery<T> extends AbstractSpannerQuery<T> {
 	@Override
 	public List executeRawResult(Object[] parameters) {
 
+		if (this.dmlBatchSize > 0) {
+			return executeBatchDml(parameters);
+		}
+
 		ParameterAccessor paramAccessor = new ParametersParameterAccessor(getQueryMethod().getParameters(), parameters);
 		Object[] params = StreamSupport.stream(paramAccessor.spliterator(), false).toArray();
 
@@ -211,6 +236,85 @@ public class SqlSpannerQuery<T> extends AbstractSpannerQuery<T> {
 				: executeReadSql(paramAccessor.getPageable(), paramAccessor.getSort(), queryTagValue);
 	}
 
+	private List executeBatchDml(Object[] parameters) {
+		if (parameters.length != 1 || !(parameters[0] instanceof Iterable)) {
+			throw new SpannerDataException(
+					"A batch DML query method must take a single collection of parameter sets: "
+							+ getQueryMethod().getName());
+		}
+		String sql = resolveEntityClassNames(this.sql, this.spannerMappingContext);
+		List<String> tags = getSqlTags(sql);
+		List<Statement> statements = new ArrayList<>();
+		ResolvableType[] types = new ResolvableType[tags.size()];
+		for (Object parameterSet : (Iterable<?>) parameters[0]) {
+			Object[] values = getParameterSetValues(parameterSet, tags, types);
+			statements.add(SpannerStatementQueryExecutor.buildStatementFromSqlWithTypedArgs(sql, tags,
+					this.paramStructConvertFunc, this.spannerTemplate.getSpannerEntityProcessor().getWriteConverter(),
+					values, types));
+		}
+		long[] rowsAffected = this.spannerTemplate.executeBatchDmlStatements(statements, this.dmlBatchSize);
+		return getQueryMethod().isCollectionQuery()
+				? LongStream.of(rowsAffected).boxed().collect(Collectors.toList())
+				: Collections.singletonList(LongStream.of(rowsAffected).sum());
+	}
+
+	private static List<String> getSqlTags(String sql) {
+		Set<String> tags = new LinkedHashSet<>();
+		Matcher matcher = TAG_PATTERN.matcher(sql);
+		while (matcher.find()) {
+			if (matcher.group(1) != null) {
+				tags.add(matcher.group(1));
+			}
+		}
+		return new ArrayList<>(tags);
+	}
+
+	/**
+	 * Gets the values of the tags from a parameter set. The declared types of bean
+	 * properties are put in the types array so that their null values can be bound; map
+	 * entries have no declared type, so null values must be given as typed {@link Value}s.
+	 */
+	private static Object[] getParameterSetValues(Object parameterSet, List<String> tags, ResolvableType[] types) {
+		if (parameterSet == null) {
+			throw new SpannerDataException("A batch DML parameter set cannot be null.");
+		}
+		Object[] values = new Object[tags.size()];
+		if (parameterSet instanceof Map) {
+			Map<?, ?> map = (Map<?, ?>) parameterSet;
+			for (int i = 0; i < values.length; i++) {
+				if (!map.containsKey(tags.get(i))) {
+					throw new SpannerDataException(
+							"The batch DML parameter set has no value for the tag: " + tags.get(i));
+				}
+				values[i] = map.get(tags.get(i));
+				if (values[i] == null) {
+					throw new SpannerDataException("The batch DML parameter set has a null value for the tag: "
+							+ tags.get(i) + ". Null values in maps must be given as typed Cloud Spanner Values.");
+				}
+				types[i] = null;
+			}
+		}
+		else {
+			BeanWrapper accessor = new DirectFieldAccessFallbackBeanWrapper(parameterSet);
+			for (int i = 0; i < values.length; i++) {
+				TypeDescriptor typeDescriptor = accessor.getPropertyTypeDescriptor(tags.get(i));
+				Field field = ReflectionUtils.findField(parameterSet.getClass(), tags.get(i));
+				if (typeDescriptor != null && accessor.isReadableProperty(tags.get(i))) {
+					types[i] = typeDescriptor.getResolvableType();
+				}
+				else if (field != null) {
+					types[i] = ResolvableType.forField(field, parameterSet.getClass());
+				}
+				else {
+					throw new SpannerDataException(
+							"The batch DML parameter set has no value for the tag: " + tags.get(i));
+				}
+				values[i] = accessor.getPropertyValue(tags.get(i));
+			}
+		}
+		return values;
+	}
+
 	private List executeReadSql(Pageable pageable, Sort sort, QueryTagValue queryTagValue) {
 		SpannerPageableQueryOptions spannerQueryOptions = new SpannerPageableQueryOptions()
 				.setAllowPartialRead(true);
@@ -223,12 +327,27 @@ public class SqlSpannerQuery<T> extends AbstractSpannerQuery<T> {
 			spannerQueryOptions.setOffset(pageable.getOffset()).setLimit(pageable.getPageSize());
 		}
 
-		final Class<?> returnedType = getReturnedType();
-		final SpannerPersistentEntity<?> entity = returnedType == null ? null : this.spannerMappingContext.getPersistentEntity(returnedType);
+		final boolean fetchInterleaved;
+		final SpannerPersistentEntity<?> domainEntity = this.spannerMappingContext.getPersistentEntity(this.entityType);
+		final Set<String> projectedColumns = SpannerStatementQueryExecutor.getProjectedColumns(domainEntity,
+				this.spannerMappingContext, getQueryMethod().getProjectedProperties());
+		if (projectedColumns != null) {
+			// Only map the projected columns and only fetch the projected children.
+			spannerQueryOptions.setIncludeProperties(projectedColumns);
+			fetchInterleaved = StreamSupport.stream(domainEntity.spliterator(), false)
+					.anyMatch((property) -> property.isEagerInterleaved()
+							&& projectedColumns.contains(property.getColumnName()));
+		}
+		else {
+			final Class<?> returnedType = getReturnedType();
+			final SpannerPersistentEntity<?> entity = returnedType == null ? null
+					: this.spannerMappingContext.getPersistentEntity(returnedType);
+			fetchInterleaved = entity != null && entity.hasEagerlyLoadedProperties();
+		}
 
 		queryTagValue.sql = SpannerStatementQueryExecutor
 				.applySortingPagingQueryOptions(this.entityType, spannerQueryOptions,
-						queryTagValue.sql, this.spannerMappingContext, entity != null && entity.hasEagerlyLoadedProperties());
+						queryTagValue.sql, this.spannerMappingContext, fetchInterleaved);
 
 		Statement statement = buildStatementFromQueryAndTags(queryTagValue);
 
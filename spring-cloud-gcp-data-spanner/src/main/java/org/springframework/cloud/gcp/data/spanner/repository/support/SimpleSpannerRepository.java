@@ -17,13 +17,17 @@
 package org.springframework.cloud.gcp.data.spanner.repository.support;
 
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 import com.google.cloud.spanner.Key;
 import com.google.cloud.spanner.KeySet;
 
+import org.springframework.cloud.gcp.data.spanner.core.SpannerKeysetSlice;
 import org.springframework.cloud.gcp.data.spanner.core.SpannerOperations;
 import org.springframework.cloud.gcp.data.spanner.core.SpannerPageableQueryOptions;
+import org.springframework.cloud.gcp.data.spanner.core.SpannerPartitionOptions;
 import org.springframework.cloud.gcp.data.spanner.core.SpannerTemplate;
 import org.springframework.cloud.gcp.data.spanner.repository.SpannerRepository;
 import org.springframework.data.domain.Page;
@@ -111,6 +115,22 @@ public class SimpleSpannerRepository<T, ID> implements SpannerRepository<T, ID>
 		return this.spannerTemplate.readAll(this.entityType);
 	}
 
+	@Override
+	public Stream<T> findAllPartitioned(SpannerPartitionOptions options) {
+		return this.spannerTemplate.readAllPartitioned(this.entityType, options);
+	}
+
+	@Override
+	public void findAllPartitioned(SpannerPartitionOptions options, Consumer<Stream<T>> partitionConsumer) {
+		this.spannerTemplate.readAllPartitioned(this.entityType, options, partitionConsumer);
+	}
+
+	@Override
+	public SpannerKeysetSlice<T> findAll(Sort sort, int pageSize, String continuationToken) {
+		return this.spannerTemplate.queryAllByKeyset(this.entityType,
+				new SpannerPageableQueryOptions().setSort(sort).setLimit(pageSize), continuationToken);
+	}
+
 	@Override
 	public Iterable<T> findAllById(Iterable<ID> ids) {
 		KeySet.Builder builder = KeySet.newBuilder();
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.data.spanner.core;
+
+import java.util.Arrays;
+
+import com.google.cloud.ByteArray;
+import com.google.cloud.spanner.Statement;
+import com.google.cloud.spanner.Struct;
+import com.google.cloud.spanner.Value;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.cloud.gcp.data.spanner.core.convert.ConverterAwareMappingSpannerEntityProcessor;
+import org.springframework.cloud.gcp.data.spanner.core.convert.SpannerEntityProcessor;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.Column;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.PrimaryKey;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerDataException;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerMappingContext;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerPersistentEntity;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.Table;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.Where;
+import org.springframework.data.domain.Sort;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the keyset pagination statements and continuation tokens.
+ *
+ * @author agent (agent@local)
+ */
+public class KeysetQueryTests {
+
+	private SpannerPersistentEntity<?> entity;
+
+	private SpannerEntityProcessor entityProcessor;
+
+	@Before
+	public void setUp() {
+		SpannerMappingContext mappingContext = new SpannerMappingContext();
+		this.entity = mappingContext.getPersistentEntity(Trade.class);
+		this.entityProcessor = new ConverterAwareMappingSpannerEntityProcessor(mappingContext);
+	}
+
+	@Test
+	public void firstPageTest() {
+		Statement statement = keysetQuery(Sort.by(Sort.Order.desc("price")))
+				.buildStatement("id, price", 11, 0, null);
+
+		assertThat(statement.getSql()).isEqualTo(
+				"SELECT id, price FROM trades WHERE (action = 'BUY') ORDER BY price DESC , id ASC LIMIT 11");
+		assertThat(statement.getParameters()).isEmpty();
+	}
+
+	@Test
+	public void nextPageTest() {
+		KeysetQuery keysetQuery = keysetQuery(Sort.by(Sort.Order.desc("price")));
+		String token = keysetQuery.getContinuationToken(
+				Struct.newBuilder().set("id").to("a").set("price").to(2.5).build());
+
+		Statement statement = keysetQuery.buildStatement("id, price", 11, 0, token);
+
+		assertThat(statement.getSql()).isEqualTo("SELECT id, price FROM trades WHERE (action = 'BUY') "
+				+ "AND (((price < @keyset0 OR price IS NULL)) OR (price = @keyset0 AND id > @keyset1)) "
+				+ "ORDER BY price DESC , id ASC LIMIT 11");
+		assertThat(statement.getParameters()).containsEntry("keyset0", Value.float64(2.5))
+				.containsEntry("keyset1", Value.string("a"));
+	}
+
+	@Test
+	public void nextPageAfterNullTest() {
+		KeysetQuery keysetQuery = keysetQuery(Sort.by(Sort.Order.asc("symbol").ignoreCase()));
+		String token = keysetQuery.getContinuationToken(
+				Struct.newBuilder().set("id").to("a").set("ticker").to((String) null).build());
+
+		Statement statement = keysetQuery.buildStatement("id", 5, 0, token);
+
+		assertThat(statement.getSql()).isEqualTo("SELECT id FROM trades WHERE (action = 'BUY') "
+				+ "AND ((LOWER(ticker) IS NOT NULL) OR (LOWER(ticker) IS NULL AND id > @keyset1)) "
+				+ "ORDER BY LOWER(ticker) ASC , id ASC LIMIT 5");
+		assertThat(statement.getParameters()).containsOnlyKeys("keyset1");
+	}
+
+	@Test
+	public void ignoreCaseOfNonStringColumnTest() {
+		Statement statement = keysetQuery(Sort.by(Sort.Order.desc("price").ignoreCase()))
+				.buildStatement("id, price", 11, 0, null);
+
+		assertThat(statement.getSql()).isEqualTo(
+				"SELECT id, price FROM trades WHERE (action = 'BUY') ORDER BY price DESC , id ASC LIMIT 11");
+	}
+
+	@Test
+	public void tokenOfLongValuesTest() {
+		char[] longSymbol = new char[100000];
+		Arrays.fill(longSymbol, '\u00e9');
+		byte[] longData = new byte[100000];
+		Arrays.fill(longData, (byte) 7);
+		KeysetQuery keysetQuery = keysetQuery(Sort.by("symbol", "data"));
+		String token = keysetQuery.getContinuationToken(Struct.newBuilder().set("id").to("a")
+				.set("ticker").to(new String(longSymbol)).set("data").to(ByteArray.copyFrom(longData)).build());
+
+		Statement statement = keysetQuery.buildStatement("id", 5, 0, token);
+
+		assertThat(statement.getParameters()).containsEntry("keyset0", Value.string(new String(longSymbol)))
+				.containsEntry("keyset1", Value.bytes(ByteArray.copyFrom(longData)))
+				.containsEntry("keyset2", Value.string("a"));
+	}
+
+	@Test
+	public void tokenOfOtherSortOrderTest() {
+		String token = keysetQuery(Sort.by("price")).getContinuationToken(
+				Struct.newBuilder().set("id").to("a").set("price").to(2.5).build());
+
+		assertThatThrownBy(() -> keysetQuery(Sort.by(Sort.Order.desc("price")))
+				.buildStatement("id", 5, 0, token))
+						.isInstanceOf(SpannerDataException.class)
+						.hasMessageStartingWith(
+								"The continuation token was not created by a query with the same table and sort order.");
+	}
+
+	@Test
+	public void invalidTokenTest() {
+		assertThatThrownBy(() -> keysetQuery(Sort.unsorted())
+				.buildStatement("id", 5, 0, "not a token"))
+						.isInstanceOf(SpannerDataException.class)
+						.hasMessageStartingWith("Invalid continuation token.");
+	}
+
+	@Test
+	public void statementSourceTest() {
+		Statement source = Statement.newBuilder("SELECT id, price FROM trades WHERE symbol = @symbol")
+				.bind("symbol").to("ABC").build();
+		KeysetQuery keysetQuery = new KeysetQuery(this.entity, this.entityProcessor,
+				Sort.by(Sort.Order.desc("price")), source);
+
+		assertThat(keysetQuery.buildStatement("*", 11, 20, null).getSql()).isEqualTo(
+				"SELECT * FROM (SELECT id, price FROM trades WHERE symbol = @symbol) "
+						+ "ORDER BY price DESC , id ASC LIMIT 11 OFFSET 20");
+
+		String token = keysetQuery.getContinuationToken(
+				Struct.newBuilder().set("id").to("a").set("price").to(2.5).build());
+		Statement statement = keysetQuery.buildStatement("*", 11, 0, token);
+
+		assertThat(statement.getSql()).isEqualTo(
+				"SELECT * FROM (SELECT id, price FROM trades WHERE symbol = @symbol) "
+						+ "WHERE (((price < @keyset0 OR price IS NULL)) OR (price = @keyset0 AND id > @keyset1)) "
+						+ "ORDER BY price DESC , id ASC LIMIT 11");
+		assertThat(statement.getParameters()).containsEntry("symbol", Value.string("ABC"))
+				.containsEntry("keyset0", Value.float64(2.5))
+				.containsEntry("keyset1", Value.string("a"));
+	}
+
+	@Test
+	public void tokenOfOtherStatementTest() {
+		Sort sort = Sort.by("price");
+		String token = new KeysetQuery(this.entity, this.entityProcessor, sort,
+				Statement.of("SELECT id, price FROM trades WHERE symbol = 'ABC'")).getContinuationToken(
+						Struct.newBuilder().set("id").to("a").set("price").to(2.5).build());
+
+		assertThatThrownBy(() -> new KeysetQuery(this.entity, this.entityProcessor, sort,
+				Statement.of("SELECT id, price FROM trades")).buildStatement("*", 5, 0, token))
+						.isInstanceOf(SpannerDataException.class);
+		assertThatThrownBy(() -> keysetQuery(sort).buildStatement("id", 5, 0, token))
+				.isInstanceOf(SpannerDataException.class);
+	}
+
+	@Test
+	public void unknownSortPropertyTest() {
+		assertThatThrownBy(() -> keysetQuery(Sort.by("unknown")))
+				.isInstanceOf(SpannerDataException.class)
+				.hasMessageStartingWith(
+						"Keyset pagination can only sort by properties stored in a single column: unknown");
+	}
+
+	private KeysetQuery keysetQuery(Sort sort) {
+		return new KeysetQuery(this.entity, this.entityProcessor, sort);
+	}
+
+	@Table(name = "trades")
+	@Where("action = 'BUY'")
+	private static class Trade {
+		@PrimaryKey
+		String id;
+
+		String action;
+
+		Double price;
+
+		@Column(name = "ticker")
+		String symbol;
+
+		byte[] data;
+	}
+}
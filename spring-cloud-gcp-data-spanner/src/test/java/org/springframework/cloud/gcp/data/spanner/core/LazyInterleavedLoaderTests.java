@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.cloud.gcp.data.spanner.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+import com.google.cloud.spanner.Key;
+import com.google.cloud.spanner.KeySet;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the batched loading of lazy interleaved children.
+ *
+ * @author agent (agent@local)
+ */
+public class LazyInterleavedLoaderTests {
+
+	private final List<KeySet> queries = new ArrayList<>();
+
+	private final List<Key> children = Arrays.asList(
+			Key.of("a", 1L), Key.of("a", 2L), Key.of("c", 1L));
+
+	@Test
+	public void loadsPendingSiblingsTogetherTest() {
+		LazyInterleavedLoader loader = createLoader(100);
+		Supplier<List> a = loader.register(Key.of("a"));
+		Supplier<List> b = loader.register(Key.of("b"));
+		Supplier<List> c = loader.register(Key.of("c"));
+
+		assertThat(c.get()).containsExactly(Key.of("c", 1L));
+		assertThat(a.get()).containsExactly(Key.of("a", 1L), Key.of("a", 2L));
+		assertThat(b.get()).isEmpty();
+
+		assertThat(this.queries).hasSize(1);
+		assertThat(this.queries.get(0).getKeys())
+				.containsExactly(Key.of("c"), Key.of("a"), Key.of("b"));
+	}
+
+	@Test
+	public void batchSizeLimitsQueryTest() {
+		LazyInterleavedLoader loader = createLoader(2);
+		Supplier<List> a = loader.register(Key.of("a"));
+		Supplier<List> b = loader.register(Key.of("b"));
+		Supplier<List> c = loader.register(Key.of("c"));
+
+		assertThat(b.get()).isEmpty();
+		assertThat(a.get()).hasSize(2);
+		assertThat(c.get()).hasSize(1);
+
+		assertThat(this.queries).hasSize(2);
+		assertThat(this.queries.get(0).getKeys()).containsExactly(Key.of("b"), Key.of("a"));
+		assertThat(this.queries.get(1).getKeys()).containsExactly(Key.of("c"));
+	}
+
+	@Test
+	public void loadedListsAreIndependentTest() {
+		LazyInterleavedLoader loader = createLoader(100);
+		Supplier<List> a = loader.register(Key.of("a"));
+
+		a.get().clear();
+
+		assertThat(a.get()).hasSize(2);
+		assertThat(this.queries).hasSize(1);
+	}
+
+	private LazyInterleavedLoader createLoader(int batchSize) {
+		return new LazyInterleavedLoader(batchSize, (keys) -> {
+			this.queries.add(keys);
+			return this.children;
+		}, (child) -> (Key) child);
+	}
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.data.spanner.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.google.cloud.spanner.BatchReadOnlyTransaction;
+import com.google.cloud.spanner.ErrorCode;
+import com.google.cloud.spanner.Partition;
+import com.google.cloud.spanner.ResultSet;
+import com.google.cloud.spanner.SpannerExceptionFactory;
+import com.google.cloud.spanner.Struct;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerDataException;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the partitioned read executor.
+ *
+ * @author agent (agent@local)
+ */
+public class PartitionedReadTests {
+
+	private BatchReadOnlyTransaction transaction;
+
+	private List<Partition> partitions;
+
+	private final Executor executor = new SimpleAsyncTaskExecutor();
+
+	@Before
+	public void setUp() {
+		this.transaction = mock(BatchReadOnlyTransaction.class);
+		this.partitions = new ArrayList<>();
+		addPartition("a", "b");
+		addPartition();
+		addPartition("c");
+		addPartition("d", "e", "f");
+	}
+
+	@Test
+	public void streamMergesAllPartitionsTest() {
+		PartitionedRead<String> read = new PartitionedRead<>(this.transaction, this.partitions,
+				(struct) -> struct.getString("value"), new SpannerPartitionOptions().setParallelism(3),
+				this.executor);
+
+		try (Stream<String> values = read.stream(2)) {
+			assertThat(values.collect(Collectors.toList()))
+					.containsExactlyInAnyOrder("a", "b", "c", "d", "e", "f");
+		}
+		verify(this.transaction, times(1)).close();
+	}
+
+	@Test
+	public void streamWithoutPartitionsTest() {
+		PartitionedRead<String> read = new PartitionedRead<>(this.transaction, Collections.emptyList(),
+				(struct) -> struct.getString("value"), new SpannerPartitionOptions(),
+				this.executor);
+
+		try (Stream<String> values = read.stream(2)) {
+			assertThat(values.collect(Collectors.toList())).isEmpty();
+		}
+		verify(this.transaction, times(1)).close();
+	}
+
+	@Test
+	public void streamFailureTest() {
+		Partition failing = mock(Partition.class);
+		when(this.transaction.execute(failing)).thenThrow(
+				SpannerExceptionFactory.newSpannerException(ErrorCode.UNAVAILABLE, "unavailable"));
+		this.partitions.add(failing);
+		PartitionedRead<String> read = new PartitionedRead<>(this.transaction, this.partitions,
+				(struct) -> struct.getString("value"), new SpannerPartitionOptions().setParallelism(2),
+				this.executor);
+
+		try (Stream<String> values = read.stream(10)) {
+			assertThatThrownBy(() -> values.collect(Collectors.toList()))
+					.isInstanceOf(SpannerDataException.class)
+					.hasMessageStartingWith("Failed to read the partitions of the partitioned read.")
+					.hasRootCauseMessage("UNAVAILABLE: unavailable");
+		}
+	}
+
+	@Test
+	public void streamClosedEarlyTest() throws InterruptedException {
+		PartitionedRead<String> read = new PartitionedRead<>(this.transaction, this.partitions,
+				(struct) -> struct.getString("value"), new SpannerPartitionOptions().setParallelism(4),
+				this.executor);
+
+		try (Stream<String> values = read.stream(1)) {
+			assertThat(values.findFirst()).isPresent();
+		}
+
+		for (int i = 0; i < 50; i++) {
+			if (closeCount() == 1) {
+				break;
+			}
+			Thread.sleep(100);
+		}
+		verify(this.transaction, times(1)).close();
+	}
+
+	@Test
+	public void forEachPartitionTest() {
+		ConcurrentLinkedQueue<List<String>> results = new ConcurrentLinkedQueue<>();
+		PartitionedRead<String> read = new PartitionedRead<>(this.transaction, this.partitions,
+				(struct) -> struct.getString("value"), new SpannerPartitionOptions().setParallelism(2),
+				this.executor);
+
+		read.forEachPartition((partition) -> results.add(partition.collect(Collectors.toList())));
+
+		assertThat(results).containsExactlyInAnyOrder(Arrays.asList("a", "b"),
+				Collections.emptyList(), Collections.singletonList("c"), Arrays.asList("d", "e", "f"));
+		verify(this.transaction, times(1)).close();
+	}
+
+	@Test
+	public void forEachPartitionFailureTest() {
+		AtomicInteger consumed = new AtomicInteger();
+		PartitionedRead<String> read = new PartitionedRead<>(this.transaction, this.partitions,
+				(struct) -> struct.getString("value"), new SpannerPartitionOptions().setParallelism(1),
+				this.executor);
+
+		assertThatThrownBy(() -> read.forEachPartition((partition) -> {
+			consumed.incrementAndGet();
+			throw new IllegalStateException("consumer failed");
+		})).isInstanceOf(SpannerDataException.class)
+				.hasMessageStartingWith("Failed to read the partitions of the partitioned read.")
+				.hasRootCauseMessage("consumer failed");
+
+		assertThat(consumed).hasValue(1);
+		verify(this.transaction, times(1)).close();
+	}
+
+	private long closeCount() {
+		return mockingDetails(this.transaction).getInvocations().stream()
+				.filter((invocation) -> invocation.getMethod().getName().equals("close")).count();
+	}
+
+	private void addPartition(String... values) {
+		Partition partition = mock(Partition.class);
+		ResultSet resultSet = mock(ResultSet.class);
+		AtomicInteger position = new AtomicInteger(-1);
+		when(resultSet.next()).thenAnswer((invocation) -> position.incrementAndGet() < values.length);
+		when(resultSet.getCurrentRowAsStruct()).thenAnswer((invocation) -> Struct.newBuilder()
+				.set("value").to(values[position.get()]).build());
+		when(this.transaction.execute(partition)).thenReturn(resultSet);
+		this.partitions.add(partition);
+	}
+}
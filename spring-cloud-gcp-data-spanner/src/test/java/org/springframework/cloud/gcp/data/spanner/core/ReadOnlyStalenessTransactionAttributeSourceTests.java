@@ -0,0 +1,139 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.data.spanner.core;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import com.google.cloud.spanner.TimestampBound;
+import org.junit.Test;
+
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.interceptor.TransactionAttributeSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the transaction attribute source of read-only staleness.
+ *
+ * @author agent (agent@local)
+ */
+public class ReadOnlyStalenessTransactionAttributeSourceTests {
+
+	private final TransactionAttributeSource source = new ReadOnlyStalenessTransactionAttributeSource(
+			new AnnotationTransactionAttributeSource());
+
+	@Test
+	public void overloadsWithDifferentStalenessTest() throws NoSuchMethodException {
+		assertThat(getTimestampBound(TradeService.class.getMethod("findTrades"), TradeService.class))
+				.isEqualTo(TimestampBound.ofExactStaleness(10, TimeUnit.SECONDS));
+		assertThat(getTimestampBound(TradeService.class.getMethod("findTrades", String.class), TradeService.class))
+				.isEqualTo(TimestampBound.ofExactStaleness(500, TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	public void classStalenessTest() throws NoSuchMethodException {
+		assertThat(getTimestampBound(TradeService.class.getMethod("countTrades"), TradeService.class))
+				.isEqualTo(TimestampBound.ofExactStaleness(30, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void zeroStalenessIsStrongTest() throws NoSuchMethodException {
+		assertThat(getTimestampBound(StrongTradeService.class.getMethod("findTrades"), StrongTradeService.class))
+				.isEqualTo(TimestampBound.strong());
+	}
+
+	@Test
+	public void interfaceMethodOfTargetClassTest() throws NoSuchMethodException {
+		Method method = Trades.class.getMethod("findTrades");
+
+		TransactionAttribute attribute = this.source.getTransactionAttribute(method, TradeService.class);
+
+		assertThat(((ReadOnlyStalenessTransactionAttribute) attribute).getTimestampBound())
+				.isEqualTo(TimestampBound.ofExactStaleness(10, TimeUnit.SECONDS));
+		assertThat(attribute.getName()).isEqualTo(TradeService.class.getName() + ".findTrades");
+		assertThat(attribute.isReadOnly()).isTrue();
+	}
+
+	@Test
+	public void readWriteMethodTest() throws NoSuchMethodException {
+		TransactionAttribute attribute = this.source.getTransactionAttribute(
+				TradeService.class.getMethod("saveTrade"), TradeService.class);
+
+		assertThat(attribute).isNotInstanceOf(ReadOnlyStalenessTransactionAttribute.class);
+		assertThat(attribute.isReadOnly()).isFalse();
+	}
+
+	@Test
+	public void nonTransactionalMethodTest() throws NoSuchMethodException {
+		assertThat(this.source.getTransactionAttribute(TradeService.class.getMethod("toString"),
+				TradeService.class)).isNull();
+	}
+
+	private TimestampBound getTimestampBound(Method method, Class<?> targetClass) {
+		TransactionAttribute attribute = this.source.getTransactionAttribute(method, targetClass);
+		assertThat(attribute).isInstanceOf(ReadOnlyStalenessTransactionAttribute.class);
+		assertThat(this.source.getTransactionAttribute(method, targetClass)).isSameAs(attribute);
+		return ((ReadOnlyStalenessTransactionAttribute) attribute).getTimestampBound();
+	}
+
+	/**
+	 * An interface of a transactional service.
+	 */
+	interface Trades {
+		void findTrades();
+	}
+
+	/**
+	 * A transactional service with read-only staleness.
+	 */
+	@ReadOnlyStaleness(30)
+	static class TradeService implements Trades {
+
+		@Override
+		@Transactional(readOnly = true)
+		@ReadOnlyStaleness(10)
+		public void findTrades() {
+		}
+
+		@Transactional(readOnly = true)
+		@ReadOnlyStaleness(value = 500, unit = TimeUnit.MILLISECONDS)
+		public void findTrades(String symbol) {
+		}
+
+		@Transactional(readOnly = true)
+		public void countTrades() {
+		}
+
+		@Transactional
+		public void saveTrade() {
+		}
+	}
+
+	/**
+	 * A transactional service with strong reads.
+	 */
+	static class StrongTradeService {
+
+		@Transactional(readOnly = true)
+		@ReadOnlyStaleness(0)
+		public void findTrades() {
+		}
+	}
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.data.spanner.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.cloud.spanner.Key;
+import com.google.cloud.spanner.KeySet;
+import com.google.cloud.spanner.Mutation;
+import org.junit.Test;
+
+import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerDataException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for splitting mutations into several commits.
+ *
+ * @author agent (agent@local)
+ */
+public class SpannerMutationSplitterTests {
+
+	@Test
+	public void countMutationsTest() {
+		assertThat(SpannerMutationSplitter.countMutations(twoColumnInsert("a"))).isEqualTo(2);
+		assertThat(SpannerMutationSplitter.countMutations(
+				Mutation.delete("parent", KeySet.newBuilder().addKey(Key.of("a")).addKey(Key.of("b")).build())))
+						.isEqualTo(2);
+		assertThat(SpannerMutationSplitter.countMutations(Mutation.delete("parent", KeySet.all())))
+				.isEqualTo(1);
+	}
+
+	@Test
+	public void splitKeepsGroupsTogetherTest() {
+		SpannerMutationSplitter splitter = new SpannerMutationSplitter(5, false);
+		// each group is a parent with one interleaved child, 4 mutations in total.
+		List<List<Mutation>> groups = Arrays.asList(parentWithChild("a"), parentWithChild("b"),
+				parentWithChild("c"));
+
+		List<List<Mutation>> batches = splitter.split(groups);
+
+		assertThat(batches).hasSize(3);
+		assertThat(batches).containsExactlyElementsOf(groups);
+	}
+
+	@Test
+	public void splitPacksGroupsUnderLimitTest() {
+		SpannerMutationSplitter splitter = new SpannerMutationSplitter(8, false);
+
+		List<List<Mutation>> batches = splitter.split(Arrays.asList(parentWithChild("a"),
+				parentWithChild("b"), parentWithChild("c")));
+
+		assertThat(batches).hasSize(2);
+		assertThat(batches.get(0)).hasSize(4);
+		assertThat(batches.get(1)).hasSize(2);
+	}
+
+	@Test
+	public void atomicRefusesToSplitTest() {
+		SpannerMutationSplitter splitter = new SpannerMutationSplitter(5, true);
+
+		assertThat(splitter.split(Collections.singletonList(parentWithChild("a")))).hasSize(1);
+		assertThatThrownBy(() -> splitter.split(Arrays.asList(parentWithChild("a"), parentWithChild("b"))))
+				.isInstanceOf(SpannerDataException.class)
+				.hasMessage("The write requires an estimated 8 mutations, which exceeds the maximum "
+						+ "of 5 mutations in a single atomic commit.");
+	}
+
+	@Test
+	public void applySequentialFailureTest() {
+		SpannerMutationSplitter splitter = new SpannerMutationSplitter(4, false);
+		List<Collection<Mutation>> committed = new ArrayList<>();
+
+		assertThatThrownBy(() -> splitter.apply(
+				Arrays.asList(parentWithChild("a"), parentWithChild("b"), parentWithChild("c")),
+				(batch) -> {
+					if (committed.size() == 1) {
+						throw new IllegalStateException("commit failed");
+					}
+					committed.add(batch);
+				}))
+				.isInstanceOf(SpannerDataException.class)
+				.hasMessageStartingWith("Failed to commit mutation batch 2 of 3; the preceding batches were committed.")
+				.hasCauseInstanceOf(IllegalStateException.class);
+		assertThat(committed).hasSize(1);
+	}
+
+	@Test
+	public void applyConcurrentlyTest() {
+		SpannerMutationSplitter splitter = new SpannerMutationSplitter(4, false);
+		splitter.setMaxParallelism(2);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		splitter.setExecutor(executor);
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		ConcurrentLinkedQueue<Collection<Mutation>> committed = new ConcurrentLinkedQueue<>();
+
+		List<List<Mutation>> groups = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			groups.add(parentWithChild("key" + i));
+		}
+		splitter.apply(groups, (batch) -> {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(10);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			committed.add(batch);
+			running.decrementAndGet();
+		});
+
+		executor.shutdown();
+
+		assertThat(committed).hasSize(10);
+		assertThat(maxRunning.get()).isLessThanOrEqualTo(2);
+	}
+
+	@Test
+	public void applyConcurrentlyAggregatesFailuresTest() {
+		SpannerMutationSplitter splitter = new SpannerMutationSplitter(4, false);
+		splitter.setMaxParallelism(3);
+
+		assertThatThrownBy(() -> splitter.apply(
+				Arrays.asList(parentWithChild("a"), parentWithChild("b"), parentWithChild("c")),
+				(batch) -> {
+					throw new IllegalStateException("commit failed");
+				}))
+				.isInstanceOf(SpannerDataException.class)
+				.hasMessageStartingWith("3 of 3 mutation batches could not be committed; "
+						+ "the other batches may have been committed.")
+				.satisfies((ex) -> assertThat(ex.getSuppressed()).hasSize(2));
+	}
+
+	private static List<Mutation> parentWithChild(String key) {
+		return Arrays.asList(twoColumnInsert(key), Mutation.newInsertBuilder("child")
+				.set("id").to(key).set("childId").to(key + "-child").build());
+	}
+
+	private static Mutation twoColumnInsert(String key) {
+		return Mutation.newInsertBuilder("parent").set("id").to(key).set("value").to(1L).build();
+	}
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.data.spanner.core;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.google.cloud.spanner.DatabaseClient;
+import com.google.cloud.spanner.Key;
+import com.google.cloud.spanner.ReadContext;
+import com.google.cloud.spanner.ResultSet;
+import com.google.cloud.spanner.Statement;
+import com.google.cloud.spanner.Struct;
+import com.google.cloud.spanner.TimestampBound;
+import com.google.cloud.spanner.TransactionContext;
+import com.google.cloud.spanner.TransactionRunner;
+import com.google.cloud.spanner.TransactionRunner.TransactionCallable;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cloud.gcp.data.spanner.core.admin.SpannerSchemaUtils;
+import org.springframework.cloud.gcp.data.spanner.core.convert.ConverterAwareMappingSpannerEntityProcessor;
+import org.springframework.cloud.gcp.data.spanner.core.convert.SpannerEntityProcessor;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.Interleaved;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.PrimaryKey;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerMappingContext;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.Table;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the entity cache of the Spanner template.
+ *
+ * @author agent (agent@local)
+ */
+public class SpannerTemplateEntityCacheTests {
+
+	private DatabaseClient databaseClient;
+
+	private ReadContext readContext;
+
+	private TransactionContext transactionContext;
+
+	private SpannerMappingContext mappingContext;
+
+	private SpannerTemplate spannerTemplate;
+
+	@Before
+	public void setUp() {
+		this.databaseClient = mock(DatabaseClient.class);
+		this.readContext = mock(ReadContext.class);
+		when(this.databaseClient.singleUse()).thenReturn(this.readContext);
+		when(this.databaseClient.singleUse(any())).thenReturn(this.readContext);
+		when(this.readContext.read(eq("test_table"), any(), any())).thenAnswer((invocation) -> resultSet(
+				Struct.newBuilder().set("id").to("a").set("value").to("cached").build()));
+
+		this.transactionContext = mock(TransactionContext.class);
+		TransactionRunner transactionRunner = mock(TransactionRunner.class);
+		when(this.databaseClient.readWriteTransaction()).thenReturn(transactionRunner);
+		when(transactionRunner.run(any())).thenAnswer((invocation) -> {
+			TransactionCallable<?> callable = invocation.getArgument(0);
+			return callable.run(this.transactionContext);
+		});
+
+		this.mappingContext = new SpannerMappingContext();
+		SpannerEntityProcessor entityProcessor = new ConverterAwareMappingSpannerEntityProcessor(
+				this.mappingContext);
+		this.spannerTemplate = new SpannerTemplate(() -> this.databaseClient, this.mappingContext, entityProcessor,
+				new SpannerMutationFactoryImpl(entityProcessor, this.mappingContext,
+						new SpannerSchemaUtils(this.mappingContext, entityProcessor, true)),
+				new SpannerSchemaUtils(this.mappingContext, entityProcessor, true));
+		this.spannerTemplate.setEntityCache(new SpannerEntityCache(new ConcurrentMapCache("spanner")));
+	}
+
+	@Test
+	public void readServedFromCacheTest() {
+		TestEntity first = this.spannerTemplate.read(TestEntity.class, Key.of("a"));
+		TestEntity second = this.spannerTemplate.read(TestEntity.class, Key.of("a"));
+
+		assertThat(first.value).isEqualTo("cached");
+		assertThat(second.value).isEqualTo("cached");
+		assertThat(second).isNotSameAs(first);
+		verify(this.readContext, times(1)).read(eq("test_table"), any(), any());
+	}
+
+	@Test
+	public void missingRowNotCachedTest() {
+		when(this.readContext.read(eq("test_table"), any(), any())).thenAnswer((invocation) -> resultSet());
+
+		assertThat(this.spannerTemplate.read(TestEntity.class, Key.of("b"))).isNull();
+		assertThat(this.spannerTemplate.read(TestEntity.class, Key.of("b"))).isNull();
+
+		verify(this.readContext, times(2)).read(eq("test_table"), any(), any());
+	}
+
+	@Test
+	public void staleReadServedFromCacheTest() {
+		this.spannerTemplate.read(TestEntity.class, Key.of("a"));
+		this.spannerTemplate.read(TestEntity.class, Key.of("a"),
+				new SpannerReadOptions().setTimestampBound(TimestampBound.ofExactStaleness(10, TimeUnit.SECONDS)));
+
+		verify(this.readContext, times(1)).read(eq("test_table"), any(), any());
+	}
+
+	@Test
+	public void staleReadAfterWriteNotCachedTest() {
+		when(this.readContext.read(eq("test_table"), any(), any()))
+				.thenAnswer((invocation) -> resultSet(
+						Struct.newBuilder().set("id").to("a").set("value").to("v1").build()))
+				.thenAnswer((invocation) -> resultSet(
+						Struct.newBuilder().set("id").to("a").set("value").to("v2").build()));
+
+		this.spannerTemplate.upsert(new TestEntity("a", "v2"));
+		TestEntity stale = this.spannerTemplate.read(TestEntity.class, Key.of("a"),
+				new SpannerReadOptions().setTimestampBound(TimestampBound.ofExactStaleness(15, TimeUnit.SECONDS)));
+		TestEntity strong = this.spannerTemplate.read(TestEntity.class, Key.of("a"));
+
+		assertThat(stale.value).isEqualTo("v1");
+		assertThat(strong.value).isEqualTo("v2");
+		verify(this.readContext, times(2)).read(eq("test_table"), any(), any());
+	}
+
+	@Test
+	public void defaultStaleReadNotCachedTest() {
+		this.spannerTemplate.setSingleUseTimestampBound(TimestampBound.ofMaxStaleness(15, TimeUnit.SECONDS));
+
+		this.spannerTemplate.read(TestEntity.class, Key.of("a"));
+		this.spannerTemplate.read(TestEntity.class, Key.of("a"));
+
+		verify(this.readContext, times(2)).read(eq("test_table"), any(), any());
+	}
+
+	@Test
+	public void strongReadBypassesCacheTest() {
+		this.spannerTemplate.read(TestEntity.class, Key.of("a"));
+		this.spannerTemplate.read(TestEntity.class, Key.of("a"),
+				new SpannerReadOptions().setTimestampBound(TimestampBound.strong()));
+
+		verify(this.readContext, times(2)).read(eq("test_table"), any(), any());
+	}
+
+	@Test
+	public void writeInvalidatesCacheTest() {
+		this.spannerTemplate.read(TestEntity.class, Key.of("a"));
+		this.spannerTemplate.update(new TestEntity("a", "updated"));
+		this.spannerTemplate.read(TestEntity.class, Key.of("a"));
+
+		verify(this.readContext, times(2)).read(eq("test_table"), any(), any());
+	}
+
+	@Test
+	public void writeToOtherTableKeepsCacheTest() {
+		this.spannerTemplate.read(TestEntity.class, Key.of("a"));
+		this.spannerTemplate.update(new OtherEntity("a"));
+		this.spannerTemplate.read(TestEntity.class, Key.of("a"));
+
+		verify(this.readContext, times(1)).read(eq("test_table"), any(), any());
+	}
+
+	@Test
+	public void childWriteInvalidatesParentTest() {
+		this.mappingContext.getPersistentEntity(ParentEntity.class);
+		SpannerEntityCache entityCache = this.spannerTemplate.getEntityCache();
+		Object parentKey = entityCache.getKey(ParentEntity.class, "parent_table", Key.of("a"));
+		Object childKey = entityCache.getKey(ChildEntity.class, "child_table", Key.of("a", "b"));
+
+		this.spannerTemplate.update(new ChildEntity("a", "b"));
+
+		assertThat(entityCache.getKey(ParentEntity.class, "parent_table", Key.of("a"))).isNotEqualTo(parentKey);
+		assertThat(entityCache.getKey(ChildEntity.class, "child_table", Key.of("a", "b"))).isNotEqualTo(childKey);
+	}
+
+	@Test
+	public void dmlInvalidatesCacheTest() {
+		this.spannerTemplate.read(TestEntity.class, Key.of("a"));
+		this.spannerTemplate.executeDmlStatement(Statement.of("UPDATE other_table SET id = 'b' WHERE TRUE"));
+		this.spannerTemplate.read(TestEntity.class, Key.of("a"));
+
+		verify(this.readContext, times(2)).read(eq("test_table"), any(), any());
+	}
+
+	@Test
+	public void readWriteTransactionBypassesAndInvalidatesCacheTest() {
+		when(this.transactionContext.read(eq("test_table"), any(), any())).thenAnswer((invocation) -> resultSet(
+				Struct.newBuilder().set("id").to("a").set("value").to("transactional").build()));
+		this.spannerTemplate.read(TestEntity.class, Key.of("a"));
+
+		List<String> values = this.spannerTemplate.performReadWriteTransaction((template) -> {
+			TestEntity entity = template.read(TestEntity.class, Key.of("a"));
+			template.update(new TestEntity("a", "updated"));
+			return Collections.singletonList(entity.value);
+		});
+		this.spannerTemplate.read(TestEntity.class, Key.of("a"));
+
+		assertThat(values).containsExactly("transactional");
+		verify(this.transactionContext, times(1)).read(eq("test_table"), any(), any());
+		verify(this.readContext, times(2)).read(eq("test_table"), any(), any());
+	}
+
+	private static ResultSet resultSet(Struct... rows) {
+		ResultSet resultSet = mock(ResultSet.class);
+		int[] position = { -1 };
+		when(resultSet.next()).thenAnswer((invocation) -> ++position[0] < rows.length);
+		when(resultSet.getCurrentRowAsStruct()).thenAnswer((invocation) -> rows[position[0]]);
+		return resultSet;
+	}
+
+	@Table(name = "test_table")
+	private static class TestEntity {
+		@PrimaryKey
+		String id;
+
+		String value;
+
+		TestEntity(String id, String value) {
+			this.id = id;
+			this.value = value;
+		}
+	}
+
+	@Table(name = "other_table")
+	private static class OtherEntity {
+		@PrimaryKey
+		String id;
+
+		OtherEntity(String id) {
+			this.id = id;
+		}
+	}
+
+	@Table(name = "parent_table")
+	private static class ParentEntity {
+		@PrimaryKey
+		String id;
+
+		@Interleaved
+		List<ChildEntity> children;
+	}
+
+	@Table(name = "child_table")
+	private static class ChildEntity {
+		@PrimaryKey(keyOrder = 1)
+		String id;
+
+		@PrimaryKey(keyOrder = 2)
+		String childId;
+
+		ChildEntity(String id, String childId) {
+			this.id = id;
+			this.childId = childId;
+		}
+	}
+}
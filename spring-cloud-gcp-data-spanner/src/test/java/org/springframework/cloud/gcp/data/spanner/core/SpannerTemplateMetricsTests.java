@@ -0,0 +1,176 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.data.spanner.core;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import com.google.cloud.spanner.DatabaseClient;
+import com.google.cloud.spanner.ErrorCode;
+import com.google.cloud.spanner.Key;
+import com.google.cloud.spanner.KeySet;
+import com.google.cloud.spanner.Mutation;
+import com.google.cloud.spanner.ReadContext;
+import com.google.cloud.spanner.ResultSet;
+import com.google.cloud.spanner.SpannerExceptionFactory;
+import com.google.cloud.spanner.Statement;
+import com.google.cloud.spanner.TransactionContext;
+import com.google.cloud.spanner.TransactionRunner;
+import com.google.cloud.spanner.TransactionRunner.TransactionCallable;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.cloud.gcp.data.spanner.core.admin.SpannerSchemaUtils;
+import org.springframework.cloud.gcp.data.spanner.core.convert.ConverterAwareMappingSpannerEntityProcessor;
+import org.springframework.cloud.gcp.data.spanner.core.convert.SpannerEntityProcessor;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.PrimaryKey;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerMappingContext;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.Table;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the metrics recorded by the Spanner template.
+ *
+ * @author agent (agent@local)
+ */
+public class SpannerTemplateMetricsTests {
+
+	private DatabaseClient databaseClient;
+
+	private ReadContext readContext;
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private SpannerTemplate spannerTemplate;
+
+	@Before
+	public void setUp() {
+		this.databaseClient = mock(DatabaseClient.class);
+		this.readContext = mock(ReadContext.class);
+		when(this.databaseClient.singleUse()).thenReturn(this.readContext);
+		SpannerMappingContext mappingContext = new SpannerMappingContext();
+		SpannerEntityProcessor entityProcessor = new ConverterAwareMappingSpannerEntityProcessor(mappingContext);
+		this.spannerTemplate = new SpannerTemplate(() -> this.databaseClient, mappingContext, entityProcessor,
+				new SpannerMutationFactoryImpl(entityProcessor, mappingContext,
+						new SpannerSchemaUtils(mappingContext, entityProcessor, true)),
+				new SpannerSchemaUtils(mappingContext, entityProcessor, true));
+		this.meterRegistry = new SimpleMeterRegistry();
+		SpannerTemplateMetrics metrics = new SpannerTemplateMetrics();
+		metrics.bindTo(this.meterRegistry);
+		this.spannerTemplate.setMetrics(metrics);
+	}
+
+	@Test
+	public void queryTimedByTableTest() {
+		Statement statement = Statement.of("SELECT id FROM test_table");
+		ResultSet resultSet = mock(ResultSet.class);
+		when(this.readContext.executeQuery(eq(statement))).thenReturn(resultSet);
+
+		this.spannerTemplate.query(TestEntity.class, statement, null);
+
+		assertThat(timer("query", "test_table", "success").count()).isEqualTo(1);
+	}
+
+	@Test
+	public void queryFailureTimedTest() {
+		Statement statement = Statement.of("SELECT id FROM test_table");
+		ResultSet resultSet = mock(ResultSet.class);
+		when(resultSet.next()).thenThrow(
+				SpannerExceptionFactory.newSpannerException(ErrorCode.DEADLINE_EXCEEDED, "deadline"));
+		when(this.readContext.executeQuery(eq(statement))).thenReturn(resultSet);
+
+		assertThatThrownBy(() -> this.spannerTemplate.query(TestEntity.class, statement, null))
+				.hasMessageContaining("deadline");
+
+		assertThat(timer("query", "test_table", "error").count()).isEqualTo(1);
+		assertThat(this.meterRegistry.find(SpannerTemplateMetrics.OPERATIONS_METRIC)
+				.tag("outcome", "success").timer()).isNull();
+	}
+
+	@Test
+	public void readTimedByTableTest() {
+		ResultSet resultSet = mock(ResultSet.class);
+		when(this.readContext.read(eq("test_table"), any(), any())).thenReturn(resultSet);
+
+		this.spannerTemplate.read(TestEntity.class, KeySet.singleKey(Key.of("a")));
+
+		assertThat(timer("read", "test_table", "success").count()).isEqualTo(1);
+	}
+
+	@Test
+	public void commitTimedByTableTest() {
+		this.spannerTemplate.insertAll(Arrays.asList(new TestEntity("a"), new TestEntity("b")));
+
+		assertThat(timer("commit", "test_table", "success").count()).isEqualTo(1);
+	}
+
+	@Test
+	public void commitTableTagTest() {
+		assertThat(SpannerTemplateMetrics.getTable(Collections.emptyList())).isEqualTo("none");
+		assertThat(SpannerTemplateMetrics.getTable(Arrays.asList(
+				Mutation.newInsertBuilder("a").build(), Mutation.newInsertBuilder("a").build())))
+				.isEqualTo("a");
+		assertThat(SpannerTemplateMetrics.getTable(Arrays.asList(
+				Mutation.newInsertBuilder("a").build(), Mutation.newInsertBuilder("b").build())))
+				.isEqualTo("multiple");
+	}
+
+	@Test
+	public void readWriteTransactionRetriesCountedTest() {
+		TransactionRunner transactionRunner = mock(TransactionRunner.class);
+		when(this.databaseClient.readWriteTransaction()).thenReturn(transactionRunner);
+		when(transactionRunner.run(any())).thenAnswer((invocation) -> {
+			TransactionCallable<?> callable = invocation.getArgument(0);
+			callable.run(mock(TransactionContext.class));
+			return callable.run(mock(TransactionContext.class));
+		});
+
+		String result = this.spannerTemplate.performReadWriteTransaction((template) -> "done");
+
+		assertThat(result).isEqualTo("done");
+
+		assertThat(timer("read_write_transaction", "none", "success").count()).isEqualTo(1);
+		assertThat(this.meterRegistry.get(SpannerTemplateMetrics.TRANSACTION_RETRIES_METRIC)
+				.tag("operation", "read_write_transaction").counter().count()).isEqualTo(1);
+	}
+
+	private Timer timer(String operation, String table, String outcome) {
+		return this.meterRegistry.get(SpannerTemplateMetrics.OPERATIONS_METRIC)
+				.tag("operation", operation)
+				.tag("table", table)
+				.tag("outcome", outcome)
+				.timer();
+	}
+
+	@Table(name = "test_table")
+	private static class TestEntity {
+		@PrimaryKey
+		String id;
+
+		TestEntity(String id) {
+			this.id = id;
+		}
+	}
+}
@@ -22,21 +22,28 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import com.google.cloud.ByteArray;
 import com.google.cloud.Timestamp;
+import com.google.cloud.spanner.BatchClient;
+import com.google.cloud.spanner.BatchReadOnlyTransaction;
 import com.google.cloud.spanner.DatabaseClient;
 import com.google.cloud.spanner.Key;
 import com.google.cloud.spanner.KeySet;
 import com.google.cloud.spanner.Mutation;
 import com.google.cloud.spanner.Options.ReadOption;
+import com.google.cloud.spanner.Partition;
+import com.google.cloud.spanner.PartitionOptions;
 import com.google.cloud.spanner.ReadContext;
 import com.google.cloud.spanner.ReadOnlyTransaction;
 import com.google.cloud.spanner.ResultSet;
 import com.google.cloud.spanner.Statement;
+import com.google.cloud.spanner.Struct;
 import com.google.cloud.spanner.TimestampBound;
 import com.google.cloud.spanner.TransactionContext;
 import com.google.cloud.spanner.TransactionRunner;
@@ -56,6 +63,7 @@ import org.springframework.cloud.gcp.data.spanner.core.mapping.Column;
 import org.springframework.cloud.gcp.data.spanner.core.mapping.Embedded;
 import org.springframework.cloud.gcp.data.spanner.core.mapping.Interleaved;
 import org.springframework.cloud.gcp.data.spanner.core.mapping.PrimaryKey;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerDataException;
 import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerMappingContext;
 import org.springframework.cloud.gcp.data.spanner.core.mapping.Table;
 import org.springframework.cloud.gcp.data.spanner.core.mapping.Where;
@@ -73,13 +81,17 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -187,6 +199,42 @@ public class SpannerTemplateTests {
 		verify(context, times(1)).executeUpdate(eq(DML));
 	}
 
+	@Test
+	public void executeBatchDmlTest() {
+		TransactionContext context = mock(TransactionContext.class);
+		TransactionRunner transactionRunner = mock(TransactionRunner.class);
+		when(this.databaseClient.readWriteTransaction()).thenReturn(transactionRunner);
+
+		when(transactionRunner.run(any())).thenAnswer((invocation) -> {
+			TransactionCallable transactionCallable = invocation.getArgument(0);
+			return transactionCallable.run(context);
+		});
+
+		Statement dml1 = Statement.of("update statement 1");
+		Statement dml2 = Statement.of("update statement 2");
+		Statement dml3 = Statement.of("update statement 3");
+		when(context.batchUpdate(eq(Arrays.asList(dml1, dml2)))).thenReturn(new long[] { 1L, 2L });
+		when(context.batchUpdate(eq(Collections.singletonList(dml3)))).thenReturn(new long[] { 3L });
+
+		ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+		this.spannerTemplate.setApplicationEventPublisher(publisher);
+
+		assertThat(this.spannerTemplate.executeBatchDmlStatements(Arrays.asList(dml1, dml2, dml3), 2))
+				.containsExactly(1L, 2L, 3L);
+
+		verify(transactionRunner, times(1)).run(any());
+		verify(context, times(2)).batchUpdate(any());
+		verify(publisher, times(1)).publishEvent(eq(new BeforeExecuteDmlEvent(dml3)));
+		verify(publisher, times(1)).publishEvent(eq(new AfterExecuteDmlEvent(dml1, 1L)));
+		verify(publisher, times(1)).publishEvent(eq(new AfterExecuteDmlEvent(dml3, 3L)));
+	}
+
+	@Test
+	public void executeBatchDmlEmptyTest() {
+		assertThat(this.spannerTemplate.executeBatchDmlStatements(Collections.emptyList())).isEmpty();
+		verify(this.databaseClient, times(0)).readWriteTransaction();
+	}
+
 	@Test
 	public void executePartitionedDmlTest() {
 		when(this.databaseClient.executePartitionedUpdate(eq(DML))).thenReturn(333L);
@@ -279,6 +327,20 @@ public class SpannerTemplateTests {
 		verify(readOnlyTransaction, times(2)).read(eq("custom_test_table"), any(), any());
 	}
 
+	@Test
+	public void readOnlyTransactionBatchDmlTest() {
+
+		this.expectedException.expectMessage("A read-only transaction template cannot execute DML.");
+
+		ReadOnlyTransaction readOnlyTransaction = mock(ReadOnlyTransaction.class);
+		when(this.databaseClient.readOnlyTransaction(any())).thenReturn(readOnlyTransaction);
+
+		this.spannerTemplate
+				.performReadOnlyTransaction((spannerOperations) -> spannerOperations
+						.executeBatchDmlStatements(Collections.singletonList(Statement.of("fail"))),
+						new SpannerReadOptions());
+	}
+
 	@Test
 	public void readOnlyTransactionDmlTest() {
 
@@ -396,6 +458,19 @@ public class SpannerTemplateTests {
 		verify(this.databaseClient, times(1)).singleUse();
 	}
 
+	@Test
+	public void singleUseTimestampBoundTest() {
+		TimestampBound bound = TimestampBound.ofMaxStaleness(15, TimeUnit.SECONDS);
+		when(this.databaseClient.singleUse(eq(bound))).thenReturn(this.readContext);
+		when(this.readContext.read(any(), any(), any())).thenReturn(null);
+		this.spannerTemplate.setSingleUseTimestampBound(bound);
+
+		assertThat(this.spannerTemplate.read(TestEntity.class, Key.of("key"))).isNull();
+
+		verify(this.databaseClient, times(0)).singleUse();
+		verify(this.databaseClient, times(1)).singleUse(eq(bound));
+	}
+
 	@Test
 	public void queryTest() {
 		when(this.readContext.read(any(), any(), any())).thenReturn(null);
@@ -457,7 +532,7 @@ public class SpannerTemplateTests {
 				"ARRAY (SELECT AS STRUCT deleted, id3, id, id_2 FROM child_test_table " +
 				"WHERE (child_test_table.id = parent_test_table.id " +
 				"AND child_test_table.id_2 = parent_test_table.id_2) AND (deleted = false)) AS childEntities " +
-				"FROM parent_test_table WHERE (id = @tag0) OR (id_2 = @tag1)")
+				"FROM parent_test_table WHERE (id = @tag0) OR (id = @tag1)")
 				.bind("tag0").to("key1").bind("tag1").to("key2").build();
 		verify(spyTemplate, times(1)).query(eq(ParentEntity.class), eq(statement), any());
 		verify(this.databaseClient, times(1)).singleUse();
@@ -556,6 +631,207 @@ public class SpannerTemplateTests {
 						.write(eq(mutations)));
 	}
 
+	@Test
+	public void insertAllSplitTest() {
+		Mutation mutation = Mutation.newInsertBuilder("custom_test_table")
+				.set("id").to("a").build();
+		TestEntity entity = new TestEntity();
+		List entities = Arrays.asList(entity, entity, entity);
+		when(this.mutationFactory.insert(same(entity)))
+				.thenReturn(Collections.singletonList(mutation));
+		this.spannerTemplate.setMutationSplitter(new SpannerMutationSplitter(2, false));
+
+		this.spannerTemplate.insertAll(entities);
+
+		verify(this.databaseClient, times(1)).write(eq(Arrays.asList(mutation, mutation)));
+		verify(this.databaseClient, times(1)).write(eq(Collections.singletonList(mutation)));
+	}
+
+	@Test
+	public void queryAllByKeysetTest() {
+		AtomicInteger rowCount = new AtomicInteger(3);
+		AtomicInteger row = new AtomicInteger();
+		ResultSet resultSet = mock(ResultSet.class);
+		when(resultSet.next()).thenAnswer((invocation) -> row.incrementAndGet() <= rowCount.get());
+		when(resultSet.getCurrentRowAsStruct()).thenAnswer((invocation) -> Struct.newBuilder()
+				.set("custom_col").to("c" + row.get())
+				.set("id").to("id" + row.get())
+				.set("id2").to((long) row.get()).build());
+		when(this.readContext.executeQuery(any())).thenReturn(resultSet);
+		when(this.objectMapper.read(eq(TestEntity.class), any(), any(), anyBoolean()))
+				.thenAnswer((invocation) -> new TestEntity());
+		SpannerPageableQueryOptions options = new SpannerPageableQueryOptions().setLimit(2)
+				.setSort(Sort.by("something"));
+
+		SpannerKeysetSlice<TestEntity> firstPage = this.spannerTemplate.queryAllByKeyset(TestEntity.class,
+				options, null);
+
+		assertThat(firstPage.getContent()).hasSize(2);
+		assertThat(firstPage.hasNext()).isTrue();
+		verify(this.readContext, times(1)).executeQuery(argThat((statement) -> statement.getSql()
+				.endsWith(" FROM custom_test_table ORDER BY custom_col ASC , id ASC , id2 ASC LIMIT 3")
+				&& statement.getParameters().isEmpty()));
+
+		rowCount.set(1);
+		row.set(0);
+		SpannerKeysetSlice<TestEntity> lastPage = this.spannerTemplate.queryAllByKeyset(TestEntity.class,
+				options, firstPage.getContinuationToken());
+
+		assertThat(lastPage.getContent()).hasSize(1);
+		assertThat(lastPage.hasNext()).isFalse();
+		assertThat(lastPage.getContinuationToken()).isNull();
+		verify(this.readContext, times(1)).executeQuery(argThat((statement) -> statement.getSql()
+				.contains(" FROM custom_test_table WHERE ((custom_col > @keyset0) OR ")
+				&& statement.getParameters().get("keyset0").getString().equals("c2")
+				&& statement.getParameters().get("keyset1").getString().equals("id2")
+				&& statement.getParameters().get("keyset2").getInt64() == 2L));
+	}
+
+	@Test
+	public void queryAllByKeysetWithOffsetTest() {
+		this.expectedException.expect(IllegalArgumentException.class);
+		this.expectedException.expectMessage("Keyset pagination does not support offsets.");
+		this.spannerTemplate.queryAllByKeyset(TestEntity.class,
+				new SpannerPageableQueryOptions().setLimit(2).setOffset(4L), null);
+	}
+
+	@Test
+	public void queryByKeysetTest() {
+		ResultSet resultSet = mock(ResultSet.class);
+		when(resultSet.next()).thenReturn(true, false);
+		when(resultSet.getCurrentRowAsStruct()).thenReturn(Struct.newBuilder()
+				.set("custom_col").to("c1").set("id").to("id1").set("id2").to(1L).build());
+		when(this.readContext.executeQuery(any())).thenReturn(resultSet);
+		when(this.objectMapper.read(eq(TestEntity.class), any(), any(), anyBoolean()))
+				.thenAnswer((invocation) -> new TestEntity());
+		Statement statement = Statement.newBuilder("SELECT * FROM custom_test_table WHERE id = @id")
+				.bind("id").to("id0").build();
+		SpannerPageableQueryOptions options = new SpannerPageableQueryOptions().setLimit(2)
+				.setSort(Sort.by("something"));
+		String token = new KeysetQuery(this.mappingContext.getPersistentEntity(TestEntity.class),
+				this.objectMapper, options.getSort(), statement).getContinuationToken(
+						Struct.newBuilder().set("custom_col").to("c0").set("id").to("id0").set("id2").to(0L)
+								.build());
+
+		SpannerKeysetSlice<TestEntity> slice = this.spannerTemplate.queryByKeyset(TestEntity.class,
+				statement, options, token);
+
+		assertThat(slice.getContent()).hasSize(1);
+		assertThat(slice.hasNext()).isFalse();
+		verify(this.readContext, times(1)).executeQuery(argThat((executed) -> executed.getSql()
+				.startsWith("SELECT * FROM (SELECT * FROM custom_test_table WHERE id = @id) "
+						+ "WHERE ((custom_col > @keyset0) OR ")
+				&& executed.getSql().endsWith(" LIMIT 3")
+				&& executed.getParameters().get("id").getString().equals("id0")
+				&& executed.getParameters().get("keyset0").getString().equals("c0")));
+	}
+
+	@Test
+	public void readAllPartitionedTest() {
+		BatchClient batchClient = mock(BatchClient.class);
+		BatchReadOnlyTransaction transaction = mock(BatchReadOnlyTransaction.class);
+		TimestampBound timestampBound = TimestampBound.ofExactStaleness(10, TimeUnit.SECONDS);
+		when(batchClient.batchReadOnlyTransaction(eq(timestampBound))).thenReturn(transaction);
+		when(transaction.partitionQuery(any(), any())).thenReturn(Collections.emptyList());
+		this.spannerTemplate.setBatchClientProvider(() -> batchClient);
+
+		try (Stream<TestEntity> entities = this.spannerTemplate.readAllPartitioned(TestEntity.class,
+				new SpannerPartitionOptions().setTimestampBound(timestampBound).setMaxPartitions(8L))) {
+			assertThat(entities).isEmpty();
+		}
+
+		verify(transaction, times(1)).partitionQuery(
+				eq(PartitionOptions.newBuilder().setMaxPartitions(8L).build()),
+				argThat((statement) -> statement.getSql().startsWith("SELECT ")
+						&& statement.getSql().contains("custom_col")
+						&& statement.getSql().endsWith(" FROM custom_test_table")));
+		verify(transaction, times(1)).close();
+	}
+
+	@Test
+	public void readAllPartitionedSelectsEagerChildrenTest() {
+		BatchReadOnlyTransaction transaction = mockBatchReadOnlyTransaction();
+
+		this.spannerTemplate.readAllPartitioned(ParentEntity.class, new SpannerPartitionOptions(),
+				(partition) -> assertThat(partition).isEmpty());
+		this.spannerTemplate.readAllPartitioned(ParentEntity.class,
+				new SpannerPartitionOptions().setIncludeProperties(new HashSet<>(Arrays.asList("id", "id_2"))),
+				(partition) -> assertThat(partition).isEmpty());
+
+		verify(transaction, times(1)).partitionQuery(any(),
+				argThat((statement) -> statement.getSql().contains("custom_col, ")
+						&& statement.getSql().contains(", ARRAY (SELECT AS STRUCT ")
+						&& statement.getSql().endsWith(" FROM child_test_table WHERE (child_test_table.id = "
+								+ "parent_test_table.id AND child_test_table.id_2 = parent_test_table.id_2) "
+								+ "AND (deleted = false)) AS childEntities FROM parent_test_table")));
+		verify(transaction, times(1)).partitionQuery(any(),
+				eq(Statement.of("SELECT id, id_2 FROM parent_test_table")));
+	}
+
+	@Test
+	public void queryPartitionedReadsChildrenOnlyFromThePartitionTest() {
+		BatchReadOnlyTransaction transaction = mockBatchReadOnlyTransaction();
+		mockPartitionRow(transaction);
+		ParentEntity parent = new ParentEntity();
+		parent.id = "key";
+		parent.id2 = "key2";
+		ChildEntity child = new ChildEntity();
+		child.id = "key";
+		child.id_2 = "key2";
+		child.id3 = "key3";
+		parent.childEntities = Collections.singletonList(child);
+		when(this.objectMapper.read(eq(ParentEntity.class), any(), any(), anyBoolean())).thenReturn(parent);
+
+		List<ParentEntity> parents = new ArrayList<>();
+		this.spannerTemplate.queryPartitioned(ParentEntity.class, Statement.of("SELECT * FROM parent_test_table"),
+				new SpannerPartitionOptions(), (partition) -> partition.forEach(parents::add));
+
+		assertThat(parents).containsExactly(parent);
+		verify(this.databaseClient, never()).singleUse();
+	}
+
+	@Test
+	public void queryPartitionedRejectsUnselectedEagerChildrenTest() {
+		BatchReadOnlyTransaction transaction = mockBatchReadOnlyTransaction();
+		mockPartitionRow(transaction);
+		when(this.objectMapper.read(eq(ParentEntity.class), any(), any(), anyBoolean()))
+				.thenReturn(new ParentEntity());
+
+		assertThatThrownBy(() -> this.spannerTemplate.queryPartitioned(ParentEntity.class,
+				Statement.of("SELECT id, id_2 FROM parent_test_table"), new SpannerPartitionOptions(),
+				(partition) -> partition.forEach((parent) -> { })))
+				.isInstanceOf(SpannerDataException.class)
+				.hasStackTraceContaining("The eager interleaved property childEntities of "
+						+ ParentEntity.class.getName() + " must be selected by the partitioned query");
+		verify(this.databaseClient, never()).singleUse();
+	}
+
+	private BatchReadOnlyTransaction mockBatchReadOnlyTransaction() {
+		BatchClient batchClient = mock(BatchClient.class);
+		BatchReadOnlyTransaction transaction = mock(BatchReadOnlyTransaction.class);
+		when(batchClient.batchReadOnlyTransaction(any(TimestampBound.class))).thenReturn(transaction);
+		when(transaction.partitionQuery(any(), any())).thenReturn(Collections.emptyList());
+		this.spannerTemplate.setBatchClientProvider(() -> batchClient);
+		return transaction;
+	}
+
+	private void mockPartitionRow(BatchReadOnlyTransaction transaction) {
+		Partition partition = mock(Partition.class);
+		ResultSet resultSet = mock(ResultSet.class);
+		when(transaction.partitionQuery(any(), any())).thenReturn(Collections.singletonList(partition));
+		when(transaction.execute(same(partition))).thenReturn(resultSet);
+		when(resultSet.next()).thenReturn(true, false);
+		when(resultSet.getCurrentRowAsStruct()).thenReturn(Struct.newBuilder().build());
+	}
+
+	@Test
+	public void readAllPartitionedWithoutBatchClientTest() {
+		this.expectedException.expect(SpannerDataException.class);
+		this.expectedException.expectMessage(
+				"Partitioned reads require a batch client provider to be set on the template.");
+		this.spannerTemplate.readAllPartitioned(TestEntity.class, new SpannerPartitionOptions());
+	}
+
 	@Test
 	public void updateTest() {
 		Mutation mutation = Mutation.newUpdateBuilder("custom_test_table").build();
@@ -865,6 +1141,72 @@ public class SpannerTemplateTests {
 		verify(this.objectMapper, times(2)).mapToList(any(), any(), any(), eq(false));
 	}
 
+	@Test
+	public void lazyFetchChildrenBatchedTest() {
+		ChildEntity c1 = new ChildEntity();
+		c1.id = "key";
+		c1.id_2 = "key2";
+		c1.id3 = "a";
+		ChildEntity c2 = new ChildEntity();
+		c2.id = "key";
+		c2.id_2 = "key2";
+		c2.id3 = "b";
+		GrandChildEntity gc1 = new GrandChildEntity();
+		gc1.id = "key";
+		gc1.id_2 = "key2";
+		gc1.id3 = "a";
+		gc1.id4 = "key4";
+		GrandChildEntity gc2 = new GrandChildEntity();
+		gc2.id = "key";
+		gc2.id_2 = "key2";
+		gc2.id3 = "b";
+		gc2.id4 = "key4";
+		when(this.objectMapper.mapToList(any(), eq(ChildEntity.class), any(), eq(false)))
+				.thenReturn(Arrays.asList(c1, c2));
+		when(this.objectMapper.mapToList(any(), eq(GrandChildEntity.class), any(),
+				eq(false))).thenReturn(Arrays.asList(gc1, gc2));
+
+		List<ChildEntity> result = this.spannerTemplate.readAll(ChildEntity.class);
+
+		assertThat(result.get(0).childEntities).containsExactly(gc1);
+
+		// the children of both parents are read by the same query.
+		Statement statement = Statement.newBuilder("SELECT id4, id3, id, id_2 FROM grand_child_test_table "
+				+ "WHERE (id = @tag0 AND id_2 = @tag1 AND id3 = @tag2) "
+				+ "OR (id = @tag3 AND id_2 = @tag4 AND id3 = @tag5)")
+				.bind("tag0").to("key").bind("tag1").to("key2").bind("tag2").to("a")
+				.bind("tag3").to("key").bind("tag4").to("key2").bind("tag5").to("b").build();
+		verify(this.readContext, times(1)).executeQuery(eq(statement));
+
+		assertThat(result.get(1).childEntities).containsExactly(gc2);
+		verify(this.objectMapper, times(2)).mapToList(any(), any(), any(), eq(false));
+	}
+
+	@Test
+	public void lazyFetchChildrenUnbatchedTest() {
+		this.spannerTemplate.setLazyInterleavedBatchSize(1);
+		ChildEntity c1 = new ChildEntity();
+		c1.id = "key";
+		c1.id_2 = "key2";
+		c1.id3 = "a";
+		ChildEntity c2 = new ChildEntity();
+		c2.id = "key";
+		c2.id_2 = "key2";
+		c2.id3 = "b";
+		when(this.objectMapper.mapToList(any(), eq(ChildEntity.class), any(), eq(false)))
+				.thenReturn(Arrays.asList(c1, c2));
+		when(this.objectMapper.mapToList(any(), eq(GrandChildEntity.class), any(),
+				eq(false))).thenReturn(Collections.emptyList());
+
+		List<ChildEntity> result = this.spannerTemplate.readAll(ChildEntity.class);
+
+		assertThat(result.get(0).childEntities).isEmpty();
+		assertThat(result.get(1).childEntities).isEmpty();
+
+		// the children of each parent are read separately.
+		verify(this.objectMapper, times(3)).mapToList(any(), any(), any(), eq(false));
+	}
+
 	private void verifyEvents(ApplicationEvent expectedBefore,
 			ApplicationEvent expectedAfter, Runnable operation, Consumer<InOrder> verifyOperation) {
 		ApplicationEventPublisher mockPublisher = mock(ApplicationEventPublisher.class);
@@ -18,6 +18,7 @@ package org.springframework.cloud.gcp.data.spanner.core;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 import com.google.cloud.ByteArray;
@@ -28,6 +29,7 @@ import com.google.cloud.spanner.Mutation;
 import com.google.cloud.spanner.ReadContext;
 import com.google.cloud.spanner.ReadOnlyTransaction;
 import com.google.cloud.spanner.Statement;
+import com.google.cloud.spanner.TimestampBound;
 import com.google.cloud.spanner.TransactionContext;
 import com.google.cloud.spanner.TransactionManager;
 import org.junit.Before;
@@ -98,6 +100,9 @@ public class SpannerTemplateTransactionManagerTests {
 	@Autowired
 	TransactionalService transactionalService;
 
+	@Autowired
+	StaleTransactionalService staleTransactionalService;
+
 	TransactionManager transactionManager;
 
 	@Mock
@@ -153,6 +158,45 @@ public class SpannerTemplateTransactionManagerTests {
 		verify(this.transactionManager, times(0)).rollback();
 	}
 
+	@Test
+	public void readOnlyStalenessAnnotationTest() {
+		when(this.databaseClient.readOnlyTransaction(eq(TimestampBound.ofExactStaleness(10, TimeUnit.SECONDS))))
+				.thenReturn(this.readOnlyTransaction);
+
+		this.transactionalService.staleReadOnlyOperation();
+
+		verify(this.databaseClient, times(0)).readOnlyTransaction();
+		verify(this.databaseClient, times(1))
+				.readOnlyTransaction(eq(TimestampBound.ofExactStaleness(10, TimeUnit.SECONDS)));
+		verify(this.readOnlyTransaction, times(1)).close();
+	}
+
+	@Test
+	public void readOnlyStalenessOfOverloadTest() {
+		when(this.databaseClient.readOnlyTransaction(eq(TimestampBound.ofExactStaleness(20, TimeUnit.SECONDS))))
+				.thenReturn(this.readOnlyTransaction);
+
+		this.transactionalService.staleReadOnlyOperation("abc");
+
+		verify(this.databaseClient, times(0)).readOnlyTransaction();
+		verify(this.databaseClient, times(1))
+				.readOnlyTransaction(eq(TimestampBound.ofExactStaleness(20, TimeUnit.SECONDS)));
+		verify(this.readOnlyTransaction, times(1)).close();
+	}
+
+	@Test
+	public void readOnlyStalenessOfClassTest() {
+		when(this.databaseClient.readOnlyTransaction(eq(TimestampBound.ofExactStaleness(30, TimeUnit.SECONDS))))
+				.thenReturn(this.readOnlyTransaction);
+
+		this.staleTransactionalService.readOnlyOperation();
+
+		verify(this.databaseClient, times(0)).readOnlyTransaction();
+		verify(this.databaseClient, times(1))
+				.readOnlyTransaction(eq(TimestampBound.ofExactStaleness(30, TimeUnit.SECONDS)));
+		verify(this.readOnlyTransaction, times(1)).close();
+	}
+
 	@Test
 	public void greenPathTransaction() {
 		TestEntity entity1 = new TestEntity();
@@ -278,6 +322,16 @@ public class SpannerTemplateTransactionManagerTests {
 		TransactionalService transactionalService() {
 			return new TransactionalService();
 		}
+
+		@Bean
+		StaleTransactionalService staleTransactionalService() {
+			return new StaleTransactionalService();
+		}
+
+		@Bean
+		static ReadOnlyStalenessBeanPostProcessor readOnlyStalenessBeanPostProcessor() {
+			return new ReadOnlyStalenessBeanPostProcessor();
+		}
 	}
 
 	/**
@@ -320,6 +374,18 @@ public class SpannerTemplateTransactionManagerTests {
 			this.spannerTemplate.read(TestEntity.class, Key.of("abc"));
 		}
 
+		@Transactional(readOnly = true)
+		@ReadOnlyStaleness(10)
+		public void staleReadOnlyOperation() {
+			this.spannerTemplate.read(TestEntity.class, Key.of("abc"));
+		}
+
+		@Transactional(readOnly = true)
+		@ReadOnlyStaleness(20)
+		public void staleReadOnlyOperation(String key) {
+			this.spannerTemplate.read(TestEntity.class, Key.of(key));
+		}
+
 		@Transactional(readOnly = true)
 		public void writingInReadOnly(TestEntity testEntity) {
 			this.spannerTemplate.upsert(testEntity);
@@ -341,6 +407,20 @@ public class SpannerTemplateTransactionManagerTests {
 		}
 	}
 
+	/**
+	 * A mock transactional service whose class sets the read-only staleness.
+	 */
+	@ReadOnlyStaleness(30)
+	public static class StaleTransactionalService {
+		@Autowired
+		SpannerTemplate spannerTemplate;
+
+		@Transactional(readOnly = true)
+		public void readOnlyOperation() {
+			this.spannerTemplate.read(TestEntity.class, Key.of("abc"));
+		}
+	}
+
 	@Table(name = "custom_test_table")
 	private static class TestEntity {
 		@PrimaryKey(keyOrder = 1)
@@ -16,14 +16,20 @@
 
 package org.springframework.cloud.gcp.data.spanner.core;
 
+import java.util.concurrent.TimeUnit;
+
 import com.google.cloud.spanner.AbortedException;
 import com.google.cloud.spanner.DatabaseClient;
 import com.google.cloud.spanner.ErrorCode;
+import com.google.cloud.spanner.ReadOnlyTransaction;
 import com.google.cloud.spanner.SpannerException;
 import com.google.cloud.spanner.SpannerExceptionFactory;
+import com.google.cloud.spanner.TimestampBound;
 import com.google.cloud.spanner.TransactionContext;
 import com.google.cloud.spanner.TransactionManager;
 import com.google.cloud.spanner.TransactionManager.TransactionState;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
@@ -36,10 +42,13 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.UnexpectedRollbackException;
+import org.springframework.transaction.interceptor.RuleBasedTransactionAttribute;
 import org.springframework.transaction.support.DefaultTransactionDefinition;
 import org.springframework.transaction.support.DefaultTransactionStatus;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -169,6 +178,75 @@ public class SpannerTransactionManagerTests {
 		verify(transactionManager, times(0)).getState();
 	}
 
+	@Test
+	public void testDoBeginReadOnlyWithTimestampBound() {
+		TimestampBound bound = TimestampBound.ofExactStaleness(15, TimeUnit.SECONDS);
+		ReadOnlyTransaction readOnlyTransaction = mock(ReadOnlyTransaction.class);
+		when(this.databaseClient.readOnlyTransaction(bound)).thenReturn(readOnlyTransaction);
+		this.manager.setReadOnlyTimestampBound(bound);
+
+		DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+		definition.setReadOnly(true);
+
+		TransactionSynchronizationManager.unbindResource(this.databaseClient);
+
+		manager.doBegin(tx, definition);
+
+		Assert.assertNotNull(tx.getTransactionContext());
+		Assert.assertTrue(tx.isReadOnly());
+		verify(this.databaseClient, times(1)).readOnlyTransaction(bound);
+		verify(this.databaseClient, never()).readOnlyTransaction();
+	}
+
+	@Test
+	public void testDoBeginReadOnlyWithAttributeTimestampBound() {
+		TimestampBound bound = TimestampBound.ofExactStaleness(15, TimeUnit.SECONDS);
+		TimestampBound attributeBound = TimestampBound.ofExactStaleness(5, TimeUnit.SECONDS);
+		ReadOnlyTransaction readOnlyTransaction = mock(ReadOnlyTransaction.class);
+		when(this.databaseClient.readOnlyTransaction(attributeBound)).thenReturn(readOnlyTransaction);
+		this.manager.setReadOnlyTimestampBound(bound);
+
+		RuleBasedTransactionAttribute attribute = new RuleBasedTransactionAttribute();
+		attribute.setReadOnly(true);
+
+		TransactionSynchronizationManager.unbindResource(this.databaseClient);
+
+		manager.doBegin(tx, new ReadOnlyStalenessTransactionAttribute(attribute, "findTrades", attributeBound));
+
+		Assert.assertTrue(tx.isReadOnly());
+		verify(this.databaseClient, times(1)).readOnlyTransaction(attributeBound);
+		verify(this.databaseClient, never()).readOnlyTransaction(bound);
+	}
+
+	@Test
+	public void testDoBeginReadOnlyNamedAfterAnnotatedMethod() {
+		TimestampBound bound = TimestampBound.ofExactStaleness(15, TimeUnit.SECONDS);
+		ReadOnlyTransaction readOnlyTransaction = mock(ReadOnlyTransaction.class);
+		when(this.databaseClient.readOnlyTransaction(bound)).thenReturn(readOnlyTransaction);
+		this.manager.setReadOnlyTimestampBound(bound);
+
+		// Without an attribute carrying its bound, the name of the transaction is not used
+		// to look the annotation up.
+		DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+		definition.setReadOnly(true);
+		definition.setName(SpannerTemplateTransactionManagerTests.TransactionalService.class.getName()
+				+ ".staleReadOnlyOperation");
+
+		TransactionSynchronizationManager.unbindResource(this.databaseClient);
+
+		manager.doBegin(tx, definition);
+
+		verify(this.databaseClient, times(1)).readOnlyTransaction(bound);
+	}
+
+	@Test
+	public void testReadOnlyTimestampBoundMaxStaleness() {
+		this.expectedEx.expect(IllegalArgumentException.class);
+		this.expectedEx.expectMessage("Read-only transactions only support");
+
+		this.manager.setReadOnlyTimestampBound(TimestampBound.ofMaxStaleness(15, TimeUnit.SECONDS));
+	}
+
 	@Test
 	public void testDoCommit() {
 		when(transactionManager.getState()).thenReturn(TransactionState.STARTED);
@@ -249,4 +327,66 @@ public class SpannerTransactionManagerTests {
 
 		verify(transactionManager, never()).rollback();
 	}
+
+	@Test
+	public void testCommitTimed() {
+		SimpleMeterRegistry meterRegistry = bindMetrics();
+		when(transactionManager.begin()).thenReturn(transactionContext);
+		when(transactionManager.getState()).thenReturn(TransactionState.STARTED);
+		TransactionSynchronizationManager.unbindResource(this.databaseClient);
+
+		manager.doBegin(tx, new DefaultTransactionDefinition());
+		manager.doCommit(status);
+
+		assertThat(transactionTimer(meterRegistry, "read_write_transaction", "success").count()).isEqualTo(1);
+	}
+
+	@Test
+	public void testAbortedCommitTimedAndCounted() {
+		SimpleMeterRegistry meterRegistry = bindMetrics();
+		when(transactionManager.begin()).thenReturn(transactionContext);
+		when(transactionManager.getState()).thenReturn(TransactionState.STARTED);
+		Mockito.doThrow(AbortedException.class).when(transactionManager).commit();
+		TransactionSynchronizationManager.unbindResource(this.databaseClient);
+
+		manager.doBegin(tx, new DefaultTransactionDefinition());
+		assertThatThrownBy(() -> manager.doCommit(status)).isInstanceOf(UnexpectedRollbackException.class);
+		manager.doRollback(status);
+
+		assertThat(transactionTimer(meterRegistry, "read_write_transaction", "aborted").count()).isEqualTo(1);
+		assertThat(meterRegistry.find(SpannerTemplateMetrics.OPERATIONS_METRIC)
+				.tag("outcome", "rollback").timer()).isNull();
+		assertThat(meterRegistry.get(SpannerTemplateMetrics.TRANSACTION_ABORTS_METRIC)
+				.tag("operation", "read_write_transaction").counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	public void testReadOnlyRollbackTimed() {
+		SimpleMeterRegistry meterRegistry = bindMetrics();
+		when(databaseClient.readOnlyTransaction()).thenReturn(mock(ReadOnlyTransaction.class));
+		DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+		definition.setReadOnly(true);
+		TransactionSynchronizationManager.unbindResource(this.databaseClient);
+
+		manager.doBegin(tx, definition);
+		manager.doRollback(status);
+
+		assertThat(transactionTimer(meterRegistry, "read_only_transaction", "rollback").count()).isEqualTo(1);
+	}
+
+	private SimpleMeterRegistry bindMetrics() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		SpannerTemplateMetrics metrics = new SpannerTemplateMetrics();
+		metrics.bindTo(meterRegistry);
+		this.manager.setMetrics(metrics);
+		return meterRegistry;
+	}
+
+	private static Timer transactionTimer(SimpleMeterRegistry meterRegistry, String operation, String outcome) {
+		return meterRegistry.get(SpannerTemplateMetrics.OPERATIONS_METRIC)
+				.tag("operation", operation)
+				.tag("table", "none")
+				.tag("outcome", outcome)
+				.timer();
+	}
 }
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.cloud.gcp.data.spanner.core;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import com.google.cloud.spanner.DatabaseClient;
+import com.google.cloud.spanner.ErrorCode;
+import com.google.cloud.spanner.Mutation;
+import com.google.cloud.spanner.SpannerExceptionFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.cloud.gcp.data.spanner.core.admin.SpannerSchemaUtils;
+import org.springframework.cloud.gcp.data.spanner.core.convert.ConverterAwareMappingSpannerEntityProcessor;
+import org.springframework.cloud.gcp.data.spanner.core.convert.SpannerEntityProcessor;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.PrimaryKey;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerDataException;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerMappingContext;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.Table;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the write-behind buffer.
+ *
+ * @author agent (agent@local)
+ */
+public class SpannerWriteBehindBufferTests {
+
+	private DatabaseClient databaseClient;
+
+	private SpannerTemplate spannerTemplate;
+
+	private SpannerMutationFactory mutationFactory;
+
+	private ConcurrentLinkedQueue<List<Mutation>> commits;
+
+	@Before
+	public void setUp() {
+		this.databaseClient = mock(DatabaseClient.class);
+		this.commits = new ConcurrentLinkedQueue<>();
+		when(this.databaseClient.write(any())).thenAnswer((invocation) -> {
+			Iterable<Mutation> mutations = invocation.getArgument(0);
+			List<Mutation> commit = new ArrayList<>();
+			mutations.forEach(commit::add);
+			this.commits.add(commit);
+			return null;
+		});
+		SpannerMappingContext mappingContext = new SpannerMappingContext();
+		SpannerEntityProcessor entityProcessor = new ConverterAwareMappingSpannerEntityProcessor(mappingContext);
+		SpannerSchemaUtils schemaUtils = new SpannerSchemaUtils(mappingContext, entityProcessor, true);
+		this.mutationFactory = new SpannerMutationFactoryImpl(entityProcessor, mappingContext, schemaUtils);
+		this.spannerTemplate = new SpannerTemplate(() -> this.databaseClient, mappingContext, entityProcessor,
+				this.mutationFactory, schemaUtils);
+	}
+
+	@Test
+	public void coalescesWritesOfSameKeyTest() throws Exception {
+		SpannerWriteBehindBuffer buffer = new SpannerWriteBehindBuffer(this.spannerTemplate, this.mutationFactory,
+				100, Duration.ofHours(1), 100);
+
+		CompletableFuture<Void> first = buffer.upsert(new TestEntity("a", "v1"));
+		CompletableFuture<Void> other = buffer.upsert(new TestEntity("b", "v1"));
+		CompletableFuture<Void> last = buffer.upsert(new TestEntity("a", "v2"));
+		assertThat(buffer.getPendingEntityCount()).isEqualTo(2);
+		buffer.flush().get(5, TimeUnit.SECONDS);
+
+		assertThat(first).isCompleted();
+		assertThat(other).isCompleted();
+		assertThat(last).isCompleted();
+		assertThat(this.commits).hasSize(1);
+		List<Mutation> commit = this.commits.peek();
+		assertThat(commit).hasSize(2);
+		assertThat(commit.get(0).asMap().get("id").getString()).isEqualTo("b");
+		assertThat(commit.get(1).asMap().get("id").getString()).isEqualTo("a");
+		assertThat(commit.get(1).asMap().get("value").getString()).isEqualTo("v2");
+		assertThat(buffer.getPendingEntityCount()).isZero();
+		buffer.close();
+	}
+
+	@Test
+	public void replacingWriteIsCommittedAfterEarlierWritesTest() throws Exception {
+		SpannerWriteBehindBuffer buffer = new SpannerWriteBehindBuffer(this.spannerTemplate, this.mutationFactory,
+				100, Duration.ofHours(1), 100);
+
+		buffer.upsert(new TestEntity("a", "v"));
+		buffer.upsert(new ChildTestEntity("a", "1"));
+		buffer.delete(new TestEntity("a", "v"));
+		buffer.flush().get(5, TimeUnit.SECONDS);
+
+		assertThat(this.commits).hasSize(1);
+		assertThat(this.commits.peek()).extracting(Mutation::getTable, Mutation::getOperation).containsExactly(
+				tuple("child_test_table", Mutation.Op.INSERT_OR_UPDATE),
+				tuple("test_table", Mutation.Op.DELETE));
+		buffer.close();
+	}
+
+	@Test
+	public void flushesOnMutationThresholdTest() throws Exception {
+		// each entity is written with 2 mutations, one per column.
+		SpannerWriteBehindBuffer buffer = new SpannerWriteBehindBuffer(this.spannerTemplate, this.mutationFactory,
+				4, Duration.ofHours(1), 100);
+
+		buffer.upsert(new TestEntity("a", "v"));
+		CompletableFuture<Void> second = buffer.upsert(new TestEntity("b", "v"));
+		second.get(5, TimeUnit.SECONDS);
+
+		assertThat(this.commits).hasSize(1);
+		assertThat(this.commits.peek()).hasSize(2);
+		buffer.close();
+	}
+
+	@Test
+	public void flushesOnIntervalTest() throws Exception {
+		SpannerWriteBehindBuffer buffer = new SpannerWriteBehindBuffer(this.spannerTemplate, this.mutationFactory,
+				100, Duration.ofMillis(10), 100);
+
+		buffer.delete(new TestEntity("a", "v")).get(5, TimeUnit.SECONDS);
+
+		assertThat(this.commits).hasSize(1);
+		assertThat(this.commits.peek().get(0).getOperation()).isEqualTo(Mutation.Op.DELETE);
+		buffer.close();
+	}
+
+	@Test
+	public void splitsFlushIntoCommitsTest() throws Exception {
+		SpannerWriteBehindBuffer buffer = new SpannerWriteBehindBuffer(this.spannerTemplate, this.mutationFactory,
+				5, Duration.ofHours(1), 100);
+
+		buffer.upsert(new TestEntity("a", "v"));
+		buffer.upsert(new TestEntity("b", "v"));
+		buffer.upsert(new TestEntity("c", "v")).get(5, TimeUnit.SECONDS);
+
+		assertThat(this.commits).extracting(Collection::size).containsExactly(2, 1);
+		buffer.close();
+	}
+
+	@Test
+	public void failedCommitCompletesExceptionallyTest() {
+		doThrow(SpannerExceptionFactory.newSpannerException(ErrorCode.UNAVAILABLE, "unavailable"))
+				.when(this.databaseClient).write(any());
+		SpannerWriteBehindBuffer buffer = new SpannerWriteBehindBuffer(this.spannerTemplate, this.mutationFactory,
+				100, Duration.ofMillis(10), 100);
+
+		CompletableFuture<Void> future = buffer.upsert(new TestEntity("a", "v"));
+
+		assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+				.isInstanceOf(ExecutionException.class)
+				.hasCauseInstanceOf(SpannerDataException.class)
+				.hasRootCauseMessage("UNAVAILABLE: unavailable");
+		buffer.close();
+	}
+
+	@Test
+	public void blocksWhileFullTest() throws Exception {
+		CountDownLatch committing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		doAnswer((invocation) -> {
+			committing.countDown();
+			release.await(5, TimeUnit.SECONDS);
+			return null;
+		}).when(this.databaseClient).write(any());
+		SpannerWriteBehindBuffer buffer = new SpannerWriteBehindBuffer(this.spannerTemplate, this.mutationFactory,
+				2, Duration.ofHours(1), 1);
+		buffer.setMaxBlockTime(Duration.ofMillis(50));
+
+		CompletableFuture<Void> first = buffer.upsert(new TestEntity("a", "v"));
+		assertThat(committing.await(5, TimeUnit.SECONDS)).isTrue();
+
+		assertThatThrownBy(() -> buffer.upsert(new TestEntity("b", "v")))
+				.isInstanceOf(SpannerDataException.class)
+				.hasMessageStartingWith("The write-behind buffer stayed full");
+
+		release.countDown();
+		first.get(5, TimeUnit.SECONDS);
+		buffer.setMaxBlockTime(Duration.ofSeconds(5));
+		buffer.upsert(new TestEntity("b", "v"));
+		buffer.close();
+	}
+
+	@Test
+	public void closeCommitsBufferedWritesTest() {
+		SpannerWriteBehindBuffer buffer = new SpannerWriteBehindBuffer(this.spannerTemplate, this.mutationFactory,
+				100, Duration.ofHours(1), 100);
+
+		CompletableFuture<Void> future = buffer.upsert(new TestEntity("a", "v"));
+		buffer.close();
+
+		assertThat(future).isCompleted();
+		assertThat(this.commits).hasSize(1);
+		assertThatThrownBy(() -> buffer.upsert(new TestEntity("b", "v")))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessage("The write-behind buffer is closed.");
+	}
+
+	@Table(name = "test_table")
+	private static class TestEntity {
+		@PrimaryKey
+		String id;
+
+		String value;
+
+		TestEntity(String id, String value) {
+			this.id = id;
+			this.value = value;
+		}
+	}
+
+	@Table(name = "child_test_table")
+	private static class ChildTestEntity {
+		@PrimaryKey(keyOrder = 1)
+		String id;
+
+		@PrimaryKey(keyOrder = 2)
+		String childId;
+
+		ChildTestEntity(String id, String childId) {
+			this.id = id;
+			this.childId = childId;
+		}
+	}
+}
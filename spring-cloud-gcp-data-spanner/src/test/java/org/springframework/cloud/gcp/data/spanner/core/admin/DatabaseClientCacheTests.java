@@ -0,0 +1,160 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.springframework.cloud.gcp.data.spanner.core.admin;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import com.google.cloud.spanner.BatchClient;
+import com.google.cloud.spanner.DatabaseClient;
+import com.google.cloud.spanner.DatabaseId;
+import com.google.cloud.spanner.Spanner;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the database client cache.
+ *
+ * @author agent (agent@local)
+ */
+public class DatabaseClientCacheTests {
+
+	private final AtomicReference<DatabaseId> currentDatabase = new AtomicReference<>();
+
+	private final AtomicLong ticker = new AtomicLong();
+
+	private final Map<DatabaseId, Spanner> spanners = new HashMap<>();
+
+	private int createdSpanners;
+
+	@Before
+	public void setUp() {
+		this.currentDatabase.set(database("a"));
+	}
+
+	@Test
+	public void reusesClientOfDatabaseTest() {
+		DatabaseClientCache cache = createCache(2, null);
+
+		DatabaseClient first = cache.get();
+		this.currentDatabase.set(database("b"));
+		DatabaseClient other = cache.get();
+		this.currentDatabase.set(database("a"));
+
+		assertThat(cache.get()).isSameAs(first);
+		assertThat(other).isNotSameAs(first);
+		assertThat(this.createdSpanners).isEqualTo(2);
+		assertThat(cache.size()).isEqualTo(2);
+	}
+
+	@Test
+	public void evictsLeastRecentlyUsedTest() {
+		DatabaseClientCache cache = createCache(2, null);
+
+		cache.get();
+		this.ticker.addAndGet(10);
+		this.currentDatabase.set(database("b"));
+		cache.get();
+		this.ticker.addAndGet(10);
+		this.currentDatabase.set(database("a"));
+		cache.get();
+		this.ticker.addAndGet(10);
+		this.currentDatabase.set(database("c"));
+		cache.get();
+
+		assertThat(cache.size()).isEqualTo(2);
+		verify(this.spanners.get(database("b")), timeout(5000)).close();
+		verify(this.spanners.get(database("a")), never()).close();
+	}
+
+	@Test
+	public void evictsIdleClientsTest() {
+		DatabaseClientCache cache = createCache(10, Duration.ofNanos(100));
+
+		cache.get();
+		this.currentDatabase.set(database("b"));
+		this.ticker.addAndGet(60);
+		cache.get();
+		this.ticker.addAndGet(60);
+		cache.get();
+
+		assertThat(cache.size()).isEqualTo(1);
+		verify(this.spanners.get(database("a")), timeout(5000)).close();
+		verify(this.spanners.get(database("b")), never()).close();
+	}
+
+	@Test
+	public void batchClientsUseCachedServicesTest() {
+		DatabaseClientCache cache = createCache(2, null);
+		Supplier<BatchClient> batchClientProvider = cache.batchClientProvider();
+
+		BatchClient first = batchClientProvider.get();
+		this.currentDatabase.set(database("b"));
+		batchClientProvider.get();
+		cache.get();
+		this.currentDatabase.set(database("a"));
+
+		assertThat(batchClientProvider.get()).isSameAs(first);
+		assertThat(this.createdSpanners).isEqualTo(2);
+		verify(this.spanners.get(database("a"))).getBatchClient(database("a"));
+		verify(this.spanners.get(database("b"))).getBatchClient(database("b"));
+	}
+
+	@Test
+	public void closeClosesAllServicesTest() {
+		DatabaseClientCache cache = createCache(10, null);
+		cache.get();
+		this.currentDatabase.set(database("b"));
+		cache.get();
+
+		cache.close();
+
+		verify(this.spanners.get(database("a"))).close();
+		verify(this.spanners.get(database("b"))).close();
+		assertThatThrownBy(cache::get).isInstanceOf(IllegalStateException.class)
+				.hasMessage("The database client cache is closed.");
+	}
+
+	private DatabaseClientCache createCache(int maxSize, Duration maxIdleTime) {
+		return new DatabaseClientCache(this.currentDatabase::get, (databaseId) -> {
+			Spanner spanner = mock(Spanner.class);
+			when(spanner.getDatabaseClient(any())).thenReturn(mock(DatabaseClient.class));
+			when(spanner.getBatchClient(any())).thenReturn(mock(BatchClient.class));
+			this.spanners.put(databaseId, spanner);
+			this.createdSpanners++;
+			return spanner;
+		}, maxSize, maxIdleTime, this.ticker::get);
+	}
+
+	private static DatabaseId database(String name) {
+		return DatabaseId.of("project", "instance", name);
+	}
+}
@@ -267,16 +267,16 @@ public class ConverterAwareMappingSpannerEntityReaderTests {
 	@Test
 	public void ensureConstructorArgsAreReadOnce() {
 		Struct row = mock(Struct.class);
-		when(row.getString("id")).thenReturn("1234");
+		when(row.getString(0)).thenReturn("1234");
 		when(row.getType()).thenReturn(
 				Type.struct(Arrays.asList(Type.StructField.of("id", Type.string()))));
-		when(row.getColumnType("id")).thenReturn(Type.string());
+		when(row.getColumnType(0)).thenReturn(Type.string());
 
 		TestEntities.SimpleConstructorTester result = this.spannerEntityReader
 				.read(TestEntities.SimpleConstructorTester.class, row);
 
 		assertThat(result.id).isEqualTo("1234");
-		verify(row, times(1)).getString("id");
+		verify(row, times(1)).getString(0);
 	}
 
 	@Test
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.data.spanner.core.convert;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import com.google.cloud.spanner.Struct;
+import com.google.cloud.spanner.Type;
+import com.google.cloud.spanner.Type.StructField;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the struct column index cache and index-based struct access.
+ *
+ * @author agent (agent@local)
+ */
+public class StructColumnIndexCacheTests {
+
+	private static final Type ROW_TYPE = Type.struct(
+			StructField.of("id", Type.string()),
+			StructField.of("count", Type.int64()),
+			StructField.of("tags", Type.array(Type.string())));
+
+	@Test
+	public void sameTypeReusesIndexTest() {
+		StructColumnIndexCache cache = new StructColumnIndexCache();
+		Map<String, Integer> first = cache.getColumnIndexes(ROW_TYPE);
+
+		assertThat(first).containsEntry("id", 0).containsEntry("count", 1)
+				.containsEntry("tags", 2);
+		assertThat(cache.getColumnIndexes(ROW_TYPE)).isSameAs(first);
+		// an equal but distinct type instance resolves to the same index
+		assertThat(cache.getColumnIndexes(Type.struct(ROW_TYPE.getStructFields())))
+				.isSameAs(first);
+	}
+
+	@Test
+	public void readByIndexTest() {
+		Struct row = Struct.newBuilder().set("id").to("key1").set("count").to(3L)
+				.set("tags").toStringArray(Arrays.asList("a", "b")).build();
+		StructAccessor accessor = new StructAccessor(row,
+				new StructColumnIndexCache().getColumnIndexes(row.getType()));
+
+		assertThat(accessor.hasColumn("id")).isTrue();
+		assertThat(accessor.hasColumn("other")).isFalse();
+		assertThat(accessor.isNull("count")).isFalse();
+		assertThat(accessor.getSingleValue("id")).isEqualTo("key1");
+		assertThat(accessor.getSingleValue("count")).isEqualTo(3L);
+		assertThat(accessor.getListValue("tags")).containsExactly("a", "b");
+	}
+
+	@Test
+	public void ambiguousColumnTest() {
+		Struct row = Struct.newBuilder().set("id").to("a").set("id").to("b").build();
+		StructAccessor accessor = new StructAccessor(row);
+
+		assertThat(accessor.hasColumn("id")).isTrue();
+		assertThatThrownBy(() -> accessor.getSingleValue("id"))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -81,6 +81,19 @@ public class SpannerMappingContextTests {
 		verifyZeroInteractions(mockEntity);
 	}
 
+	@Test
+	public void testEntitiesShareMappingContext() {
+		SpannerMappingContext context = new SpannerMappingContext();
+
+		SpannerPersistentEntity<?> parent = context.getPersistentEntity(ParentEntity.class);
+		SpannerPersistentEntity<?> embedded = context.getPersistentEntity(EmbeddedKey.class);
+
+		assertThat(parent.getSpannerMappingContext()).isSameAs(context);
+		assertThat(embedded.getSpannerMappingContext()).isSameAs(context);
+		assertThat(parent.getSpannerEntityProcessor())
+				.isSameAs(embedded.getSpannerEntityProcessor());
+		assertThat(parent.getPrimaryKeyColumnName()).isEqualTo("id");
+	}
 
 	private SpannerMappingContext createSpannerMappingContextWith(
 			SpannerPersistentEntityImpl mockEntity) {
@@ -94,4 +107,17 @@ public class SpannerMappingContextTests {
 		};
 	}
 
+	@Table(name = "parents")
+	private static class ParentEntity {
+		@PrimaryKey
+		@Embedded
+		EmbeddedKey key;
+
+		String name;
+	}
+
+	private static class EmbeddedKey {
+		@PrimaryKey
+		String id;
+	}
 }
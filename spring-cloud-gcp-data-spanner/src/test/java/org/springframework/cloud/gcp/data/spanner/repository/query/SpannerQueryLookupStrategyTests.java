@@ -99,6 +99,11 @@ public class SpannerQueryLookupStrategyTests {
 			public boolean dmlStatement() {
 				return false;
 			}
+
+			@Override
+			public int batchSize() {
+				return 0;
+			}
 		});
 	}
 
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cloud.gcp.data.spanner.repository.query;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.PrimaryKey;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerMappingContext;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.Table;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.core.support.DefaultRepositoryMetadata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the Spanner query method.
+ *
+ * @author agent (agent@local)
+ */
+public class SpannerQueryMethodTests {
+
+	@Test
+	public void interfaceProjectionPropertiesTest() throws NoSuchMethodException {
+		assertThat(queryMethod("findNameById").getProjectedProperties()).containsExactly("name");
+	}
+
+	@Test
+	public void dtoProjectionPropertiesTest() throws NoSuchMethodException {
+		assertThat(queryMethod("findNameAndAgeById").getProjectedProperties())
+				.containsExactlyInAnyOrder("name", "age");
+	}
+
+	@Test
+	public void entityAndOpenProjectionReadAllPropertiesTest() throws NoSuchMethodException {
+		assertThat(queryMethod("findById").getProjectedProperties()).isEmpty();
+		assertThat(queryMethod("findDescriptionById").getProjectedProperties()).isEmpty();
+	}
+
+	private SpannerQueryMethod queryMethod(String name) throws NoSuchMethodException {
+		return new SpannerQueryMethod(PersonRepository.class.getMethod(name, String.class),
+				new DefaultRepositoryMetadata(PersonRepository.class), new SpelAwareProxyProjectionFactory(),
+				new SpannerMappingContext());
+	}
+
+	@Table(name = "people")
+	private static class Person {
+		@PrimaryKey
+		String id;
+
+		String name;
+
+		long age;
+	}
+
+	private interface PersonName {
+		String getName();
+	}
+
+	private interface PersonDescription {
+		@Value("#{target.name + ' ' + target.age}")
+		String getDescription();
+	}
+
+	private static class PersonNameAndAge {
+		final String name;
+
+		final long age;
+
+		PersonNameAndAge(String name, long age) {
+			this.name = name;
+			this.age = age;
+		}
+	}
+
+	private interface PersonRepository extends Repository<Person, String> {
+		List<Person> findById(String id);
+
+		List<PersonName> findNameById(String id);
+
+		List<PersonNameAndAge> findNameAndAgeById(String id);
+
+		List<PersonDescription> findDescriptionById(String id);
+	}
+}
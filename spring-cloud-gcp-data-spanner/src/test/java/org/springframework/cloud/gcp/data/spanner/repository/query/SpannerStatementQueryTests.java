@@ -20,6 +20,7 @@ import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
@@ -32,24 +33,35 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.mockito.ArgumentCaptor;
 
+import org.springframework.cloud.gcp.data.spanner.core.SpannerKeysetSlice;
+import org.springframework.cloud.gcp.data.spanner.core.SpannerPageableQueryOptions;
+import org.springframework.cloud.gcp.data.spanner.core.SpannerQueryOptions;
 import org.springframework.cloud.gcp.data.spanner.core.SpannerTemplate;
 import org.springframework.cloud.gcp.data.spanner.core.convert.SpannerEntityProcessor;
 import org.springframework.cloud.gcp.data.spanner.core.convert.SpannerWriteConverter;
 import org.springframework.cloud.gcp.data.spanner.core.mapping.Column;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.Embedded;
 import org.springframework.cloud.gcp.data.spanner.core.mapping.PrimaryKey;
 import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerMappingContext;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerPersistentEntity;
 import org.springframework.cloud.gcp.data.spanner.core.mapping.Table;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Order;
 import org.springframework.data.repository.query.DefaultParameters;
+import org.springframework.data.repository.query.ResultProcessor;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -253,6 +265,102 @@ public class SpannerStatementQueryTests {
 		runPageableOrSortTest(params, method, expectedSql);
 	}
 
+	@Test
+	public void sliceTest() throws NoSuchMethodException {
+		when(this.queryMethod.getName()).thenReturn("findByPriceLessThan");
+		when(this.queryMethod.isSliceQuery()).thenReturn(true);
+		ResultProcessor resultProcessor = mock(ResultProcessor.class);
+		when(resultProcessor.processResult(any())).thenAnswer((invocation) -> invocation.getArgument(0));
+		when(this.queryMethod.getResultProcessor()).thenReturn(resultProcessor);
+		Method method = QueryHolder.class.getMethod("repositoryMethod7", Double.class, Pageable.class);
+		doReturn(new DefaultParameters(method)).when(this.queryMethod).getParameters();
+		this.partTreeSpannerQuery = createQuery();
+		Trade trade = new Trade();
+		when(this.spannerTemplate.queryByKeyset(any(), any(), any(), any()))
+				.thenReturn(new SpannerKeysetSlice<>(Collections.singletonList(trade), "token1"));
+
+		Slice<Object> firstSlice = (Slice<Object>) this.partTreeSpannerQuery.execute(
+				new Object[] { 8.88, PageRequest.of(0, 1, Sort.by("traderId")) });
+
+		assertThat(firstSlice.getContent()).containsExactly(trade);
+		assertThat(firstSlice.hasNext()).isTrue();
+		assertThat(firstSlice.nextPageable()).isInstanceOf(SpannerPageable.class);
+		assertThat(((SpannerPageable) firstSlice.nextPageable()).getContinuationToken()).isEqualTo("token1");
+		ArgumentCaptor<Statement> statement = ArgumentCaptor.forClass(Statement.class);
+		ArgumentCaptor<SpannerPageableQueryOptions> options = ArgumentCaptor
+				.forClass(SpannerPageableQueryOptions.class);
+		verify(this.spannerTemplate, times(1)).queryByKeyset(eq(Trade.class), statement.capture(),
+				options.capture(), isNull());
+		assertThat(statement.getValue().getSql()).isEqualTo(
+				"SELECT shares, trader_id, ticker, price, action, id, value FROM trades WHERE ( price<@tag0 )");
+		assertThat(statement.getValue().getParameters().get("tag0").getFloat64()).isEqualTo(8.88);
+		assertThat(options.getValue().getLimit()).isEqualTo(1);
+		assertThat(options.getValue().getSort()).isEqualTo(Sort.by("traderId"));
+
+		this.partTreeSpannerQuery.execute(new Object[] { 8.88, firstSlice.nextPageable() });
+
+		verify(this.spannerTemplate, times(1)).queryByKeyset(eq(Trade.class), any(), any(), eq("token1"));
+	}
+
+	@Test
+	public void sliceWithoutTokenTest() throws NoSuchMethodException {
+		when(this.queryMethod.getName()).thenReturn("findByPriceLessThan");
+		when(this.queryMethod.isSliceQuery()).thenReturn(true);
+		Method method = QueryHolder.class.getMethod("repositoryMethod7", Double.class, Pageable.class);
+		doReturn(new DefaultParameters(method)).when(this.queryMethod).getParameters();
+		this.partTreeSpannerQuery = createQuery();
+		when(this.spannerTemplate.query((Class<Trade>) any(), any(), any())).thenReturn(Collections.emptyList());
+
+		Slice<?> slice = (Slice<?>) this.partTreeSpannerQuery.execute(
+				new Object[] { 8.88, PageRequest.of(2, 10, Sort.by("traderId")) });
+
+		assertThat(slice.hasNext()).isFalse();
+		ArgumentCaptor<Statement> statement = ArgumentCaptor.forClass(Statement.class);
+		verify(this.spannerTemplate, times(1)).query((Class<Trade>) any(), statement.capture(), any());
+		assertThat(statement.getValue().getSql()).isEqualTo("SELECT * FROM (SELECT shares, trader_id, ticker, "
+				+ "price, action, id, value FROM trades WHERE ( price<@tag0 )) "
+				+ "ORDER BY trader_id ASC , id ASC LIMIT 11 OFFSET 20");
+		assertThat(statement.getValue().getParameters().get("tag0").getFloat64()).isEqualTo(8.88);
+		verify(this.spannerTemplate, never()).queryByKeyset(any(), any(), any(), any());
+	}
+
+	@Test
+	public void projectionTest() throws NoSuchMethodException {
+		when(this.queryMethod.getName()).thenReturn("findByPriceLessThan");
+		when(this.queryMethod.getProjectedProperties())
+				.thenReturn(new HashSet<>(Arrays.asList("symbol", "price")));
+		this.partTreeSpannerQuery = spy(createQuery());
+		Method method = QueryHolder.class.getMethod("repositoryMethod6", Double.class, Sort.class);
+		doReturn(new DefaultParameters(method)).when(this.queryMethod).getParameters();
+		doReturn(Object.class).when(this.partTreeSpannerQuery)
+				.getReturnedSimpleConvertableItemType();
+		doReturn(null).when(this.partTreeSpannerQuery).convertToSimpleReturnType(any(),
+				any());
+
+		this.partTreeSpannerQuery.execute(new Object[] { 8.88, Sort.by("traderId") });
+
+		ArgumentCaptor<Statement> statement = ArgumentCaptor.forClass(Statement.class);
+		ArgumentCaptor<SpannerQueryOptions> options = ArgumentCaptor.forClass(SpannerQueryOptions.class);
+		verify(this.spannerTemplate, times(1)).query((Class) any(), statement.capture(),
+				options.capture());
+		assertThat(statement.getValue().getSql()).isEqualTo(
+				"SELECT ticker, price FROM trades WHERE ( price<@tag0 ) ORDER BY trader_id ASC");
+		assertThat(options.getValue().getIncludeProperties()).containsExactlyInAnyOrder("ticker", "price");
+	}
+
+	@Test
+	public void projectedColumnsTest() {
+		SpannerPersistentEntity<?> entity = this.spannerMappingContext.getPersistentEntity(Trader.class);
+
+		assertThat(SpannerStatementQueryExecutor.getProjectedColumns(entity, this.spannerMappingContext,
+				new HashSet<>(Arrays.asList("name", "address"))))
+						.containsExactlyInAnyOrder("id", "name", "street", "city");
+		assertThat(SpannerStatementQueryExecutor.getProjectedColumns(entity, this.spannerMappingContext,
+				Collections.singleton("unknown"))).isNull();
+		assertThat(SpannerStatementQueryExecutor.getProjectedColumns(entity, this.spannerMappingContext,
+				Collections.emptySet())).isNull();
+	}
+
 	private void runPageableOrSortTest(Object[] params, Method method, String expectedSql) {
 		when(this.queryMethod.getName()).thenReturn(
 				"findByPriceLessThan");
@@ -362,6 +470,27 @@ public class SpannerStatementQueryTests {
 		BigDecimal value;
 	}
 
+	@Table(name = "traders")
+	private static class Trader {
+		@PrimaryKey
+		String id;
+
+		String name;
+
+		@Embedded
+		Address address;
+
+		Trader(String id) {
+			this.id = id;
+		}
+	}
+
+	private static class Address {
+		String street;
+
+		String city;
+	}
+
 	//The methods in this class are used to emulate repository methods
 	private static class QueryHolder {
 		public long repositoryMethod1(Object tag0, Object tag1, Object tag2, Object tag3, Object tag4, Object tag5,
@@ -391,5 +520,9 @@ public class SpannerStatementQueryTests {
 		public long repositoryMethod6(Double tag0, Sort tag1) {
 			return 0;
 		}
+
+		public Slice<Trade> repositoryMethod7(Double tag0, Pageable tag1) {
+			return null;
+		}
 	}
 }
@@ -18,6 +18,9 @@ package org.springframework.cloud.gcp.data.spanner.repository.query;
 
 import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 
@@ -43,6 +46,7 @@ import org.springframework.cloud.gcp.data.spanner.core.convert.SpannerWriteConve
 import org.springframework.cloud.gcp.data.spanner.core.mapping.Column;
 import org.springframework.cloud.gcp.data.spanner.core.mapping.Interleaved;
 import org.springframework.cloud.gcp.data.spanner.core.mapping.PrimaryKey;
+import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerDataException;
 import org.springframework.cloud.gcp.data.spanner.core.mapping.SpannerMappingContext;
 import org.springframework.cloud.gcp.data.spanner.core.mapping.Table;
 import org.springframework.cloud.gcp.data.spanner.core.mapping.Where;
@@ -60,6 +64,7 @@ import org.springframework.expression.spel.support.StandardEvaluationContext;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
@@ -170,6 +175,40 @@ public class SqlSpannerQueryTests {
 		verify(this.spannerTemplate, times(1)).executeQuery(any(), any());
 	}
 
+	@Test
+	public void projectionQueryTest() throws NoSuchMethodException {
+		String sql = "SELECT action, ticker FROM trades";
+
+		when(queryMethod.isCollectionQuery()).thenReturn(false);
+		when(queryMethod.getReturnedObjectType()).thenReturn((Class) Trade.class);
+		when(queryMethod.getProjectedProperties())
+				.thenReturn(new HashSet<>(Arrays.asList("action", "symbol")));
+		when(this.evaluationContextProvider.getEvaluationContext(any(), any()))
+				.thenReturn(new StandardEvaluationContext());
+
+		SqlSpannerQuery sqlSpannerQuery = createQuery(sql, Trade.class, false);
+
+		doAnswer((invocation) -> {
+			Statement statement = invocation.getArgument(0);
+			SpannerQueryOptions queryOptions = invocation.getArgument(1);
+			assertThat(queryOptions.isAllowPartialRead()).isTrue();
+			assertThat(queryOptions.getIncludeProperties()).containsExactlyInAnyOrder("action", "ticker");
+
+			// the interleaved children are not projected, so they are not fetched.
+			assertThat(statement.getSql()).isEqualTo(sql);
+
+			return null;
+		}).when(this.spannerTemplate).executeQuery(any(), any());
+
+		Method method = QueryHolder.class.getMethod("dummyMethod2");
+		when(this.queryMethod.getMethod()).thenReturn(method);
+		Mockito.<Parameters>when(this.queryMethod.getParameters()).thenReturn(new DefaultParameters(method));
+
+		sqlSpannerQuery.execute(new Object[] {});
+
+		verify(this.spannerTemplate, times(1)).executeQuery(any(), any());
+	}
+
 	@Test
 	public void pageableParamQueryTest() throws NoSuchMethodException {
 
@@ -462,6 +501,125 @@ public class SqlSpannerQueryTests {
 		verify(this.spannerTemplate, times(1)).executeDmlStatement(any());
 	}
 
+	@Test
+	public void batchDmlTest() throws NoSuchMethodException {
+		String sql = "UPDATE :org.springframework.cloud.gcp.data.spanner.repository.query.SqlSpannerQueryTests$Trade:"
+				+ " SET action = @action WHERE id = @id";
+		String entityResolvedSql = "UPDATE trades SET action = @action WHERE id = @id";
+
+		Method method = QueryHolder.class.getMethod("batchDml", List.class);
+		when(this.queryMethod.getQueryAnnotation()).thenReturn(method.getAnnotation(Query.class));
+		when(this.queryMethod.isCollectionQuery()).thenReturn(true);
+
+		Map<String, Object> parameterSet = new HashMap<>();
+		parameterSet.put("id", "t1");
+		parameterSet.put("action", "BUY");
+		TradeAction tradeAction = new TradeAction();
+		tradeAction.id = "t2";
+		tradeAction.action = "SELL";
+
+		doAnswer((invocation) -> {
+			List<Statement> statements = invocation.getArgument(0);
+			assertThat(statements).containsExactly(
+					Statement.newBuilder(entityResolvedSql).bind("action").to("BUY").bind("id").to("t1").build(),
+					Statement.newBuilder(entityResolvedSql).bind("action").to("SELL").bind("id").to("t2").build());
+			return new long[] { 1L, 0L };
+		}).when(this.spannerTemplate).executeBatchDmlStatements(any(), eq(500));
+
+		SqlSpannerQuery sqlSpannerQuery = createQuery(sql, Trade.class, true);
+
+		assertThat(sqlSpannerQuery.executeRawResult(
+				new Object[] { Arrays.asList(parameterSet, tradeAction) })).containsExactly(1L, 0L);
+		verify(this.spannerTemplate, times(1)).executeBatchDmlStatements(any(), eq(500));
+	}
+
+	@Test
+	public void batchDmlMissingTagTest() throws NoSuchMethodException {
+		this.expectedEx.expect(SpannerDataException.class);
+		this.expectedEx.expectMessage("The batch DML parameter set has no value for the tag: action");
+
+		Method method = QueryHolder.class.getMethod("batchDml", List.class);
+		when(this.queryMethod.getQueryAnnotation()).thenReturn(method.getAnnotation(Query.class));
+
+		SqlSpannerQuery sqlSpannerQuery = createQuery("UPDATE trades SET action = @action WHERE id = @id",
+				Trade.class, true);
+
+		sqlSpannerQuery.executeRawResult(new Object[] { Arrays.asList(Collections.singletonMap("id", "t1")) });
+	}
+
+	@Test
+	public void batchDmlNullValuesTest() throws NoSuchMethodException {
+		String sql = "UPDATE trades SET action = @action, prices = @prices WHERE id = @id";
+
+		Method method = QueryHolder.class.getMethod("batchDml", List.class);
+		when(this.queryMethod.getQueryAnnotation()).thenReturn(method.getAnnotation(Query.class));
+		when(this.queryMethod.isCollectionQuery()).thenReturn(true);
+
+		Map<String, Object> parameterSet = new HashMap<>();
+		parameterSet.put("id", "t1");
+		parameterSet.put("action", Value.string(null));
+		parameterSet.put("prices", Value.float64Array((double[]) null));
+		TradeAction tradeAction = new TradeAction();
+		tradeAction.id = "t2";
+
+		doAnswer((invocation) -> {
+			List<Statement> statements = invocation.getArgument(0);
+			assertThat(statements).containsExactly(
+					Statement.newBuilder(sql).bind("action").to((String) null)
+							.bind("prices").toFloat64Array((double[]) null).bind("id").to("t1").build(),
+					Statement.newBuilder(sql).bind("action").to((String) null)
+							.bind("prices").toFloat64Array((double[]) null).bind("id").to("t2").build());
+			return new long[] { 1L, 1L };
+		}).when(this.spannerTemplate).executeBatchDmlStatements(any(), eq(500));
+
+		SqlSpannerQuery sqlSpannerQuery = createQuery(sql, Trade.class, true);
+
+		assertThat(sqlSpannerQuery.executeRawResult(
+				new Object[] { Arrays.asList(parameterSet, tradeAction) })).containsExactly(1L, 1L);
+	}
+
+	@Test
+	public void batchDmlUntypedNullMapValueTest() throws NoSuchMethodException {
+		this.expectedEx.expect(SpannerDataException.class);
+		this.expectedEx.expectMessage("The batch DML parameter set has a null value for the tag: action");
+
+		Method method = QueryHolder.class.getMethod("batchDml", List.class);
+		when(this.queryMethod.getQueryAnnotation()).thenReturn(method.getAnnotation(Query.class));
+
+		SqlSpannerQuery sqlSpannerQuery = createQuery("UPDATE trades SET action = @action WHERE id = @id",
+				Trade.class, true);
+
+		Map<String, Object> parameterSet = new HashMap<>();
+		parameterSet.put("id", "t1");
+		parameterSet.put("action", null);
+		sqlSpannerQuery.executeRawResult(new Object[] { Arrays.asList(parameterSet) });
+	}
+
+	@Test
+	public void batchDmlIgnoresTagsInLiteralsAndCommentsTest() throws NoSuchMethodException {
+		String sql = "UPDATE trades SET action = @action, note = 'sent to desk@example.com' "
+				+ "WHERE id = @id AND `col@x` != \"@y\" /* @z */ -- @w";
+
+		Method method = QueryHolder.class.getMethod("batchDml", List.class);
+		when(this.queryMethod.getQueryAnnotation()).thenReturn(method.getAnnotation(Query.class));
+		when(this.queryMethod.isCollectionQuery()).thenReturn(true);
+
+		doAnswer((invocation) -> {
+			List<Statement> statements = invocation.getArgument(0);
+			assertThat(statements).containsExactly(
+					Statement.newBuilder(sql).bind("action").to("BUY").bind("id").to("t1").build());
+			return new long[] { 1L };
+		}).when(this.spannerTemplate).executeBatchDmlStatements(any(), eq(500));
+
+		SqlSpannerQuery sqlSpannerQuery = createQuery(sql, Trade.class, true);
+
+		Map<String, Object> parameterSet = new HashMap<>();
+		parameterSet.put("id", "t1");
+		parameterSet.put("action", "BUY");
+		assertThat(sqlSpannerQuery.executeRawResult(new Object[] { Arrays.asList(parameterSet) }))
+				.containsExactly(1L);
+	}
+
 	@Test
 	public void sqlCountWithWhereTest() throws NoSuchMethodException {
 		String sql = "SELECT count(1) FROM :org.springframework.cloud.gcp.data.spanner.repository.query.SqlSpannerQueryTests$Child:"
@@ -577,6 +735,14 @@ public class SqlSpannerQueryTests {
 		boolean canceled;
 	}
 
+	private static class TradeAction {
+		String id;
+
+		String action;
+
+		List<Double> prices;
+	}
+
 	private static class QueryHolder {
 		public long dummyMethod(Object tag0, Pageable pageable, Object tag1, Object tag2, Object tag3, Object tag4,
 				Object tag5, Object tag6, Object tag7, Object tag8, Object tag9,
@@ -609,6 +775,11 @@ public class SqlSpannerQueryTests {
 			return null;
 		}
 
+		@Query(value = "UPDATE trades SET action = @action WHERE id = @id", dmlStatement = true, batchSize = 500)
+		public List<Long> batchDml(List<Object> parameterSets) {
+			return null;
+		}
+
 		public void noParamMethod() {
 
 		}
@@ -28,6 +28,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import org.springframework.cloud.gcp.data.spanner.core.SpannerKeysetSlice;
 import org.springframework.cloud.gcp.data.spanner.core.SpannerPageableQueryOptions;
 import org.springframework.cloud.gcp.data.spanner.core.SpannerTemplate;
 import org.springframework.cloud.gcp.data.spanner.core.convert.SpannerEntityProcessor;
@@ -215,6 +216,21 @@ public class SpannerRepositoryImplTests {
 		verify(this.template, times(1)).queryAll(eq(Object.class), any());
 	}
 
+	@Test
+	public void findAllKeysetTest() {
+		Sort sort = Sort.by("id");
+		SpannerKeysetSlice<Object> slice = new SpannerKeysetSlice<>(new ArrayList<>(), "token2");
+		when(this.template.queryAllByKeyset(eq(Object.class), any(), eq("token1"))).thenAnswer((invocation) -> {
+			SpannerPageableQueryOptions spannerQueryOptions = invocation.getArgument(1);
+			assertThat(spannerQueryOptions.getSort()).isSameAs(sort);
+			assertThat(spannerQueryOptions.getLimit()).isEqualTo(5);
+			assertThat(spannerQueryOptions.getOffset()).isNull();
+			return slice;
+		});
+		assertThat(new SimpleSpannerRepository<Object, Key>(this.template, Object.class)
+				.findAll(sort, 5, "token1")).isSameAs(slice);
+	}
+
 	@Test
 	public void findAllPageableTest() {
 		Pageable pageable = mock(Pageable.class);